@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.benchmarks.wake;
+
+import org.apache.reef.wake.remote.Codec;
+import org.apache.reef.wake.remote.impl.MultiCodec;
+import org.apache.reef.wake.remote.impl.ObjectSerializableCodec;
+import org.apache.reef.wake.remote.impl.RemoteEvent;
+import org.apache.reef.wake.remote.impl.RemoteEventCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of encoding and decoding a message with the Wake codecs.
+ * <p>
+ * The codecs are shared by all benchmark threads, as they are by the handlers of a remote manager.
+ * Run with {@code -t} to measure several threads using the same codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CodecBenchmark {
+
+  @Param({"16", "1024", "65536"})
+  protected int messageSize;
+
+  private final ObjectSerializableCodec<Message> objectCodec = new ObjectSerializableCodec<>();
+  private Codec<Message> multiCodec;
+  private Codec<RemoteEvent<Message>> remoteEventCodec;
+
+  private Message message;
+  private RemoteEvent<Message> remoteEvent;
+
+  private byte[] objectBytes;
+  private byte[] multiBytes;
+  private byte[] remoteEventBytes;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final byte[] payload = new byte[this.messageSize];
+    Arrays.fill(payload, (byte) 1);
+    this.message = new Message(payload);
+
+    final Map<Class<? extends Message>, Codec<? extends Message>> codecs = new HashMap<>();
+    codecs.put(Message.class, this.objectCodec);
+    this.multiCodec = new MultiCodec<>(codecs);
+
+    final InetSocketAddress address = new InetSocketAddress("127.0.0.1", 0);
+    this.remoteEventCodec = new RemoteEventCodec<>(this.objectCodec);
+    this.remoteEvent = new RemoteEvent<>(address, address, 1, this.message);
+
+    this.objectBytes = this.objectCodec.encode(this.message);
+    this.multiBytes = this.multiCodec.encode(this.message);
+    this.remoteEventBytes = this.remoteEventCodec.encode(this.remoteEvent);
+  }
+
+  @Benchmark
+  public byte[] encodeObjectSerializable() {
+    return this.objectCodec.encode(this.message);
+  }
+
+  @Benchmark
+  public Message decodeObjectSerializable() {
+    return this.objectCodec.decode(this.objectBytes);
+  }
+
+  @Benchmark
+  public byte[] encodeMulti() {
+    return this.multiCodec.encode(this.message);
+  }
+
+  @Benchmark
+  public Message decodeMulti() {
+    return this.multiCodec.decode(this.multiBytes);
+  }
+
+  @Benchmark
+  public byte[] encodeRemoteEvent() {
+    return this.remoteEventCodec.encode(this.remoteEvent);
+  }
+
+  @Benchmark
+  public RemoteEvent<Message> decodeRemoteEvent() {
+    return this.remoteEventCodec.decode(this.remoteEventBytes);
+  }
+
+  /**
+   * A serializable message carrying an opaque payload.
+   */
+  public static final class Message implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] payload;
+
+    Message(final byte[] payload) {
+      this.payload = payload;
+    }
+
+    public byte[] getPayload() {
+      return this.payload;
+    }
+  }
+}
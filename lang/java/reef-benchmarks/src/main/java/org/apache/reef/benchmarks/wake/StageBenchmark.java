@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.benchmarks.wake;
+
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.Stage;
+import org.apache.reef.wake.impl.ForkPoolStage;
+import org.apache.reef.wake.impl.RingBufferStage;
+import org.apache.reef.wake.impl.SingleThreadStage;
+import org.apache.reef.wake.impl.SyncStage;
+import org.apache.reef.wake.impl.ThreadPoolStage;
+import org.apache.reef.wake.impl.WakeSharedPool;
+import org.apache.reef.wake.rx.Observer;
+import org.apache.reef.wake.rx.impl.RxThreadPoolStage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of handing events over to the Wake stages.
+ * <p>
+ * Each invocation submits a batch of events and waits until the handler has seen all of them,
+ * so the score includes the queueing, the thread hand-off and the handler reading the payload.
+ * Run with {@code -t} to measure several threads submitting to the same stage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StageBenchmark {
+
+  private static final int BATCH_SIZE = 1000;
+
+  /**
+   * The capacity of the single thread stage, which fails rather than blocks when it is full.
+   */
+  private static final int QUEUE_CAPACITY = 1 << 20;
+
+  /**
+   * The capacity of the ring buffer stage, which blocks the producers when it is full.
+   */
+  private static final int RING_BUFFER_CAPACITY = 1 << 16;
+
+  @Param({"SyncStage", "ThreadPoolStage", "SingleThreadStage", "RingBufferStage", "ForkPoolStage",
+      "RxThreadPoolStage"})
+  protected String stageType;
+
+  @Param({"1", "4", "16"})
+  protected int numThreads;
+
+  @Param({"16", "1024", "65536"})
+  protected int messageSize;
+
+  private byte[] payload;
+  private EventHandler<Event> input;
+  private Stage stage;
+  private WakeSharedPool pool;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.payload = new byte[this.messageSize];
+    Arrays.fill(this.payload, (byte) 1);
+
+    final EventCounter counter = new EventCounter();
+    switch (this.stageType) {
+    case "SyncStage":
+      this.stage = this.setInput(new SyncStage<>(counter));
+      break;
+    case "ThreadPoolStage":
+      this.stage = this.setInput(new ThreadPoolStage<>(counter, this.numThreads));
+      break;
+    case "SingleThreadStage":
+      this.stage = this.setInput(new SingleThreadStage<>(counter, QUEUE_CAPACITY));
+      break;
+    case "RingBufferStage":
+      this.stage = this.setInput(new RingBufferStage<>(counter, RING_BUFFER_CAPACITY));
+      break;
+    case "ForkPoolStage":
+      this.pool = new WakeSharedPool(this.numThreads);
+      this.stage = this.setInput(new ForkPoolStage<>(counter, this.pool));
+      break;
+    case "RxThreadPoolStage":
+      final RxThreadPoolStage<Event> rxStage = new RxThreadPoolStage<>(counter, this.numThreads);
+      this.input = new EventHandler<Event>() {
+        @Override
+        public void onNext(final Event value) {
+          rxStage.onNext(value);
+        }
+      };
+      this.stage = rxStage;
+      break;
+    default:
+      throw new IllegalArgumentException("Unknown stage type " + this.stageType);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    this.stage.close();
+    if (this.pool != null) {
+      this.pool.close();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public int onNext() throws InterruptedException {
+    final Event event = new Event(this.payload, BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; ++i) {
+      this.input.onNext(event);
+    }
+    event.await();
+    return event.getChecksum();
+  }
+
+  private <T extends EventHandler<Event> & Stage> T setInput(final T eventStage) {
+    this.input = eventStage;
+    return eventStage;
+  }
+
+  /**
+   * An event of a batch, submitted once per member of the batch.
+   */
+  private static final class Event {
+
+    private final byte[] payload;
+    private final CountDownLatch remaining;
+    private volatile int checksum;
+
+    Event(final byte[] payload, final int batchSize) {
+      this.payload = payload;
+      this.remaining = new CountDownLatch(batchSize);
+    }
+
+    void onHandled(final int payloadChecksum) {
+      this.checksum = payloadChecksum;
+      this.remaining.countDown();
+    }
+
+    void await() throws InterruptedException {
+      this.remaining.await();
+    }
+
+    int getChecksum() {
+      return this.checksum;
+    }
+  }
+
+  /**
+   * Reads the payload of each event and counts it as handled.
+   */
+  private static final class EventCounter implements EventHandler<Event>, Observer<Event> {
+
+    @Override
+    public void onNext(final Event value) {
+      value.onHandled(Arrays.hashCode(value.payload));
+    }
+
+    @Override
+    public void onError(final Exception error) {
+      throw new IllegalStateException("Unexpected error", error);
+    }
+
+    @Override
+    public void onCompleted() {
+      // Nothing to flush
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.benchmarks.wake;
+
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EStage;
+import org.apache.reef.wake.remote.RemoteConfiguration;
+import org.apache.reef.wake.remote.impl.ByteCodec;
+import org.apache.reef.wake.remote.impl.TransportEvent;
+import org.apache.reef.wake.remote.transport.Link;
+import org.apache.reef.wake.remote.transport.Transport;
+import org.apache.reef.wake.remote.transport.TransportFactory;
+import org.apache.reef.wake.remote.transport.netty.LoggingLinkListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Round trips of messages through the Netty messaging transport over loopback.
+ * <p>
+ * The transport sends each message to itself and its server side echoes it back over the accepted connection.
+ * Every benchmark thread waits for the echo of its message before sending the next one,
+ * so run with {@code -t} to measure several callers sharing the same connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TransportBenchmark {
+
+  private static final String LOOPBACK_ADDRESS = "127.0.0.1";
+  private static final int REPLY_TIMEOUT_SECONDS = 10;
+
+  /**
+   * The size of the messages, which start with the identifier of their caller.
+   */
+  @Param({"16", "1024", "65536"})
+  protected int messageSize;
+
+  /**
+   * The number of event loop threads serving each side of the connection.
+   */
+  @Param({"1", "4"})
+  protected int numThreads;
+
+  @Param({"false", "true"})
+  protected boolean pooledBuffers;
+
+  private final AtomicLong nextCallerId = new AtomicLong();
+  private final ConcurrentMap<Long, Caller> callers = new ConcurrentHashMap<>();
+
+  private Transport transport;
+  private Link<byte[]> link;
+
+  @Setup(Level.Trial)
+  public void setUp() throws InjectionException, IOException {
+    final TransportFactory transportFactory = Tang.Factory.getTang().newInjector(
+        Tang.Factory.getTang().newConfigurationBuilder()
+            .bindNamedParameter(RemoteConfiguration.ServerWorkerThreads.class, Integer.toString(this.numThreads))
+            .bindNamedParameter(RemoteConfiguration.ClientWorkerThreads.class, Integer.toString(this.numThreads))
+            .bindNamedParameter(RemoteConfiguration.PooledBuffers.class, Boolean.toString(this.pooledBuffers))
+            .build())
+        .getInstance(TransportFactory.class);
+
+    this.transport = transportFactory.newInstance(LOOPBACK_ADDRESS, 0,
+        new ReplyStage(), new EchoStage(), 1, REPLY_TIMEOUT_SECONDS * 1000);
+    this.link = this.transport.open(new InetSocketAddress(LOOPBACK_ADDRESS, this.transport.getListeningPort()),
+        new ByteCodec(), new LoggingLinkListener<byte[]>());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    this.transport.close();
+  }
+
+  @Benchmark
+  public void roundTrip(final Caller caller) throws InterruptedException {
+    caller.call(this.link);
+  }
+
+  /**
+   * A benchmark thread waiting for the echoes of its messages.
+   */
+  @State(Scope.Thread)
+  public static class Caller {
+
+    private final Semaphore replies = new Semaphore(0);
+    private byte[] message;
+
+    @Setup(Level.Trial)
+    public void setUp(final TransportBenchmark benchmark) {
+      final long id = benchmark.nextCallerId.incrementAndGet();
+      this.message = ByteBuffer.allocate(benchmark.messageSize).putLong(id).array();
+      benchmark.callers.put(id, this);
+    }
+
+    void call(final Link<byte[]> link) throws InterruptedException {
+      link.write(this.message);
+      if (!this.replies.tryAcquire(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("No reply within " + REPLY_TIMEOUT_SECONDS + " seconds");
+      }
+    }
+
+    void onReply() {
+      this.replies.release();
+    }
+  }
+
+  /**
+   * Sends each message received by the server side back to its sender.
+   */
+  private static final class EchoStage implements EStage<TransportEvent> {
+
+    @Override
+    public void onNext(final TransportEvent value) {
+      value.getLink().write(value.getData());
+    }
+
+    @Override
+    public void close() {
+      // Nothing to close
+    }
+  }
+
+  /**
+   * Hands each echo received by the client side to the caller that sent it.
+   */
+  private final class ReplyStage implements EStage<TransportEvent> {
+
+    @Override
+    public void onNext(final TransportEvent value) {
+      final long id = ByteBuffer.wrap(value.getData()).getLong();
+      callers.get(id).onReply();
+    }
+
+    @Override
+    public void close() {
+      // Nothing to close
+    }
+  }
+}
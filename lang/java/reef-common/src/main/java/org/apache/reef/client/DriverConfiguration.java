@@ -187,6 +187,17 @@ public final class DriverConfiguration extends ConfigurationModuleBuilder {
    */
   public static final OptionalParameter<Integer> EVALUATOR_DISPATCHER_THREADS = new OptionalParameter<>();
 
+  /**
+   * Heartbeat period in ms recommended to evaluators while the driver is idle. Off by default.
+   */
+  public static final OptionalParameter<Integer> ADAPTIVE_HEARTBEAT_MIN_PERIOD = new OptionalParameter<>();
+
+  /**
+   * Number of threads that prepare evaluator launches in parallel. Evaluators are launched on the calling thread
+   * by default.
+   */
+  public static final OptionalParameter<Integer> EVALUATOR_LAUNCH_THREADS = new OptionalParameter<>();
+
   /**
    * The number of submissions that the resource manager will attempt to submit the application. Defaults to 1.
    */
@@ -235,6 +246,8 @@ public final class DriverConfiguration extends ConfigurationModuleBuilder {
 
           // Various parameters
       .bindNamedParameter(EvaluatorDispatcherThreads.class, EVALUATOR_DISPATCHER_THREADS)
+      .bindNamedParameter(AdaptiveHeartbeatMinPeriod.class, ADAPTIVE_HEARTBEAT_MIN_PERIOD)
+      .bindNamedParameter(EvaluatorLaunchThreads.class, EVALUATOR_LAUNCH_THREADS)
       .bindImplementation(ProgressProvider.class, PROGRESS_PROVIDER)
       .build();
 }
@@ -23,6 +23,7 @@ import org.apache.reef.annotations.audience.Private;
 import org.apache.reef.driver.parameters.ResourceManagerPreserveEvaluators;
 import org.apache.reef.exception.DriverFatalRuntimeException;
 import org.apache.reef.runtime.common.driver.api.ResourceManagerStopHandler;
+import org.apache.reef.runtime.common.driver.evaluator.EvaluatorLaunchPipeline;
 import org.apache.reef.runtime.common.driver.evaluator.Evaluators;
 import org.apache.reef.runtime.common.utils.RemoteManager;
 import org.apache.reef.tang.annotations.Parameter;
@@ -47,6 +48,7 @@ final class DriverRuntimeStopHandler implements EventHandler<RuntimeStop> {
   private final ResourceManagerStopHandler resourceManagerStopHandler;
   private final RemoteManager remoteManager;
   private final Evaluators evaluators;
+  private final EvaluatorLaunchPipeline launchPipeline;
   private final boolean preserveEvaluatorsAcrossRestarts;
 
   @Inject
@@ -54,12 +56,14 @@ final class DriverRuntimeStopHandler implements EventHandler<RuntimeStop> {
                            final ResourceManagerStopHandler resourceManagerStopHandler,
                            final RemoteManager remoteManager,
                            final Evaluators evaluators,
+                           final EvaluatorLaunchPipeline launchPipeline,
                            @Parameter(ResourceManagerPreserveEvaluators.class)
                            final boolean preserveEvaluatorsAcrossRestarts) {
     this.driverStatusManager = driverStatusManager;
     this.resourceManagerStopHandler = resourceManagerStopHandler;
     this.remoteManager = remoteManager;
     this.evaluators = evaluators;
+    this.launchPipeline = launchPipeline;
     this.preserveEvaluatorsAcrossRestarts = preserveEvaluatorsAcrossRestarts;
   }
 
@@ -75,6 +79,13 @@ final class DriverRuntimeStopHandler implements EventHandler<RuntimeStop> {
       this.evaluators.close();
     }
 
+    // Hand the pending launches and releases to the resource manager before it stops.
+    try {
+      this.launchPipeline.close();
+    } catch (final Exception e) {
+      LOG.log(Level.WARNING, "Unable to close the evaluator launch pipeline.", e);
+    }
+
     this.resourceManagerStopHandler.onNext(runtimeStop);
     // Inform the client of the shutdown.
     final Optional<Throwable> exception = Optional.<Throwable>ofNullable(runtimeStop.getException());
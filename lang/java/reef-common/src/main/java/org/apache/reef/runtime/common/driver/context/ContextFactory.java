@@ -23,6 +23,7 @@ import net.jcip.annotations.ThreadSafe;
 import org.apache.reef.driver.evaluator.EvaluatorDescriptor;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorManager;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorMessageDispatcher;
+import org.apache.reef.runtime.common.utils.ConfigurationStringCodec;
 import org.apache.reef.runtime.common.utils.ExceptionCodec;
 import org.apache.reef.tang.InjectionFuture;
 import org.apache.reef.tang.annotations.Parameter;
@@ -42,6 +43,7 @@ final class ContextFactory {
   private final String evaluatorId;
   private final EvaluatorDescriptor evaluatorDescriptor;
   private final ConfigurationSerializer configurationSerializer;
+  private final ConfigurationStringCodec configurationStringCodec;
   private final ExceptionCodec exceptionCodec;
   private final EvaluatorMessageDispatcher messageDispatcher;
   private final ContextControlHandler contextControlHandler;
@@ -57,6 +59,7 @@ final class ContextFactory {
                  @Parameter(EvaluatorManager.EvaluatorDescriptorName.class)
                  final EvaluatorDescriptor evaluatorDescriptor,
                  final ConfigurationSerializer configurationSerializer,
+                 final ConfigurationStringCodec configurationStringCodec,
                  final ExceptionCodec exceptionCodec,
                  final EvaluatorMessageDispatcher messageDispatcher,
                  final ContextControlHandler contextControlHandler,
@@ -64,6 +67,7 @@ final class ContextFactory {
     this.evaluatorId = evaluatorId;
     this.evaluatorDescriptor = evaluatorDescriptor;
     this.configurationSerializer = configurationSerializer;
+    this.configurationStringCodec = configurationStringCodec;
     this.exceptionCodec = exceptionCodec;
     this.messageDispatcher = messageDispatcher;
     this.contextControlHandler = contextControlHandler;
@@ -89,6 +93,7 @@ final class ContextFactory {
         this.evaluatorDescriptor,
         parentID,
         this.configurationSerializer,
+        this.configurationStringCodec,
         this.contextControlHandler,
         this.messageDispatcher,
         this.exceptionCodec,
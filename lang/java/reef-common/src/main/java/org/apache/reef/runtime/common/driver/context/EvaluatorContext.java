@@ -24,11 +24,13 @@ import org.apache.reef.annotations.audience.Private;
 import org.apache.reef.driver.context.ActiveContext;
 import org.apache.reef.driver.context.ClosedContext;
 import org.apache.reef.driver.context.FailedContext;
+import org.apache.reef.driver.evaluator.CLRProcess;
 import org.apache.reef.driver.evaluator.EvaluatorDescriptor;
 import org.apache.reef.proto.EvaluatorRuntimeProtocol;
 import org.apache.reef.runtime.common.driver.evaluator.EvaluatorMessageDispatcher;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.ContextState;
 import org.apache.reef.runtime.common.driver.evaluator.pojos.ContextStatusPOJO;
+import org.apache.reef.runtime.common.utils.ConfigurationStringCodec;
 import org.apache.reef.runtime.common.utils.ExceptionCodec;
 import org.apache.reef.tang.Configuration;
 import org.apache.reef.tang.formats.ConfigurationSerializer;
@@ -52,6 +54,7 @@ public final class EvaluatorContext implements ActiveContext {
 
   private final Optional<String> parentID;
   private final ConfigurationSerializer configurationSerializer;
+  private final ConfigurationStringCodec configurationStringCodec;
   private final ContextControlHandler contextControlHandler;
   private final ExceptionCodec exceptionCodec;
   private final ContextRepresenters contextRepresenters;
@@ -63,6 +66,7 @@ public final class EvaluatorContext implements ActiveContext {
                           final EvaluatorDescriptor evaluatorDescriptor,
                           final Optional<String> parentID,
                           final ConfigurationSerializer configurationSerializer,
+                          final ConfigurationStringCodec configurationStringCodec,
                           final ContextControlHandler contextControlHandler,
                           final EvaluatorMessageDispatcher messageDispatcher,
                           final ExceptionCodec exceptionCodec,
@@ -73,6 +77,7 @@ public final class EvaluatorContext implements ActiveContext {
     this.evaluatorDescriptor = evaluatorDescriptor;
     this.parentID = parentID;
     this.configurationSerializer = configurationSerializer;
+    this.configurationStringCodec = configurationStringCodec;
     this.contextControlHandler = contextControlHandler;
     this.exceptionCodec = exceptionCodec;
     this.contextRepresenters = contextRepresenters;
@@ -125,7 +130,7 @@ public final class EvaluatorContext implements ActiveContext {
 
   @Override
   public synchronized void submitTask(final Configuration taskConf) {
-    submitTask(this.configurationSerializer.toString(taskConf));
+    submitTask(this.toConfigurationString(taskConf));
   }
 
   public synchronized void submitTask(final String taskConf) {
@@ -150,7 +155,7 @@ public final class EvaluatorContext implements ActiveContext {
 
   @Override
   public synchronized void submitContext(final Configuration contextConfiguration) {
-    submitContext(this.configurationSerializer.toString(contextConfiguration));
+    submitContext(this.toConfigurationString(contextConfiguration));
   }
 
   public synchronized void submitContext(final String contextConf) {
@@ -189,8 +194,8 @@ public final class EvaluatorContext implements ActiveContext {
             .setAddContext(
                 EvaluatorRuntimeProtocol.AddContextProto.newBuilder()
                     .setParentContextId(getId())
-                    .setContextConfiguration(this.configurationSerializer.toString(contextConfiguration))
-                    .setServiceConfiguration(this.configurationSerializer.toString(serviceConfiguration))
+                    .setContextConfiguration(this.toConfigurationString(contextConfiguration))
+                    .setServiceConfiguration(this.toConfigurationString(serviceConfiguration))
                     .build())
             .build();
 
@@ -282,4 +287,15 @@ public final class EvaluatorContext implements ActiveContext {
   public synchronized boolean isRootContext() {
     return !this.parentID.isPresent();
   }
+
+  /**
+   * Serializes a configuration for the evaluator: binary for Java evaluators, JSON for CLR ones.
+   */
+  private String toConfigurationString(final Configuration configuration) {
+    // The same check as AllocatedEvaluatorImpl, which launches CLR processes with the CLR evaluator configuration
+    if (this.evaluatorDescriptor.getProcess() instanceof CLRProcess) {
+      return this.configurationSerializer.toString(configuration);
+    }
+    return this.configurationStringCodec.toString(configuration);
+  }
 }
@@ -22,8 +22,10 @@ import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Private;
 import org.apache.reef.driver.context.ContextConfiguration;
 import org.apache.reef.driver.evaluator.*;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchEvent;
 import org.apache.reef.runtime.common.driver.api.ResourceLaunchEventImpl;
 import org.apache.reef.runtime.common.evaluator.EvaluatorConfiguration;
+import org.apache.reef.runtime.common.utils.ConfigurationStringCodec;
 import org.apache.reef.tang.Configuration;
 import org.apache.reef.tang.ConfigurationBuilder;
 import org.apache.reef.tang.ConfigurationProvider;
@@ -35,9 +37,11 @@ import org.apache.reef.util.logging.LoggingScope;
 import org.apache.reef.util.logging.LoggingScopeFactory;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -56,6 +60,8 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
   private final String jobIdentifier;
   private final LoggingScopeFactory loggingScopeFactory;
   private final Set<ConfigurationProvider> evaluatorConfigurationProviders;
+  private final boolean deltaHeartbeats;
+  private final ConfigurationStringCodec configurationStringCodec;
 
   /**
    * The set of files to be places on the Evaluator.
@@ -72,13 +78,17 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
                          final ConfigurationSerializer configurationSerializer,
                          final String jobIdentifier,
                          final LoggingScopeFactory loggingScopeFactory,
-                         final Set<ConfigurationProvider> evaluatorConfigurationProviders) {
+                         final Set<ConfigurationProvider> evaluatorConfigurationProviders,
+                         final boolean deltaHeartbeats,
+                         final ConfigurationStringCodec configurationStringCodec) {
     this.evaluatorManager = evaluatorManager;
     this.remoteID = remoteID;
     this.configurationSerializer = configurationSerializer;
     this.jobIdentifier = jobIdentifier;
     this.loggingScopeFactory = loggingScopeFactory;
     this.evaluatorConfigurationProviders = evaluatorConfigurationProviders;
+    this.deltaHeartbeats = deltaHeartbeats;
+    this.configurationStringCodec = configurationStringCodec;
   }
 
   @Override
@@ -210,12 +220,19 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
   private void launch(final Configuration contextConfiguration,
                       final Optional<Configuration> serviceConfiguration,
                       final Optional<Configuration> taskConfiguration) {
-    try (final LoggingScope lb = loggingScopeFactory.evaluatorLaunch(this.getId())) {
-      final Configuration evaluatorConfiguration =
-          makeEvaluatorConfiguration(contextConfiguration, serviceConfiguration, taskConfiguration);
-
-      resourceBuildAndLaunch(evaluatorConfiguration);
-    }
+    final Collection<File> launchFiles = new ArrayList<>(this.files);
+    final Collection<File> launchLibraries = new ArrayList<>(this.libraries);
+    this.evaluatorManager.onResourceLaunch(new Callable<ResourceLaunchEvent>() {
+      @Override
+      public ResourceLaunchEvent call() {
+        try (final LoggingScope lb = loggingScopeFactory.evaluatorLaunch(getId())) {
+          final Configuration evaluatorConfiguration =
+              makeEvaluatorConfiguration(contextConfiguration, serviceConfiguration, taskConfiguration);
+
+          return resourceBuild(evaluatorConfiguration, launchFiles, launchLibraries);
+        }
+      }
+    });
   }
 
   /**
@@ -229,26 +246,39 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
   private void launchWithConfigurationString(final String contextConfiguration,
                                     final Optional<String> serviceConfiguration,
                                     final Optional<String> taskConfiguration) {
-    try (final LoggingScope lb = loggingScopeFactory.evaluatorLaunch(this.getId())) {
-      final Configuration evaluatorConfiguration =
-          makeEvaluatorConfiguration(contextConfiguration, serviceConfiguration, taskConfiguration);
-
-      resourceBuildAndLaunch(evaluatorConfiguration);
-    }
+    final Collection<File> launchFiles = new ArrayList<>(this.files);
+    final Collection<File> launchLibraries = new ArrayList<>(this.libraries);
+    this.evaluatorManager.onResourceLaunch(new Callable<ResourceLaunchEvent>() {
+      @Override
+      public ResourceLaunchEvent call() {
+        try (final LoggingScope lb = loggingScopeFactory.evaluatorLaunch(getId())) {
+          final Configuration evaluatorConfiguration =
+              makeEvaluatorConfiguration(contextConfiguration, serviceConfiguration, taskConfiguration);
+
+          return resourceBuild(evaluatorConfiguration, launchFiles, launchLibraries);
+        }
+      }
+    });
   }
 
-  private void resourceBuildAndLaunch(final Configuration evaluatorConfiguration) {
+  /**
+   * Builds the launch event. Runs in the launch pipeline, so it gets the files and libraries
+   * as they were when the launch was submitted.
+   */
+  private ResourceLaunchEvent resourceBuild(final Configuration evaluatorConfiguration,
+                                            final Collection<File> launchFiles,
+                                            final Collection<File> launchLibraries) {
     final ResourceLaunchEventImpl.Builder rbuilder =
         ResourceLaunchEventImpl.newBuilder()
             .setIdentifier(this.evaluatorManager.getId())
             .setRemoteId(this.remoteID)
             .setEvaluatorConf(evaluatorConfiguration)
-            .addFiles(this.files)
-            .addLibraries(this.libraries)
+            .addFiles(launchFiles)
+            .addLibraries(launchLibraries)
             .setRuntimeName(this.getEvaluatorDescriptor().getRuntimeName());
 
     rbuilder.setProcess(this.evaluatorManager.getEvaluatorDescriptor().getProcess());
-    this.evaluatorManager.onResourceLaunch(rbuilder.build());
+    return rbuilder.build();
   }
 
   /**
@@ -262,18 +292,18 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
                                                    final Optional<Configuration> serviceConfiguration,
                                                    final Optional<Configuration> taskConfiguration) {
 
-    final String contextConfigurationString = this.configurationSerializer.toString(contextConfiguration);
+    final String contextConfigurationString = this.toConfigurationString(contextConfiguration);
 
     final Optional<String> taskConfigurationString;
     if (taskConfiguration.isPresent()) {
-      taskConfigurationString = Optional.of(this.configurationSerializer.toString(taskConfiguration.get()));
+      taskConfigurationString = Optional.of(this.toConfigurationString(taskConfiguration.get()));
     } else {
       taskConfigurationString = Optional.<String>empty();
     }
 
     final Optional<Configuration> mergedServiceConfiguration = makeRootServiceConfiguration(serviceConfiguration);
     if (mergedServiceConfiguration.isPresent()) {
-      final String serviceConfigurationString = this.configurationSerializer.toString(mergedServiceConfiguration.get());
+      final String serviceConfigurationString = this.toConfigurationString(mergedServiceConfiguration.get());
       return makeEvaluatorConfiguration(
           contextConfigurationString, Optional.of(serviceConfigurationString), taskConfigurationString);
     } else {
@@ -281,6 +311,16 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
     }
   }
 
+  /**
+   * Serializes a configuration for the evaluator: binary for Java evaluators, JSON for CLR ones.
+   */
+  private String toConfigurationString(final Configuration configuration) {
+    if (this.evaluatorManager.getEvaluatorDescriptor().getProcess() instanceof CLRProcess) {
+      return this.configurationSerializer.toString(configuration);
+    }
+    return this.configurationStringCodec.toString(configuration);
+  }
+
   /**
    * Make configuration for Evaluator.
    * @param contextConfiguration
@@ -316,6 +356,12 @@ public final class AllocatedEvaluatorImpl implements AllocatedEvaluator {
           .set(EvaluatorConfiguration.TASK_CONFIGURATION, taskConfiguration.get());
     }
 
+    // Only Java evaluators understand delta heartbeats
+    if (this.deltaHeartbeats && evaluatorConfigModule == EvaluatorConfiguration.CONF) {
+      evaluatorConfigurationModule = evaluatorConfigurationModule
+          .set(EvaluatorConfiguration.DELTA_HEARTBEATS, true);
+    }
+
     // Create the evaluator configuration.
     return evaluatorConfigurationModule.build();
   }
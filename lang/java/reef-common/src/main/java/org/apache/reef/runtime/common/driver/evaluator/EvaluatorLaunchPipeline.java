@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.driver.parameters.EvaluatorLaunchThreads;
+import org.apache.reef.driver.parameters.MaxPendingEvaluatorLaunches;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchEvent;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseEvent;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseHandler;
+import org.apache.reef.tang.InjectionFuture;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.WakeParameters;
+import org.apache.reef.wake.impl.KeyedOrderedStage;
+import org.apache.reef.wake.metrics.LatencySampler;
+import org.apache.reef.wake.metrics.LogHistogram;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Launches evaluators in two stages, so that a burst of allocations does not launch them one by one
+ * on the event-dispatch thread.
+ * <p>
+ * The prepare stage builds the launch events, which includes serializing the evaluator configuration,
+ * on {@link EvaluatorLaunchThreads} threads. The hand-off thread then passes the prepared events to the
+ * resource manager, draining up to {@link #MAX_BATCH_SIZE} of them at a time.
+ * The steps of an evaluator are prepared in the order they were submitted and reach the resource manager
+ * in that order, so the release of an evaluator never overtakes its launch.
+ * <p>
+ * At most {@link MaxPendingEvaluatorLaunches} launches are in the pipeline; {@link #reserve()} waits for room.
+ * With 0 threads, or once closed, the pipeline is not enabled: callers build the launch events themselves
+ * and the pipeline hands launches and releases to the resource manager on the calling thread.
+ * A release after {@link #close()} first waits for the steps that were pending at close to be handed over.
+ */
+@Private
+@DriverSide
+public final class EvaluatorLaunchPipeline implements AutoCloseable {
+
+  private static final Logger LOG = Logger.getLogger(EvaluatorLaunchPipeline.class.getName());
+  private static final int MAX_BATCH_SIZE = 64;
+
+  // The resource manager may depend on the evaluator managers, and through them on this pipeline
+  private final InjectionFuture<ResourceLaunchHandler> resourceLaunchHandler;
+  private final InjectionFuture<ResourceReleaseHandler> resourceReleaseHandler;
+  private final KeyedOrderedStage<String, Step> prepareStage;
+  private final BlockingQueue<Step> handOffQueue = new LinkedBlockingQueue<>();
+  private final LatencySampler handOffLatencySampler = new LatencySampler(1);
+  private final Semaphore pendingLaunches;
+  private final Thread handOffThread;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  @Inject
+  private EvaluatorLaunchPipeline(final InjectionFuture<ResourceLaunchHandler> resourceLaunchHandler,
+                                  final InjectionFuture<ResourceReleaseHandler> resourceReleaseHandler,
+                                  @Parameter(EvaluatorLaunchThreads.class) final int numThreads,
+                                  @Parameter(MaxPendingEvaluatorLaunches.class) final int maxPendingLaunches) {
+    this.resourceLaunchHandler = resourceLaunchHandler;
+    this.resourceReleaseHandler = resourceReleaseHandler;
+    this.pendingLaunches = new Semaphore(Math.max(1, maxPendingLaunches));
+    if (numThreads > 0) {
+      this.prepareStage = new KeyedOrderedStage<>("EvaluatorLaunchPrepareStage",
+          new KeyedOrderedStage.KeySelector<String, Step>() {
+            @Override
+            public String getKey(final Step step) {
+              return step.evaluatorId;
+            }
+          }, new PrepareHandler(), numThreads, 1, null, WakeParameters.EXECUTOR_SHUTDOWN_TIMEOUT);
+      // Launches are few and slow, so every one of them is timed
+      this.prepareStage.getLatencySampler().setSamplingPeriod(1);
+      this.handOffThread = new Thread(new HandOffLoop(), "EvaluatorLaunchHandOff");
+      this.handOffThread.setDaemon(true);
+      this.handOffThread.start();
+    } else {
+      this.prepareStage = null;
+      this.handOffThread = null;
+    }
+  }
+
+  /**
+   * @return true if launches are prepared and handed to the resource manager off the calling thread
+   */
+  public boolean isEnabled() {
+    return this.prepareStage != null && !this.closed.get();
+  }
+
+  /**
+   * Waits until the pipeline has room for another launch. The room is taken by the next call to
+   * {@link #launch} or given back by {@link #cancelReservation()}.
+   * Callers must not hold locks that the resource manager handlers may need while waiting.
+   */
+  void reserve() {
+    if (this.prepareStage != null) {
+      this.pendingLaunches.acquireUninterruptibly();
+    }
+  }
+
+  /**
+   * Gives back the room taken by {@link #reserve()} for a launch that did not happen.
+   */
+  void cancelReservation() {
+    if (this.prepareStage != null) {
+      this.pendingLaunches.release();
+    }
+  }
+
+  /**
+   * Prepares the launch event of an evaluator and hands it to the resource manager.
+   * Must follow a call to {@link #reserve()}.
+   *
+   * @param evaluatorId  the evaluator to launch
+   * @param preparation  builds the launch event
+   * @param errorHandler notified if the launch event cannot be built or handed over
+   */
+  @SuppressWarnings("checkstyle:illegalcatch")
+  void launch(final String evaluatorId,
+              final Callable<ResourceLaunchEvent> preparation,
+              final EventHandler<Throwable> errorHandler) {
+    final Step step = new Step(evaluatorId, preparation, null, errorHandler);
+    if (!this.submit(step)) {
+      // Closed since the caller checked isEnabled()
+      this.cancelReservation();
+      final ResourceLaunchEvent launchEvent;
+      try {
+        launchEvent = preparation.call();
+      } catch (final Exception e) {
+        step.fail(e);
+        return;
+      }
+      this.resourceLaunchHandler.get().onNext(launchEvent);
+    }
+  }
+
+  /**
+   * Hands a launch event that the caller built to the resource manager on the calling thread.
+   * Used instead of {@link #launch} when the pipeline is not enabled.
+   *
+   * @param launchEvent the launch event
+   */
+  void launchNow(final ResourceLaunchEvent launchEvent) {
+    this.resourceLaunchHandler.get().onNext(launchEvent);
+  }
+
+  /**
+   * Hands the release of an evaluator to the resource manager after all its earlier launches.
+   * Once closed, the release waits for the steps submitted before {@link #close()} to be handed over.
+   *
+   * @param evaluatorId  the evaluator to release
+   * @param releaseEvent the release event
+   */
+  void release(final String evaluatorId, final ResourceReleaseEvent releaseEvent) {
+    final Step step = new Step(evaluatorId, null, releaseEvent, null);
+    if (!this.submit(step)) {
+      this.awaitHandOff();
+      this.resourceReleaseHandler.get().onNext(releaseEvent);
+    }
+  }
+
+  /**
+   * @return the sampler of the time the launch events took to build, or null if the pipeline has no threads
+   */
+  public LatencySampler getPrepareLatencySampler() {
+    return this.prepareStage != null ? this.prepareStage.getLatencySampler() : null;
+  }
+
+  /**
+   * @return the sampler of the time prepared steps waited for and took to reach the resource manager
+   */
+  public LatencySampler getHandOffLatencySampler() {
+    return this.handOffLatencySampler;
+  }
+
+  /**
+   * Hands the pending launches and releases to the resource manager and stops the threads of the pipeline.
+   * Later launches and releases run on the calling thread; releases wait for this hand-over to finish.
+   */
+  @Override
+  public void close() throws Exception {
+    if (this.prepareStage == null || !this.closed.compareAndSet(false, true)) {
+      return;
+    }
+    this.prepareStage.close();
+    this.handOffQueue.add(new Step(null, null, null, null));
+    this.handOffThread.join(WakeParameters.EXECUTOR_SHUTDOWN_TIMEOUT);
+    LOG.log(Level.INFO, "Evaluator launches: prepare p50/p99 {0}/{1} us, hand-off wait p50/p99 {2}/{3} us, " +
+        "hand-off p50/p99 {4}/{5} us", new Object[]{
+            percentile(this.prepareStage.getLatencySampler().getHandlerTimeHistogram(), 50),
+            percentile(this.prepareStage.getLatencySampler().getHandlerTimeHistogram(), 99),
+            percentile(this.handOffLatencySampler.getQueueWaitHistogram(), 50),
+            percentile(this.handOffLatencySampler.getQueueWaitHistogram(), 99),
+            percentile(this.handOffLatencySampler.getHandlerTimeHistogram(), 50),
+            percentile(this.handOffLatencySampler.getHandlerTimeHistogram(), 99)});
+  }
+
+  /**
+   * Waits until the hand-off thread has handed over the steps submitted before {@link #close()},
+   * so that a release on the calling thread does not overtake the launch of the same evaluator.
+   * Gives up after the executor shutdown timeout, like {@link #close()} does.
+   */
+  private void awaitHandOff() {
+    if (this.handOffThread == null || Thread.currentThread() == this.handOffThread) {
+      return;
+    }
+    try {
+      this.handOffThread.join(WakeParameters.EXECUTOR_SHUTDOWN_TIMEOUT);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (this.handOffThread.isAlive()) {
+      LOG.log(Level.WARNING, "Evaluator launches are still being handed to the resource manager; " +
+          "releasing an evaluator anyway");
+    }
+  }
+
+  /**
+   * @return false if the step has to run on the calling thread
+   */
+  private boolean submit(final Step step) {
+    if (!this.isEnabled()) {
+      return false;
+    }
+    try {
+      this.prepareStage.onNext(step);
+      return true;
+    } catch (final RejectedExecutionException e) {
+      // Closed in the meantime
+      return false;
+    }
+  }
+
+  /**
+   * Builds a launch event on the calling thread.
+   *
+   * @param preparation builds the launch event
+   * @return the launch event
+   */
+  @SuppressWarnings("checkstyle:illegalcatch")
+  static ResourceLaunchEvent prepareNow(final Callable<ResourceLaunchEvent> preparation) {
+    try {
+      return preparation.call();
+    } catch (final RuntimeException e) {
+      throw e;
+    } catch (final Exception e) {
+      throw new RuntimeException("Unable to prepare the evaluator launch.", e);
+    }
+  }
+
+  private static long percentile(final LogHistogram histogram, final double percentile) {
+    return histogram.getPercentile(percentile) / 1000;
+  }
+
+  /**
+   * A launch or release of an evaluator on its way through the pipeline.
+   */
+  private static final class Step {
+
+    private final String evaluatorId;
+    private final Callable<ResourceLaunchEvent> preparation;
+    private final EventHandler<Throwable> errorHandler;
+    private final ResourceReleaseEvent releaseEvent;
+    private ResourceLaunchEvent launchEvent;
+    private long handOffStartTime;
+
+    Step(final String evaluatorId,
+         final Callable<ResourceLaunchEvent> preparation,
+         final ResourceReleaseEvent releaseEvent,
+         final EventHandler<Throwable> errorHandler) {
+      this.evaluatorId = evaluatorId;
+      this.preparation = preparation;
+      this.releaseEvent = releaseEvent;
+      this.errorHandler = errorHandler;
+    }
+
+    boolean isLaunch() {
+      return this.preparation != null;
+    }
+
+    boolean isEndOfStream() {
+      return this.evaluatorId == null;
+    }
+
+    void fail(final Throwable cause) {
+      LOG.log(Level.WARNING, "Unable to hand evaluator " + this.evaluatorId + " to the resource manager", cause);
+      if (this.errorHandler != null) {
+        this.errorHandler.onNext(cause);
+      }
+    }
+  }
+
+  /**
+   * Builds the launch events and queues the steps for the hand-off thread.
+   */
+  private final class PrepareHandler implements EventHandler<Step> {
+    @Override
+    @SuppressWarnings("checkstyle:illegalcatch")
+    public void onNext(final Step step) {
+      if (step.isLaunch()) {
+        try {
+          step.launchEvent = step.preparation.call();
+        } catch (final Exception e) {
+          pendingLaunches.release();
+          step.fail(e);
+          return;
+        }
+      }
+      step.handOffStartTime = handOffLatencySampler.start();
+      handOffQueue.add(step);
+    }
+  }
+
+  /**
+   * Hands the prepared steps to the resource manager in batches, until the end of stream.
+   */
+  private final class HandOffLoop implements Runnable {
+    @Override
+    @SuppressWarnings("checkstyle:illegalcatch")
+    public void run() {
+      final List<Step> batch = new ArrayList<>(MAX_BATCH_SIZE);
+      while (true) {
+        try {
+          batch.add(handOffQueue.take());
+        } catch (final InterruptedException e) {
+          LOG.log(Level.WARNING, "Evaluator launch hand-off interrupted", e);
+          return;
+        }
+        handOffQueue.drainTo(batch, MAX_BATCH_SIZE - 1);
+        LOG.log(Level.FINEST, "Handing {0} evaluator launches and releases to the resource manager", batch.size());
+        for (final Step step : batch) {
+          if (step.isEndOfStream()) {
+            return;
+          }
+          final long startTime = handOffLatencySampler.recordQueueWait(step.handOffStartTime);
+          try {
+            if (step.isLaunch()) {
+              resourceLaunchHandler.get().onNext(step.launchEvent);
+            } else {
+              resourceReleaseHandler.get().onNext(step.releaseEvent);
+            }
+          } catch (final Throwable t) {
+            step.fail(t);
+          } finally {
+            if (step.isLaunch()) {
+              pendingLaunches.release();
+            }
+          }
+          handOffLatencySampler.recordHandlerTime(startTime);
+        }
+        batch.clear();
+      }
+    }
+  }
+}
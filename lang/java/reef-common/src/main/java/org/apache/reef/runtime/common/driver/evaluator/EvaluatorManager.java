@@ -42,13 +42,14 @@ import org.apache.reef.proto.ReefServiceProtos;
 import org.apache.reef.driver.evaluator.EvaluatorProcess;
 import org.apache.reef.runtime.common.driver.api.ResourceLaunchEvent;
 import org.apache.reef.runtime.common.driver.api.ResourceReleaseEventImpl;
-import org.apache.reef.runtime.common.driver.api.ResourceLaunchHandler;
-import org.apache.reef.runtime.common.driver.api.ResourceReleaseHandler;
 import org.apache.reef.runtime.common.driver.context.ContextControlHandler;
 import org.apache.reef.runtime.common.driver.context.ContextRepresenters;
 import org.apache.reef.runtime.common.driver.idle.EventHandlerIdlenessSource;
 import org.apache.reef.runtime.common.driver.resourcemanager.ResourceStatusEvent;
+import org.apache.reef.runtime.common.driver.task.TaskMessageImpl;
 import org.apache.reef.runtime.common.driver.task.TaskRepresenter;
+import org.apache.reef.runtime.common.evaluator.parameters.DeltaHeartbeats;
+import org.apache.reef.runtime.common.utils.ConfigurationStringCodec;
 import org.apache.reef.runtime.common.utils.ExceptionCodec;
 import org.apache.reef.runtime.common.utils.RemoteManager;
 import org.apache.reef.tang.annotations.Name;
@@ -67,6 +68,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -90,8 +92,7 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
 
   private final EvaluatorHeartBeatSanityChecker sanityChecker = new EvaluatorHeartBeatSanityChecker();
   private final Clock clock;
-  private final ResourceReleaseHandler resourceReleaseHandler;
-  private final ResourceLaunchHandler resourceLaunchHandler;
+  private final EvaluatorLaunchPipeline launchPipeline;
   private final String evaluatorId;
   private final EvaluatorDescriptorImpl evaluatorDescriptor;
   private final ContextRepresenters contextRepresenters;
@@ -106,18 +107,21 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
   private final LoggingScopeFactory loggingScopeFactory;
   private final Set<ConfigurationProvider> evaluatorConfigurationProviders;
   private final DriverRestartManager driverRestartManager;
+  private final boolean deltaHeartbeats;
+  private final HeartbeatPeriodController heartbeatPeriodController;
+  private final ConfigurationStringCodec configurationStringCodec;
 
   // Mutable fields
   private Optional<TaskRepresenter> task = Optional.empty();
   private boolean isResourceReleased = false;
   private boolean allocationFired = false;
+  private int heartbeatPeriodSent = 0;
 
   @Inject
   private EvaluatorManager(
       final Clock clock,
       final RemoteManager remoteManager,
-      final ResourceReleaseHandler resourceReleaseHandler,
-      final ResourceLaunchHandler resourceLaunchHandler,
+      final EvaluatorLaunchPipeline launchPipeline,
       @Parameter(EvaluatorIdentifier.class) final String evaluatorId,
       @Parameter(EvaluatorDescriptorName.class) final EvaluatorDescriptorImpl evaluatorDescriptor,
       final ContextRepresenters contextRepresenters,
@@ -131,13 +135,15 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
       final LoggingScopeFactory loggingScopeFactory,
       @Parameter(EvaluatorConfigurationProviders.class)
       final Set<ConfigurationProvider> evaluatorConfigurationProviders,
-      final DriverRestartManager driverRestartManager) {
+      final DriverRestartManager driverRestartManager,
+      @Parameter(DeltaHeartbeats.class) final boolean deltaHeartbeats,
+      final HeartbeatPeriodController heartbeatPeriodController,
+      final ConfigurationStringCodec configurationStringCodec) {
     this.contextRepresenters = contextRepresenters;
     this.idlenessSource = idlenessSource;
     LOG.log(Level.FINEST, "Instantiating 'EvaluatorManager' for evaluator: {0}", evaluatorId);
     this.clock = clock;
-    this.resourceReleaseHandler = resourceReleaseHandler;
-    this.resourceLaunchHandler = resourceLaunchHandler;
+    this.launchPipeline = launchPipeline;
     this.evaluatorId = evaluatorId;
     this.evaluatorDescriptor = evaluatorDescriptor;
 
@@ -152,6 +158,10 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
     this.loggingScopeFactory = loggingScopeFactory;
     this.evaluatorConfigurationProviders = evaluatorConfigurationProviders;
     this.driverRestartManager = driverRestartManager;
+    this.deltaHeartbeats = deltaHeartbeats;
+    this.heartbeatPeriodController = heartbeatPeriodController;
+    this.configurationStringCodec = configurationStringCodec;
+    this.heartbeatPeriodController.register(this.messageDispatcher);
 
     LOG.log(Level.FINEST, "Instantiated 'EvaluatorManager' for evaluator: [{0}]", this.getId());
   }
@@ -185,7 +195,9 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
               configurationSerializer,
               getJobIdentifier(),
               loggingScopeFactory,
-              evaluatorConfigurationProviders);
+              evaluatorConfigurationProviders,
+              deltaHeartbeats,
+              configurationStringCodec);
       LOG.log(Level.FINEST, "Firing AllocatedEvaluator event for Evaluator with ID [{0}]", evaluatorId);
       messageDispatcher.onEvaluatorAllocated(allocatedEvaluator);
       allocationFired = true;
@@ -243,7 +255,7 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
           this.clock.scheduleAlarm(100, new EventHandler<Alarm>() {
             @Override
             public void onNext(final Alarm alarm) {
-              EvaluatorManager.this.resourceReleaseHandler.onNext(
+              EvaluatorManager.this.launchPipeline.release(EvaluatorManager.this.evaluatorId,
                       ResourceReleaseEventImpl.newBuilder()
                               .setIdentifier(EvaluatorManager.this.evaluatorId)
                               .setRuntimeName(EvaluatorManager.this.getEvaluatorDescriptor().getRuntimeName())
@@ -253,7 +265,7 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
           });
         } catch (final IllegalStateException e) {
           LOG.log(Level.WARNING, "Force resource release because the client closed the clock.", e);
-          EvaluatorManager.this.resourceReleaseHandler.onNext(
+          EvaluatorManager.this.launchPipeline.release(EvaluatorManager.this.evaluatorId,
                   ResourceReleaseEventImpl.newBuilder()
                           .setIdentifier(EvaluatorManager.this.evaluatorId)
                           .setRuntimeName(EvaluatorManager.this.getEvaluatorDescriptor().getRuntimeName())
@@ -263,6 +275,7 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
       }
     }
 
+    this.heartbeatPeriodController.unregister(this.messageDispatcher);
     try {
       this.messageDispatcher.close();
     } catch (Exception e) {
@@ -331,6 +344,27 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
     }
   }
 
+  /**
+   * Dispatches the task messages that the evaluator sent outside of heartbeats. They are dispatched under the
+   * same lock as heartbeats, so the handlers see them in the order the evaluator sent them.
+   *
+   * @param batch the task messages
+   */
+  void onTaskMessageBatch(final EvaluatorRuntimeProtocol.TaskMessageBatchProto batch) {
+    synchronized (this.evaluatorDescriptor) {
+      if (!this.stateManager.isRunning()) {
+        LOG.log(Level.WARNING, "Dropping {0} task messages from Evaluator {1} in state {2}",
+            new Object[]{batch.getTaskMessageCount(), this.getId(), this.stateManager});
+        return;
+      }
+      for (final EvaluatorRuntimeProtocol.TaskMessageBatchProto.TaskMessageEntryProto entry
+          : batch.getTaskMessageList()) {
+        this.messageDispatcher.onTaskMessage(new TaskMessageImpl(entry.getMessage().toByteArray(),
+            entry.getTaskId(), entry.getContextId(), entry.getSourceId(), batch.getTimestamp()));
+      }
+    }
+  }
+
   /**
    * Process an evaluator heartbeat message.
    */
@@ -359,9 +393,10 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
        * yet expired, we should register it and trigger context active and task events. If the restart period has
        * expired, we should return immediately after setting its remote ID in order to close it.
        */
-      if (this.stateManager.isSubmitted() ||
+      final boolean isFirstHeartbeat = this.stateManager.isSubmitted() ||
           evaluatorRestartState == EvaluatorRestartState.REPORTED ||
-          evaluatorRestartState == EvaluatorRestartState.EXPIRED) {
+          evaluatorRestartState == EvaluatorRestartState.EXPIRED;
+      if (isFirstHeartbeat) {
 
         this.evaluatorControlHandler.setRemoteID(evaluatorRID);
 
@@ -387,6 +422,24 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
         this.onEvaluatorStatusMessage(evaluatorStatus);
       }
 
+      if (this.heartbeatPeriodController.isEnabled() && this.stateManager.isRunning()) {
+        this.recommendHeartbeatPeriod();
+      }
+
+      // A keep-alive carries no context or task status, as they are unchanged since the last full heartbeat
+      if (evaluatorHeartbeatProto.getKeepAlive()) {
+        if (isFirstHeartbeat) {
+          // The last full heartbeat went to a previous driver
+          this.sendEvaluatorControlMessage(EvaluatorRuntimeProtocol.EvaluatorControlProto.newBuilder()
+              .setTimestamp(System.currentTimeMillis())
+              .setIdentifier(getId())
+              .setRequestHeartbeat(EvaluatorRuntimeProtocol.RequestHeartbeatProto.newBuilder().build())
+              .build());
+        }
+        LOG.log(Level.FINEST, "DONE with keep-alive heartbeat from Evaluator {0}", this.getId());
+        return;
+      }
+
       // Process the Context status message(s)
       final boolean informClientOfNewContexts = !evaluatorHeartbeatProto.hasTaskStatus();
       final List<ContextStatusPOJO> contextStatusList = new ArrayList<>();
@@ -406,6 +459,23 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
     }
   }
 
+  /**
+   * Tells the evaluator the heartbeat period recommended by the driver, if it changed since the last time.
+   */
+  private void recommendHeartbeatPeriod() {
+    final int period = this.heartbeatPeriodController.getRecommendedPeriod();
+    if (period != this.heartbeatPeriodSent) {
+      LOG.log(Level.FINEST, "Recommending a heartbeat period of {0} ms to Evaluator {1}",
+          new Object[]{period, this.getId()});
+      this.heartbeatPeriodSent = period;
+      this.sendEvaluatorControlMessage(EvaluatorRuntimeProtocol.EvaluatorControlProto.newBuilder()
+          .setTimestamp(System.currentTimeMillis())
+          .setIdentifier(getId())
+          .setHeartbeatPeriod(period)
+          .build());
+    }
+  }
+
   /**
    * Process a evaluator status message.
    *
@@ -467,18 +537,66 @@ public final class EvaluatorManager implements Identifiable, AutoCloseable {
     onEvaluatorException(evaluatorException);
   }
 
-  public void onResourceLaunch(final ResourceLaunchEvent resourceLaunchEvent) {
+  /**
+   * Moves the evaluator to SUBMITTED and has the launch pipeline build its launch event and hand it
+   * to the resource manager, possibly on another thread.
+   * <p>
+   * Without the pipeline, the launch event is built on the calling thread before the evaluator is locked,
+   * so an evaluator whose launch event cannot be built stays ALLOCATED.
+   *
+   * @param preparation builds the launch event
+   */
+  public void onResourceLaunch(final Callable<ResourceLaunchEvent> preparation) {
+    if (!this.launchPipeline.isEnabled()) {
+      final ResourceLaunchEvent launchEvent = EvaluatorLaunchPipeline.prepareNow(preparation);
+      synchronized (this.evaluatorDescriptor) {
+        if (this.stateManager.isAllocated()) {
+          this.stateManager.setSubmitted();
+          this.launchPipeline.launchNow(launchEvent);
+        } else {
+          throw new RuntimeException("Evaluator manager expected " + EvaluatorState.ALLOCATED +
+              " state but instead is in state " + this.stateManager);
+        }
+      }
+      return;
+    }
+    // Wait for room before taking the lock, which the resource manager handlers may need
+    this.launchPipeline.reserve();
     synchronized (this.evaluatorDescriptor) {
       if (this.stateManager.isAllocated()) {
         this.stateManager.setSubmitted();
-        this.resourceLaunchHandler.onNext(resourceLaunchEvent);
+        this.launchPipeline.launch(this.evaluatorId, preparation, new EventHandler<Throwable>() {
+          @Override
+          public void onNext(final Throwable cause) {
+            onLaunchFailure(cause);
+          }
+        });
       } else {
+        this.launchPipeline.cancelReservation();
         throw new RuntimeException("Evaluator manager expected " + EvaluatorState.ALLOCATED +
             " state but instead is in state " + this.stateManager);
       }
     }
   }
 
+  /**
+   * Fails the evaluator whose launch failed in the launch pipeline.
+   * Runs on the clock, as the pipeline threads must not wait for the lock of the evaluator.
+   */
+  private void onLaunchFailure(final Throwable cause) {
+    final EvaluatorException exception = new EvaluatorException(this.evaluatorId, cause);
+    try {
+      this.clock.scheduleAlarm(0, new EventHandler<Alarm>() {
+        @Override
+        public void onNext(final Alarm alarm) {
+          onEvaluatorException(exception);
+        }
+      });
+    } catch (final IllegalStateException e) {
+      LOG.log(Level.WARNING, "Unable to report the failed launch of evaluator " + this.evaluatorId, e);
+    }
+  }
+
   /**
    * Packages the ContextControlProto in an EvaluatorControlProto and forward it to the EvaluatorRuntime.
    *
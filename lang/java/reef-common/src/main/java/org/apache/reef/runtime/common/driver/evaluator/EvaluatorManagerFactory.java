@@ -26,6 +26,7 @@ import org.apache.reef.driver.catalog.ResourceCatalog;
 import org.apache.reef.driver.evaluator.EvaluatorProcessFactory;
 import org.apache.reef.runtime.common.driver.catalog.ResourceCatalogImpl;
 import org.apache.reef.runtime.common.driver.resourcemanager.*;
+import org.apache.reef.runtime.common.utils.ConfigurationStringCodec;
 import org.apache.reef.tang.Injector;
 import org.apache.reef.tang.exceptions.BindException;
 import org.apache.reef.tang.exceptions.InjectionException;
@@ -46,10 +47,22 @@ public final class EvaluatorManagerFactory {
   private final ResourceCatalog resourceCatalog;
   private final EvaluatorProcessFactory processFactory;
 
+  /**
+   * @param injector
+   * @param resourceCatalog
+   * @param processFactory
+   * @param heartbeatPeriodController is passed only to make sure it is instantiated,
+   *                                  so that the evaluator managers forked from the injector share it
+   * @param configurationStringCodec  likewise
+   * @param launchPipeline            likewise
+   */
   @Inject
   EvaluatorManagerFactory(final Injector injector,
                           final ResourceCatalog resourceCatalog,
-                          final EvaluatorProcessFactory processFactory) {
+                          final EvaluatorProcessFactory processFactory,
+                          final HeartbeatPeriodController heartbeatPeriodController,
+                          final ConfigurationStringCodec configurationStringCodec,
+                          final EvaluatorLaunchPipeline launchPipeline) {
     this.injector = injector;
     this.resourceCatalog = resourceCatalog;
     this.processFactory = processFactory;
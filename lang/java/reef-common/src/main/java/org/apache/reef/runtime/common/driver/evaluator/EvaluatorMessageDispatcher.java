@@ -270,6 +270,13 @@ public final class EvaluatorMessageDispatcher implements AutoCloseable {
     return this.applicationDispatcher.isEmpty();
   }
 
+  /**
+   * Return the number of events waiting for a thread. All dispatchers share the same stage.
+   */
+  int getQueueLength() {
+    return this.serviceDispatcher.getQueueLength();
+  }
+
   private <T, U extends T> void dispatch(final Class<T> type, final U message) {
     this.serviceDispatcher.onNext(type, message);
     this.applicationDispatcher.onNext(type, message);
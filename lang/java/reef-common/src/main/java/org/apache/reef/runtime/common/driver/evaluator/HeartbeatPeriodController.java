@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.driver.parameters.AdaptiveHeartbeatMinPeriod;
+import org.apache.reef.driver.parameters.AdaptiveHeartbeatQueueThreshold;
+import org.apache.reef.runtime.common.evaluator.parameters.HeartbeatPeriod;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recommends a heartbeat period to the evaluators based on the number of events queued in the driver.
+ * <p>
+ * An idle driver recommends {@link AdaptiveHeartbeatMinPeriod}. The recommendation grows with the queued events
+ * in steps up to {@link HeartbeatPeriod} at {@link AdaptiveHeartbeatQueueThreshold} events, so that evaluators
+ * back off while the driver catches up and are only told about a new period when the step changes.
+ * The queues of all evaluators are summed at most once per {@link #SAMPLE_INTERVAL_MS}.
+ */
+@Private
+@DriverSide
+public final class HeartbeatPeriodController {
+
+  private static final long SAMPLE_INTERVAL_MS = 100;
+  private static final int STEPS = 8;
+
+  private final int minPeriod;
+  private final int maxPeriod;
+  private final int queueThreshold;
+  private final Set<EvaluatorMessageDispatcher> dispatchers =
+      Collections.newSetFromMap(new ConcurrentHashMap<EvaluatorMessageDispatcher, Boolean>());
+
+  private volatile long lastSampleTime = 0;
+  private volatile int recommendedPeriod;
+
+  @Inject
+  private HeartbeatPeriodController(@Parameter(AdaptiveHeartbeatMinPeriod.class) final int minPeriod,
+                                    @Parameter(HeartbeatPeriod.class) final int maxPeriod,
+                                    @Parameter(AdaptiveHeartbeatQueueThreshold.class) final int queueThreshold) {
+    this.minPeriod = minPeriod;
+    this.maxPeriod = maxPeriod;
+    this.queueThreshold = Math.max(1, queueThreshold);
+    this.recommendedPeriod = minPeriod;
+  }
+
+  /**
+   * @return true if the driver recommends heartbeat periods to the evaluators
+   */
+  public boolean isEnabled() {
+    return this.minPeriod > 0 && this.minPeriod < this.maxPeriod;
+  }
+
+  void register(final EvaluatorMessageDispatcher dispatcher) {
+    this.dispatchers.add(dispatcher);
+  }
+
+  void unregister(final EvaluatorMessageDispatcher dispatcher) {
+    this.dispatchers.remove(dispatcher);
+  }
+
+  /**
+   * @return the heartbeat period in ms that the evaluators should use now
+   */
+  public int getRecommendedPeriod() {
+    final long now = System.currentTimeMillis();
+    if (now - this.lastSampleTime >= SAMPLE_INTERVAL_MS) {
+      this.lastSampleTime = now;
+      long queued = 0;
+      for (final EvaluatorMessageDispatcher dispatcher : this.dispatchers) {
+        queued += dispatcher.getQueueLength();
+      }
+      this.recommendedPeriod = this.getPeriod(queued);
+    }
+    return this.recommendedPeriod;
+  }
+
+  /**
+   * @param queued the number of events queued in the driver
+   * @return the heartbeat period in ms for that many queued events
+   */
+  int getPeriod(final long queued) {
+    final long step = Math.min(STEPS, Math.max(0, queued) * STEPS / this.queueThreshold);
+    return (int) (this.minPeriod + (this.maxPeriod - this.minPeriod) * step / STEPS);
+  }
+}
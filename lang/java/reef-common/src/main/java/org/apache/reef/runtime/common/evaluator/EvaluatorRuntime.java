@@ -27,6 +27,7 @@ import org.apache.reef.runtime.common.evaluator.context.ContextManager;
 import org.apache.reef.runtime.common.evaluator.parameters.DriverRemoteIdentifier;
 import org.apache.reef.runtime.common.evaluator.parameters.EvaluatorIdentifier;
 import org.apache.reef.runtime.common.evaluator.parameters.HeartbeatPeriod;
+import org.apache.reef.runtime.common.evaluator.task.TaskMessageChannel;
 import org.apache.reef.runtime.common.utils.ExceptionCodec;
 import org.apache.reef.runtime.common.utils.RemoteManager;
 import org.apache.reef.tang.annotations.Parameter;
@@ -53,6 +54,7 @@ final class EvaluatorRuntime implements EventHandler<EvaluatorControlProto> {
   private final String evaluatorIdentifier;
   private final ExceptionCodec exceptionCodec;
   private final AutoCloseable evaluatorControlChannel;
+  private final TaskMessageChannel taskMessageChannel;
 
   private ReefServiceProtos.State state = ReefServiceProtos.State.INIT;
 
@@ -66,7 +68,8 @@ final class EvaluatorRuntime implements EventHandler<EvaluatorControlProto> {
       final Clock clock,
       final ContextManager contextManagerFuture,
       final RemoteManager remoteManager,
-      final ExceptionCodec exceptionCodec) {
+      final ExceptionCodec exceptionCodec,
+      final TaskMessageChannel taskMessageChannel) {
 
     this.heartBeatManager = heartBeatManager;
     this.contextManager = contextManagerFuture;
@@ -76,6 +79,8 @@ final class EvaluatorRuntime implements EventHandler<EvaluatorControlProto> {
     this.exceptionCodec = exceptionCodec;
     this.evaluatorControlChannel =
         remoteManager.registerHandler(driverRID, EvaluatorControlProto.class, this);
+    // Instantiated here, so that the tasks share the one of the evaluator
+    this.taskMessageChannel = taskMessageChannel;
 
     // start the heartbeats
     clock.scheduleAlarm(heartbeatPeriod, heartbeatAlarmHandler);
@@ -117,6 +122,16 @@ final class EvaluatorRuntime implements EventHandler<EvaluatorControlProto> {
           }
         }
 
+        if (message.hasHeartbeatPeriod()) {
+          LOG.log(Level.FINEST, "Driver recommended a heartbeat period of {0} ms", message.getHeartbeatPeriod());
+          this.heartBeatManager.setRecommendedPeriod(message.getHeartbeatPeriod());
+        }
+
+        if (message.hasRequestHeartbeat()) {
+          LOG.log(Level.FINEST, "Driver requested a full heartbeat");
+          this.heartBeatManager.sendFullHeartbeat();
+        }
+
         if (message.hasKillEvaluator()) {
           LOG.log(Level.SEVERE, "Evaluator {0} has been killed by the driver.", this.evaluatorIdentifier);
           this.state = ReefServiceProtos.State.KILLED;
@@ -196,6 +211,7 @@ final class EvaluatorRuntime implements EventHandler<EvaluatorControlProto> {
               "RuntimeStopHandler invoked in state RUNNING.", runtimeStop.getException()));
         } else {
           EvaluatorRuntime.this.contextManager.close();
+          EvaluatorRuntime.this.taskMessageChannel.close();
           try {
             EvaluatorRuntime.this.evaluatorControlChannel.close();
           } catch (final Exception e) {
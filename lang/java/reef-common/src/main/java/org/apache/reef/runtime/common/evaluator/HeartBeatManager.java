@@ -21,6 +21,7 @@ package org.apache.reef.runtime.common.evaluator;
 import org.apache.reef.proto.EvaluatorRuntimeProtocol;
 import org.apache.reef.proto.ReefServiceProtos;
 import org.apache.reef.runtime.common.evaluator.context.ContextManager;
+import org.apache.reef.runtime.common.evaluator.parameters.DeltaHeartbeats;
 import org.apache.reef.runtime.common.evaluator.parameters.DriverRemoteIdentifier;
 import org.apache.reef.runtime.common.evaluator.parameters.HeartbeatPeriod;
 import org.apache.reef.runtime.common.utils.RemoteManager;
@@ -40,6 +41,10 @@ import java.util.logging.Logger;
 
 /**
  * Heartbeat manager.
+ * <p>
+ * With {@link DeltaHeartbeats}, a heartbeat whose contexts and task are unchanged since the last full heartbeat
+ * only carries the evaluator status and the keep-alive flag. Status changes, messages and driver requests
+ * always get a full heartbeat.
  */
 @Unit
 public final class HeartBeatManager {
@@ -51,6 +56,13 @@ public final class HeartBeatManager {
   private final EventHandler<EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto> evaluatorHeartbeatHandler;
   private final InjectionFuture<EvaluatorRuntime> evaluatorRuntime;
   private final InjectionFuture<ContextManager> contextManager;
+  private final boolean deltaHeartbeats;
+  private final KeepAliveTracker keepAliveTracker = new KeepAliveTracker();
+
+  /**
+   * The heartbeat period recommended by the driver, which is at most the configured one.
+   */
+  private int recommendedPeriod;
 
   @Inject
   private HeartBeatManager(
@@ -59,21 +71,46 @@ public final class HeartBeatManager {
       final Clock clock,
       final RemoteManager remoteManager,
       @Parameter(HeartbeatPeriod.class) final int heartbeatPeriod,
+      @Parameter(DeltaHeartbeats.class) final boolean deltaHeartbeats,
       @Parameter(DriverRemoteIdentifier.class) final String driverRID) {
 
     this.evaluatorRuntime = evaluatorRuntime;
     this.contextManager = contextManager;
     this.clock = clock;
     this.heartbeatPeriod = heartbeatPeriod;
+    this.recommendedPeriod = heartbeatPeriod;
+    this.deltaHeartbeats = deltaHeartbeats;
     this.evaluatorHeartbeatHandler = remoteManager.getHandler(
         driverRID, EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.class);
   }
 
   /**
-   * Assemble a complete new heartbeat and send it out.
+   * Assemble a complete new heartbeat and send it out,
+   * or a keep-alive if delta heartbeats are on and the contexts and task are unchanged.
    */
   public synchronized void sendHeartbeat() {
-    this.sendHeartBeat(this.getEvaluatorHeartbeatProto());
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto heartbeatProto = this.getEvaluatorHeartbeatProto();
+    if (this.deltaHeartbeats) {
+      this.sendHeartBeat(this.keepAliveTracker.toPeriodicHeartbeat(heartbeatProto), true);
+    } else {
+      this.sendHeartBeat(heartbeatProto);
+    }
+  }
+
+  /**
+   * Called when the driver asks for a full heartbeat, e.g. because it did not see the earlier ones.
+   */
+  public synchronized void sendFullHeartbeat() {
+    this.keepAliveTracker.reset();
+    this.sendHeartbeat();
+  }
+
+  /**
+   * Called with the heartbeat period recommended by the driver, which applies from the next periodic heartbeat on.
+   * Periods above the configured {@link HeartbeatPeriod} are capped, and status changes are still sent at once.
+   */
+  public synchronized void setRecommendedPeriod(final int period) {
+    this.recommendedPeriod = Math.max(1, Math.min(period, this.heartbeatPeriod));
   }
 
   /**
@@ -123,6 +160,14 @@ public final class HeartBeatManager {
    */
   private synchronized void sendHeartBeat(
       final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto heartbeatProto) {
+    this.sendHeartBeat(heartbeatProto, false);
+  }
+
+  private synchronized void sendHeartBeat(
+      final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto heartbeatProto, final boolean periodic) {
+    if (this.deltaHeartbeats) {
+      this.keepAliveTracker.onSent(heartbeatProto, periodic);
+    }
     if (LOG.isLoggable(Level.FINEST)) {
       LOG.log(Level.FINEST, "Heartbeat message:\n" + heartbeatProto, new Exception("Stack trace"));
     }
@@ -164,7 +209,7 @@ public final class HeartBeatManager {
       synchronized (HeartBeatManager.this) {
         if (evaluatorRuntime.get().isRunning()) {
           HeartBeatManager.this.sendHeartbeat();
-          HeartBeatManager.this.clock.scheduleAlarm(HeartBeatManager.this.heartbeatPeriod, this);
+          HeartBeatManager.this.clock.scheduleAlarm(HeartBeatManager.this.recommendedPeriod, this);
         } else {
           LOG.log(Level.FINEST,
               "Not triggering a heartbeat, because state is: {0}",
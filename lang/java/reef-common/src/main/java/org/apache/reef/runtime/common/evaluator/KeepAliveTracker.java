@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator;
+
+import org.apache.reef.proto.EvaluatorRuntimeProtocol;
+import org.apache.reef.proto.ReefServiceProtos;
+
+/**
+ * Tells which periodic heartbeats can be sent as keep-alives when
+ * {@link org.apache.reef.runtime.common.evaluator.parameters.DeltaHeartbeats} are on: those whose contexts and task
+ * are unchanged since the last full periodic heartbeat, and which carry no messages.
+ */
+final class KeepAliveTracker {
+
+  /**
+   * The last full periodic heartbeat, or null if the next one must be full.
+   */
+  private EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto lastFullHeartbeat;
+
+  /**
+   * @param heartbeatProto a complete periodic heartbeat
+   * @return a keep-alive if the heartbeat is unchanged since the last full periodic heartbeat,
+   * or the heartbeat itself otherwise
+   */
+  EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto toPeriodicHeartbeat(
+      final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto heartbeatProto) {
+    if (!this.isUnchanged(heartbeatProto)) {
+      return heartbeatProto;
+    }
+    return EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.newBuilder()
+        .setTimestamp(heartbeatProto.getTimestamp())
+        .setEvaluatorStatus(heartbeatProto.getEvaluatorStatus())
+        .setKeepAlive(true)
+        .build();
+  }
+
+  /**
+   * Called with every heartbeat that is sent.
+   *
+   * @param heartbeatProto the heartbeat
+   * @param periodic       whether it is a periodic heartbeat, whose status the driver sees in full
+   */
+  void onSent(final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto heartbeatProto, final boolean periodic) {
+    if (heartbeatProto.getKeepAlive()) {
+      return;
+    }
+    // The driver may have seen a state that the last full heartbeat does not show,
+    // and messages must reach the driver again if they are sent again
+    this.lastFullHeartbeat = periodic && !hasMessages(heartbeatProto) ? heartbeatProto : null;
+  }
+
+  /**
+   * Makes the next periodic heartbeat full.
+   */
+  void reset() {
+    this.lastFullHeartbeat = null;
+  }
+
+  private boolean isUnchanged(final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto heartbeatProto) {
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto last = this.lastFullHeartbeat;
+    return last != null
+        && last.getEvaluatorStatus().equals(heartbeatProto.getEvaluatorStatus())
+        && last.getContextStatusList().equals(heartbeatProto.getContextStatusList())
+        && last.hasTaskStatus() == heartbeatProto.hasTaskStatus()
+        && last.getTaskStatus().equals(heartbeatProto.getTaskStatus())
+        && !hasMessages(heartbeatProto);
+  }
+
+  private static boolean hasMessages(final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto heartbeatProto) {
+    for (final ReefServiceProtos.ContextStatusProto contextStatusProto : heartbeatProto.getContextStatusList()) {
+      if (contextStatusProto.getContextMessageCount() > 0) {
+        return true;
+      }
+    }
+    return heartbeatProto.getTaskStatus().getTaskMessageCount() > 0;
+  }
+}
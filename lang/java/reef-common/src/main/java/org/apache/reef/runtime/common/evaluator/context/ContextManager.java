@@ -26,11 +26,11 @@ import org.apache.reef.proto.EvaluatorRuntimeProtocol;
 import org.apache.reef.proto.ReefServiceProtos;
 import org.apache.reef.runtime.common.evaluator.HeartBeatManager;
 import org.apache.reef.runtime.common.evaluator.task.TaskClientCodeException;
+import org.apache.reef.runtime.common.utils.ConfigurationStringCodec;
 import org.apache.reef.runtime.common.utils.ExceptionCodec;
 import org.apache.reef.tang.Configuration;
 import org.apache.reef.tang.InjectionFuture;
 import org.apache.reef.tang.exceptions.BindException;
-import org.apache.reef.tang.formats.ConfigurationSerializer;
 import org.apache.reef.util.Optional;
 
 import javax.inject.Inject;
@@ -68,26 +68,26 @@ public final class ContextManager implements AutoCloseable {
   private final HeartBeatManager heartBeatManager;
 
   /**
-   * To serialize Configurations.
+   * To deserialize Configurations.
    */
-  private final ConfigurationSerializer configurationSerializer;
+  private final ConfigurationStringCodec configurationStringCodec;
 
   private final ExceptionCodec exceptionCodec;
 
   /**
    * @param launchContext           to instantiate the root context.
    * @param heartBeatManager        for status reporting to the Driver.
-   * @param configurationSerializer
+   * @param configurationStringCodec
    * @param exceptionCodec
    */
   @Inject
   ContextManager(final InjectionFuture<RootContextLauncher> launchContext,
                  final HeartBeatManager heartBeatManager,
-                 final ConfigurationSerializer configurationSerializer,
+                 final ConfigurationStringCodec configurationStringCodec,
                  final ExceptionCodec exceptionCodec) {
     this.launchContext = launchContext;
     this.heartBeatManager = heartBeatManager;
-    this.configurationSerializer = configurationSerializer;
+    this.configurationStringCodec = configurationStringCodec;
     this.exceptionCodec = exceptionCodec;
   }
 
@@ -251,12 +251,12 @@ public final class ContextManager implements AutoCloseable {
         }
 
         final Configuration contextConfiguration =
-            this.configurationSerializer.fromString(addContextProto.getContextConfiguration());
+            this.configurationStringCodec.fromString(addContextProto.getContextConfiguration());
 
         final ContextRuntime newTopContext;
         if (addContextProto.hasServiceConfiguration()) {
           newTopContext = currentTopContext.spawnChildContext(contextConfiguration,
-              this.configurationSerializer.fromString(addContextProto.getServiceConfiguration()));
+              this.configurationStringCodec.fromString(addContextProto.getServiceConfiguration()));
         } else {
           newTopContext = currentTopContext.spawnChildContext(contextConfiguration);
         }
@@ -321,7 +321,7 @@ public final class ContextManager implements AutoCloseable {
 
       try {
         final Configuration taskConfig =
-            this.configurationSerializer.fromString(startTaskProto.getConfiguration());
+            this.configurationStringCodec.fromString(startTaskProto.getConfiguration());
         currentActiveContext.startTask(taskConfig);
       } catch (IOException | BindException e) {
         throw new RuntimeException("Unable to read configuration.", e);
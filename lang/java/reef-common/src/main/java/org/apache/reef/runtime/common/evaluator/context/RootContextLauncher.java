@@ -21,11 +21,11 @@ package org.apache.reef.runtime.common.evaluator.context;
 import org.apache.reef.runtime.common.evaluator.parameters.InitialTaskConfiguration;
 import org.apache.reef.runtime.common.evaluator.parameters.RootContextConfiguration;
 import org.apache.reef.runtime.common.evaluator.parameters.RootServiceConfiguration;
+import org.apache.reef.runtime.common.utils.ConfigurationStringCodec;
 import org.apache.reef.tang.Configuration;
 import org.apache.reef.tang.Injector;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.tang.exceptions.BindException;
-import org.apache.reef.tang.formats.ConfigurationSerializer;
 import org.apache.reef.util.Optional;
 
 import javax.inject.Inject;
@@ -40,31 +40,31 @@ final class RootContextLauncher {
   private final Configuration rootContextConfiguration;
   private final Optional<Configuration> rootServiceConfiguration;
   private final Optional<Configuration> initialTaskConfiguration;
-  private final ConfigurationSerializer configurationSerializer;
+  private final ConfigurationStringCodec configurationStringCodec;
   private ContextRuntime rootContext = null;
 
   @Inject
   RootContextLauncher(@Parameter(RootContextConfiguration.class) final String rootContextConfiguration,
                       @Parameter(RootServiceConfiguration.class) final String rootServiceConfiguration,
                       @Parameter(InitialTaskConfiguration.class) final String initialTaskConfiguration,
-                      final Injector injector, final ConfigurationSerializer configurationSerializer)
+                      final Injector injector, final ConfigurationStringCodec configurationStringCodec)
       throws IOException, BindException {
     this.injector = injector;
-    this.configurationSerializer = configurationSerializer;
-    this.rootContextConfiguration = this.configurationSerializer.fromString(rootContextConfiguration);
-    this.rootServiceConfiguration = Optional.of(this.configurationSerializer.fromString(rootServiceConfiguration));
-    this.initialTaskConfiguration = Optional.of(this.configurationSerializer.fromString(initialTaskConfiguration));
+    this.configurationStringCodec = configurationStringCodec;
+    this.rootContextConfiguration = this.configurationStringCodec.fromString(rootContextConfiguration);
+    this.rootServiceConfiguration = Optional.of(this.configurationStringCodec.fromString(rootServiceConfiguration));
+    this.initialTaskConfiguration = Optional.of(this.configurationStringCodec.fromString(initialTaskConfiguration));
   }
 
   @Inject
   RootContextLauncher(@Parameter(RootContextConfiguration.class) final String rootContextConfiguration,
                       final Injector injector,
                       @Parameter(RootServiceConfiguration.class) final String rootServiceConfiguration,
-                      final ConfigurationSerializer configurationSerializer) throws IOException, BindException {
+                      final ConfigurationStringCodec configurationStringCodec) throws IOException, BindException {
     this.injector = injector;
-    this.configurationSerializer = configurationSerializer;
-    this.rootContextConfiguration = this.configurationSerializer.fromString(rootContextConfiguration);
-    this.rootServiceConfiguration = Optional.of(this.configurationSerializer.fromString(rootServiceConfiguration));
+    this.configurationStringCodec = configurationStringCodec;
+    this.rootContextConfiguration = this.configurationStringCodec.fromString(rootContextConfiguration);
+    this.rootServiceConfiguration = Optional.of(this.configurationStringCodec.fromString(rootServiceConfiguration));
     this.initialTaskConfiguration = Optional.empty();
   }
 
@@ -72,21 +72,21 @@ final class RootContextLauncher {
   RootContextLauncher(final Injector injector,
                       @Parameter(RootContextConfiguration.class) final String rootContextConfiguration,
                       @Parameter(InitialTaskConfiguration.class) final String initialTaskConfiguration,
-                      final ConfigurationSerializer configurationSerializer) throws IOException, BindException {
+                      final ConfigurationStringCodec configurationStringCodec) throws IOException, BindException {
     this.injector = injector;
-    this.configurationSerializer = configurationSerializer;
-    this.rootContextConfiguration = this.configurationSerializer.fromString(rootContextConfiguration);
+    this.configurationStringCodec = configurationStringCodec;
+    this.rootContextConfiguration = this.configurationStringCodec.fromString(rootContextConfiguration);
     this.rootServiceConfiguration = Optional.empty();
-    this.initialTaskConfiguration = Optional.of(this.configurationSerializer.fromString(initialTaskConfiguration));
+    this.initialTaskConfiguration = Optional.of(this.configurationStringCodec.fromString(initialTaskConfiguration));
   }
 
   @Inject
   RootContextLauncher(@Parameter(RootContextConfiguration.class) final String rootContextConfiguration,
-                      final Injector injector, final ConfigurationSerializer configurationSerializer)
+                      final Injector injector, final ConfigurationStringCodec configurationStringCodec)
       throws IOException, BindException {
     this.injector = injector;
-    this.configurationSerializer = configurationSerializer;
-    this.rootContextConfiguration = this.configurationSerializer.fromString(rootContextConfiguration);
+    this.configurationStringCodec = configurationStringCodec;
+    this.rootContextConfiguration = this.configurationStringCodec.fromString(rootContextConfiguration);
     this.rootServiceConfiguration = Optional.empty();
     this.initialTaskConfiguration = Optional.empty();
   }
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator.task;
+
+import com.google.protobuf.ByteString;
+import org.apache.reef.annotations.audience.EvaluatorSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.proto.EvaluatorRuntimeProtocol.TaskMessageBatchProto;
+import org.apache.reef.runtime.common.evaluator.parameters.DriverRemoteIdentifier;
+import org.apache.reef.runtime.common.evaluator.parameters.EvaluatorIdentifier;
+import org.apache.reef.runtime.common.utils.RemoteManager;
+import org.apache.reef.task.TaskMessage;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EventHandler;
+
+import javax.inject.Inject;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends task messages to the driver as they are produced, without waiting for or assembling a heartbeat.
+ * <p>
+ * There is no sender thread and no delay: a message sent while the channel is idle goes out on the calling
+ * thread right away. Messages sent while that thread is busy sending are queued, and it sends the ones queued
+ * while its own message was handed to the link in batches of up to {@link #MAX_BATCH_SIZE} before it returns.
+ * So the batches grow with the message rate, and a lone message is never held back.
+ * <p>
+ * Messages queued later are handed to the evaluator's executor, so that other threads that keep sending cannot
+ * keep the calling thread busy: {@link #send} costs the caller at most its own batch and one round of the messages
+ * queued meanwhile.
+ */
+@Private
+@EvaluatorSide
+public final class TaskMessageChannel implements AutoCloseable {
+
+  private static final Logger LOG = Logger.getLogger(TaskMessageChannel.class.getName());
+  private static final int MAX_BATCH_SIZE = 256;
+  private static final long CLOSE_TIMEOUT = 1000;
+
+  private final String evaluatorId;
+  private final EventHandler<TaskMessageBatchProto> driverHandler;
+  private final Queue<TaskMessageBatchProto.TaskMessageEntryProto> pending = new ConcurrentLinkedQueue<>();
+
+  /**
+   * The number of messages queued or about to be queued. The thread that raises it from 0 sends until it is 0,
+   * or hands the sending on to the executor.
+   */
+  private final AtomicInteger pendingCount = new AtomicInteger();
+  private volatile boolean closed = false;
+
+  /**
+   * Takes over the sending from a caller of {@link #send} that sent its share.
+   */
+  private final ExecutorService executor;
+  private final Runnable backgroundSender = new Runnable() {
+    @Override
+    public void run() {
+      sendPending(false);
+    }
+  };
+
+  /**
+   * Notified when the sending thread emptied the queue after the channel was closed.
+   */
+  private final Object drained = new Object();
+
+  @Inject
+  private TaskMessageChannel(@Parameter(EvaluatorIdentifier.class) final String evaluatorId,
+                             @Parameter(DriverRemoteIdentifier.class) final String driverRID,
+                             final RemoteManager remoteManager,
+                             final ExecutorService executor) {
+    this.evaluatorId = evaluatorId;
+    this.driverHandler = remoteManager.getHandler(driverRID, TaskMessageBatchProto.class);
+    this.executor = executor;
+  }
+
+  /**
+   * Sends a task message to the driver.
+   *
+   * @param taskId    the identifier of the task that sends the message
+   * @param contextId the identifier of the context of the task
+   * @param message   the message
+   * @throws IllegalStateException if the channel is closed
+   */
+  public void send(final String taskId, final String contextId, final TaskMessage message) {
+    if (this.closed) {
+      throw new IllegalStateException("Task message channel of evaluator " + this.evaluatorId + " is closed");
+    }
+    final TaskMessageBatchProto.TaskMessageEntryProto entry = TaskMessageBatchProto.TaskMessageEntryProto.newBuilder()
+        .setTaskId(taskId)
+        .setContextId(contextId)
+        .setSourceId(message.getMessageSourceID())
+        .setMessage(ByteString.copyFrom(message.get()))
+        .build();
+    final boolean isSender = this.pendingCount.getAndIncrement() == 0;
+    this.pending.add(entry);
+    if (isSender) {
+      this.sendPending(true);
+    }
+  }
+
+  /**
+   * Refuses further messages, and waits up to {@link #CLOSE_TIMEOUT} milliseconds for the thread that is sending
+   * to hand the queued messages to the link.
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    final long deadline = System.currentTimeMillis() + CLOSE_TIMEOUT;
+    synchronized (this.drained) {
+      while (this.pendingCount.get() > 0) {
+        final long timeout = deadline - System.currentTimeMillis();
+        if (timeout <= 0) {
+          LOG.log(Level.WARNING, "Closed the task message channel with {0} messages not sent yet",
+              this.pendingCount.get());
+          return;
+        }
+        try {
+          this.drained.wait(timeout);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Sends the queued messages until there are none left.
+   * The caller of {@link #send} only sends its own batch and the messages queued while it was sending that one,
+   * and then hands the sending on to the executor.
+   *
+   * @param isCaller true if called by the thread that queued the first message, false if called by the executor
+   */
+  @SuppressWarnings("checkstyle:illegalcatch")
+  private void sendPending(final boolean isCaller) {
+    // The number of messages this thread still sends after its first batch; negative until that one is sent
+    int share = isCaller ? -1 : Integer.MAX_VALUE;
+    int remaining;
+    do {
+      if (share == 0) {
+        try {
+          this.executor.execute(this.backgroundSender);
+          return;
+        } catch (final RejectedExecutionException e) {
+          LOG.log(Level.FINE, "Unable to hand task messages over to the executor, sending them on the caller", e);
+          share = Integer.MAX_VALUE;
+        }
+      }
+      final TaskMessageBatchProto.Builder batch = TaskMessageBatchProto.newBuilder()
+          .setEvaluatorId(this.evaluatorId)
+          .setTimestamp(System.currentTimeMillis());
+      final int maxBatchSize = share < 0 ? MAX_BATCH_SIZE : Math.min(share, MAX_BATCH_SIZE);
+      int batchSize = 0;
+      while (batchSize < maxBatchSize) {
+        final TaskMessageBatchProto.TaskMessageEntryProto entry = this.pending.poll();
+        if (entry == null) {
+          break;
+        }
+        batch.addTaskMessage(entry);
+        ++batchSize;
+      }
+      if (batchSize == 0) {
+        // Another thread counted its message but has not queued it yet
+        Thread.yield();
+        remaining = this.pendingCount.get();
+        continue;
+      }
+      try {
+        this.driverHandler.onNext(batch.build());
+      } catch (final RuntimeException e) {
+        LOG.log(Level.WARNING, "Unable to send " + batchSize + " task messages to the driver", e);
+      }
+      remaining = this.pendingCount.addAndGet(-batchSize);
+      share = share < 0 ? remaining : share - batchSize;
+    } while (remaining > 0);
+    if (this.closed) {
+      synchronized (this.drained) {
+        this.drained.notifyAll();
+      }
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.utils;
+
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.exceptions.BindException;
+import org.apache.reef.tang.formats.ConfigurationSerializer;
+
+import javax.inject.Inject;
+import javax.xml.bind.DatatypeConverter;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * (De-)serializes the configurations that the driver ships to Java evaluators as strings.
+ * <p>
+ * Configurations are encoded as Base64 binary Avro behind {@link #BINARY_MARKER}, which is smaller and faster
+ * to parse than the JSON Avro of {@link ConfigurationSerializer#toString}. Decoding also accepts JSON Avro,
+ * so strings from the CLR bridge still work.
+ * <p>
+ * Both directions keep the most recently used configurations: a driver that launches many evaluators with
+ * equal configurations encodes them once, and an evaluator that receives the same task configuration
+ * over and over decodes it once.
+ */
+@Private
+public final class ConfigurationStringCodec {
+
+  /**
+   * Marks a string as Base64 binary Avro.
+   */
+  public static final String BINARY_MARKER = "avro-binary:";
+
+  private static final int CACHE_SIZE = 64;
+
+  private final ConfigurationSerializer configurationSerializer;
+  private final Map<Configuration, String> encoded = newCache();
+  private final Map<String, Configuration> decoded = newCache();
+
+  @Inject
+  private ConfigurationStringCodec(final ConfigurationSerializer configurationSerializer) {
+    this.configurationSerializer = configurationSerializer;
+  }
+
+  /**
+   * @param configuration the configuration to encode
+   * @return the configuration as Base64 binary Avro behind {@link #BINARY_MARKER}
+   */
+  public String toString(final Configuration configuration) {
+    synchronized (this.encoded) {
+      final String cached = this.encoded.get(configuration);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    final String result;
+    try {
+      final byte[] bytes = this.configurationSerializer.toByteArray(configuration);
+      result = BINARY_MARKER + DatatypeConverter.printBase64Binary(bytes);
+    } catch (final IOException e) {
+      throw new RuntimeException("Unable to serialize the configuration.", e);
+    }
+    synchronized (this.encoded) {
+      this.encoded.put(configuration, result);
+    }
+    return result;
+  }
+
+  /**
+   * @param configurationString a configuration encoded by {@link #toString(Configuration)}
+   *                            or by {@link ConfigurationSerializer#toString(Configuration)}
+   * @return the configuration
+   * @throws IOException   if the string cannot be parsed
+   * @throws BindException if the configuration refers to unknown classes
+   */
+  public Configuration fromString(final String configurationString) throws IOException, BindException {
+    synchronized (this.decoded) {
+      final Configuration cached = this.decoded.get(configurationString);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    final Configuration result;
+    if (configurationString.startsWith(BINARY_MARKER)) {
+      final byte[] bytes;
+      try {
+        bytes = DatatypeConverter.parseBase64Binary(configurationString.substring(BINARY_MARKER.length()));
+      } catch (final IllegalArgumentException e) {
+        throw new IOException("Invalid binary configuration.", e);
+      }
+      result = this.configurationSerializer.fromByteArray(bytes);
+    } else {
+      result = this.configurationSerializer.fromString(configurationString);
+    }
+    synchronized (this.decoded) {
+      this.decoded.put(configurationString, result);
+    }
+    return result;
+  }
+
+  private static <K, V> Map<K, V> newCache() {
+    return new LinkedHashMap<K, V>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+        return size() > CACHE_SIZE;
+      }
+    };
+  }
+}
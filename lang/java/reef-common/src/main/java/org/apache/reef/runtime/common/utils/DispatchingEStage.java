@@ -117,6 +117,13 @@ public final class DispatchingEStage implements AutoCloseable {
     return this.stage.getQueueLength() == 0;
   }
 
+  /**
+   * Return the number of messages waiting for a thread.
+   */
+  public int getQueueLength() {
+    return this.stage.getQueueLength();
+  }
+
   /**
    * Close the internal thread pool.
    *
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.task;
+
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.annotations.audience.Public;
+import org.apache.reef.annotations.audience.TaskSide;
+import org.apache.reef.driver.task.TaskConfigurationOptions;
+import org.apache.reef.evaluator.context.parameters.ContextIdentifier;
+import org.apache.reef.runtime.common.evaluator.task.TaskMessageChannel;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.inject.Inject;
+
+/**
+ * Sends task messages to the Driver right away, instead of with the next heartbeat like a {@link TaskMessageSource}.
+ * The Driver receives them as {@link org.apache.reef.driver.task.TaskMessage}s, in the order they were sent.
+ */
+@TaskSide
+@Public
+@Unstable
+public final class TaskMessageSender {
+  private final String taskId;
+  private final String contextId;
+  private final TaskMessageChannel taskMessageChannel;
+
+  @Inject
+  TaskMessageSender(@Parameter(TaskConfigurationOptions.Identifier.class) final String taskId,
+                    @Parameter(ContextIdentifier.class) final String contextId,
+                    final TaskMessageChannel taskMessageChannel) {
+    this.taskId = taskId;
+    this.contextId = contextId;
+    this.taskMessageChannel = taskMessageChannel;
+  }
+
+  /**
+   * Immediately send a message to the Driver.
+   *
+   * @param message the message
+   */
+  public void send(final TaskMessage message) {
+    this.taskMessageChannel.send(this.taskId, this.contextId, message);
+  }
+}
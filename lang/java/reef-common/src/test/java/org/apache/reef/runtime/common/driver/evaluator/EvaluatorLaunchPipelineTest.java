@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.driver.parameters.EvaluatorLaunchThreads;
+import org.apache.reef.driver.parameters.MaxPendingEvaluatorLaunches;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchEvent;
+import org.apache.reef.runtime.common.driver.api.ResourceLaunchHandler;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseEvent;
+import org.apache.reef.runtime.common.driver.api.ResourceReleaseHandler;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.BindException;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EventHandler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for EvaluatorLaunchPipeline.
+ */
+public final class EvaluatorLaunchPipelineTest {
+
+  private final List<String> handedOver = Collections.synchronizedList(new ArrayList<String>());
+  private final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+
+  private final EventHandler<Throwable> errorHandler = new EventHandler<Throwable>() {
+    @Override
+    public void onNext(final Throwable value) {
+      failures.add(value);
+    }
+  };
+
+  private final ResourceReleaseHandler releaseHandler = new ResourceReleaseHandler() {
+    @Override
+    public void onNext(final ResourceReleaseEvent value) {
+      handedOver.add("release " + value.getIdentifier());
+    }
+  };
+
+  /**
+   * Launches prepared in parallel must still reach the resource manager before the releases of their evaluators.
+   */
+  @Test
+  public void testOrderPerEvaluator() throws Exception {
+    final EvaluatorLaunchPipeline pipeline = newPipeline(4, 1000, new RecordingLaunchHandler(null));
+    Assert.assertTrue(pipeline.isEnabled());
+
+    final Random random = new Random(0);
+    final int numEvaluators = 50;
+    for (int i = 0; i < numEvaluators; ++i) {
+      pipeline.reserve();
+      pipeline.launch("e" + i, newPreparation("e" + i, random.nextInt(3)), this.errorHandler);
+      pipeline.release("e" + i, newReleaseEvent("e" + i));
+    }
+    pipeline.close();
+
+    Assert.assertEquals(Collections.<Throwable>emptyList(), this.failures);
+    Assert.assertEquals(2 * numEvaluators, this.handedOver.size());
+    for (int i = 0; i < numEvaluators; ++i) {
+      final int launch = this.handedOver.indexOf("launch e" + i);
+      Assert.assertTrue("Evaluator e" + i + " was not launched", launch >= 0);
+      Assert.assertTrue("Evaluator e" + i + " was released before its launch",
+          launch < this.handedOver.indexOf("release e" + i));
+    }
+  }
+
+  /**
+   * A launch must wait for room while the resource manager holds the maximum number of pending launches.
+   */
+  @Test
+  public void testBoundedPendingLaunches() throws Exception {
+    final CountDownLatch resourceManagerBlocked = new CountDownLatch(1);
+    final EvaluatorLaunchPipeline pipeline = newPipeline(2, 2, new RecordingLaunchHandler(resourceManagerBlocked));
+    for (int i = 0; i < 2; ++i) {
+      pipeline.reserve();
+      pipeline.launch("e" + i, newPreparation("e" + i, 0), this.errorHandler);
+    }
+
+    final CountDownLatch reserved = reserveInBackground(pipeline);
+    Assert.assertFalse("Reserved more than the maximum number of pending launches",
+        reserved.await(200, TimeUnit.MILLISECONDS));
+    resourceManagerBlocked.countDown();
+    Assert.assertTrue("No room after the pending launches were handed over", reserved.await(10, TimeUnit.SECONDS));
+    pipeline.cancelReservation();
+    pipeline.close();
+
+    Assert.assertEquals(Collections.<Throwable>emptyList(), this.failures);
+    Assert.assertEquals(2, this.handedOver.size());
+  }
+
+  /**
+   * A launch event that cannot be built is reported and gives its room back.
+   */
+  @Test
+  public void testFailedPreparation() throws Exception {
+    final EvaluatorLaunchPipeline pipeline = newPipeline(2, 1, new RecordingLaunchHandler(null));
+    pipeline.reserve();
+    pipeline.launch("e0", newFailingPreparation(), this.errorHandler);
+
+    final CountDownLatch reserved = reserveInBackground(pipeline);
+    Assert.assertTrue("The failed launch kept its room", reserved.await(10, TimeUnit.SECONDS));
+    pipeline.launch("e1", newPreparation("e1", 0), this.errorHandler);
+    pipeline.close();
+
+    Assert.assertEquals(1, this.failures.size());
+    Assert.assertEquals("Serialization failed", this.failures.get(0).getMessage());
+    Assert.assertEquals(Collections.singletonList("launch e1"), this.handedOver);
+  }
+
+  /**
+   * Without threads, launches and releases are handed over on the calling thread.
+   */
+  @Test
+  public void testDisabledPipeline() throws Exception {
+    final EvaluatorLaunchPipeline pipeline = newPipeline(0, 1, new RecordingLaunchHandler(null));
+    Assert.assertFalse(pipeline.isEnabled());
+
+    pipeline.launchNow(EvaluatorLaunchPipeline.prepareNow(newPreparation("e0", 0)));
+    Assert.assertEquals(Collections.singletonList("launch e0"), this.handedOver);
+    pipeline.launch("e1", newFailingPreparation(), this.errorHandler);
+    Assert.assertEquals(1, this.failures.size());
+    pipeline.release("e0", newReleaseEvent("e0"));
+    Assert.assertEquals("release e0", this.handedOver.get(1));
+    try {
+      EvaluatorLaunchPipeline.prepareNow(newFailingPreparation());
+      Assert.fail("Built a launch event whose preparation failed");
+    } catch (final IllegalStateException e) {
+      Assert.assertEquals("Serialization failed", e.getMessage());
+    }
+    pipeline.close();
+  }
+
+  /**
+   * A release after close must not overtake a launch that was still pending at close.
+   */
+  @Test
+  public void testReleaseAfterClose() throws Exception {
+    final CountDownLatch resourceManagerBlocked = new CountDownLatch(1);
+    final EvaluatorLaunchPipeline pipeline = newPipeline(2, 1, new RecordingLaunchHandler(resourceManagerBlocked));
+    pipeline.reserve();
+    pipeline.launch("e0", newPreparation("e0", 0), this.errorHandler);
+
+    final Thread closeThread = runInBackground(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          pipeline.close();
+        } catch (final Exception e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+    while (pipeline.isEnabled()) {
+      Thread.sleep(10);
+    }
+    final Thread releaseThread = runInBackground(new Runnable() {
+      @Override
+      public void run() {
+        pipeline.release("e0", newReleaseEvent("e0"));
+      }
+    });
+    Thread.sleep(200);
+    Assert.assertEquals("Released before the pending launch", Collections.<String>emptyList(), this.handedOver);
+
+    resourceManagerBlocked.countDown();
+    closeThread.join();
+    releaseThread.join();
+    Assert.assertEquals(Arrays.asList("launch e0", "release e0"), this.handedOver);
+  }
+
+  /**
+   * The resource manager may depend on the pipeline, as the local runtime does through the evaluator managers.
+   */
+  @Test
+  public void testResourceManagerDependsOnPipeline() throws Exception {
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindImplementation(ResourceLaunchHandler.class, PipelineLaunchHandler.class)
+        .build());
+    injector.bindVolatileInstance(ResourceReleaseHandler.class, this.releaseHandler);
+    final EvaluatorLaunchPipeline pipeline = injector.getInstance(EvaluatorLaunchPipeline.class);
+    Assert.assertSame(pipeline, injector.getInstance(PipelineLaunchHandler.class).pipeline);
+    pipeline.close();
+  }
+
+  private EvaluatorLaunchPipeline newPipeline(final int numThreads, final int maxPendingLaunches,
+                                              final ResourceLaunchHandler launchHandler)
+      throws BindException, InjectionException {
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(EvaluatorLaunchThreads.class, Integer.toString(numThreads))
+        .bindNamedParameter(MaxPendingEvaluatorLaunches.class, Integer.toString(maxPendingLaunches))
+        .build());
+    injector.bindVolatileInstance(ResourceLaunchHandler.class, launchHandler);
+    injector.bindVolatileInstance(ResourceReleaseHandler.class, this.releaseHandler);
+    return injector.getInstance(EvaluatorLaunchPipeline.class);
+  }
+
+  private static Callable<ResourceLaunchEvent> newPreparation(final String evaluatorId, final int sleepMillis) {
+    final ResourceLaunchEvent launchEvent = mock(ResourceLaunchEvent.class);
+    when(launchEvent.getIdentifier()).thenReturn(evaluatorId);
+    return new Callable<ResourceLaunchEvent>() {
+      @Override
+      public ResourceLaunchEvent call() throws InterruptedException {
+        Thread.sleep(sleepMillis);
+        return launchEvent;
+      }
+    };
+  }
+
+  private static Callable<ResourceLaunchEvent> newFailingPreparation() {
+    return new Callable<ResourceLaunchEvent>() {
+      @Override
+      public ResourceLaunchEvent call() {
+        throw new IllegalStateException("Serialization failed");
+      }
+    };
+  }
+
+  private static ResourceReleaseEvent newReleaseEvent(final String evaluatorId) {
+    final ResourceReleaseEvent releaseEvent = mock(ResourceReleaseEvent.class);
+    when(releaseEvent.getIdentifier()).thenReturn(evaluatorId);
+    return releaseEvent;
+  }
+
+  private static Thread runInBackground(final Runnable runnable) {
+    final Thread thread = new Thread(runnable);
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  private static CountDownLatch reserveInBackground(final EvaluatorLaunchPipeline pipeline) {
+    final CountDownLatch reserved = new CountDownLatch(1);
+    final Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        pipeline.reserve();
+        reserved.countDown();
+      }
+    });
+    thread.setDaemon(true);
+    thread.start();
+    return reserved;
+  }
+
+  /**
+   * Records the launches it gets, after waiting for the gate if there is one.
+   */
+  private final class RecordingLaunchHandler implements ResourceLaunchHandler {
+
+    private final CountDownLatch gate;
+
+    RecordingLaunchHandler(final CountDownLatch gate) {
+      this.gate = gate;
+    }
+
+    @Override
+    public void onNext(final ResourceLaunchEvent value) {
+      if (this.gate != null) {
+        try {
+          this.gate.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      handedOver.add("launch " + value.getIdentifier());
+    }
+  }
+
+  /**
+   * A resource manager that depends on the pipeline.
+   */
+  static final class PipelineLaunchHandler implements ResourceLaunchHandler {
+
+    private final EvaluatorLaunchPipeline pipeline;
+
+    @Inject
+    private PipelineLaunchHandler(final EvaluatorLaunchPipeline pipeline) {
+      this.pipeline = pipeline;
+    }
+
+    @Override
+    public void onNext(final ResourceLaunchEvent value) {
+    }
+  }
+}
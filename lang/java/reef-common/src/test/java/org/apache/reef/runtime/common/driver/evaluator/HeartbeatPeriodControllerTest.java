@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.driver.evaluator;
+
+import org.apache.reef.driver.parameters.AdaptiveHeartbeatMinPeriod;
+import org.apache.reef.driver.parameters.AdaptiveHeartbeatQueueThreshold;
+import org.apache.reef.driver.parameters.TaskMessageHandlers;
+import org.apache.reef.driver.task.TaskMessage;
+import org.apache.reef.runtime.common.driver.parameters.JobIdentifier;
+import org.apache.reef.runtime.common.evaluator.parameters.HeartbeatPeriod;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.wake.EventHandler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for HeartbeatPeriodController.
+ */
+public final class HeartbeatPeriodControllerTest {
+
+  @Test
+  public void testDisabledByDefault() throws Exception {
+    Assert.assertFalse(Tang.Factory.getTang().newInjector()
+        .getInstance(HeartbeatPeriodController.class).isEnabled());
+    Assert.assertFalse(newController(5000, 1000, 800).isEnabled());
+    Assert.assertTrue(newController(500, 1000, 800).isEnabled());
+  }
+
+  /**
+   * The period grows in eight steps from the minimum to the maximum as the queue approaches the threshold.
+   */
+  @Test
+  public void testSteps() throws Exception {
+    final HeartbeatPeriodController controller = newController(1000, 9000, 800);
+    Assert.assertEquals(1000, controller.getPeriod(0));
+    Assert.assertEquals(1000, controller.getPeriod(99));
+    Assert.assertEquals(2000, controller.getPeriod(100));
+    Assert.assertEquals(2000, controller.getPeriod(199));
+    Assert.assertEquals(5000, controller.getPeriod(400));
+    Assert.assertEquals(8000, controller.getPeriod(799));
+    Assert.assertEquals(9000, controller.getPeriod(800));
+  }
+
+  /**
+   * The period stays between the minimum and the maximum whatever the queue length.
+   */
+  @Test
+  public void testClamping() throws Exception {
+    final HeartbeatPeriodController controller = newController(100, 5000, 10);
+    Assert.assertEquals(100, controller.getPeriod(-1));
+    Assert.assertEquals(5000, controller.getPeriod(11));
+    Assert.assertEquals(5000, controller.getPeriod(Integer.MAX_VALUE * 4L));
+  }
+
+  /**
+   * Without evaluators, nothing is queued and the minimum is recommended.
+   */
+  @Test
+  public void testIdleDriver() throws Exception {
+    Assert.assertEquals(300, newController(300, 5000, 10).getRecommendedPeriod());
+  }
+
+  /**
+   * Events queued in the dispatcher of an evaluator raise the recommended period above the minimum.
+   */
+  @Test
+  public void testLoadedDriver() throws Exception {
+    final Injector injector = Tang.Factory.getTang().newInjector(
+        newConfiguration(300, 5000, 10),
+        Tang.Factory.getTang().newConfigurationBuilder()
+            .bindNamedParameter(EvaluatorManager.EvaluatorIdentifier.class, "evaluator")
+            .bindNamedParameter(JobIdentifier.class, "job")
+            .bindSetEntry(TaskMessageHandlers.class, BlockingTaskMessageHandler.class)
+            .build());
+    final HeartbeatPeriodController controller = injector.getInstance(HeartbeatPeriodController.class);
+    final EvaluatorMessageDispatcher dispatcher = injector.getInstance(EvaluatorMessageDispatcher.class);
+    controller.register(dispatcher);
+    try {
+      for (int i = 0; i < 20; i++) {
+        dispatcher.onTaskMessage(mock(TaskMessage.class));
+      }
+      Assert.assertEquals(5000, controller.getRecommendedPeriod());
+    } finally {
+      BlockingTaskMessageHandler.RELEASE.countDown();
+      dispatcher.close();
+    }
+  }
+
+  /**
+   * Holds the dispatcher thread so that the following events stay queued.
+   */
+  static final class BlockingTaskMessageHandler implements EventHandler<TaskMessage> {
+
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    @Inject
+    BlockingTaskMessageHandler() {
+    }
+
+    @Override
+    public void onNext(final TaskMessage value) {
+      try {
+        RELEASE.await();
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  private static HeartbeatPeriodController newController(final int minPeriod, final int maxPeriod,
+                                                         final int queueThreshold) throws Exception {
+    return Tang.Factory.getTang().newInjector(newConfiguration(minPeriod, maxPeriod, queueThreshold))
+        .getInstance(HeartbeatPeriodController.class);
+  }
+
+  private static Configuration newConfiguration(final int minPeriod, final int maxPeriod,
+                                                final int queueThreshold) {
+    return Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(AdaptiveHeartbeatMinPeriod.class, Integer.toString(minPeriod))
+        .bindNamedParameter(HeartbeatPeriod.class, Integer.toString(maxPeriod))
+        .bindNamedParameter(AdaptiveHeartbeatQueueThreshold.class, Integer.toString(queueThreshold))
+        .build();
+  }
+}
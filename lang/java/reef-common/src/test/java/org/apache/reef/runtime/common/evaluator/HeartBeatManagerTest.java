@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator;
+
+import org.apache.reef.driver.context.ContextConfiguration;
+import org.apache.reef.proto.EvaluatorRuntimeProtocol.EvaluatorControlProto;
+import org.apache.reef.proto.EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto;
+import org.apache.reef.runtime.common.utils.ConfigurationStringCodec;
+import org.apache.reef.runtime.common.utils.RemoteManager;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.time.Clock;
+import org.apache.reef.wake.time.runtime.event.RuntimeStart;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the heartbeat period that the driver recommends to an evaluator.
+ */
+public final class HeartBeatManagerTest {
+
+  private static final String DRIVER_RID = "socket://127.0.0.1:1";
+
+  private final Clock clock = mock(Clock.class);
+  private final List<EvaluatorHeartbeatProto> heartbeats = new ArrayList<>();
+  private EvaluatorRuntime evaluatorRuntime;
+  private HeartBeatManager.HeartbeatAlarmHandler heartbeatAlarmHandler;
+
+  @Before
+  public void setUp() throws Exception {
+    final String rootContextConfiguration = Tang.Factory.getTang().newInjector()
+        .getInstance(ConfigurationStringCodec.class)
+        .toString(ContextConfiguration.CONF.set(ContextConfiguration.IDENTIFIER, "context").build());
+    final Injector injector = Tang.Factory.getTang().newInjector(EvaluatorConfiguration.CONF
+        .set(EvaluatorConfiguration.APPLICATION_IDENTIFIER, "application")
+        .set(EvaluatorConfiguration.DRIVER_REMOTE_IDENTIFIER, DRIVER_RID)
+        .set(EvaluatorConfiguration.EVALUATOR_IDENTIFIER, "evaluator")
+        .set(EvaluatorConfiguration.HEARTBEAT_PERIOD, 2000)
+        .set(EvaluatorConfiguration.ROOT_CONTEXT_CONFIGURATION, rootContextConfiguration)
+        .build());
+    final RemoteManager remoteManager = mock(RemoteManager.class);
+    when(remoteManager.<EvaluatorHeartbeatProto>getHandler(DRIVER_RID, EvaluatorHeartbeatProto.class))
+        .thenReturn(new EventHandler<EvaluatorHeartbeatProto>() {
+          @Override
+          public void onNext(final EvaluatorHeartbeatProto heartbeatProto) {
+            heartbeats.add(heartbeatProto);
+          }
+        });
+    injector.bindVolatileInstance(Clock.class, this.clock);
+    injector.bindVolatileInstance(RemoteManager.class, remoteManager);
+
+    this.evaluatorRuntime = injector.getInstance(EvaluatorRuntime.class);
+    this.heartbeatAlarmHandler = injector.getInstance(HeartBeatManager.HeartbeatAlarmHandler.class);
+    injector.getInstance(EvaluatorRuntime.RuntimeStartHandler.class).onNext(new RuntimeStart(0));
+    Assert.assertEquals(1, this.heartbeats.size());
+  }
+
+  /**
+   * The periodic heartbeats follow the period sent by the driver, capped at the configured period.
+   */
+  @Test
+  public void testRecommendedPeriod() {
+    verify(this.clock).scheduleAlarm(2000, this.heartbeatAlarmHandler);
+
+    this.evaluatorRuntime.onNext(newHeartbeatPeriodMessage(500));
+    this.heartbeatAlarmHandler.onNext(null);
+    verify(this.clock).scheduleAlarm(500, this.heartbeatAlarmHandler);
+
+    this.evaluatorRuntime.onNext(newHeartbeatPeriodMessage(10000));
+    this.heartbeatAlarmHandler.onNext(null);
+    verify(this.clock, times(2)).scheduleAlarm(2000, this.heartbeatAlarmHandler);
+    verifyNoMoreInteractions(this.clock);
+
+    // The heartbeat at start and the two periodic ones
+    Assert.assertEquals(3, this.heartbeats.size());
+  }
+
+  private static EvaluatorControlProto newHeartbeatPeriodMessage(final int period) {
+    return EvaluatorControlProto.newBuilder()
+        .setTimestamp(System.currentTimeMillis())
+        .setIdentifier("evaluator")
+        .setHeartbeatPeriod(period)
+        .build();
+  }
+}
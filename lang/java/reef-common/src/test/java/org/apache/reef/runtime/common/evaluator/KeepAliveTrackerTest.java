@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator;
+
+import com.google.protobuf.ByteString;
+import org.apache.reef.proto.EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto;
+import org.apache.reef.proto.ReefServiceProtos;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for KeepAliveTracker.
+ */
+public final class KeepAliveTrackerTest {
+
+  private final KeepAliveTracker tracker = new KeepAliveTracker();
+
+  /**
+   * A periodic heartbeat becomes a keep-alive only while nothing changed since the last full one.
+   */
+  @Test
+  public void testKeepAliveOnlyWhenUnchanged() {
+    final EvaluatorHeartbeatProto running = newHeartbeat(ReefServiceProtos.State.RUNNING, 1L);
+    Assert.assertSame(running, sendPeriodic(running));
+
+    final EvaluatorHeartbeatProto keepAlive = sendPeriodic(newHeartbeat(ReefServiceProtos.State.RUNNING, 2L));
+    Assert.assertTrue(keepAlive.getKeepAlive());
+    Assert.assertEquals(2L, keepAlive.getTimestamp());
+    Assert.assertEquals(running.getEvaluatorStatus(), keepAlive.getEvaluatorStatus());
+    Assert.assertEquals(0, keepAlive.getContextStatusCount());
+    Assert.assertFalse(keepAlive.hasTaskStatus());
+    Assert.assertTrue(sendPeriodic(newHeartbeat(ReefServiceProtos.State.RUNNING, 3L)).getKeepAlive());
+
+    final EvaluatorHeartbeatProto done = newHeartbeat(ReefServiceProtos.State.DONE, 4L);
+    Assert.assertSame(done, sendPeriodic(done));
+    Assert.assertTrue(sendPeriodic(newHeartbeat(ReefServiceProtos.State.DONE, 5L)).getKeepAlive());
+  }
+
+  /**
+   * After a status sent outside of the periodic heartbeats, the next periodic heartbeat is full.
+   */
+  @Test
+  public void testFullHeartbeatAfterStatusChange() {
+    sendPeriodic(newHeartbeat(ReefServiceProtos.State.RUNNING, 1L));
+    this.tracker.onSent(newHeartbeat(ReefServiceProtos.State.DONE, 2L), false);
+
+    final EvaluatorHeartbeatProto unchanged = newHeartbeat(ReefServiceProtos.State.RUNNING, 3L);
+    Assert.assertSame(unchanged, sendPeriodic(unchanged));
+    Assert.assertTrue(sendPeriodic(newHeartbeat(ReefServiceProtos.State.RUNNING, 4L)).getKeepAlive());
+  }
+
+  /**
+   * Heartbeats with messages are always full, and so is the one after them.
+   */
+  @Test
+  public void testMessagesAreNeverOmitted() {
+    final EvaluatorHeartbeatProto withMessage = newHeartbeat(ReefServiceProtos.State.RUNNING, 1L).toBuilder()
+        .setTaskStatus(newTaskStatus().toBuilder().addTaskMessage(
+            ReefServiceProtos.TaskStatusProto.TaskMessageProto.newBuilder()
+                .setSourceId("source")
+                .setMessage(ByteString.copyFromUtf8("message"))))
+        .build();
+    Assert.assertSame(withMessage, sendPeriodic(withMessage));
+    Assert.assertSame(withMessage, sendPeriodic(withMessage));
+
+    final EvaluatorHeartbeatProto withoutMessage = newHeartbeat(ReefServiceProtos.State.RUNNING, 2L);
+    Assert.assertSame(withoutMessage, sendPeriodic(withoutMessage));
+    Assert.assertTrue(sendPeriodic(newHeartbeat(ReefServiceProtos.State.RUNNING, 3L)).getKeepAlive());
+  }
+
+  /**
+   * A reset, as on a request of the driver, makes the next periodic heartbeat full.
+   */
+  @Test
+  public void testReset() {
+    sendPeriodic(newHeartbeat(ReefServiceProtos.State.RUNNING, 1L));
+    Assert.assertTrue(sendPeriodic(newHeartbeat(ReefServiceProtos.State.RUNNING, 2L)).getKeepAlive());
+    this.tracker.reset();
+    Assert.assertFalse(sendPeriodic(newHeartbeat(ReefServiceProtos.State.RUNNING, 3L)).getKeepAlive());
+  }
+
+  private EvaluatorHeartbeatProto sendPeriodic(final EvaluatorHeartbeatProto heartbeatProto) {
+    final EvaluatorHeartbeatProto sent = this.tracker.toPeriodicHeartbeat(heartbeatProto);
+    this.tracker.onSent(sent, true);
+    return sent;
+  }
+
+  private static EvaluatorHeartbeatProto newHeartbeat(final ReefServiceProtos.State taskState, final long timestamp) {
+    return EvaluatorHeartbeatProto.newBuilder()
+        .setTimestamp(timestamp)
+        .setEvaluatorStatus(ReefServiceProtos.EvaluatorStatusProto.newBuilder()
+            .setEvaluatorId("evaluator")
+            .setState(ReefServiceProtos.State.RUNNING))
+        .addContextStatus(ReefServiceProtos.ContextStatusProto.newBuilder()
+            .setContextId("context")
+            .setContextState(ReefServiceProtos.ContextStatusProto.State.READY))
+        .setTaskStatus(newTaskStatus().toBuilder().setState(taskState))
+        .build();
+  }
+
+  private static ReefServiceProtos.TaskStatusProto newTaskStatus() {
+    return ReefServiceProtos.TaskStatusProto.newBuilder()
+        .setTaskId("task")
+        .setContextId("context")
+        .setState(ReefServiceProtos.State.RUNNING)
+        .build();
+  }
+}
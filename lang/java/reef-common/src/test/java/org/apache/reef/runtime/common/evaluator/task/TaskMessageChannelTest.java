@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.evaluator.task;
+
+import org.apache.reef.driver.task.TaskConfigurationOptions;
+import org.apache.reef.evaluator.context.parameters.ContextIdentifier;
+import org.apache.reef.proto.EvaluatorRuntimeProtocol.TaskMessageBatchProto;
+import org.apache.reef.runtime.common.evaluator.parameters.DriverRemoteIdentifier;
+import org.apache.reef.runtime.common.evaluator.parameters.EvaluatorIdentifier;
+import org.apache.reef.runtime.common.utils.RemoteManager;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.task.TaskMessage;
+import org.apache.reef.task.TaskMessageSender;
+import org.apache.reef.wake.EventHandler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for TaskMessageChannel and TaskMessageSender.
+ */
+public final class TaskMessageChannelTest {
+
+  private static final String DRIVER_RID = "socket://127.0.0.1:1";
+
+  private final RecordingHandler driver = new RecordingHandler();
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private Injector injector;
+  private TaskMessageChannel channel;
+
+  @Before
+  public void setUp() throws Exception {
+    this.injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(EvaluatorIdentifier.class, "evaluator")
+        .bindNamedParameter(DriverRemoteIdentifier.class, DRIVER_RID)
+        .bindNamedParameter(TaskConfigurationOptions.Identifier.class, "task")
+        .bindNamedParameter(ContextIdentifier.class, "context")
+        .build());
+    final RemoteManager remoteManager = mock(RemoteManager.class);
+    when(remoteManager.<TaskMessageBatchProto>getHandler(DRIVER_RID, TaskMessageBatchProto.class))
+        .thenReturn(this.driver);
+    this.injector.bindVolatileInstance(RemoteManager.class, remoteManager);
+    this.injector.bindVolatileInstance(ExecutorService.class, this.executor);
+    this.channel = this.injector.getInstance(TaskMessageChannel.class);
+  }
+
+  @After
+  public void tearDown() {
+    this.executor.shutdownNow();
+  }
+
+  /**
+   * A message sent while the channel is idle goes out on the calling thread.
+   */
+  @Test
+  public void testSendRightAway() throws Exception {
+    final TaskMessageSender sender = this.injector.getInstance(TaskMessageSender.class);
+    sender.send(newMessage("source", 7));
+
+    Assert.assertEquals(1, this.driver.batches.size());
+    final TaskMessageBatchProto batch = this.driver.batches.get(0);
+    Assert.assertEquals("evaluator", batch.getEvaluatorId());
+    Assert.assertEquals(1, batch.getTaskMessageCount());
+    Assert.assertEquals("task", batch.getTaskMessage(0).getTaskId());
+    Assert.assertEquals("context", batch.getTaskMessage(0).getContextId());
+    Assert.assertEquals("source", batch.getTaskMessage(0).getSourceId());
+    Assert.assertEquals(7, ByteBuffer.wrap(batch.getTaskMessage(0).getMessage().toByteArray()).getInt());
+  }
+
+  /**
+   * Messages sent while another thread is sending are queued, and that thread sends them in batches.
+   */
+  @Test
+  public void testBatchingWhileBusy() throws Exception {
+    this.driver.block();
+    final Thread busy = sendInBackground(0);
+    Assert.assertTrue(this.driver.entered.await(10, TimeUnit.SECONDS));
+    final int queued = 300;
+    for (int i = 1; i <= queued; ++i) {
+      this.channel.send("task", "context", newMessage("source", i));
+    }
+    Assert.assertEquals(1, this.driver.batches.size());
+
+    this.driver.unblock();
+    busy.join();
+    Assert.assertEquals(3, this.driver.batches.size());
+    Assert.assertEquals(1, this.driver.batches.get(0).getTaskMessageCount());
+    Assert.assertEquals(256, this.driver.batches.get(1).getTaskMessageCount());
+    Assert.assertEquals(queued - 256, this.driver.batches.get(2).getTaskMessageCount());
+    Assert.assertEquals(Collections.<String>emptyList(), this.driver.checkOrder(queued + 1));
+  }
+
+  /**
+   * Closing waits for the queued messages to be sent, and further messages are refused.
+   */
+  @Test
+  public void testFlushOnClose() throws Exception {
+    this.driver.block();
+    final Thread busy = sendInBackground(0);
+    Assert.assertTrue(this.driver.entered.await(10, TimeUnit.SECONDS));
+    for (int i = 1; i <= 10; ++i) {
+      this.channel.send("task", "context", newMessage("source", i));
+    }
+
+    final CountDownLatch closed = new CountDownLatch(1);
+    final Thread closer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        channel.close();
+        closed.countDown();
+      }
+    });
+    closer.start();
+    Assert.assertFalse("Closed with queued messages", closed.await(100, TimeUnit.MILLISECONDS));
+    this.driver.unblock();
+    Assert.assertTrue("Close did not return once the queue was empty", closed.await(10, TimeUnit.SECONDS));
+    busy.join();
+    Assert.assertEquals(Collections.<String>emptyList(), this.driver.checkOrder(11));
+
+    try {
+      this.channel.send("task", "context", newMessage("source", 11));
+      Assert.fail("Sent a message after the channel was closed");
+    } catch (final IllegalStateException expected) {
+      Assert.assertEquals(2, this.driver.batches.size());
+    }
+  }
+
+  /**
+   * The messages of concurrent senders all arrive, each sender's in order, and never in overlapping batches.
+   */
+  @Test
+  public void testConcurrentSenders() throws Exception {
+    final int numSenders = 8;
+    final int messagesPerSender = 2000;
+    final List<Thread> senders = new ArrayList<>();
+    for (int s = 0; s < numSenders; ++s) {
+      final String sourceId = "source" + s;
+      senders.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < messagesPerSender; ++i) {
+            channel.send("task", "context", newMessage(sourceId, i));
+          }
+        }
+      }));
+    }
+    for (final Thread sender : senders) {
+      sender.start();
+    }
+    for (final Thread sender : senders) {
+      sender.join();
+    }
+    this.channel.close();
+
+    Assert.assertEquals(Collections.<String>emptyList(), this.driver.errors);
+    for (int s = 0; s < numSenders; ++s) {
+      final List<Integer> received = this.driver.getMessages("source" + s);
+      Assert.assertEquals(messagesPerSender, received.size());
+      for (int i = 0; i < messagesPerSender; ++i) {
+        Assert.assertEquals(i, received.get(i).intValue());
+      }
+    }
+  }
+
+  /**
+   * The thread that sends while other threads keep queueing messages returns after its share,
+   * and the messages queued later are still all sent, in order.
+   */
+  @Test
+  public void testSenderIsNotKeptBusy() throws Exception {
+    this.driver.block();
+    final Thread busy = sendInBackground(0);
+    Assert.assertTrue(this.driver.entered.await(10, TimeUnit.SECONDS));
+
+    final int numSenders = 4;
+    final AtomicBoolean stop = new AtomicBoolean(false);
+    final AtomicInteger sent = new AtomicInteger();
+    final List<Thread> senders = new ArrayList<>();
+    for (int s = 0; s < numSenders; ++s) {
+      final String sourceId = "source" + s;
+      senders.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; !stop.get(); ++i) {
+            channel.send("task", "context", newMessage(sourceId, i));
+            sent.incrementAndGet();
+          }
+        }
+      }));
+    }
+    for (final Thread sender : senders) {
+      sender.start();
+    }
+    while (sent.get() < 1000) {
+      Thread.sleep(1);
+    }
+
+    this.driver.unblock();
+    busy.join(TimeUnit.SECONDS.toMillis(10));
+    final boolean keptBusy = busy.isAlive();
+    stop.set(true);
+    for (final Thread sender : senders) {
+      sender.join();
+    }
+    Assert.assertFalse("The sending thread was kept busy by the messages of other threads", keptBusy);
+
+    this.channel.close();
+    Assert.assertEquals(Collections.<String>emptyList(), this.driver.errors);
+    Assert.assertEquals(Collections.<String>emptyList(), this.driver.checkOrder(1));
+    int received = 0;
+    for (int s = 0; s < numSenders; ++s) {
+      final List<Integer> messages = this.driver.getMessages("source" + s);
+      for (int i = 0; i < messages.size(); ++i) {
+        Assert.assertEquals(i, messages.get(i).intValue());
+      }
+      received += messages.size();
+    }
+    Assert.assertEquals(sent.get(), received);
+  }
+
+  private Thread sendInBackground(final int value) {
+    final Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        channel.send("task", "context", newMessage("source", value));
+      }
+    });
+    thread.start();
+    return thread;
+  }
+
+  private static TaskMessage newMessage(final String sourceId, final int value) {
+    return TaskMessage.from(sourceId, ByteBuffer.allocate(4).putInt(value).array());
+  }
+
+  /**
+   * Records the batches sent to the driver, optionally blocking in the first one.
+   */
+  private static final class RecordingHandler implements EventHandler<TaskMessageBatchProto> {
+
+    private final List<TaskMessageBatchProto> batches = Collections.synchronizedList(
+        new ArrayList<TaskMessageBatchProto>());
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<String>());
+    private final AtomicInteger active = new AtomicInteger();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private volatile CountDownLatch gate = null;
+
+    void block() {
+      this.gate = new CountDownLatch(1);
+    }
+
+    void unblock() {
+      this.gate.countDown();
+    }
+
+    @Override
+    public void onNext(final TaskMessageBatchProto batch) {
+      if (this.active.incrementAndGet() != 1) {
+        this.errors.add("Two batches sent at once");
+      }
+      this.batches.add(batch);
+      this.entered.countDown();
+      final CountDownLatch currentGate = this.gate;
+      if (currentGate != null) {
+        try {
+          currentGate.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      this.active.decrementAndGet();
+    }
+
+    List<Integer> getMessages(final String sourceId) {
+      final List<Integer> messages = new ArrayList<>();
+      synchronized (this.batches) {
+        for (final TaskMessageBatchProto batch : this.batches) {
+          for (final TaskMessageBatchProto.TaskMessageEntryProto entry : batch.getTaskMessageList()) {
+            if (entry.getSourceId().equals(sourceId)) {
+              messages.add(ByteBuffer.wrap(entry.getMessage().toByteArray()).getInt());
+            }
+          }
+        }
+      }
+      return messages;
+    }
+
+    /**
+     * @return the differences from the messages 0 to count - 1 of "source" in order
+     */
+    List<String> checkOrder(final int count) {
+      final List<String> differences = new ArrayList<>();
+      final List<Integer> messages = getMessages("source");
+      if (messages.size() != count) {
+        differences.add("Got " + messages.size() + " messages instead of " + count);
+      }
+      for (int i = 0; i < Math.min(count, messages.size()); ++i) {
+        if (messages.get(i) != i) {
+          differences.add("Message " + i + " is " + messages.get(i));
+        }
+      }
+      return differences;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.launch;
+
+import com.google.protobuf.GeneratedMessage;
+import org.apache.reef.proto.EvaluatorRuntimeProtocol;
+import org.apache.reef.proto.ReefServiceProtos;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for REEFMessageCodec.
+ */
+public final class REEFMessageCodecTest {
+
+  private REEFMessageCodec codec;
+
+  @Before
+  public void setUp() throws InjectionException {
+    this.codec = Tang.Factory.getTang().newInjector().getInstance(REEFMessageCodec.class);
+  }
+
+  @Test
+  public void testRequestHeartbeatRoundTrip() {
+    final EvaluatorRuntimeProtocol.EvaluatorControlProto request =
+        EvaluatorRuntimeProtocol.EvaluatorControlProto.newBuilder()
+            .setTimestamp(1L)
+            .setIdentifier("evaluator")
+            .setRequestHeartbeat(EvaluatorRuntimeProtocol.RequestHeartbeatProto.newBuilder())
+            .build();
+    final GeneratedMessage decoded = this.codec.decode(this.codec.encode(request));
+    assertTrue(decoded instanceof EvaluatorRuntimeProtocol.EvaluatorControlProto);
+    assertTrue(((EvaluatorRuntimeProtocol.EvaluatorControlProto) decoded).hasRequestHeartbeat());
+    assertFalse(((EvaluatorRuntimeProtocol.EvaluatorControlProto) decoded).hasKillEvaluator());
+    assertEquals(request, decoded);
+  }
+
+  @Test
+  public void testKeepAliveRoundTrip() {
+    final EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto keepAlive =
+        EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto.newBuilder()
+            .setTimestamp(1L)
+            .setEvaluatorStatus(ReefServiceProtos.EvaluatorStatusProto.newBuilder()
+                .setEvaluatorId("evaluator")
+                .setState(ReefServiceProtos.State.RUNNING))
+            .setKeepAlive(true)
+            .build();
+    final GeneratedMessage decoded = this.codec.decode(this.codec.encode(keepAlive));
+    assertTrue(decoded instanceof EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto);
+    assertTrue(((EvaluatorRuntimeProtocol.EvaluatorHeartbeatProto) decoded).getKeepAlive());
+    assertEquals(keepAlive, decoded);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common.utils;
+
+import org.apache.reef.runtime.common.evaluator.parameters.HeartbeatPeriod;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.tang.formats.AvroConfigurationSerializer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for ConfigurationStringCodec.
+ */
+public final class ConfigurationStringCodecTest {
+
+  private ConfigurationStringCodec codec;
+
+  @Before
+  public void setUp() throws InjectionException {
+    this.codec = Tang.Factory.getTang().newInjector().getInstance(ConfigurationStringCodec.class);
+  }
+
+  private static Configuration newConfiguration(final int heartbeatPeriod) {
+    return Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(HeartbeatPeriod.class, Integer.toString(heartbeatPeriod))
+        .build();
+  }
+
+  private static int getHeartbeatPeriod(final Configuration configuration) throws InjectionException {
+    return Tang.Factory.getTang().newInjector(configuration).getNamedInstance(HeartbeatPeriod.class);
+  }
+
+  @Test
+  public void testBinaryRoundTrip() throws Exception {
+    final String encoded = this.codec.toString(newConfiguration(1234));
+    assertTrue(encoded.startsWith(ConfigurationStringCodec.BINARY_MARKER));
+    assertEquals(1234, getHeartbeatPeriod(this.codec.fromString(encoded)));
+  }
+
+  @Test
+  public void testJsonFallback() throws Exception {
+    final String json = new AvroConfigurationSerializer().toString(newConfiguration(4321));
+    assertFalse(json.startsWith(ConfigurationStringCodec.BINARY_MARKER));
+    assertEquals(4321, getHeartbeatPeriod(this.codec.fromString(json)));
+  }
+
+  @Test(expected = IOException.class)
+  public void testInvalidBase64() throws Exception {
+    this.codec.fromString(ConfigurationStringCodec.BINARY_MARKER + "not base64!");
+  }
+
+  @Test
+  public void testCacheHits() throws Exception {
+    final Configuration configuration = newConfiguration(1000);
+    final String encoded = this.codec.toString(configuration);
+    assertSame(encoded, this.codec.toString(configuration));
+    assertNotEquals(encoded, this.codec.toString(newConfiguration(2000)));
+
+    final Configuration decoded = this.codec.fromString(encoded);
+    assertSame(decoded, this.codec.fromString(new String(encoded)));
+    assertEquals(1000, getHeartbeatPeriod(decoded));
+  }
+}
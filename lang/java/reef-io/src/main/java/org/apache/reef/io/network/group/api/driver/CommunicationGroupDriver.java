@@ -19,9 +19,13 @@
 package org.apache.reef.io.network.group.api.driver;
 
 import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.driver.evaluator.EvaluatorDescriptor;
+import org.apache.reef.io.network.group.impl.config.AllGatherOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.AllReduceOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.GatherOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ReduceOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.ReduceScatterOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ScatterOperatorSpec;
 import org.apache.reef.io.network.group.impl.driver.CommunicationGroupDriverImpl;
 import org.apache.reef.tang.Configuration;
@@ -78,6 +82,34 @@ public interface CommunicationGroupDriver {
    */
   CommunicationGroupDriver addGather(Class<? extends Name<String>> operatorName, GatherOperatorSpec spec);
 
+  /**
+   * Add the allreduce operator specified by {@code operatorName} and {@code spec}.
+   *
+   * @param operatorName
+   * @param spec
+   * @return
+   */
+  CommunicationGroupDriver addAllReduce(Class<? extends Name<String>> operatorName, AllReduceOperatorSpec spec);
+
+  /**
+   * Add the allgather operator specified by {@code operatorName} and {@code spec}.
+   *
+   * @param operatorName
+   * @param spec
+   * @return
+   */
+  CommunicationGroupDriver addAllGather(Class<? extends Name<String>> operatorName, AllGatherOperatorSpec spec);
+
+  /**
+   * Add the reducescatter operator specified by {@code operatorName} and {@code spec}.
+   *
+   * @param operatorName
+   * @param spec
+   * @return
+   */
+  CommunicationGroupDriver addReduceScatter(Class<? extends Name<String>> operatorName,
+                                            ReduceScatterOperatorSpec spec);
+
   /**
    * This signals to the service that no more.
    * operator specs will be added to this communication
@@ -106,4 +138,15 @@ public interface CommunicationGroupDriver {
    * @param partialTaskConf
    */
   void addTask(Configuration partialTaskConf);
+
+  /**
+   * Add the task represented by this configuration to this
+   * communication group, placing it in {@link LocalityAwareTopology}s
+   * by the rack and host of the evaluator it will run on.
+   * The configuration needs to contain the id of the Task that will be used
+   *
+   * @param partialTaskConf
+   * @param evaluatorDescriptor the descriptor of the evaluator the task will run on
+   */
+  void addTask(Configuration partialTaskConf, EvaluatorDescriptor evaluatorDescriptor);
 }
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.api.driver;
+
+/**
+ * A topology that places tasks by the rack and host they run on.
+ * Tasks added through {@link Topology#addTask(String)} have an unknown location.
+ */
+public interface LocalityAwareTopology extends Topology {
+
+  /**
+   * Add task with id 'taskId' running on
+   * host 'hostName' in rack 'rackName' to the topology.
+   *
+   * @param taskId
+   * @param rackName the name of the rack, or null if unknown
+   * @param hostName the name of the host, or null if unknown
+   */
+  void addTask(String taskId, String rackName, String hostName);
+}
@@ -27,7 +27,7 @@ import org.apache.reef.tang.Configuration;
  * interface so that it can work with the
  * elastic group communication framework
  * Currently we have two implementations
- * 1. Flat 2. Tree
+ * 1. Flat 2. Tree 3. Locality aware Tree
  */
 public interface Topology {
 
@@ -19,6 +19,8 @@
 package org.apache.reef.io.network.group.api.operators;
 
 import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.group.impl.operators.AllReduceImpl;
+import org.apache.reef.tang.annotations.DefaultImplementation;
 import org.apache.reef.wake.Identifier;
 
 import java.util.List;
@@ -27,7 +29,15 @@ import java.util.List;
  * MPI All Reduce Operator. Each task applies this operator on an element of
  * type T. The result will be an element which is result of applying a reduce
  * function on the list of all elements on which this operator has been applied
+ * <p>
+ * The default implementation uses recursive doubling: it takes log2(n) rounds, and in every
+ * round each task sends and receives one whole element. Each task thus transfers log2(n) times
+ * the size of an element, which is fine for small elements but grows with the number of tasks.
+ * Elements are opaque, so they cannot be split into blocks for the bandwidth optimal
+ * reduce-scatter followed by all-gather. For large lists, a {@link ReduceScatter} followed by an
+ * {@link AllGather} of the reduced blocks transfers only about twice the size of the list per task.
  */
+@DefaultImplementation(AllReduceImpl.class)
 public interface AllReduce<T> extends GroupCommOperator {
 
   /**
@@ -48,6 +48,10 @@ public interface Gather {
 
   /**
    * Receiver or Root.
+   * <p>
+   * The lists returned by {@code receive} are unmodifiable, and each element is decoded
+   * the first time it is accessed, so a list must not be read from several threads at once.
+   * Callers that need to modify the result should copy it, e.g. with {@code new ArrayList<>(receiver.receive())}.
    */
   @DefaultImplementation(GatherReceiver.class)
   interface Receiver<T> extends GroupCommOperator {
@@ -55,14 +59,14 @@ public interface Gather {
     /**
      * Receive the elements sent by the senders in default order.
      *
-     * @return elements sent by senders as a List in default order
+     * @return elements sent by senders as an unmodifiable List in default order
      */
     List<T> receive() throws InterruptedException, NetworkException;
 
     /**
      * Receive the elements sent by the senders in specified order.
      *
-     * @return elements sent by senders as a List in specified order
+     * @return elements sent by senders as an unmodifiable List in specified order
      */
     List<T> receive(List<? extends Identifier> order) throws InterruptedException, NetworkException;
   }
@@ -24,6 +24,7 @@ import org.apache.reef.io.network.group.impl.operators.ReduceSender;
 import org.apache.reef.tang.annotations.DefaultImplementation;
 import org.apache.reef.wake.Identifier;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 /**
@@ -96,4 +97,58 @@ public interface Reduce {
      */
     T apply(Iterable<T> elements);
   }
+
+  /**
+   * A {@link ReduceFunction} that can combine a value into an accumulator in place.
+   * The Reduce operator uses it to fold the values of the children into one of the values it
+   * decoded itself, instead of building a list and allocating a new result for every child.
+   */
+  interface InPlaceReduceFunction<T> extends ReduceFunction<T> {
+
+    /**
+     * Combine {@code element} into {@code accumulator}. Values may be combined in any order.
+     *
+     * @param accumulator value to combine into, which may be modified
+     * @param element value to combine, which is not modified
+     * @return the combined value, which may be {@code accumulator} itself
+     */
+    T reduceInto(T accumulator, T element);
+  }
+
+  /**
+   * A {@link ReduceFunction} over vectors of primitives that combines them element by element.
+   * Since any segment of the result only depends on the same segment of the inputs, such a function
+   * lets the Reduce operator pipeline the vectors up the topology in fixed-size chunks and fold
+   * every chunk into an accumulator as soon as it arrives.
+   * Segments are exchanged in a fixed-width encoding of {@link #getElementSize()} bytes per element.
+   */
+  interface ElementwiseReduceFunction<T> extends ReduceFunction<T> {
+
+    /**
+     * @return number of bytes used to encode a single element
+     */
+    int getElementSize();
+
+    /**
+     * @return number of elements of {@code vector}
+     */
+    int getLength(T vector);
+
+    /**
+     * Encode the elements of {@code vector} starting at {@code from} into {@code dst},
+     * until {@code dst} is full.
+     */
+    void encode(T vector, int from, ByteBuffer dst);
+
+    /**
+     * Decode a vector from {@code src}, which holds all of its elements.
+     */
+    T decode(ByteBuffer src);
+
+    /**
+     * Combine the encoded elements of {@code src} into the encoded elements of {@code accumulator}, in place.
+     * Both buffers hold the same number of elements.
+     */
+    void fold(ByteBuffer accumulator, ByteBuffer src);
+  }
 }
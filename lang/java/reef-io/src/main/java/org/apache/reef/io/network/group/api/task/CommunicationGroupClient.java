@@ -19,9 +19,12 @@
 package org.apache.reef.io.network.group.api.task;
 
 import org.apache.reef.annotations.audience.TaskSide;
+import org.apache.reef.io.network.group.api.operators.AllGather;
+import org.apache.reef.io.network.group.api.operators.AllReduce;
 import org.apache.reef.io.network.group.api.operators.Broadcast;
 import org.apache.reef.io.network.group.api.operators.Gather;
 import org.apache.reef.io.network.group.api.operators.Reduce;
+import org.apache.reef.io.network.group.api.operators.ReduceScatter;
 import org.apache.reef.io.network.group.api.GroupChanges;
 import org.apache.reef.io.network.group.api.operators.Scatter;
 import org.apache.reef.io.network.group.impl.driver.TopologySimpleNode;
@@ -119,6 +122,39 @@ public interface CommunicationGroupClient {
    */
   Gather.Sender getGatherSender(Class<? extends Name<String>> operatorName);
 
+  /**
+   * Return the allreduce operator configured on this communication group.
+   * {@code operatorName} is used to specify the allreduce operator to return.
+   * The element type is not checked, so it must match the codec configured for the operator.
+   *
+   * @param operatorName
+   * @param <T> type of the elements the operator works on
+   * @return
+   */
+  <T> AllReduce<T> getAllReduce(Class<? extends Name<String>> operatorName);
+
+  /**
+   * Return the allgather operator configured on this communication group.
+   * {@code operatorName} is used to specify the allgather operator to return.
+   * The element type is not checked, so it must match the codec configured for the operator.
+   *
+   * @param operatorName
+   * @param <T> type of the elements the operator works on
+   * @return
+   */
+  <T> AllGather<T> getAllGather(Class<? extends Name<String>> operatorName);
+
+  /**
+   * Return the reducescatter operator configured on this communication group.
+   * {@code operatorName} is used to specify the reducescatter operator to return.
+   * The element type is not checked, so it must match the codec configured for the operator.
+   *
+   * @param operatorName
+   * @param <T> type of the elements the operator works on
+   * @return
+   */
+  <T> ReduceScatter<T> getReduceScatter(Class<? extends Name<String>> operatorName);
+
   /**
    * @return Changes in topology of this communication group since the last time
    * this method was called
@@ -38,5 +38,10 @@ public interface NodeStruct {
 
   byte[] getData();
 
+  /**
+   * @return all parts of the next message, or null if the node is dead
+   */
+  byte[][] getDataParts();
+
   void addData(GroupCommunicationMessage msg);
 }
@@ -19,11 +19,13 @@
 package org.apache.reef.io.network.group.api.task;
 
 import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.Reduce.ElementwiseReduceFunction;
 import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
 import org.apache.reef.io.serialization.Codec;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -50,6 +52,12 @@ public interface OperatorTopology {
 
   void sendToParent(byte[] encode, ReefNetworkGroupCommProtos.GroupCommMessage.Type reduce) throws ParentDeadException;
 
+  /**
+   * Send a message made of several parts to the parent. The parts are not concatenated.
+   */
+  void sendToParent(byte[][] parts, ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType)
+      throws ParentDeadException;
+
   byte[] recvFromParent(ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) throws ParentDeadException;
 
   void sendToChildren(byte[] data, ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) throws ParentDeadException;
@@ -57,9 +65,44 @@ public interface OperatorTopology {
   void sendToChildren(Map<String, byte[]> dataMap,
                       ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) throws ParentDeadException;
 
+  /**
+   * Send {@code data} to all children as a stream of chunks of at most {@code chunkSize} bytes.
+   * {@code chunkSize} must not exceed {@link org.apache.reef.io.network.group.impl.utils.ChunkHelper#MAX_CHUNK_SIZE}.
+   */
+  void sendToChildrenInChunks(byte[] data, int chunkSize,
+                              ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) throws ParentDeadException;
+
+  /**
+   * Receive a chunked stream from the parent, relaying every chunk to the children as soon as it arrives.
+   *
+   * @return the reassembled payload, or null if the parent died
+   */
+  byte[] recvFromParentInChunks(ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) throws ParentDeadException;
+
   <T> T recvFromChildren(ReduceFunction<T> redFunc, Codec<T> dataCodec) throws ParentDeadException;
 
+  /**
+   * Fold the chunked streams of the children into {@code data} and send the result to the parent
+   * as a stream of chunks of at most {@code chunkSize} bytes, one chunk as soon as it is complete.
+   * {@code data} is not modified.
+   */
+  <T> void sendToParentInChunks(T data, ElementwiseReduceFunction<T> redFunc, int chunkSize,
+                                ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) throws ParentDeadException;
+
+  /**
+   * Receive the chunked streams of the children and fold them element-wise as they arrive.
+   *
+   * @return the reduced vector, or null if no child sent anything
+   */
+  <T> T recvFromChildrenInChunks(ElementwiseReduceFunction<T> redFunc) throws ParentDeadException;
+
   byte[] recvFromChildren() throws ParentDeadException;
 
+  /**
+   * Receive data from all children without merging it.
+   * The message parts sent by every child are returned as they arrived, in a single list.
+   */
+  List<byte[]> recvPartsFromChildren() throws ParentDeadException;
+
   void initialize() throws ParentDeadException;
 }
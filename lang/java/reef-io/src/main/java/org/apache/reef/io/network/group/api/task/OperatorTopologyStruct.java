@@ -18,6 +18,7 @@
  */
 package org.apache.reef.io.network.group.api.task;
 
+import org.apache.reef.io.network.group.api.operators.Reduce.ElementwiseReduceFunction;
 import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.group.impl.operators.Sender;
@@ -26,6 +27,7 @@ import org.apache.reef.io.serialization.Codec;
 import org.apache.reef.tang.annotations.Name;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -66,13 +68,30 @@ public interface OperatorTopologyStruct {
 
   void sendToParent(byte[] data, ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
 
+  void sendToParent(byte[][] parts, ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
+
   byte[] recvFromParent(ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
 
   void sendToChildren(byte[] data, ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
 
   void sendToChildren(Map<String, byte[]> dataMap, ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
 
+  void sendToChildrenInChunks(byte[] data, int chunkSize, ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
+
+  byte[] recvFromParentInChunks(ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
+
   <T> T recvFromChildren(ReduceFunction<T> redFunc, Codec<T> dataCodec);
 
+  <T> void sendToParentInChunks(T data, ElementwiseReduceFunction<T> redFunc, int chunkSize,
+                                ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType);
+
+  <T> T recvFromChildrenInChunks(ElementwiseReduceFunction<T> redFunc);
+
   byte[] recvFromChildren();
+
+  /**
+   * Receive data from all children without merging it.
+   * The message parts sent by every child are returned as they arrived, in a single list.
+   */
+  List<byte[]> recvPartsFromChildren();
 }
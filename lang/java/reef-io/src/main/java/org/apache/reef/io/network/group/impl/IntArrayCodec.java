@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl;
+
+import org.apache.reef.io.network.impl.StreamingCodec;
+import org.apache.reef.io.serialization.Codec;
+
+import javax.inject.Inject;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Codec for int[] that copies the array in bulk instead of element by element.
+ * {@link #encode} produces the raw big-endian elements; the streaming methods prefix them with the
+ * number of elements and go through a reused per-thread scratch buffer.
+ */
+public final class IntArrayCodec implements Codec<int[]>, StreamingCodec<int[]> {
+
+  private static final int ELEMENT_SIZE = Integer.SIZE / Byte.SIZE;
+
+  @Inject
+  public IntArrayCodec() {
+  }
+
+  @Override
+  public byte[] encode(final int[] obj) {
+    final byte[] retVal = new byte[obj.length * ELEMENT_SIZE];
+    ByteBuffer.wrap(retVal).asIntBuffer().put(obj);
+    return retVal;
+  }
+
+  @Override
+  public int[] decode(final byte[] buf) {
+    final IntBuffer buffer = ByteBuffer.wrap(buf).asIntBuffer();
+    final int[] retVal = new int[buffer.remaining()];
+    buffer.get(retVal);
+    return retVal;
+  }
+
+  @Override
+  public void encodeToStream(final int[] obj, final DataOutputStream stream) {
+    try {
+      stream.writeInt(obj.length);
+      final ByteBuffer scratch = ScratchBuffers.get();
+      final IntBuffer view = scratch.asIntBuffer();
+      for (int offset = 0; offset < obj.length; offset += view.capacity()) {
+        final int length = Math.min(view.capacity(), obj.length - offset);
+        view.clear();
+        view.put(obj, offset, length);
+        stream.write(scratch.array(), scratch.arrayOffset(), length * ELEMENT_SIZE);
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException("IOException while encoding int[]", e);
+    }
+  }
+
+  @Override
+  public int[] decodeFromStream(final DataInputStream stream) {
+    try {
+      final int[] retVal = new int[stream.readInt()];
+      final ByteBuffer scratch = ScratchBuffers.get();
+      final IntBuffer view = scratch.asIntBuffer();
+      for (int offset = 0; offset < retVal.length; offset += view.capacity()) {
+        final int length = Math.min(view.capacity(), retVal.length - offset);
+        stream.readFully(scratch.array(), scratch.arrayOffset(), length * ELEMENT_SIZE);
+        view.clear();
+        view.get(retVal, offset, length);
+      }
+      return retVal;
+    } catch (final IOException e) {
+      throw new RuntimeException("IOException while decoding int[]", e);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Per-thread scratch buffers shared by the primitive array codecs.
+ * Streaming an array goes through a fixed-size buffer that is reused across calls,
+ * instead of allocating a byte array as large as the encoded array every time.
+ */
+final class ScratchBuffers {
+
+  /**
+   * Size of a scratch buffer in bytes; a multiple of the size of every primitive type.
+   */
+  static final int SIZE = 64 * 1024;
+
+  private static final ThreadLocal<ByteBuffer> BUFFERS = new ThreadLocal<ByteBuffer>() {
+    @Override
+    protected ByteBuffer initialValue() {
+      return ByteBuffer.allocate(SIZE);
+    }
+  };
+
+  /**
+   * Should not be instantiated.
+   */
+  private ScratchBuffers() {
+  }
+
+  /**
+   * @return the scratch buffer of the calling thread, cleared
+   */
+  static ByteBuffer get() {
+    final ByteBuffer buffer = BUFFERS.get();
+    buffer.clear();
+    return buffer;
+  }
+}
@@ -19,6 +19,7 @@
 package org.apache.reef.io.network.group.impl.config;
 
 import org.apache.reef.io.network.group.api.config.OperatorSpec;
+import org.apache.reef.io.network.group.impl.utils.ChunkHelper;
 import org.apache.reef.io.network.group.impl.utils.Utils;
 import org.apache.reef.io.serialization.Codec;
 
@@ -34,12 +35,25 @@ public class BroadcastOperatorSpec implements OperatorSpec {
    */
   private final Class<? extends Codec> dataCodecClass;
 
+  /**
+   * Size in bytes of the chunks the broadcast payload is pipelined in. Zero disables pipelining.
+   */
+  private final int chunkSize;
+
 
   public BroadcastOperatorSpec(final String senderId,
                                final Class<? extends Codec> dataCodecClass) {
+    this(senderId, dataCodecClass, 0);
+  }
+
+  public BroadcastOperatorSpec(final String senderId,
+                               final Class<? extends Codec> dataCodecClass,
+                               final int chunkSize) {
     super();
+    ChunkHelper.checkChunkSize(chunkSize);
     this.senderId = senderId;
     this.dataCodecClass = dataCodecClass;
+    this.chunkSize = chunkSize;
   }
 
   public String getSenderId() {
@@ -51,10 +65,14 @@ public class BroadcastOperatorSpec implements OperatorSpec {
     return dataCodecClass;
   }
 
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
   @Override
   public String toString() {
     return "Broadcast Operator Spec: [sender=" + senderId + "] [dataCodecClass=" + Utils.simpleName(dataCodecClass)
-        + "]";
+        + "] [chunkSize=" + chunkSize + "]";
   }
 
   public static Builder newBuilder() {
@@ -66,6 +84,7 @@ public class BroadcastOperatorSpec implements OperatorSpec {
 
     private Class<? extends Codec> dataCodecClass;
 
+    private int chunkSize = 0;
 
     public Builder setSenderId(final String senderId) {
       this.senderId = senderId;
@@ -77,9 +96,20 @@ public class BroadcastOperatorSpec implements OperatorSpec {
       return this;
     }
 
+    /**
+     * Pipeline the broadcast down the topology in chunks of {@code chunkSize} bytes.
+     * Intermediate tasks forward each chunk to their children as soon as it arrives.
+     * Chunks are not acknowledged, so {@code chunkSize} must be at most {@link ChunkHelper#MAX_CHUNK_SIZE};
+     * {@link #build} throws an {@link IllegalArgumentException} otherwise.
+     */
+    public Builder setChunkSize(final int chunkSize) {
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
     @Override
     public BroadcastOperatorSpec build() {
-      return new BroadcastOperatorSpec(senderId, dataCodecClass);
+      return new BroadcastOperatorSpec(senderId, dataCodecClass, chunkSize);
     }
   }
 
@@ -18,8 +18,10 @@
  */
 package org.apache.reef.io.network.group.impl.config;
 
+import org.apache.reef.io.network.group.api.operators.Reduce.ElementwiseReduceFunction;
 import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.group.api.config.OperatorSpec;
+import org.apache.reef.io.network.group.impl.utils.ChunkHelper;
 import org.apache.reef.io.network.group.impl.utils.Utils;
 import org.apache.reef.io.serialization.Codec;
 
@@ -40,14 +42,32 @@ public class ReduceOperatorSpec implements OperatorSpec {
    */
   private final Class<? extends ReduceFunction> redFuncClass;
 
+  /**
+   * Size in bytes of the chunks the reduction is pipelined in. Zero disables pipelining.
+   */
+  private final int chunkSize;
+
 
   public ReduceOperatorSpec(final String receiverId,
                             final Class<? extends Codec> dataCodecClass,
                             final Class<? extends ReduceFunction> redFuncClass) {
+    this(receiverId, dataCodecClass, redFuncClass, 0);
+  }
+
+  public ReduceOperatorSpec(final String receiverId,
+                            final Class<? extends Codec> dataCodecClass,
+                            final Class<? extends ReduceFunction> redFuncClass,
+                            final int chunkSize) {
     super();
+    if (chunkSize > 0 && !ElementwiseReduceFunction.class.isAssignableFrom(redFuncClass)) {
+      throw new IllegalArgumentException("Chunked Reduce needs an " + ElementwiseReduceFunction.class.getSimpleName()
+          + " but got " + redFuncClass.getName());
+    }
+    ChunkHelper.checkChunkSize(chunkSize);
     this.receiverId = receiverId;
     this.dataCodecClass = dataCodecClass;
     this.redFuncClass = redFuncClass;
+    this.chunkSize = chunkSize;
   }
 
   public String getReceiverId() {
@@ -66,10 +86,14 @@ public class ReduceOperatorSpec implements OperatorSpec {
     return dataCodecClass;
   }
 
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
   @Override
   public String toString() {
     return "Reduce Operator Spec: [receiver=" + receiverId + "] [dataCodecClass=" + Utils.simpleName(dataCodecClass)
-        + "] [reduceFunctionClass=" + Utils.simpleName(redFuncClass) + "]";
+        + "] [reduceFunctionClass=" + Utils.simpleName(redFuncClass) + "] [chunkSize=" + chunkSize + "]";
   }
 
   public static Builder newBuilder() {
@@ -84,6 +108,8 @@ public class ReduceOperatorSpec implements OperatorSpec {
 
     private Class<? extends ReduceFunction> redFuncClass;
 
+    private int chunkSize = 0;
+
     public Builder setReceiverId(final String receiverId) {
       this.receiverId = receiverId;
       return this;
@@ -100,9 +126,20 @@ public class ReduceOperatorSpec implements OperatorSpec {
       return this;
     }
 
+    /**
+     * Pipeline the reduction up the topology in chunks of {@code chunkSize} bytes.
+     * Requires an {@link ElementwiseReduceFunction}: every task folds each chunk of its children
+     * into its own vector as soon as it arrives and forwards the result to its parent.
+     * {@code chunkSize} must be at most {@link ChunkHelper#MAX_CHUNK_SIZE}.
+     */
+    public Builder setChunkSize(final int chunkSize) {
+      this.chunkSize = chunkSize;
+      return this;
+    }
+
     @Override
     public ReduceOperatorSpec build() {
-      return new ReduceOperatorSpec(receiverId, dataCodecClass, redFuncClass);
+      return new ReduceOperatorSpec(receiverId, dataCodecClass, redFuncClass, chunkSize);
     }
   }
 }
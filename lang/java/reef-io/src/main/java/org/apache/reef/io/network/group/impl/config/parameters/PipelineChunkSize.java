@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.config.parameters;
+
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+
+/**
+ * The size in bytes of the chunks that pipelined operators split their payload into.
+ * A value of zero or less disables pipelining. Values above
+ * {@link org.apache.reef.io.network.group.impl.utils.ChunkHelper#MAX_CHUNK_SIZE} are rejected.
+ */
+@NamedParameter(doc = "The chunk size in bytes used by pipelined operators. Zero disables pipelining.",
+    default_value = "0")
+public final class PipelineChunkSize implements Name<Integer> {
+  private PipelineChunkSize() {
+  }
+}
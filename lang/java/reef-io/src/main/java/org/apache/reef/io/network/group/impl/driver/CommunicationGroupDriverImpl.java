@@ -20,6 +20,9 @@ package org.apache.reef.io.network.group.impl.driver;
 
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.driver.catalog.NodeDescriptor;
+import org.apache.reef.driver.catalog.RackDescriptor;
+import org.apache.reef.driver.evaluator.EvaluatorDescriptor;
 import org.apache.reef.driver.evaluator.FailedEvaluator;
 import org.apache.reef.driver.parameters.DriverIdentifier;
 import org.apache.reef.driver.task.FailedTask;
@@ -27,11 +30,15 @@ import org.apache.reef.driver.task.RunningTask;
 import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.io.network.group.api.config.OperatorSpec;
 import org.apache.reef.io.network.group.api.driver.CommunicationGroupDriver;
+import org.apache.reef.io.network.group.api.driver.LocalityAwareTopology;
 import org.apache.reef.io.network.group.api.driver.Topology;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.AllGatherOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.AllReduceOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.GatherOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ReduceOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.ReduceScatterOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.ScatterOperatorSpec;
 import org.apache.reef.io.network.group.impl.config.parameters.*;
 import org.apache.reef.io.network.group.impl.utils.BroadcastingEventHandler;
@@ -264,6 +271,62 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
     return this;
   }
 
+  @Override
+  public CommunicationGroupDriver addAllReduce(final Class<? extends Name<String>> operatorName,
+                                               final AllReduceOperatorSpec spec) {
+    return addSymmetricOperator("addAllReduce", operatorName, spec, spec.getRootId());
+  }
+
+  @Override
+  public CommunicationGroupDriver addAllGather(final Class<? extends Name<String>> operatorName,
+                                               final AllGatherOperatorSpec spec) {
+    return addSymmetricOperator("addAllGather", operatorName, spec, spec.getRootId());
+  }
+
+  @Override
+  public CommunicationGroupDriver addReduceScatter(final Class<? extends Name<String>> operatorName,
+                                                   final ReduceScatterOperatorSpec spec) {
+    return addSymmetricOperator("addReduceScatter", operatorName, spec, spec.getRootId());
+  }
+
+  /**
+   * Registers an operator in which every task both sends and receives.
+   * Such operators still get a topology rooted at {@code rootId}, which is used for failure handling and
+   * the initial topology set up; the data exchange itself does not go through the root.
+   *
+   * @param methodName the name of the calling method, for logging
+   * @param operatorName the name of the operator
+   * @param spec the operator specification
+   * @param rootId the task to root the topology at
+   * @return this
+   */
+  private CommunicationGroupDriver addSymmetricOperator(final String methodName,
+                                                        final Class<? extends Name<String>> operatorName,
+                                                        final OperatorSpec spec,
+                                                        final String rootId) {
+    LOG.entering("CommunicationGroupDriverImpl", methodName,
+        new Object[]{getQualifiedName(), Utils.simpleName(operatorName), spec});
+    if (finalised) {
+      throw new IllegalStateException("Can't add more operators to a finalised spec");
+    }
+    operatorSpecs.put(operatorName, spec);
+
+    final Topology topology;
+    try {
+      topology = topologyFactory.getNewInstance(operatorName, topologyClass);
+    } catch (final InjectionException e) {
+      LOG.log(Level.WARNING, "Cannot inject new topology named {0}", operatorName);
+      throw new RuntimeException(e);
+    }
+
+    topology.setRootTask(rootId);
+    topology.setOperatorSpecification(spec);
+    topologies.put(operatorName, topology);
+    LOG.exiting("CommunicationGroupDriverImpl", methodName,
+        Arrays.toString(new Object[]{getQualifiedName(), Utils.simpleName(operatorName), spec}));
+    return this;
+  }
+
   @Override
   public Configuration getTaskConfiguration(final Configuration taskConf) {
     LOG.entering("CommunicationGroupDriverImpl", "getTaskConfiguration",
@@ -336,8 +399,24 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
 
   @Override
   public void addTask(final Configuration partialTaskConf) {
+    addTask(partialTaskConf, null, null);
+  }
+
+  @Override
+  public void addTask(final Configuration partialTaskConf, final EvaluatorDescriptor evaluatorDescriptor) {
+    final NodeDescriptor nodeDescriptor = evaluatorDescriptor == null ? null : evaluatorDescriptor.getNodeDescriptor();
+    if (nodeDescriptor == null) {
+      addTask(partialTaskConf, null, null);
+    } else {
+      final RackDescriptor rackDescriptor = nodeDescriptor.getRackDescriptor();
+      addTask(partialTaskConf, rackDescriptor == null ? null : rackDescriptor.getName(),
+          nodeDescriptor.getInetSocketAddress().getHostString());
+    }
+  }
+
+  private void addTask(final Configuration partialTaskConf, final String rackName, final String hostName) {
     LOG.entering("CommunicationGroupDriverImpl", "addTask",
-        new Object[]{getQualifiedName(), confSerializer.toString(partialTaskConf)});
+        new Object[]{getQualifiedName(), confSerializer.toString(partialTaskConf), rackName, hostName});
     final String taskId = taskId(partialTaskConf);
     LOG.finest(getQualifiedName() + "AddTask(" + taskId + "). Waiting to acquire toBeRemovedLock");
     synchronized (toBeRemovedLock) {
@@ -358,7 +437,11 @@ public class CommunicationGroupDriverImpl implements CommunicationGroupDriver {
       boolean isRootOfSomeTopology = false;
       for (final Class<? extends Name<String>> operName : operatorSpecs.keySet()) {
         final Topology topology = topologies.get(operName);
-        topology.addTask(taskId);
+        if (topology instanceof LocalityAwareTopology) {
+          ((LocalityAwareTopology) topology).addTask(taskId, rackName, hostName);
+        } else {
+          topology.addTask(taskId);
+        }
         isRootOfSomeTopology |= topology.getRootId().equals(taskId);
       }
 
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.driver;
+
+import org.apache.reef.driver.parameters.DriverIdentifier;
+import org.apache.reef.io.network.group.api.driver.LocalityAwareTopology;
+import org.apache.reef.io.network.group.api.driver.TaskNode;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.parameters.*;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EStage;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Implements a tree topology with the specified Fan Out that keeps traffic local to hosts and racks.
+ * <p>
+ * The tasks of a host hang below one host leader, and the host leaders of a rack below one rack leader,
+ * which is the only task of the rack with a parent in another rack. The rack leaders hang below the root,
+ * whose rack and host it leads, so every rack has a single flow across the core switch.
+ * Each of these levels is a tree with the specified Fan Out, so a leader has up to Fan Out children per level.
+ * <p>
+ * Tasks of unknown host are treated as hosts of their own, and tasks of unknown rack share a default rack,
+ * so without locality this builds a balanced tree. When a task leaves, the last task of its group takes its place,
+ * so that a rebalance moves few running tasks.
+ */
+public final class LocalityAwareTreeTopology extends AbstractTreeTopology implements LocalityAwareTopology {
+
+  private static final Logger LOG = Logger.getLogger(LocalityAwareTreeTopology.class.getName());
+  private static final String DEFAULT_RACK = "/default-rack";
+
+  private final Map<String, Host> taskHosts = new HashMap<>();
+  private final Map<String, Rack> racks = new HashMap<>();
+  private final List<Rack> rackOrder = new ArrayList<>();
+
+  @Inject
+  private LocalityAwareTreeTopology(
+      @Parameter(GroupCommSenderStage.class) final EStage<GroupCommunicationMessage> senderStage,
+      @Parameter(CommGroupNameClass.class) final Class<? extends Name<String>> groupName,
+      @Parameter(OperatorNameClass.class) final Class<? extends Name<String>> operatorName,
+      @Parameter(DriverIdentifier.class) final String driverId,
+      @Parameter(TreeTopologyFanOut.class) final int fanOut) {
+    super(senderStage, groupName, operatorName, driverId, fanOut);
+    LOG.config(getQualifiedName() + "Locality aware Tree Topology running with a fan-out of " + fanOut);
+  }
+
+  @Override
+  public void removeTask(final String taskId) {
+    LOG.entering("LocalityAwareTreeTopology", "removeTask", new Object[]{getQualifiedName(), taskId});
+    final TaskNode node = nodes.remove(taskId);
+    if (node == null) {
+      LOG.fine("Trying to remove a non-existent node in the task graph");
+      LOG.exiting("LocalityAwareTreeTopology", "removeTask", getQualifiedName());
+      return;
+    }
+    final Host host = taskHosts.remove(taskId);
+    removeSwappingLast(host.tasks, node);
+    if (host.tasks.isEmpty()) {
+      host.rack.hosts.remove(host.name);
+      removeSwappingLast(host.rack.hostOrder, host);
+      if (host.rack.hostOrder.isEmpty()) {
+        racks.remove(host.rack.name);
+        removeSwappingLast(rackOrder, host.rack);
+      }
+    }
+    if (node == root) {
+      root = null;
+    }
+    moveNode(node, null);
+    rebalance();
+    LOG.exiting("LocalityAwareTreeTopology", "removeTask", getQualifiedName() + taskId);
+  }
+
+  @Override
+  public void addTask(final String taskId) {
+    addTask(taskId, null, null);
+  }
+
+  @Override
+  public void addTask(final String taskId, final String rackName, final String hostName) {
+    LOG.entering("LocalityAwareTreeTopology", "addTask", new Object[]{getQualifiedName(), taskId, rackName, hostName});
+    if (nodes.containsKey(taskId)) {
+      LOG.fine("Got a request to add a task that is already in the graph. " +
+          "We need to block this request till the delete finishes. ***CAUTION***");
+    }
+    final boolean isRoot = taskId.equals(rootId);
+    final TaskNode node = new TaskNodeImpl(senderStage, groupName, operName, taskId, driverId, isRoot);
+    final Host host = getHost(rackName == null ? DEFAULT_RACK : rackName, hostName == null ? taskId : hostName);
+    host.tasks.add(node);
+    if (isRoot) {
+      // The root leads its host and its rack
+      root = node;
+      swap(host.tasks, host.tasks.size() - 1, 0);
+      swap(host.rack.hostOrder, host.rack.hostOrder.indexOf(host), 0);
+    }
+    taskHosts.put(taskId, host);
+    nodes.put(taskId, node);
+    rebalance();
+    LOG.exiting("LocalityAwareTreeTopology", "addTask", getQualifiedName() + taskId);
+  }
+
+  private Host getHost(final String rackName, final String hostName) {
+    Rack rack = racks.get(rackName);
+    if (rack == null) {
+      rack = new Rack(rackName);
+      racks.put(rackName, rack);
+      rackOrder.add(rack);
+    }
+    Host host = rack.hosts.get(hostName);
+    if (host == null) {
+      host = new Host(hostName, rack);
+      rack.hosts.put(hostName, host);
+      rack.hostOrder.add(host);
+    }
+    return host;
+  }
+
+  /**
+   * Computes the parent of every task and moves the tasks whose parent changed.
+   */
+  private void rebalance() {
+    LOG.entering("LocalityAwareTreeTopology", "rebalance", getQualifiedName());
+    final Map<String, TaskNode> parents = new HashMap<>();
+    if (root != null) {
+      final Rack rootRack = taskHosts.get(rootId).rack;
+      final List<TaskNode> rackLeaders = new ArrayList<>(rackOrder.size());
+      for (final Rack rack : rackOrder) {
+        final List<TaskNode> hostLeaders = new ArrayList<>(rack.hostOrder.size());
+        for (final Host host : rack.hostOrder) {
+          hostLeaders.add(host.tasks.get(0));
+          assignParents(parents, host.tasks.get(0), host.tasks.subList(1, host.tasks.size()));
+        }
+        assignParents(parents, hostLeaders.get(0), hostLeaders.subList(1, hostLeaders.size()));
+        if (rack != rootRack) {
+          rackLeaders.add(hostLeaders.get(0));
+        }
+      }
+      assignParents(parents, root, rackLeaders);
+    }
+    for (final TaskNode node : nodes.values()) {
+      final TaskNode parent = parents.get(node.getTaskId());
+      if (node.getParent() != parent) {
+        moveNode(node, parent);
+      }
+    }
+    LOG.exiting("LocalityAwareTreeTopology", "rebalance", getQualifiedName());
+  }
+
+  /**
+   * Arranges the members below the anchor as a tree with the specified Fan Out, in the order of the list.
+   */
+  private void assignParents(final Map<String, TaskNode> parents, final TaskNode anchor, final List<TaskNode> members) {
+    for (int i = 0; i < members.size(); i++) {
+      final TaskNode parent = i < fanOut ? anchor : members.get(i / fanOut - 1);
+      parents.put(members.get(i).getTaskId(), parent);
+    }
+  }
+
+  /**
+   * Moves the node below the new parent, telling running neighbors about the change
+   * the same way a failure and restart of the node would.
+   */
+  private void moveNode(final TaskNode node, final TaskNode newParent) {
+    LOG.entering("LocalityAwareTreeTopology", "moveNode", new Object[]{getQualifiedName(), node, newParent});
+    final TaskNode oldParent = node.getParent();
+    if (oldParent != null) {
+      if (node.isRunning() && oldParent.isRunning()) {
+        oldParent.onChildDead(node.getTaskId());
+        node.onParentDead();
+      }
+      oldParent.removeChild(node);
+    }
+    node.setParent(newParent);
+    if (newParent != null) {
+      newParent.addChild(node);
+      if (node.isRunning() && newParent.isRunning()) {
+        node.onParentRunning();
+        newParent.onChildRunning(node.getTaskId());
+      }
+    }
+    LOG.exiting("LocalityAwareTreeTopology", "moveNode", getQualifiedName() + node);
+  }
+
+  /**
+   * Gets the node of the task, for tests.
+   */
+  TaskNode getTaskNode(final String taskId) {
+    return nodes.get(taskId);
+  }
+
+  private static <T> void swap(final List<T> list, final int i, final int j) {
+    list.set(i, list.set(j, list.get(i)));
+  }
+
+  private static <T> void removeSwappingLast(final List<T> list, final T element) {
+    final int last = list.size() - 1;
+    swap(list, list.indexOf(element), last);
+    list.remove(last);
+  }
+
+  private static final class Rack {
+    private final String name;
+    private final Map<String, Host> hosts = new HashMap<>();
+
+    /**
+     * The hosts of the rack, the first one holds the rack leader.
+     */
+    private final List<Host> hostOrder = new ArrayList<>();
+
+    Rack(final String name) {
+      this.name = name;
+    }
+  }
+
+  private static final class Host {
+    private final String name;
+    private final Rack rack;
+
+    /**
+     * The tasks of the host, the first one is the host leader.
+     */
+    private final List<TaskNode> tasks = new ArrayList<>();
+
+    Host(final String name, final Rack rack) {
+      this.name = name;
+      this.rack = rack;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.functions;
+
+import org.apache.reef.io.network.group.api.operators.Reduce.ElementwiseReduceFunction;
+import org.apache.reef.io.network.group.api.operators.Reduce.InPlaceReduceFunction;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * Base class for element-wise reduce functions over double[] vectors.
+ * Subclasses only define how two elements are combined.
+ */
+public abstract class DoubleArrayReduceFunction
+    implements ElementwiseReduceFunction<double[]>, InPlaceReduceFunction<double[]> {
+
+  private static final int ELEMENT_SIZE = Double.SIZE / Byte.SIZE;
+
+  /**
+   * Combine two elements at the same position of two vectors.
+   */
+  protected abstract double combine(double left, double right);
+
+  @Override
+  public double[] apply(final Iterable<double[]> elements) {
+    double[] retVal = null;
+    for (final double[] element : elements) {
+      retVal = retVal == null ? element.clone() : reduceInto(retVal, element);
+    }
+    return retVal;
+  }
+
+  @Override
+  public double[] reduceInto(final double[] accumulator, final double[] element) {
+    checkLength(accumulator.length, element.length);
+    for (int i = 0; i < accumulator.length; i++) {
+      accumulator[i] = combine(accumulator[i], element[i]);
+    }
+    return accumulator;
+  }
+
+  @Override
+  public int getElementSize() {
+    return ELEMENT_SIZE;
+  }
+
+  @Override
+  public int getLength(final double[] vector) {
+    return vector.length;
+  }
+
+  @Override
+  public void encode(final double[] vector, final int from, final ByteBuffer dst) {
+    final DoubleBuffer buffer = dst.asDoubleBuffer();
+    buffer.put(vector, from, buffer.remaining());
+  }
+
+  @Override
+  public double[] decode(final ByteBuffer src) {
+    final DoubleBuffer buffer = src.asDoubleBuffer();
+    final double[] retVal = new double[buffer.remaining()];
+    buffer.get(retVal);
+    return retVal;
+  }
+
+  @Override
+  public void fold(final ByteBuffer accumulator, final ByteBuffer src) {
+    final DoubleBuffer accBuffer = accumulator.asDoubleBuffer();
+    final DoubleBuffer srcBuffer = src.asDoubleBuffer();
+    checkLength(accBuffer.remaining(), srcBuffer.remaining());
+    for (int i = 0; i < accBuffer.remaining(); i++) {
+      accBuffer.put(i, combine(accBuffer.get(i), srcBuffer.get(i)));
+    }
+  }
+
+  private static void checkLength(final int expected, final int actual) {
+    if (expected != actual) {
+      throw new IllegalArgumentException("Cannot reduce vectors of different lengths: " + expected + " and " + actual);
+    }
+  }
+}
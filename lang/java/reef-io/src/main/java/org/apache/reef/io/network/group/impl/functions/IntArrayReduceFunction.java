@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.functions;
+
+import org.apache.reef.io.network.group.api.operators.Reduce.ElementwiseReduceFunction;
+import org.apache.reef.io.network.group.api.operators.Reduce.InPlaceReduceFunction;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Base class for element-wise reduce functions over int[] vectors.
+ * Subclasses only define how two elements are combined.
+ */
+public abstract class IntArrayReduceFunction
+    implements ElementwiseReduceFunction<int[]>, InPlaceReduceFunction<int[]> {
+
+  private static final int ELEMENT_SIZE = Integer.SIZE / Byte.SIZE;
+
+  /**
+   * Combine two elements at the same position of two vectors.
+   */
+  protected abstract int combine(int left, int right);
+
+  @Override
+  public int[] apply(final Iterable<int[]> elements) {
+    int[] retVal = null;
+    for (final int[] element : elements) {
+      retVal = retVal == null ? element.clone() : reduceInto(retVal, element);
+    }
+    return retVal;
+  }
+
+  @Override
+  public int[] reduceInto(final int[] accumulator, final int[] element) {
+    checkLength(accumulator.length, element.length);
+    for (int i = 0; i < accumulator.length; i++) {
+      accumulator[i] = combine(accumulator[i], element[i]);
+    }
+    return accumulator;
+  }
+
+  @Override
+  public int getElementSize() {
+    return ELEMENT_SIZE;
+  }
+
+  @Override
+  public int getLength(final int[] vector) {
+    return vector.length;
+  }
+
+  @Override
+  public void encode(final int[] vector, final int from, final ByteBuffer dst) {
+    final IntBuffer buffer = dst.asIntBuffer();
+    buffer.put(vector, from, buffer.remaining());
+  }
+
+  @Override
+  public int[] decode(final ByteBuffer src) {
+    final IntBuffer buffer = src.asIntBuffer();
+    final int[] retVal = new int[buffer.remaining()];
+    buffer.get(retVal);
+    return retVal;
+  }
+
+  @Override
+  public void fold(final ByteBuffer accumulator, final ByteBuffer src) {
+    final IntBuffer accBuffer = accumulator.asIntBuffer();
+    final IntBuffer srcBuffer = src.asIntBuffer();
+    checkLength(accBuffer.remaining(), srcBuffer.remaining());
+    for (int i = 0; i < accBuffer.remaining(); i++) {
+      accBuffer.put(i, combine(accBuffer.get(i), srcBuffer.get(i)));
+    }
+  }
+
+  private static void checkLength(final int expected, final int actual) {
+    if (expected != actual) {
+      throw new IllegalArgumentException("Cannot reduce vectors of different lengths: " + expected + " and " + actual);
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.driver.task.TaskConfigurationOptions;
+import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.AllGather;
+import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
+import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient;
+import org.apache.reef.io.network.group.api.task.OperatorTopology;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.parameters.*;
+import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.impl.NetworkService;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.Identifier;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * AllGather implemented as a ring.
+ * <p>
+ * Tasks are arranged in a ring in rank order. In each of the n - 1 steps every task passes the
+ * element it received in the previous step on to its right neighbour, starting with its own.
+ * Every task thus sends and receives each element exactly once, and elements are relayed
+ * in their encoded form without being decoded on the way.
+ */
+public class AllGatherImpl<T> implements AllGather<T>, EventHandler<GroupCommunicationMessage> {
+
+  private static final Logger LOG = Logger.getLogger(AllGatherImpl.class.getName());
+
+  private final Class<? extends Name<String>> groupName;
+  private final Class<? extends Name<String>> operName;
+  private final String selfId;
+  private final Codec<T> dataCodec;
+  private final OperatorTopology topology;
+  private final PeerExchange peerExchange;
+  private final CommunicationGroupServiceClient commGroupClient;
+  private final AtomicBoolean init = new AtomicBoolean(false);
+  private final int version;
+
+  @Inject
+  public AllGatherImpl(@Parameter(CommunicationGroupName.class) final String groupName,
+                       @Parameter(OperatorName.class) final String operName,
+                       @Parameter(TaskConfigurationOptions.Identifier.class) final String selfId,
+                       @Parameter(DataCodec.class) final Codec<T> dataCodec,
+                       @Parameter(DriverIdentifierGroupComm.class) final String driverId,
+                       @Parameter(TaskVersion.class) final int version,
+                       @Parameter(RootTaskId.class) final String rootId,
+                       @Parameter(PeerExchangeTimeout.class) final long peerTimeout,
+                       final CommGroupNetworkHandler commGroupNetworkHandler,
+                       final NetworkService<GroupCommunicationMessage> netService,
+                       final CommunicationGroupServiceClient commGroupClient) {
+    LOG.finest(operName + " has CommGroupHandler-" + commGroupNetworkHandler.toString());
+    this.version = version;
+    this.groupName = Utils.getClass(groupName);
+    this.operName = Utils.getClass(operName);
+    this.selfId = selfId;
+    this.dataCodec = dataCodec;
+    final Sender sender = new Sender(netService);
+    this.topology = new OperatorTopologyImpl(this.groupName, this.operName, selfId, driverId, sender, version);
+    this.peerExchange = new PeerExchange(this.groupName, this.operName, selfId, selfId.equals(rootId), version,
+        topology, sender, ReefNetworkGroupCommProtos.GroupCommMessage.Type.AllGather, peerTimeout);
+    this.commGroupClient = commGroupClient;
+    commGroupNetworkHandler.register(this.operName, this);
+  }
+
+  @Override
+  public int getVersion() {
+    return version;
+  }
+
+  @Override
+  public void initialize() throws ParentDeadException {
+    topology.initialize();
+  }
+
+  @Override
+  public Class<? extends Name<String>> getOperName() {
+    return operName;
+  }
+
+  @Override
+  public Class<? extends Name<String>> getGroupName() {
+    return groupName;
+  }
+
+  @Override
+  public String toString() {
+    return "AllGatherImpl:" + Utils.simpleName(groupName) + ":" + Utils.simpleName(operName) + ":" + version;
+  }
+
+  @Override
+  public void onNext(final GroupCommunicationMessage msg) {
+    peerExchange.handle(msg);
+  }
+
+  @Override
+  public List<T> apply(final T element) throws NetworkException, InterruptedException {
+    return allGather(element, null);
+  }
+
+  @Override
+  public List<T> apply(final T element, final List<? extends Identifier> order)
+      throws NetworkException, InterruptedException {
+    return allGather(element, order);
+  }
+
+  private List<T> allGather(final T element, final List<? extends Identifier> order)
+      throws NetworkException, InterruptedException {
+    LOG.entering("AllGatherImpl", "allGather", this);
+
+    if (init.compareAndSet(false, true)) {
+      LOG.fine(this + " Communication group initializing");
+      commGroupClient.initialize();
+      LOG.fine(this + " Communication group initialized");
+    }
+
+    final List<T> retList;
+    try {
+      retList = ring(peerExchange, peerExchange.beginInvocation(order), selfId, element, dataCodec);
+    } catch (final ParentDeadException e) {
+      throw new RuntimeException("ParentDeadException", e);
+    }
+    LOG.exiting("AllGatherImpl", "allGather", this);
+    return retList;
+  }
+
+  /**
+   * Gather the elements of all {@code members} around the ring, as the member {@code selfId}.
+   */
+  static <T> List<T> ring(final PeerExchange peerExchange, final List<String> members, final String selfId,
+                          final T element, final Codec<T> dataCodec)
+      throws InterruptedException, NetworkException, ParentDeadException {
+    final int size = members.size();
+    final int rank = members.indexOf(selfId);
+    final String right = members.get((rank + 1) % size);
+    final String left = members.get((rank - 1 + size) % size);
+    LOG.fine(selfId + " Gathering as rank " + rank + " of " + size);
+
+    final List<byte[]> encoded = new ArrayList<>(Collections.<byte[]>nCopies(size, null));
+    encoded.set(rank, dataCodec.encode(element));
+    for (int step = 0; step < size - 1; step++) {
+      peerExchange.send(right, step, encoded.get((rank - step + size) % size));
+      encoded.set((rank - step - 1 + size) % size, peerExchange.receive(left, step));
+    }
+
+    final List<T> retList = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      retList.add(i == rank ? element : dataCodec.decode(encoded.get(i)));
+    }
+    return retList;
+  }
+}
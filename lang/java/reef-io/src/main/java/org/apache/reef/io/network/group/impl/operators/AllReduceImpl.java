@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.driver.task.TaskConfigurationOptions;
+import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.AllReduce;
+import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
+import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
+import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient;
+import org.apache.reef.io.network.group.api.task.OperatorTopology;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.parameters.*;
+import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.impl.NetworkService;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.Identifier;
+
+import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * AllReduce implemented with recursive doubling.
+ * <p>
+ * In round {@code k} every task exchanges its partial result with the task whose rank differs in bit {@code k},
+ * so after log2(n) rounds every task holds the reduction of all elements. Unlike a Reduce followed by a
+ * Broadcast there is no root that receives from and sends to everybody: every task sends and receives
+ * one element per round. When the number of tasks is not a power of two, the first tasks are folded
+ * pairwise before the rounds and receive the result from their partner afterwards.
+ * <p>
+ * Every task sends log2(n) whole elements, so the traffic per task grows with the number of tasks.
+ * This is a latency optimal rather than a bandwidth optimal schedule; see {@link AllReduce}.
+ * <p>
+ * Partial results are always combined in rank order, so the reduce function need not be commutative.
+ */
+public class AllReduceImpl<T> implements AllReduce<T>, EventHandler<GroupCommunicationMessage> {
+
+  private static final Logger LOG = Logger.getLogger(AllReduceImpl.class.getName());
+
+  private final Class<? extends Name<String>> groupName;
+  private final Class<? extends Name<String>> operName;
+  private final String selfId;
+  private final Codec<T> dataCodec;
+  private final ReduceFunction<T> reduceFunction;
+  private final OperatorTopology topology;
+  private final PeerExchange peerExchange;
+  private final CommunicationGroupServiceClient commGroupClient;
+  private final AtomicBoolean init = new AtomicBoolean(false);
+  private final int version;
+
+  @Inject
+  public AllReduceImpl(@Parameter(CommunicationGroupName.class) final String groupName,
+                       @Parameter(OperatorName.class) final String operName,
+                       @Parameter(TaskConfigurationOptions.Identifier.class) final String selfId,
+                       @Parameter(DataCodec.class) final Codec<T> dataCodec,
+                       @Parameter(ReduceFunctionParam.class) final ReduceFunction<T> reduceFunction,
+                       @Parameter(DriverIdentifierGroupComm.class) final String driverId,
+                       @Parameter(TaskVersion.class) final int version,
+                       @Parameter(RootTaskId.class) final String rootId,
+                       @Parameter(PeerExchangeTimeout.class) final long peerTimeout,
+                       final CommGroupNetworkHandler commGroupNetworkHandler,
+                       final NetworkService<GroupCommunicationMessage> netService,
+                       final CommunicationGroupServiceClient commGroupClient) {
+    LOG.finest(operName + " has CommGroupHandler-" + commGroupNetworkHandler.toString());
+    this.version = version;
+    this.groupName = Utils.getClass(groupName);
+    this.operName = Utils.getClass(operName);
+    this.selfId = selfId;
+    this.dataCodec = dataCodec;
+    this.reduceFunction = reduceFunction;
+    final Sender sender = new Sender(netService);
+    this.topology = new OperatorTopologyImpl(this.groupName, this.operName, selfId, driverId, sender, version);
+    this.peerExchange = new PeerExchange(this.groupName, this.operName, selfId, selfId.equals(rootId), version,
+        topology, sender, ReefNetworkGroupCommProtos.GroupCommMessage.Type.AllReduce, peerTimeout);
+    this.commGroupClient = commGroupClient;
+    commGroupNetworkHandler.register(this.operName, this);
+  }
+
+  @Override
+  public int getVersion() {
+    return version;
+  }
+
+  @Override
+  public void initialize() throws ParentDeadException {
+    topology.initialize();
+  }
+
+  @Override
+  public Class<? extends Name<String>> getOperName() {
+    return operName;
+  }
+
+  @Override
+  public Class<? extends Name<String>> getGroupName() {
+    return groupName;
+  }
+
+  @Override
+  public ReduceFunction<T> getReduceFunction() {
+    return reduceFunction;
+  }
+
+  @Override
+  public String toString() {
+    return "AllReduceImpl:" + Utils.simpleName(groupName) + ":" + Utils.simpleName(operName) + ":" + version;
+  }
+
+  @Override
+  public void onNext(final GroupCommunicationMessage msg) {
+    peerExchange.handle(msg);
+  }
+
+  @Override
+  public T apply(final T element) throws InterruptedException, NetworkException {
+    return allReduce(element, null);
+  }
+
+  @Override
+  public T apply(final T element, final List<? extends Identifier> order)
+      throws InterruptedException, NetworkException {
+    return allReduce(element, order);
+  }
+
+  private T allReduce(final T element, final List<? extends Identifier> order)
+      throws InterruptedException, NetworkException {
+    LOG.entering("AllReduceImpl", "allReduce", this);
+
+    if (init.compareAndSet(false, true)) {
+      LOG.fine(this + " Communication group initializing");
+      commGroupClient.initialize();
+      LOG.fine(this + " Communication group initialized");
+    }
+
+    final T retVal;
+    try {
+      retVal = recursiveDoubling(peerExchange, peerExchange.beginInvocation(order), selfId, element,
+          dataCodec, reduceFunction);
+    } catch (final ParentDeadException e) {
+      throw new RuntimeException("ParentDeadException", e);
+    }
+    LOG.exiting("AllReduceImpl", "allReduce", this);
+    return retVal;
+  }
+
+  /**
+   * Reduce the elements of all {@code members} by recursive doubling, as the member {@code selfId}.
+   */
+  static <T> T recursiveDoubling(final PeerExchange peerExchange, final List<String> members, final String selfId,
+                                 final T element, final Codec<T> dataCodec, final ReduceFunction<T> reduceFunction)
+      throws InterruptedException, NetworkException, ParentDeadException {
+    final int size = members.size();
+    final int rank = members.indexOf(selfId);
+    final int pow2 = Integer.highestOneBit(size);
+    final int rem = size - pow2;
+    final int unfoldStep = Integer.numberOfTrailingZeros(pow2) + 1;
+    LOG.fine(selfId + " Reducing as rank " + rank + " of " + size);
+
+    T value = element;
+
+    // Fold the first 2 * rem tasks pairwise, so that a power of two tasks take part in the rounds.
+    final int newRank;
+    if (rank < 2 * rem) {
+      if (rank % 2 == 0) {
+        peerExchange.send(members.get(rank + 1), 0, dataCodec.encode(value));
+        newRank = -1;
+      } else {
+        value = reduce(reduceFunction, dataCodec.decode(peerExchange.receive(members.get(rank - 1), 0)), value);
+        newRank = rank / 2;
+      }
+    } else {
+      newRank = rank - rem;
+    }
+
+    if (newRank >= 0) {
+      int step = 1;
+      for (int mask = 1; mask < pow2; mask <<= 1, step++) {
+        final int partnerRank = toRank(newRank ^ mask, rem);
+        final String partner = members.get(partnerRank);
+        peerExchange.send(partner, step, dataCodec.encode(value));
+        final T partnerValue = dataCodec.decode(peerExchange.receive(partner, step));
+        value = partnerRank < rank
+            ? reduce(reduceFunction, partnerValue, value) : reduce(reduceFunction, value, partnerValue);
+      }
+    }
+
+    // Hand the result back to the tasks that were folded away.
+    if (rank < 2 * rem) {
+      if (rank % 2 == 0) {
+        value = dataCodec.decode(peerExchange.receive(members.get(rank + 1), unfoldStep));
+      } else {
+        peerExchange.send(members.get(rank - 1), unfoldStep, dataCodec.encode(value));
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Map a rank among the tasks taking part in the rounds back to the rank among all tasks.
+   */
+  private static int toRank(final int newRank, final int rem) {
+    return newRank < rem ? 2 * newRank + 1 : newRank + rem;
+  }
+
+  private static <T> T reduce(final ReduceFunction<T> reduceFunction, final T first, final T second) {
+    return reduceFunction.apply(Arrays.asList(first, second));
+  }
+}
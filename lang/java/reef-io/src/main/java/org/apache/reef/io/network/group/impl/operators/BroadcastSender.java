@@ -60,6 +60,8 @@ public class BroadcastSender<T> implements Broadcast.Sender<T>, EventHandler<Gro
 
   private final int version;
 
+  private final int chunkSize;
+
   @Inject
   public BroadcastSender(@Parameter(CommunicationGroupName.class) final String groupName,
                          @Parameter(OperatorName.class) final String operName,
@@ -67,11 +69,13 @@ public class BroadcastSender<T> implements Broadcast.Sender<T>, EventHandler<Gro
                          @Parameter(DataCodec.class) final Codec<T> dataCodec,
                          @Parameter(DriverIdentifierGroupComm.class) final String driverId,
                          @Parameter(TaskVersion.class) final int version,
+                         @Parameter(PipelineChunkSize.class) final int chunkSize,
                          final CommGroupNetworkHandler commGroupNetworkHandler,
                          final NetworkService<GroupCommunicationMessage> netService,
                          final CommunicationGroupServiceClient commGroupClient) {
     super();
     this.version = version;
+    this.chunkSize = chunkSize;
     LOG.finest(operName + "has CommGroupHandler-" + commGroupNetworkHandler.toString());
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
@@ -126,7 +130,12 @@ public class BroadcastSender<T> implements Broadcast.Sender<T>, EventHandler<Gro
     }
 
     try {
-      topology.sendToChildren(dataCodec.encode(element), ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      if (chunkSize > 0) {
+        topology.sendToChildrenInChunks(dataCodec.encode(element), chunkSize,
+            ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      } else {
+        topology.sendToChildren(dataCodec.encode(element), ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      }
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
     }
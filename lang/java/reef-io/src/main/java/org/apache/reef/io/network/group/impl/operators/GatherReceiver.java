@@ -28,6 +28,7 @@ import org.apache.reef.io.network.group.api.task.OperatorTopology;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.group.impl.config.parameters.*;
 import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
+import org.apache.reef.io.network.group.impl.utils.DecodingList;
 import org.apache.reef.io.network.group.impl.utils.Utils;
 import org.apache.reef.io.network.impl.NetworkService;
 import org.apache.reef.io.serialization.Codec;
@@ -37,9 +38,7 @@ import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.Identifier;
 
 import javax.inject.Inject;
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
@@ -117,11 +116,11 @@ public class GatherReceiver<T> implements Gather.Receiver<T>, EventHandler<Group
   @Override
   public List<T> receive() throws NetworkException, InterruptedException {
     LOG.entering("GatherReceiver", "receive");
-    final Map<String, T> mapOfTaskIdToData = receiveMapOfTaskIdToData();
+    final Map<String, byte[]> mapOfTaskIdToData = receiveMapOfTaskIdToData();
 
     LOG.log(Level.FINE, "{0} Sorting data according to lexicographical order of task identifiers.", this);
-    final TreeMap<String, T> sortedMapOfTaskIdToData = new TreeMap<>(mapOfTaskIdToData);
-    final List<T> retList = new LinkedList<>(sortedMapOfTaskIdToData.values());
+    final TreeMap<String, byte[]> sortedMapOfTaskIdToData = new TreeMap<>(mapOfTaskIdToData);
+    final List<T> retList = new DecodingList<>(new ArrayList<>(sortedMapOfTaskIdToData.values()), dataCodec);
 
     LOG.exiting("GatherReceiver", "receive");
     return retList;
@@ -130,25 +129,29 @@ public class GatherReceiver<T> implements Gather.Receiver<T>, EventHandler<Group
   @Override
   public List<T> receive(final List<? extends Identifier> order) throws NetworkException, InterruptedException {
     LOG.entering("GatherReceiver", "receive");
-    final Map<String, T> mapOfTaskIdToData = receiveMapOfTaskIdToData();
+    final Map<String, byte[]> mapOfTaskIdToData = receiveMapOfTaskIdToData();
 
     LOG.log(Level.FINE, "{0} Sorting data according to specified order of task identifiers.", this);
-    final List<T> retList = new LinkedList<>();
+    final List<byte[]> encodedList = new ArrayList<>(order.size());
     for (final Identifier key : order) {
       final String keyString = key.toString();
       if (mapOfTaskIdToData.containsKey(keyString)) {
-        retList.add(mapOfTaskIdToData.get(key.toString()));
+        encodedList.add(mapOfTaskIdToData.get(keyString));
       } else {
         LOG.warning(this + " Received no data from " + keyString + ". Adding null.");
-        retList.add(null);
+        encodedList.add(null);
       }
     }
 
     LOG.exiting("GatherReceiver", "receive");
-    return retList;
+    return new DecodingList<>(encodedList, dataCodec);
   }
 
-  private Map<String, T> receiveMapOfTaskIdToData() {
+  /**
+   * Receive the encoded values of all tasks. Values are kept in the buffers they arrived in;
+   * they are decoded lazily by the list returned to the caller.
+   */
+  private Map<String, byte[]> receiveMapOfTaskIdToData() {
     LOG.entering("GatherReceiver", "receiveMapOfTaskIdToData");
     // I am root.
     LOG.fine("I am " + this);
@@ -159,28 +162,21 @@ public class GatherReceiver<T> implements Gather.Receiver<T>, EventHandler<Group
       LOG.fine(this + " Communication group initialized.");
     }
 
-    final Map<String, T> mapOfTaskIdToData = new HashMap<>();
+    final Map<String, byte[]> mapOfTaskIdToData = new HashMap<>();
     try {
       LOG.fine(this + " Waiting for children.");
-      final byte[] gatheredDataFromChildren = topology.recvFromChildren();
-
-      LOG.fine("Using " + dataCodec.getClass().getSimpleName() + " as codec.");
-      try (final ByteArrayInputStream bstream = new ByteArrayInputStream(gatheredDataFromChildren);
-           final DataInputStream dstream = new DataInputStream(bstream)) {
-        while (dstream.available() > 0) {
-          final String identifier = dstream.readUTF();
-          final int dataLength = dstream.readInt();
-          final byte[] data = new byte[dataLength];
-          dstream.readFully(data);
-          mapOfTaskIdToData.put(identifier, dataCodec.decode(data));
-        }
-        LOG.fine(this + " Successfully received gathered data.");
+      final List<byte[]> gatheredParts = topology.recvPartsFromChildren();
+      if (gatheredParts.size() % 2 != 0) {
+        throw new RuntimeException(this + " Expected (identifier, data) pairs but received "
+            + gatheredParts.size() + " parts");
+      }
+      for (int i = 0; i < gatheredParts.size(); i += 2) {
+        mapOfTaskIdToData.put(new String(gatheredParts.get(i), StandardCharsets.UTF_8), gatheredParts.get(i + 1));
       }
+      LOG.fine(this + " Successfully received gathered data.");
 
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
-    } catch (final IOException e) {
-      throw new RuntimeException("IOException", e);
     }
 
     LOG.exiting("GatherReceiver", "receiveMapOfTaskIdToData");
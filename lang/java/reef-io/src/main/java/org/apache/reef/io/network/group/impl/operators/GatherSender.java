@@ -37,9 +37,8 @@ import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.wake.EventHandler;
 
 import javax.inject.Inject;
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
@@ -128,24 +127,21 @@ public class GatherSender<T> implements Gather.Sender<T>, EventHandler<GroupComm
 
     try {
       LOG.finest(this + " Waiting for children.");
-      final byte[] gatheredData = topology.recvFromChildren();
-      final byte[] encodedMyData = dataCodec.encode(myData);
-
-      try (final ByteArrayOutputStream bstream = new ByteArrayOutputStream();
-           final DataOutputStream dstream = new DataOutputStream(bstream)) {
-        dstream.writeUTF(netService.getMyId().toString());
-        dstream.writeInt(encodedMyData.length);
-        dstream.write(encodedMyData);
-        dstream.write(gatheredData);
-        final byte[] mergedData = bstream.toByteArray();
-
-        LOG.fine(this + " Sending merged value to parent.");
-        topology.sendToParent(mergedData, ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
+      final List<byte[]> gatheredParts = topology.recvPartsFromChildren();
+
+      // Every element travels as an (identifier, data) pair of message parts,
+      // so the parts of the children can be forwarded without copying them.
+      final byte[][] parts = new byte[gatheredParts.size() + 2][];
+      parts[0] = netService.getMyId().toString().getBytes(StandardCharsets.UTF_8);
+      parts[1] = dataCodec.encode(myData);
+      for (int i = 0; i < gatheredParts.size(); i++) {
+        parts[i + 2] = gatheredParts.get(i);
       }
+
+      LOG.fine(this + " Sending " + parts.length / 2 + " gathered values to parent.");
+      topology.sendToParent(parts, ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
-    } catch (final IOException e) {
-      throw new RuntimeException("IOException", e);
     }
     LOG.exiting("GatherSender", "send");
   }
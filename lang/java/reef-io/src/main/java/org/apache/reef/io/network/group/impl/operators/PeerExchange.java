@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.task.OperatorTopology;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.wake.Identifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Peer-to-peer messaging used by the symmetric operators (AllReduce, AllGather and ReduceScatter).
+ * <p>
+ * The operator topology is only used to agree on the set of participating tasks:
+ * task identifiers are gathered up the tree and the sorted membership is broadcast back down.
+ * The actual data is then exchanged directly between peers, bypassing the tree, so that
+ * no single task has to receive or send the data of every other task.
+ * <p>
+ * Peer messages carry a header with the invocation count of the operator and the step
+ * within the invocation, so that messages of a fast peer that is already one step
+ * ahead are kept aside until they are asked for.
+ * <p>
+ * Waiting for a peer fails with a {@link ParentDeadException} when the driver reports the peer dead
+ * (only its neighbours in the tree are told) or when its data does not arrive within the timeout.
+ */
+final class PeerExchange {
+
+  private static final Logger LOG = Logger.getLogger(PeerExchange.class.getName());
+
+  private static final int HEADER_LENGTH = 2 * Integer.SIZE / Byte.SIZE;
+
+  private final Class<? extends Name<String>> groupName;
+  private final Class<? extends Name<String>> operName;
+  private final String selfId;
+  private final boolean isRoot;
+  private final int version;
+  private final OperatorTopology topology;
+  private final Sender sender;
+  private final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType;
+  private final long timeout;
+
+  /**
+   * Peer messages that have arrived but have not been consumed yet, keyed by source, invocation and step.
+   */
+  private final Map<String, byte[]> received = new HashMap<>();
+
+  /**
+   * Peers that were reported dead and not added back since. Guarded by {@link #received}.
+   */
+  private final Set<String> deadPeers = new HashSet<>();
+
+  private int invocation = 0;
+
+  PeerExchange(final Class<? extends Name<String>> groupName,
+               final Class<? extends Name<String>> operName,
+               final String selfId,
+               final boolean isRoot,
+               final int version,
+               final OperatorTopology topology,
+               final Sender sender,
+               final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType,
+               final long timeout) {
+    this.groupName = groupName;
+    this.operName = operName;
+    this.selfId = selfId;
+    this.isRoot = isRoot;
+    this.version = version;
+    this.topology = topology;
+    this.sender = sender;
+    this.msgType = msgType;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Handle a message addressed to the operator.
+   * Peer data messages are buffered here, everything else is delegated to the operator topology.
+   */
+  void handle(final GroupCommunicationMessage msg) {
+    if (msg.getType() != msgType) {
+      updateDeadPeers(msg);
+      topology.handle(msg);
+      return;
+    }
+    final byte[][] data = msg.getData();
+    final ByteBuffer header = ByteBuffer.wrap(data[0]);
+    final String key = key(msg.getSrcid(), header.getInt(), header.getInt());
+    synchronized (received) {
+      received.put(key, data[1]);
+      received.notifyAll();
+    }
+  }
+
+  /**
+   * Start a new invocation of the operator and agree on the participating tasks.
+   *
+   * @param order order of the participating tasks, or null to order them by identifier
+   * @return identifiers of all participating tasks, in rank order
+   */
+  List<String> beginInvocation(final List<? extends Identifier> order) throws ParentDeadException {
+    invocation++;
+    final List<String> members = exchangeMembers();
+    if (order == null) {
+      return members;
+    }
+    final List<String> orderedMembers = new ArrayList<>(order.size());
+    for (final Identifier id : order) {
+      orderedMembers.add(id.toString());
+    }
+    if (!new HashSet<>(orderedMembers).equals(new HashSet<>(members))) {
+      throw new IllegalArgumentException("Specified order " + orderedMembers
+          + " does not match the participating tasks " + members);
+    }
+    return orderedMembers;
+  }
+
+  /**
+   * Send {@code data} to the peer {@code peerId} as part of the given step of the current invocation.
+   */
+  void send(final String peerId, final int step, final byte[] data) throws NetworkException {
+    final byte[] header = ByteBuffer.allocate(HEADER_LENGTH).putInt(invocation).putInt(step).array();
+    sender.send(Utils.bldVersionedGCM(groupName, operName, msgType, selfId, version, peerId, version, header, data));
+  }
+
+  /**
+   * Wait for the data sent by the peer {@code peerId} as part of the given step of the current invocation.
+   *
+   * @throws ParentDeadException if the peer is reported dead or its data does not arrive within the timeout
+   */
+  byte[] receive(final String peerId, final int step) throws InterruptedException, ParentDeadException {
+    final String key = key(peerId, invocation, step);
+    final long start = System.currentTimeMillis();
+    synchronized (received) {
+      while (!received.containsKey(key)) {
+        if (deadPeers.contains(peerId)) {
+          throw new ParentDeadException(selfId + " was waiting for " + peerId + ", which is dead.");
+        }
+        final long remaining = timeout - (System.currentTimeMillis() - start);
+        if (remaining <= 0) {
+          throw new ParentDeadException(selfId + " did not receive step " + step + " from " + peerId
+              + " within " + timeout + " ms. Perhaps it is dead.");
+        }
+        received.wait(remaining);
+      }
+      return received.remove(key);
+    }
+  }
+
+  /**
+   * Track the peers that the driver reports dead, and wake up a receive that may be waiting for one of them.
+   */
+  private void updateDeadPeers(final GroupCommunicationMessage msg) {
+    final ReefNetworkGroupCommProtos.GroupCommMessage.Type type = msg.getType();
+    synchronized (received) {
+      if (type == ReefNetworkGroupCommProtos.GroupCommMessage.Type.ParentDead
+          || type == ReefNetworkGroupCommProtos.GroupCommMessage.Type.ChildDead) {
+        deadPeers.add(msg.getSrcid());
+        received.notifyAll();
+      } else if (type == ReefNetworkGroupCommProtos.GroupCommMessage.Type.ParentAdd
+          || type == ReefNetworkGroupCommProtos.GroupCommMessage.Type.ChildAdd) {
+        deadPeers.remove(msg.getSrcid());
+      }
+    }
+  }
+
+  /**
+   * Gather the identifiers of all tasks up the tree and broadcast the sorted list back down.
+   * Only identifiers travel through the tree, so this is cheap compared to the data exchange.
+   */
+  private List<String> exchangeMembers() throws ParentDeadException {
+    LOG.entering("PeerExchange", "exchangeMembers", selfId);
+    final byte[] fromChildren = topology.recvFromChildren();
+    final List<String> members;
+    try {
+      if (isRoot) {
+        final SortedSet<String> sortedMembers = new TreeSet<>(decodeIds(fromChildren));
+        sortedMembers.add(selfId);
+        members = new ArrayList<>(sortedMembers);
+        topology.sendToChildren(encodeIds(members), ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+      } else {
+        final List<String> subtree = decodeIds(fromChildren);
+        subtree.add(selfId);
+        topology.sendToParent(encodeIds(subtree), ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
+        final byte[] fromParent = topology.recvFromParent(ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+        if (fromParent == null) {
+          throw new RuntimeException(selfId + " did not receive the participating tasks. Perhaps an ancestor is dead.");
+        }
+        topology.sendToChildren(fromParent, ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast);
+        members = decodeIds(fromParent);
+      }
+    } catch (final IOException e) {
+      throw new RuntimeException("IOException while exchanging the participating tasks", e);
+    }
+    LOG.exiting("PeerExchange", "exchangeMembers", members);
+    return members;
+  }
+
+  private static String key(final String srcId, final int srcInvocation, final int step) {
+    return srcId + ":" + srcInvocation + ":" + step;
+  }
+
+  /**
+   * Identifiers are written back to back, so that the concatenation done by
+   * {@link OperatorTopology#recvFromChildren()} is itself a valid encoding.
+   */
+  static byte[] encodeIds(final List<String> ids) throws IOException {
+    try (final ByteArrayOutputStream bstream = new ByteArrayOutputStream();
+         final DataOutputStream dstream = new DataOutputStream(bstream)) {
+      for (final String id : ids) {
+        dstream.writeUTF(id);
+      }
+      dstream.flush();
+      return bstream.toByteArray();
+    }
+  }
+
+  private static List<String> decodeIds(final byte[] data) throws IOException {
+    final List<String> ids = new ArrayList<>();
+    try (final DataInputStream dstream = new DataInputStream(new ByteArrayInputStream(data))) {
+      while (dstream.available() > 0) {
+        ids.add(dstream.readUTF());
+      }
+    }
+    return ids;
+  }
+}
@@ -22,6 +22,7 @@ import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.exception.ParentDeadException;
 import org.apache.reef.io.network.group.api.operators.Reduce;
+import org.apache.reef.io.network.group.api.operators.Reduce.ElementwiseReduceFunction;
 import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.impl.NetworkService;
 import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
@@ -63,6 +64,8 @@ public class ReduceReceiver<T> implements Reduce.Receiver<T>, EventHandler<Group
 
   private final int version;
 
+  private final int chunkSize;
+
   @Inject
   public ReduceReceiver(@Parameter(CommunicationGroupName.class) final String groupName,
                         @Parameter(OperatorName.class) final String operName,
@@ -71,11 +74,13 @@ public class ReduceReceiver<T> implements Reduce.Receiver<T>, EventHandler<Group
                         @Parameter(ReduceFunctionParam.class) final ReduceFunction<T> reduceFunction,
                         @Parameter(DriverIdentifierGroupComm.class) final String driverId,
                         @Parameter(TaskVersion.class) final int version,
+                        @Parameter(PipelineChunkSize.class) final int chunkSize,
                         final CommGroupNetworkHandler commGroupNetworkHandler,
                         final NetworkService<GroupCommunicationMessage> netService,
                         final CommunicationGroupServiceClient commGroupClient) {
     super();
     this.version = version;
+    this.chunkSize = chunkSize;
     LOG.finest(operName + " has CommGroupHandler-" + commGroupNetworkHandler.toString());
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
@@ -132,7 +137,11 @@ public class ReduceReceiver<T> implements Reduce.Receiver<T>, EventHandler<Group
     // Wait for children to send
     final T redVal;
     try {
-      redVal = topology.recvFromChildren(reduceFunction, dataCodec);
+      if (chunkSize > 0) {
+        redVal = topology.recvFromChildrenInChunks((ElementwiseReduceFunction<T>) reduceFunction);
+      } else {
+        redVal = topology.recvFromChildren(reduceFunction, dataCodec);
+      }
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
     }
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.driver.task.TaskConfigurationOptions;
+import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
+import org.apache.reef.io.network.group.api.operators.ReduceScatter;
+import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
+import org.apache.reef.io.network.group.api.task.CommunicationGroupServiceClient;
+import org.apache.reef.io.network.group.api.task.OperatorTopology;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.parameters.*;
+import org.apache.reef.io.network.group.impl.task.OperatorTopologyImpl;
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.impl.NetworkService;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.Identifier;
+
+import javax.inject.Inject;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * ReduceScatter implemented as a ring.
+ * <p>
+ * The list of elements is split into one block per task according to {@code counts}. Tasks are arranged
+ * in a ring in rank order, and in each of the n - 1 steps every task sends a partially reduced block to its
+ * right neighbour and folds the block it receives from its left neighbour into its own copy, element by
+ * element. After the last step every task holds the fully reduced block assigned to it. Each task sends
+ * and receives (n - 1) / n of its list in total, independent of the number of tasks.
+ * <p>
+ * Blocks are reduced in ring order, so the reduce function should be commutative.
+ */
+public class ReduceScatterImpl<T> implements ReduceScatter<T>, EventHandler<GroupCommunicationMessage> {
+
+  private static final Logger LOG = Logger.getLogger(ReduceScatterImpl.class.getName());
+
+  private final Class<? extends Name<String>> groupName;
+  private final Class<? extends Name<String>> operName;
+  private final String selfId;
+  private final Codec<T> dataCodec;
+  private final ReduceFunction<T> reduceFunction;
+  private final OperatorTopology topology;
+  private final PeerExchange peerExchange;
+  private final CommunicationGroupServiceClient commGroupClient;
+  private final AtomicBoolean init = new AtomicBoolean(false);
+  private final int version;
+
+  @Inject
+  public ReduceScatterImpl(@Parameter(CommunicationGroupName.class) final String groupName,
+                           @Parameter(OperatorName.class) final String operName,
+                           @Parameter(TaskConfigurationOptions.Identifier.class) final String selfId,
+                           @Parameter(DataCodec.class) final Codec<T> dataCodec,
+                           @Parameter(ReduceFunctionParam.class) final ReduceFunction<T> reduceFunction,
+                           @Parameter(DriverIdentifierGroupComm.class) final String driverId,
+                           @Parameter(TaskVersion.class) final int version,
+                           @Parameter(RootTaskId.class) final String rootId,
+                           @Parameter(PeerExchangeTimeout.class) final long peerTimeout,
+                           final CommGroupNetworkHandler commGroupNetworkHandler,
+                           final NetworkService<GroupCommunicationMessage> netService,
+                           final CommunicationGroupServiceClient commGroupClient) {
+    LOG.finest(operName + " has CommGroupHandler-" + commGroupNetworkHandler.toString());
+    this.version = version;
+    this.groupName = Utils.getClass(groupName);
+    this.operName = Utils.getClass(operName);
+    this.selfId = selfId;
+    this.dataCodec = dataCodec;
+    this.reduceFunction = reduceFunction;
+    final Sender sender = new Sender(netService);
+    this.topology = new OperatorTopologyImpl(this.groupName, this.operName, selfId, driverId, sender, version);
+    this.peerExchange = new PeerExchange(this.groupName, this.operName, selfId, selfId.equals(rootId), version,
+        topology, sender, ReefNetworkGroupCommProtos.GroupCommMessage.Type.ReduceScatter, peerTimeout);
+    this.commGroupClient = commGroupClient;
+    commGroupNetworkHandler.register(this.operName, this);
+  }
+
+  @Override
+  public int getVersion() {
+    return version;
+  }
+
+  @Override
+  public void initialize() throws ParentDeadException {
+    topology.initialize();
+  }
+
+  @Override
+  public Class<? extends Name<String>> getOperName() {
+    return operName;
+  }
+
+  @Override
+  public Class<? extends Name<String>> getGroupName() {
+    return groupName;
+  }
+
+  @Override
+  public ReduceFunction<T> getReduceFunction() {
+    return reduceFunction;
+  }
+
+  @Override
+  public String toString() {
+    return "ReduceScatterImpl:" + Utils.simpleName(groupName) + ":" + Utils.simpleName(operName) + ":" + version;
+  }
+
+  @Override
+  public void onNext(final GroupCommunicationMessage msg) {
+    peerExchange.handle(msg);
+  }
+
+  @Override
+  public List<T> apply(final List<T> elements, final List<Integer> counts)
+      throws InterruptedException, NetworkException {
+    return reduceScatter(elements, counts, null);
+  }
+
+  @Override
+  public List<T> apply(final List<T> elements, final List<Integer> counts, final List<? extends Identifier> order)
+      throws InterruptedException, NetworkException {
+    return reduceScatter(elements, counts, order);
+  }
+
+  private List<T> reduceScatter(final List<T> elements, final List<Integer> counts,
+                                final List<? extends Identifier> order)
+      throws InterruptedException, NetworkException {
+    LOG.entering("ReduceScatterImpl", "reduceScatter", this);
+
+    if (init.compareAndSet(false, true)) {
+      LOG.fine(this + " Communication group initializing");
+      commGroupClient.initialize();
+      LOG.fine(this + " Communication group initialized");
+    }
+
+    final List<T> retList;
+    try {
+      retList = ring(peerExchange, peerExchange.beginInvocation(order), selfId, elements, counts,
+          dataCodec, reduceFunction);
+    } catch (final ParentDeadException e) {
+      throw new RuntimeException("ParentDeadException", e);
+    }
+    LOG.exiting("ReduceScatterImpl", "reduceScatter", this);
+    return retList;
+  }
+
+  /**
+   * Reduce the blocks of all {@code members} around the ring, as the member {@code selfId}.
+   */
+  static <T> List<T> ring(final PeerExchange peerExchange, final List<String> members, final String selfId,
+                          final List<T> elements, final List<Integer> counts,
+                          final Codec<T> dataCodec, final ReduceFunction<T> reduceFunction)
+      throws InterruptedException, NetworkException, ParentDeadException {
+    final int size = members.size();
+    if (counts.size() != size) {
+      throw new IllegalArgumentException("Expected " + size + " counts, one per task, but got " + counts.size());
+    }
+    final int[] offsets = new int[size + 1];
+    for (int i = 0; i < size; i++) {
+      offsets[i + 1] = offsets[i] + counts.get(i);
+    }
+    if (offsets[size] != elements.size()) {
+      throw new IllegalArgumentException("Counts add up to " + offsets[size] + " but there are "
+          + elements.size() + " elements");
+    }
+
+    final int rank = members.indexOf(selfId);
+    final String right = members.get((rank + 1) % size);
+    final String left = members.get((rank - 1 + size) % size);
+    LOG.fine(selfId + " Reducing and scattering as rank " + rank + " of " + size);
+
+    List<T> block = elements.subList(offsets[rank], offsets[rank + 1]);
+    for (int step = 0; step < size - 1; step++) {
+      final int sendBlock = (rank - step - 1 + size) % size;
+      final int recvBlock = (rank - step - 2 + 2 * size) % size;
+      final List<T> toSend = step == 0 ? elements.subList(offsets[sendBlock], offsets[sendBlock + 1]) : block;
+      peerExchange.send(right, step, encodeList(dataCodec, toSend));
+      block = reduceElementWise(reduceFunction, decodeList(dataCodec, peerExchange.receive(left, step)),
+          elements.subList(offsets[recvBlock], offsets[recvBlock + 1]));
+    }
+    return new ArrayList<>(block);
+  }
+
+  private static <T> List<T> reduceElementWise(final ReduceFunction<T> reduceFunction,
+                                               final List<T> first, final List<T> second) {
+    final List<T> retList = new ArrayList<>(first.size());
+    for (int i = 0; i < first.size(); i++) {
+      retList.add(reduceFunction.apply(Arrays.asList(first.get(i), second.get(i))));
+    }
+    return retList;
+  }
+
+  private static <T> byte[] encodeList(final Codec<T> dataCodec, final List<T> list) {
+    try (final ByteArrayOutputStream bstream = new ByteArrayOutputStream();
+         final DataOutputStream dstream = new DataOutputStream(bstream)) {
+      dstream.writeInt(list.size());
+      for (final T element : list) {
+        final byte[] encoded = dataCodec.encode(element);
+        dstream.writeInt(encoded.length);
+        dstream.write(encoded);
+      }
+      dstream.flush();
+      return bstream.toByteArray();
+    } catch (final IOException e) {
+      throw new RuntimeException("IOException while encoding block", e);
+    }
+  }
+
+  private static <T> List<T> decodeList(final Codec<T> dataCodec, final byte[] data) {
+    try (final DataInputStream dstream = new DataInputStream(new ByteArrayInputStream(data))) {
+      final int listSize = dstream.readInt();
+      final List<T> retList = new ArrayList<>(listSize);
+      for (int i = 0; i < listSize; i++) {
+        final byte[] encoded = new byte[dstream.readInt()];
+        dstream.readFully(encoded);
+        retList.add(dataCodec.decode(encoded));
+      }
+      return retList;
+    } catch (final IOException e) {
+      throw new RuntimeException("IOException while decoding block", e);
+    }
+  }
+}
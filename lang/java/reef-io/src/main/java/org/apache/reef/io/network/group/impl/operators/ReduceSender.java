@@ -22,6 +22,8 @@ import org.apache.reef.driver.task.TaskConfigurationOptions;
 import org.apache.reef.exception.evaluator.NetworkException;
 import org.apache.reef.io.network.exception.ParentDeadException;
 import org.apache.reef.io.network.group.api.operators.Reduce;
+import org.apache.reef.io.network.group.api.operators.Reduce.ElementwiseReduceFunction;
+import org.apache.reef.io.network.group.api.operators.Reduce.InPlaceReduceFunction;
 import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.impl.NetworkService;
 import org.apache.reef.io.network.group.api.task.CommGroupNetworkHandler;
@@ -64,6 +66,8 @@ public class ReduceSender<T> implements Reduce.Sender<T>, EventHandler<GroupComm
 
   private final int version;
 
+  private final int chunkSize;
+
   @Inject
   public ReduceSender(
       @Parameter(CommunicationGroupName.class) final String groupName,
@@ -73,6 +77,7 @@ public class ReduceSender<T> implements Reduce.Sender<T>, EventHandler<GroupComm
       @Parameter(ReduceFunctionParam.class) final ReduceFunction<T> reduceFunction,
       @Parameter(DriverIdentifierGroupComm.class) final String driverId,
       @Parameter(TaskVersion.class) final int version,
+      @Parameter(PipelineChunkSize.class) final int chunkSize,
       final CommGroupNetworkHandler commGroupNetworkHandler,
       final NetworkService<GroupCommunicationMessage> netService,
       final CommunicationGroupServiceClient commGroupClient) {
@@ -83,6 +88,7 @@ public class ReduceSender<T> implements Reduce.Sender<T>, EventHandler<GroupComm
         new Object[]{operName, commGroupNetworkHandler});
 
     this.version = version;
+    this.chunkSize = chunkSize;
     this.groupName = Utils.getClass(groupName);
     this.operName = Utils.getClass(operName);
     this.dataCodec = dataCodec;
@@ -137,14 +143,26 @@ public class ReduceSender<T> implements Reduce.Sender<T>, EventHandler<GroupComm
     LOG.finest("Waiting for children");
     // Wait for children to send
     try {
-      final T reducedValueOfChildren = topology.recvFromChildren(reduceFunction, dataCodec);
-      final List<T> vals = new ArrayList<>(2);
-      vals.add(myData);
-      if (reducedValueOfChildren != null) {
-        vals.add(reducedValueOfChildren);
+      if (chunkSize > 0) {
+        topology.sendToParentInChunks(myData, (ElementwiseReduceFunction<T>) reduceFunction, chunkSize,
+            ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
+      } else {
+        final T reducedValueOfChildren = topology.recvFromChildren(reduceFunction, dataCodec);
+        final T reducedValue;
+        if (reduceFunction instanceof InPlaceReduceFunction) {
+          // The value of the children was decoded by the topology, so it can be the accumulator
+          reducedValue = reducedValueOfChildren == null ? myData
+              : ((InPlaceReduceFunction<T>) reduceFunction).reduceInto(reducedValueOfChildren, myData);
+        } else {
+          final List<T> vals = new ArrayList<>(2);
+          vals.add(myData);
+          if (reducedValueOfChildren != null) {
+            vals.add(reducedValueOfChildren);
+          }
+          reducedValue = reduceFunction.apply(vals);
+        }
+        topology.sendToParent(dataCodec.encode(reducedValue), ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
       }
-      final T reducedValue = reduceFunction.apply(vals);
-      topology.sendToParent(dataCodec.encode(reducedValue), ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
     } catch (final ParentDeadException e) {
       throw new RuntimeException("ParentDeadException", e);
     }
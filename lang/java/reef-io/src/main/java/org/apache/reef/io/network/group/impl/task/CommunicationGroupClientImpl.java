@@ -299,6 +299,48 @@ public class CommunicationGroupClientImpl implements CommunicationGroupServiceCl
     return (Gather.Sender) op;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> AllReduce<T> getAllReduce(final Class<? extends Name<String>> operatorName) {
+    LOG.entering("CommunicationGroupClientImpl", "getAllReduce", new Object[]{getQualifiedName(),
+        Utils.simpleName(operatorName)});
+    final GroupCommOperator op = operators.get(operatorName);
+    if (!(op instanceof AllReduce)) {
+      throw new RuntimeException("Configured operator is not an allreduce operator");
+    }
+    commGroupNetworkHandler.addTopologyElement(operatorName);
+    LOG.exiting("CommunicationGroupClientImpl", "getAllReduce", getQualifiedName() + op);
+    return (AllReduce<T>) op;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> AllGather<T> getAllGather(final Class<? extends Name<String>> operatorName) {
+    LOG.entering("CommunicationGroupClientImpl", "getAllGather", new Object[]{getQualifiedName(),
+        Utils.simpleName(operatorName)});
+    final GroupCommOperator op = operators.get(operatorName);
+    if (!(op instanceof AllGather)) {
+      throw new RuntimeException("Configured operator is not an allgather operator");
+    }
+    commGroupNetworkHandler.addTopologyElement(operatorName);
+    LOG.exiting("CommunicationGroupClientImpl", "getAllGather", getQualifiedName() + op);
+    return (AllGather<T>) op;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> ReduceScatter<T> getReduceScatter(final Class<? extends Name<String>> operatorName) {
+    LOG.entering("CommunicationGroupClientImpl", "getReduceScatter", new Object[]{getQualifiedName(),
+        Utils.simpleName(operatorName)});
+    final GroupCommOperator op = operators.get(operatorName);
+    if (!(op instanceof ReduceScatter)) {
+      throw new RuntimeException("Configured operator is not a reducescatter operator");
+    }
+    commGroupNetworkHandler.addTopologyElement(operatorName);
+    LOG.exiting("CommunicationGroupClientImpl", "getReduceScatter", getQualifiedName() + op);
+    return (ReduceScatter<T>) op;
+  }
+
   @Override
   public void initialize() {
     LOG.entering("CommunicationGroupClientImpl", "initialize", getQualifiedName());
@@ -78,6 +78,21 @@ public abstract class NodeStructImpl implements NodeStruct {
     return retVal;
   }
 
+  @Override
+  public byte[][] getDataParts() {
+    LOG.entering("NodeStructImpl", "getDataParts");
+    final GroupCommunicationMessage gcm;
+    try {
+      gcm = dataQue.take();
+    } catch (final InterruptedException e) {
+      throw new RuntimeException("InterruptedException while waiting for data from " + id, e);
+    }
+
+    final byte[][] retVal = checkDead(gcm) ? null : gcm.getData();
+    LOG.exiting("NodeStructImpl", "getDataParts", retVal);
+    return retVal;
+  }
+
   @Override
   public String toString() {
     return "(" + id + "," + version + ")";
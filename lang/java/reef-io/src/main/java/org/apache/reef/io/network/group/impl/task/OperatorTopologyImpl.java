@@ -36,6 +36,7 @@ import org.apache.reef.wake.impl.SingleThreadStage;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
@@ -204,6 +205,16 @@ public class OperatorTopologyImpl implements OperatorTopology {
     LOG.exiting("OperatorTopologyImpl", "sendToParent", getQualifiedName());
   }
 
+  @Override
+  public void sendToParent(final byte[][] parts, final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType)
+      throws ParentDeadException {
+    LOG.entering("OperatorTopologyImpl", "sendToParent", new Object[] {getQualifiedName(), msgType});
+    refreshEffectiveTopology();
+    assert effectiveTopology != null;
+    effectiveTopology.sendToParent(parts, msgType);
+    LOG.exiting("OperatorTopologyImpl", "sendToParent", getQualifiedName());
+  }
+
   @Override
   public void sendToChildren(final byte[] data, final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType)
       throws ParentDeadException {
@@ -225,6 +236,28 @@ public class OperatorTopologyImpl implements OperatorTopology {
     LOG.exiting("OperatorTopologyImpl", "sendToChildren", getQualifiedName());
   }
 
+  @Override
+  public void sendToChildrenInChunks(final byte[] data, final int chunkSize,
+                                     final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType)
+      throws ParentDeadException {
+    LOG.entering("OperatorTopologyImpl", "sendToChildrenInChunks", new Object[]{getQualifiedName(), msgType});
+    refreshEffectiveTopology();
+    assert effectiveTopology != null;
+    effectiveTopology.sendToChildrenInChunks(data, chunkSize, msgType);
+    LOG.exiting("OperatorTopologyImpl", "sendToChildrenInChunks", getQualifiedName());
+  }
+
+  @Override
+  public byte[] recvFromParentInChunks(final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType)
+      throws ParentDeadException {
+    LOG.entering("OperatorTopologyImpl", "recvFromParentInChunks", new Object[] {getQualifiedName(), msgType});
+    refreshEffectiveTopology();
+    assert effectiveTopology != null;
+    final byte[] retVal = effectiveTopology.recvFromParentInChunks(msgType);
+    LOG.exiting("OperatorTopologyImpl", "recvFromParentInChunks", getQualifiedName());
+    return retVal;
+  }
+
   @Override
   public byte[] recvFromParent(final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType)
       throws ParentDeadException {
@@ -247,6 +280,29 @@ public class OperatorTopologyImpl implements OperatorTopology {
     return retVal;
   }
 
+  @Override
+  public <T> void sendToParentInChunks(final T data, final Reduce.ElementwiseReduceFunction<T> redFunc,
+                                       final int chunkSize,
+                                       final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType)
+      throws ParentDeadException {
+    LOG.entering("OperatorTopologyImpl", "sendToParentInChunks", new Object[]{getQualifiedName(), msgType});
+    refreshEffectiveTopology();
+    assert effectiveTopology != null;
+    effectiveTopology.sendToParentInChunks(data, redFunc, chunkSize, msgType);
+    LOG.exiting("OperatorTopologyImpl", "sendToParentInChunks", getQualifiedName());
+  }
+
+  @Override
+  public <T> T recvFromChildrenInChunks(final Reduce.ElementwiseReduceFunction<T> redFunc)
+      throws ParentDeadException {
+    LOG.entering("OperatorTopologyImpl", "recvFromChildrenInChunks", getQualifiedName());
+    refreshEffectiveTopology();
+    assert effectiveTopology != null;
+    final T retVal = effectiveTopology.recvFromChildrenInChunks(redFunc);
+    LOG.exiting("OperatorTopologyImpl", "recvFromChildrenInChunks", getQualifiedName());
+    return retVal;
+  }
+
   @Override
   public byte[] recvFromChildren() throws ParentDeadException {
     LOG.entering("OperatorTopologyImpl", "recvFromChildren", getQualifiedName());
@@ -257,6 +313,16 @@ public class OperatorTopologyImpl implements OperatorTopology {
     return retVal;
   }
 
+  @Override
+  public List<byte[]> recvPartsFromChildren() throws ParentDeadException {
+    LOG.entering("OperatorTopologyImpl", "recvPartsFromChildren", getQualifiedName());
+    refreshEffectiveTopology();
+    assert effectiveTopology != null;
+    final List<byte[]> retVal = effectiveTopology.recvPartsFromChildren();
+    LOG.exiting("OperatorTopologyImpl", "recvPartsFromChildren", getQualifiedName());
+    return retVal;
+  }
+
   /**
    * Only refreshes the effective topology with deletion msgs from.
    * deletionDeltas queue
@@ -18,18 +18,21 @@
  */
 package org.apache.reef.io.network.group.impl.task;
 
-import org.apache.commons.lang.ArrayUtils;
 import org.apache.reef.exception.evaluator.NetworkException;
+import org.apache.reef.io.network.group.api.operators.Reduce.ElementwiseReduceFunction;
+import org.apache.reef.io.network.group.api.operators.Reduce.InPlaceReduceFunction;
 import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
 import org.apache.reef.io.network.group.api.task.NodeStruct;
 import org.apache.reef.io.network.group.api.task.OperatorTopologyStruct;
 import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
 import org.apache.reef.io.network.group.impl.operators.Sender;
+import org.apache.reef.io.network.group.impl.utils.ChunkHelper;
 import org.apache.reef.io.network.group.impl.utils.Utils;
 import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
 import org.apache.reef.io.serialization.Codec;
 import org.apache.reef.tang.annotations.Name;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
@@ -177,11 +180,21 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
   private void sendToNode(final byte[] data,
                           final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType,
                           final NodeStruct node) {
+    sendToNode(new byte[][]{data}, msgType, node);
+  }
+
+  private void sendToNode(final byte[][] data,
+                          final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType,
+                          final NodeStruct node) {
     LOG.entering("OperatorTopologyStructImpl", "sendToNode", new Object[]{getQualifiedName(), msgType, node});
     final String nodeId = node.getId();
+    long dataLength = 0;
+    for (final byte[] part : data) {
+      dataLength += part.length;
+    }
     try {
 
-      if (data.length > SMALL_MSG_LENGTH) {
+      if (dataLength > SMALL_MSG_LENGTH) {
         LOG.finest(getQualifiedName() + "Msg too big. Sending readiness to send " + msgType + " msg to " + nodeId);
         sender.send(Utils.bldVersionedGCM(groupName, operName, msgType, selfId, version, nodeId, node.getVersion(),
             Utils.EMPTY_BYTE_ARR));
@@ -198,7 +211,7 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
       sender.send(Utils.bldVersionedGCM(groupName, operName, msgType, selfId, version, nodeId, node.getVersion(),
           data));
 
-      if (data.length > SMALL_MSG_LENGTH) {
+      if (dataLength > SMALL_MSG_LENGTH) {
         LOG.finest(getQualifiedName() + "Msg too big. Will wait for ACK before queing up one more msg");
         final byte[] tmpVal = receiveFromNode(node, true);
         if (tmpVal != null) {
@@ -218,8 +231,12 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
   }
 
   private byte[] receiveFromNode(final NodeStruct node, final boolean remove) {
-    LOG.entering("OperatorTopologyStructImpl", "receiveFromNode", new Object[]{getQualifiedName(), node, remove});
-    final byte[] retVal = node.getData();
+    return getSinglePart(receivePartsFromNode(node, remove));
+  }
+
+  private byte[][] receivePartsFromNode(final NodeStruct node, final boolean remove) {
+    LOG.entering("OperatorTopologyStructImpl", "receivePartsFromNode", new Object[]{getQualifiedName(), node, remove});
+    final byte[][] retVal = node.getDataParts();
     if (remove) {
       final boolean removed = nodesWithData.remove(node);
       final String msg = getQualifiedName() + "Removed(" + removed + ") node " + node.getId()
@@ -230,10 +247,17 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
         LOG.fine(msg);
       }
     }
-    LOG.exiting("OperatorTopologyStructImpl", "receiveFromNode", getQualifiedName());
+    LOG.exiting("OperatorTopologyStructImpl", "receivePartsFromNode", getQualifiedName());
     return retVal;
   }
 
+  /**
+   * @return the data of a single part message, or null if there is no such message
+   */
+  private static byte[] getSinglePart(final byte[][] parts) {
+    return parts != null && parts.length == 1 ? parts[0] : null;
+  }
+
   /**
    * Receive data from {@code node}, while checking if it is trying to send a big message.
    * Nodes that send big messages will first send an empty data message and
@@ -247,14 +271,26 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
    */
   private byte[] recvFromNodeCheckBigMsg(final NodeStruct node,
                                          final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) {
-    LOG.entering("OperatorTopologyStructImpl", "recvFromNodeCheckBigMsg", new Object[]{node, msgType});
+    return getSinglePart(recvPartsFromNodeCheckBigMsg(node, msgType));
+  }
 
-    byte[] retVal = receiveFromNode(node, false);
-    if (retVal != null && retVal.length == 0) {
+  /**
+   * Same as {@link #recvFromNodeCheckBigMsg}, but returns all parts of the message.
+   *
+   * @param node node to receive a message from
+   * @param msgType message type
+   * @return parts of the message sent from {@code node}
+   */
+  private byte[][] recvPartsFromNodeCheckBigMsg(final NodeStruct node,
+                                                final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) {
+    LOG.entering("OperatorTopologyStructImpl", "recvPartsFromNodeCheckBigMsg", new Object[]{node, msgType});
+
+    byte[][] retVal = receivePartsFromNode(node, false);
+    if (retVal != null && retVal.length == 1 && retVal[0].length == 0) {
       LOG.finest(getQualifiedName() + " Got msg that node " + node.getId()
           + " has large data and is ready to send it. Sending ACK to receive data.");
       sendToNode(Utils.EMPTY_BYTE_ARR, msgType, node);
-      retVal = receiveFromNode(node, true);
+      retVal = receivePartsFromNode(node, true);
 
       if (retVal != null) {
         LOG.finest(getQualifiedName() + " Received large msg from node " + node.getId()
@@ -266,7 +302,7 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
       }
     }
 
-    LOG.exiting("OperatorTopologyStructImpl", "recvFromNodeCheckBigMsg");
+    LOG.exiting("OperatorTopologyStructImpl", "recvPartsFromNodeCheckBigMsg");
     return retVal;
   }
 
@@ -300,6 +336,17 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
     LOG.exiting("OperatorTopologyStructImpl", "sendToParent", getQualifiedName());
   }
 
+  @Override
+  public void sendToParent(final byte[][] parts, final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) {
+    LOG.entering("OperatorTopologyStructImpl", "sendToParent", new Object[]{getQualifiedName(), msgType});
+    if (parent != null) {
+      sendToNode(parts, msgType, parent);
+    } else {
+      LOG.fine(getQualifiedName() + "Perhaps parent has died or has not been configured");
+    }
+    LOG.exiting("OperatorTopologyStructImpl", "sendToParent", getQualifiedName());
+  }
+
   @Override
   public void sendToChildren(final byte[] data, final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) {
     LOG.entering("OperatorTopologyStructImpl", "sendToChildren", new Object[]{getQualifiedName(), msgType});
@@ -323,6 +370,73 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
     LOG.exiting("OperatorTopologyStructImpl", "sendToChildren", getQualifiedName());
   }
 
+  /**
+   * Send {@code data} to all children as a stream of chunks.
+   * Chunks skip the big message handshake of {@link #sendToNode}, which is why their size is
+   * bounded by {@link ChunkHelper#MAX_CHUNK_SIZE}. They are written back to back, and each child
+   * can start relaying the first chunk to its own children while the rest are still in flight.
+   */
+  @Override
+  public void sendToChildrenInChunks(final byte[] data, final int chunkSize,
+                                     final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) {
+    LOG.entering("OperatorTopologyStructImpl", "sendToChildrenInChunks",
+        new Object[]{getQualifiedName(), chunkSize, msgType});
+    final int numChunks = ChunkHelper.getNumChunks(data.length, chunkSize);
+    for (int i = 0; i < numChunks; i++) {
+      final int offset = i * chunkSize;
+      final byte[] chunk = ChunkHelper.encodeChunk(data, offset, Math.min(chunkSize, data.length - offset));
+      for (final NodeStruct child : children) {
+        sendChunkToNode(chunk, msgType, child);
+      }
+    }
+    LOG.exiting("OperatorTopologyStructImpl", "sendToChildrenInChunks", getQualifiedName());
+  }
+
+  /**
+   * Receive a chunked stream from the parent. Every chunk is forwarded to the children
+   * before waiting for the next one, so that the payload is pipelined down the tree
+   * instead of being stored and forwarded as a whole at every level.
+   */
+  @Override
+  public byte[] recvFromParentInChunks(final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) {
+    LOG.entering("OperatorTopologyStructImpl", "recvFromParentInChunks", getQualifiedName());
+    byte[] retVal = null;
+    int remaining = -1;
+    do {
+      LOG.finest(getQualifiedName() + "Waiting for " + parent.getId() + " to send the next chunk");
+      // Like the parts of a big message, every chunk after the first removes the entry its arrival
+      // added to nodesWithData, so that a chunked message leaves a single entry behind as any other message
+      final byte[] chunk = receiveFromNode(parent, retVal != null);
+      if (chunk == null) {
+        LOG.fine(getQualifiedName() + "Parent died while receiving chunks. Dropping partially received data");
+        retVal = null;
+        break;
+      }
+      for (final NodeStruct child : children) {
+        sendChunkToNode(chunk, msgType, child);
+      }
+      if (retVal == null) {
+        retVal = new byte[ChunkHelper.getPayloadLength(chunk)];
+        remaining = retVal.length;
+      }
+      remaining -= ChunkHelper.copyChunk(chunk, retVal);
+    } while (remaining > 0);
+    LOG.exiting("OperatorTopologyStructImpl", "recvFromParentInChunks", getQualifiedName());
+    return retVal;
+  }
+
+  private void sendChunkToNode(final byte[] chunk,
+                               final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType,
+                               final NodeStruct node) {
+    try {
+      sender.send(Utils.bldVersionedGCM(groupName, operName, msgType, selfId, version, node.getId(),
+          node.getVersion(), chunk));
+    } catch (final NetworkException e) {
+      throw new RuntimeException(
+          "NetworkException while sending " + msgType + " chunk from " + selfId + " to " + node.getId(), e);
+    }
+  }
+
   @Override
   public byte[] recvFromParent(final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) {
     LOG.entering("OperatorTopologyStructImpl", "recvFromParent", getQualifiedName());
@@ -347,7 +461,10 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
       final byte[] retVal = recvFromNodeCheckBigMsg(child,
           ReefNetworkGroupCommProtos.GroupCommMessage.Type.Reduce);
 
-      if (retVal != null) {
+      if (retVal != null && redFunc instanceof InPlaceReduceFunction && !retLst.isEmpty()) {
+        // Values decoded here are not shared with anyone, so the accumulator can be reused
+        retLst.set(0, ((InPlaceReduceFunction<T>) redFunc).reduceInto(retLst.get(0), dataCodec.decode(retVal)));
+      } else if (retVal != null) {
         retLst.add(dataCodec.decode(retVal));
         if (retLst.size() == 2) {
           final T redVal = redFunc.apply(retLst);
@@ -362,34 +479,153 @@ public class OperatorTopologyStructImpl implements OperatorTopologyStruct {
     return retVal;
   }
 
+  /**
+   * Send {@code data}, reduced with the chunked streams of the children, to the parent as a stream of chunks.
+   * The i-th chunk is sent as soon as the i-th chunk of every child has been folded into it,
+   * so the reduction is pipelined up the tree and no task holds more than one chunk per child.
+   */
+  @Override
+  public <T> void sendToParentInChunks(final T data, final ElementwiseReduceFunction<T> redFunc,
+                                       final int chunkSize,
+                                       final ReefNetworkGroupCommProtos.GroupCommMessage.Type msgType) {
+    LOG.entering("OperatorTopologyStructImpl", "sendToParentInChunks",
+        new Object[]{getQualifiedName(), redFunc, chunkSize, msgType});
+    final int elementSize = redFunc.getElementSize();
+    final int payloadLength = redFunc.getLength(data) * elementSize;
+    // Chunks hold whole elements only
+    final int segmentSize = Math.max(elementSize, chunkSize - chunkSize % elementSize);
+    final int numChunks = ChunkHelper.getNumChunks(payloadLength, segmentSize);
+    final List<NodeStruct> activeChildren = new ArrayList<>(children);
+    for (int i = 0; i < numChunks; i++) {
+      final int offset = i * segmentSize;
+      final byte[] chunk = ChunkHelper.newChunk(payloadLength, offset, Math.min(segmentSize, payloadLength - offset));
+      redFunc.encode(data, offset / elementSize, ChunkHelper.getChunkPayload(chunk));
+      foldNextChunkOfChildren(activeChildren, redFunc, chunk);
+      if (parent != null) {
+        sendChunkToNode(chunk, msgType, parent);
+      } else {
+        LOG.fine(getQualifiedName() + "Perhaps parent has died or has not been configured");
+      }
+    }
+    LOG.exiting("OperatorTopologyStructImpl", "sendToParentInChunks", getQualifiedName());
+  }
+
+  @Override
+  public <T> T recvFromChildrenInChunks(final ElementwiseReduceFunction<T> redFunc) {
+    LOG.entering("OperatorTopologyStructImpl", "recvFromChildrenInChunks", new Object[]{getQualifiedName(), redFunc});
+    final List<NodeStruct> activeChildren = new ArrayList<>(children);
+    byte[] payload = null;
+    int remaining = -1;
+    do {
+      final byte[] chunk = foldNextChunkOfChildren(activeChildren, redFunc, null);
+      if (chunk == null) {
+        LOG.fine(getQualifiedName() + "No child left to receive chunks from");
+        break;
+      }
+      if (payload == null) {
+        payload = new byte[ChunkHelper.getPayloadLength(chunk)];
+        remaining = payload.length;
+      }
+      remaining -= ChunkHelper.copyChunk(chunk, payload);
+    } while (remaining > 0);
+
+    // A partially received vector is only possible if every child died
+    final T retVal = payload == null || remaining > 0 ? null : redFunc.decode(ByteBuffer.wrap(payload));
+    LOG.exiting("OperatorTopologyStructImpl", "recvFromChildrenInChunks", getQualifiedName());
+    return retVal;
+  }
+
+  /**
+   * Receive the next chunk of every child in {@code activeChildren} and fold it into {@code accumulator}.
+   * Children found dead are removed from {@code activeChildren}; the chunks they already
+   * contributed stay folded in.
+   *
+   * @param accumulator chunk to fold into, or null to fold into the first chunk received
+   * @return the accumulator, or null if it was null and no child sent a chunk
+   */
+  private <T> byte[] foldNextChunkOfChildren(final List<NodeStruct> activeChildren,
+                                             final ElementwiseReduceFunction<T> redFunc,
+                                             final byte[] accumulator) {
+    byte[] retVal = accumulator;
+    final Iterator<NodeStruct> iterator = activeChildren.iterator();
+    while (iterator.hasNext()) {
+      final NodeStruct child = iterator.next();
+      LOG.finest(getQualifiedName() + "Waiting for " + child.getId() + " to send the next chunk");
+      final byte[] chunk = receiveFromNode(child, true);
+      if (chunk == null) {
+        LOG.warning(getQualifiedName() + "Child " + child.getId() + " died while sending chunks. "
+            + "Reducing without its remaining chunks");
+        iterator.remove();
+      } else if (retVal == null) {
+        retVal = chunk;
+      } else {
+        if (ChunkHelper.getPayloadLength(chunk) != ChunkHelper.getPayloadLength(retVal)
+            || ChunkHelper.getOffset(chunk) != ChunkHelper.getOffset(retVal)
+            || ChunkHelper.getChunkLength(chunk) != ChunkHelper.getChunkLength(retVal)) {
+          throw new RuntimeException(getQualifiedName() + "Chunk from " + child.getId()
+              + " does not line up with the chunk being reduced. All tasks must reduce vectors of the same length"
+              + " with the same chunk size");
+        }
+        redFunc.fold(ChunkHelper.getChunkPayload(retVal), ChunkHelper.getChunkPayload(chunk));
+      }
+    }
+    return retVal;
+  }
+
   /**
    * Receive data from all children as a single byte array.
    * Messages from children are simply byte-concatenated.
-   * This method is currently used only by the Gather operator.
+   * Prefer {@link #recvPartsFromChildren()}, which does not copy the received data.
    *
    * @return gathered data as a byte array
    */
   @Override
   public byte[] recvFromChildren() {
     LOG.entering("OperatorTopologyStructImpl", "recvFromChildren", getQualifiedName());
+    final List<byte[]> parts = recvPartsFromChildren();
+    int length = 0;
+    for (final byte[] part : parts) {
+      length += part.length;
+    }
+    final byte[] retVal = new byte[length];
+    int offset = 0;
+    for (final byte[] part : parts) {
+      System.arraycopy(part, 0, retVal, offset, part.length);
+      offset += part.length;
+    }
+    LOG.exiting("OperatorTopologyStructImpl", "recvFromChildren", getQualifiedName());
+    return retVal;
+  }
+
+  /**
+   * Receive data from all children, keeping every message part as its own buffer.
+   * This method is currently used only by the Gather operator, whose
+   * intermediate nodes forward the parts of their children without ever
+   * copying them into a merged array.
+   *
+   * @return parts sent by the children, in order of arrival
+   */
+  @Override
+  public List<byte[]> recvPartsFromChildren() {
+    LOG.entering("OperatorTopologyStructImpl", "recvPartsFromChildren", getQualifiedName());
     for (final NodeStruct child : children) {
       childrenToRcvFrom.add(child.getId());
     }
 
-    byte[] retVal = new byte[0];
+    final List<byte[]> retVal = new ArrayList<>();
     while (!childrenToRcvFrom.isEmpty()) {
       LOG.finest(getQualifiedName() + "Waiting for some child to send data");
       final NodeStruct child = nodesWithDataTakeUnsafe();
-      final byte[] receivedVal = recvFromNodeCheckBigMsg(child,
+      final byte[][] receivedParts = recvPartsFromNodeCheckBigMsg(child,
           ReefNetworkGroupCommProtos.GroupCommMessage.Type.Gather);
 
-      if (receivedVal != null) {
-        retVal = ArrayUtils.addAll(retVal, receivedVal);
+      if (receivedParts != null) {
+        Collections.addAll(retVal, receivedParts);
       }
       childrenToRcvFrom.remove(child.getId());
     }
 
-    LOG.exiting("OperatorTopologyStructImpl", "recvFromChildren", getQualifiedName());
+    LOG.exiting("OperatorTopologyStructImpl", "recvPartsFromChildren", getQualifiedName());
     return retVal;
   }
 
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Utility class for operators that transfer their payload as a stream of chunks.
+ * Each chunk carries a small header holding the total length of the payload and
+ * the offset of the chunk within it, so that chunks can be relayed as-is by
+ * intermediate nodes and reassembled in any arrival order.
+ */
+public final class ChunkHelper {
+
+  /**
+   * Number of bytes prepended to every chunk: total payload length and chunk offset.
+   */
+  public static final int HEADER_LENGTH = 2 * Integer.SIZE / Byte.SIZE;
+
+  /**
+   * Largest number of payload bytes a chunk may carry.
+   * Chunks are sent without the ACK handshake that guards messages above 1 MB,
+   * so a chunk, header included, must not exceed that size.
+   */
+  public static final int MAX_CHUNK_SIZE = (1 << 20) - HEADER_LENGTH;
+
+  /**
+   * Should not be instantiated.
+   */
+  private ChunkHelper() {
+  }
+
+  /**
+   * Compute the number of chunks needed to transfer a payload.
+   * An empty payload still needs a single (empty) chunk to signal its arrival.
+   *
+   * @param payloadLength length of the payload in bytes
+   * @param chunkSize maximum number of payload bytes per chunk, at most {@link #MAX_CHUNK_SIZE}
+   * @return number of chunks
+   */
+  public static int getNumChunks(final int payloadLength, final int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive, but was " + chunkSize);
+    }
+    checkChunkSize(chunkSize);
+    return payloadLength == 0 ? 1 : (payloadLength + chunkSize - 1) / chunkSize;
+  }
+
+  /**
+   * Check that chunks of {@code chunkSize} payload bytes can be sent without the big message handshake.
+   *
+   * @param chunkSize maximum number of payload bytes per chunk
+   * @throws IllegalArgumentException if {@code chunkSize} is larger than {@link #MAX_CHUNK_SIZE}
+   */
+  public static void checkChunkSize(final int chunkSize) {
+    if (chunkSize > MAX_CHUNK_SIZE) {
+      throw new IllegalArgumentException("Chunk size must be at most " + MAX_CHUNK_SIZE + ", but was " + chunkSize);
+    }
+  }
+
+  /**
+   * Build the chunk that carries {@code length} bytes of {@code payload} starting at {@code offset}.
+   *
+   * @param payload the complete payload
+   * @param offset offset of the chunk within the payload
+   * @param length number of payload bytes in this chunk
+   * @return the chunk, including its header
+   */
+  public static byte[] encodeChunk(final byte[] payload, final int offset, final int length) {
+    final byte[] chunk = new byte[HEADER_LENGTH + length];
+    ByteBuffer.wrap(chunk)
+        .putInt(payload.length)
+        .putInt(offset)
+        .put(payload, offset, length);
+    return chunk;
+  }
+
+  /**
+   * Allocate a chunk for {@code length} bytes of a payload of {@code payloadLength} bytes starting at
+   * {@code offset}, with its header filled in. The payload bytes are to be written through
+   * {@link #getChunkPayload}.
+   *
+   * @param payloadLength length of the complete payload
+   * @param offset offset of the chunk within the payload
+   * @param length number of payload bytes in this chunk
+   * @return the chunk, with a zeroed payload
+   */
+  public static byte[] newChunk(final int payloadLength, final int offset, final int length) {
+    final byte[] chunk = new byte[HEADER_LENGTH + length];
+    ByteBuffer.wrap(chunk)
+        .putInt(payloadLength)
+        .putInt(offset);
+    return chunk;
+  }
+
+  /**
+   * @param chunk a chunk built by {@link #encodeChunk} or {@link #newChunk}
+   * @return a buffer over the payload bytes of the chunk, backed by the chunk
+   */
+  public static ByteBuffer getChunkPayload(final byte[] chunk) {
+    return ByteBuffer.wrap(chunk, HEADER_LENGTH, getChunkLength(chunk)).slice();
+  }
+
+  /**
+   * @param chunk a chunk built by {@link #encodeChunk}
+   * @return the length of the complete payload the chunk belongs to
+   */
+  public static int getPayloadLength(final byte[] chunk) {
+    return ByteBuffer.wrap(chunk).getInt(0);
+  }
+
+  /**
+   * @param chunk a chunk built by {@link #encodeChunk}
+   * @return the offset of the chunk within the complete payload
+   */
+  public static int getOffset(final byte[] chunk) {
+    return ByteBuffer.wrap(chunk).getInt(HEADER_LENGTH / 2);
+  }
+
+  /**
+   * @param chunk a chunk built by {@link #encodeChunk}
+   * @return the number of payload bytes carried by the chunk
+   */
+  public static int getChunkLength(final byte[] chunk) {
+    return chunk.length - HEADER_LENGTH;
+  }
+
+  /**
+   * Copy the payload bytes of {@code chunk} into their place in {@code payload}.
+   *
+   * @param chunk a chunk built by {@link #encodeChunk}
+   * @param payload buffer of length {@link #getPayloadLength} to reassemble the payload into
+   * @return the number of bytes copied
+   */
+  public static int copyChunk(final byte[] chunk, final byte[] payload) {
+    final int length = getChunkLength(chunk);
+    System.arraycopy(chunk, HEADER_LENGTH, payload, getOffset(chunk), length);
+    return length;
+  }
+}
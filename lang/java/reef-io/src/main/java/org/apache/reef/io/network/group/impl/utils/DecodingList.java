@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.utils;
+
+import org.apache.reef.io.serialization.Codec;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable list backed by encoded elements that are decoded on first access.
+ * Operators that receive many values can hand out the list without decoding
+ * (or copying) values the caller never looks at.
+ * A null encoded element is exposed as a null element.
+ * Not thread-safe.
+ */
+public final class DecodingList<T> extends AbstractList<T> implements RandomAccess {
+
+  private final List<byte[]> encodedElements;
+  private final Codec<T> codec;
+  private final Object[] decodedElements;
+  private final boolean[] isDecoded;
+
+  public DecodingList(final List<byte[]> encodedElements, final Codec<T> codec) {
+    this.encodedElements = encodedElements;
+    this.codec = codec;
+    this.decodedElements = new Object[encodedElements.size()];
+    this.isDecoded = new boolean[encodedElements.size()];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(final int index) {
+    if (!isDecoded[index]) {
+      final byte[] encoded = encodedElements.get(index);
+      decodedElements[index] = encoded == null ? null : codec.decode(encoded);
+      isDecoded[index] = true;
+    }
+    return (T) decodedElements[index];
+  }
+
+  @Override
+  public int size() {
+    return encodedElements.size();
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.storage.local;
+
+import org.apache.reef.exception.evaluator.ServiceException;
+import org.apache.reef.exception.evaluator.StorageException;
+import org.apache.reef.io.Accumulator;
+import org.apache.reef.io.serialization.Codec;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.Deflater;
+
+/**
+ * Writes records to a block file.
+ * <p>
+ * A block file is a sequence of blocks.  Each block starts with its raw and its stored length as two ints,
+ * followed by the stored bytes.  The block is deflated if its stored length is less than its raw length.
+ * The raw bytes are the records of the block, each of them an int length followed by the encoded record.
+ */
+final class BlockFileAccumulator<T> implements Accumulator<T> {
+
+  /**
+   * The size of the block header: the raw and the stored length.
+   */
+  static final int HEADER_SIZE = 8;
+
+  /**
+   * The raw size at which a block is written out.  Larger records get a block of their own.
+   */
+  static final int BLOCK_SIZE = 64 * 1024;
+
+  private final Codec<T> codec;
+  private final FileChannel channel;
+  private final Deflater deflater;
+  private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+  private ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+  private byte[] deflated;
+
+  /**
+   * @param codec    the codec that encodes the records
+   * @param file     the file to write to
+   * @param compress whether to deflate the blocks
+   */
+  BlockFileAccumulator(final Codec<T> codec, final File file, final boolean compress) throws IOException {
+    this.codec = codec;
+    this.channel = new FileOutputStream(file).getChannel();
+    this.deflater = compress ? new Deflater(Deflater.BEST_SPEED, true) : null;
+  }
+
+  @Override
+  public void add(final T datum) throws ServiceException {
+    final byte[] buf = this.codec.encode(datum);
+    final int size = 4 + buf.length;
+    try {
+      if (this.block.remaining() < size && this.block.position() > 0) {
+        this.writeBlock();
+      }
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+    if (this.block.capacity() < size) {
+      this.block = ByteBuffer.allocate(size);
+    }
+    this.block.putInt(buf.length);
+    this.block.put(buf);
+  }
+
+  @Override
+  public void close() throws ServiceException {
+    try {
+      if (this.block.position() > 0) {
+        this.writeBlock();
+      }
+      this.channel.close();
+    } catch (final IOException e) {
+      throw new ServiceException(e);
+    } finally {
+      if (this.deflater != null) {
+        this.deflater.end();
+      }
+    }
+  }
+
+  private void writeBlock() throws IOException {
+    final int rawLength = this.block.position();
+    final ByteBuffer stored = this.deflate(rawLength);
+    this.header.clear();
+    this.header.putInt(rawLength).putInt(stored.remaining()).flip();
+    final ByteBuffer[] buffers = {this.header, stored};
+    while (stored.hasRemaining()) {
+      this.channel.write(buffers);
+    }
+    this.block.clear();
+  }
+
+  /**
+   * @return the deflated block, or the raw block if deflating does not make it smaller
+   */
+  private ByteBuffer deflate(final int rawLength) {
+    if (this.deflater != null) {
+      if (this.deflated == null || this.deflated.length < rawLength) {
+        this.deflated = new byte[Math.max(rawLength, BLOCK_SIZE)];
+      }
+      this.deflater.reset();
+      this.deflater.setInput(this.block.array(), 0, rawLength);
+      this.deflater.finish();
+      // Only a deflated block that is smaller than the raw one fits
+      final int length = this.deflater.deflate(this.deflated, 0, rawLength - 1);
+      if (this.deflater.finished()) {
+        return ByteBuffer.wrap(this.deflated, 0, length);
+      }
+    }
+    return ByteBuffer.wrap(this.block.array(), 0, rawLength);
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.storage.local;
+
+import org.apache.reef.exception.evaluator.ServiceRuntimeException;
+import org.apache.reef.exception.evaluator.StorageException;
+import org.apache.reef.io.serialization.Codec;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads the records of a block file written by {@link BlockFileAccumulator}.
+ * The blocks are read through a FileChannel into buffers that are reused for all blocks.
+ */
+final class BlockFileIterator<T> implements Iterator<T> {
+
+  private final Codec<T> codec;
+  private final FileChannel channel;
+  private final Inflater inflater = new Inflater(true);
+  private final ByteBuffer header = ByteBuffer.allocate(BlockFileAccumulator.HEADER_SIZE);
+  private ByteBuffer block = ByteBuffer.allocate(BlockFileAccumulator.BLOCK_SIZE);
+  private ByteBuffer deflated;
+  private boolean open = true;
+
+  BlockFileIterator(final Codec<T> codec, final File file) throws IOException {
+    this.codec = codec;
+    this.channel = new FileInputStream(file).getChannel();
+    this.block.limit(0);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (this.block.hasRemaining()) {
+      return true;
+    }
+    try {
+      return this.open && this.readBlock();
+    } catch (final IOException e) {
+      this.close();
+      throw new ServiceRuntimeException(new StorageException(e));
+    }
+  }
+
+  @Override
+  public T next() {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException("Moving past the end of the file.");
+    }
+    final byte[] buf = new byte[this.block.getInt()];
+    this.block.get(buf);
+    return this.codec.decode(buf);
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Attempt to remove value from read-only input file!");
+  }
+
+  /**
+   * @return false if the file has no more blocks
+   */
+  private boolean readBlock() throws IOException {
+    this.header.clear();
+    if (!this.readFully(this.header)) {
+      this.close();
+      return false;
+    }
+    this.header.flip();
+    final int rawLength = this.header.getInt();
+    final int storedLength = this.header.getInt();
+    if (rawLength <= 0 || storedLength <= 0 || storedLength > rawLength) {
+      throw new IOException("Corrupt block header: raw length " + rawLength + ", stored length " + storedLength);
+    }
+    if (this.block.capacity() < rawLength) {
+      this.block = ByteBuffer.allocate(rawLength);
+    }
+    this.block.clear();
+    if (storedLength == rawLength) {
+      this.block.limit(rawLength);
+      this.readBlockFully(this.block);
+    } else {
+      if (this.deflated == null || this.deflated.capacity() < storedLength) {
+        this.deflated = ByteBuffer.allocate(Math.max(storedLength, BlockFileAccumulator.BLOCK_SIZE));
+      }
+      this.deflated.clear();
+      this.deflated.limit(storedLength);
+      this.readBlockFully(this.deflated);
+      this.inflate(storedLength, rawLength);
+    }
+    this.block.flip();
+    return true;
+  }
+
+  private void inflate(final int storedLength, final int rawLength) throws IOException {
+    this.inflater.reset();
+    this.inflater.setInput(this.deflated.array(), 0, storedLength);
+    try {
+      if (this.inflater.inflate(this.block.array(), 0, rawLength) != rawLength || !this.inflater.finished()) {
+        throw new IOException("Corrupt deflated block");
+      }
+    } catch (final DataFormatException e) {
+      throw new IOException("Corrupt deflated block", e);
+    }
+    this.block.position(rawLength);
+  }
+
+  private void readBlockFully(final ByteBuffer buffer) throws IOException {
+    if (!this.readFully(buffer)) {
+      throw new IOException("Truncated block file");
+    }
+  }
+
+  /**
+   * @return false if the channel was at its end
+   */
+  private boolean readFully(final ByteBuffer buffer) throws IOException {
+    final int length = buffer.remaining();
+    while (buffer.hasRemaining()) {
+      if (this.channel.read(buffer) < 0) {
+        if (buffer.remaining() == length) {
+          return false;
+        }
+        throw new IOException("Truncated block file");
+      }
+    }
+    return true;
+  }
+
+  private void close() {
+    if (this.open) {
+      this.open = false;
+      this.inflater.end();
+      try {
+        this.channel.close();
+      } catch (final IOException ignored) {
+        // Only read from, nothing to lose
+      }
+    }
+  }
+}
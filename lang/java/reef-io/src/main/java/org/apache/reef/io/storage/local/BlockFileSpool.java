@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.storage.local;
+
+import org.apache.reef.exception.evaluator.ServiceException;
+import org.apache.reef.exception.evaluator.ServiceRuntimeException;
+import org.apache.reef.exception.evaluator.StorageException;
+import org.apache.reef.io.Accumulator;
+import org.apache.reef.io.Spool;
+import org.apache.reef.io.serialization.Codec;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+/**
+ * A Spool backed by a block file in the local scratch space.
+ * <p>
+ * Records are length-prefixed and written in blocks of {@link BlockFileAccumulator#BLOCK_SIZE} bytes,
+ * optionally deflated, without the stream headers and block framing of Java serialization.
+ * The spool can be iterated any number of times once its accumulator was closed.
+ *
+ * @param <T> the type of the records
+ */
+public final class BlockFileSpool<T> implements Spool<T> {
+
+  private final File file;
+  private final Codec<T> codec;
+  private final Accumulator<T> accumulator;
+  private boolean canAppend = true;
+  private boolean canGetAccumulator = true;
+
+  /**
+   * @param service  the storage service whose scratch space holds the file
+   * @param codec    the codec of the records
+   * @param compress whether to deflate the blocks
+   */
+  public BlockFileSpool(final LocalStorageService service, final Codec<T> codec, final boolean compress)
+      throws ServiceException {
+    this.file = service.getScratchSpace().newFile();
+    this.codec = codec;
+    final Accumulator<T> acc;
+    try {
+      acc = new BlockFileAccumulator<>(codec, this.file, compress);
+    } catch (final IOException e) {
+      throw new StorageException("Unable to create temporary file:" + this.file, e);
+    }
+    this.accumulator = new Accumulator<T>() {
+      @Override
+      public void add(final T datum) throws ServiceException {
+        if (!canAppend) {
+          throw new ConcurrentModificationException(
+              "Attempt to append after creating iterator!");
+        }
+        acc.add(datum);
+      }
+
+      @Override
+      public void close() throws ServiceException {
+        canAppend = false;
+        acc.close();
+      }
+    };
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    if (canAppend) {
+      throw new IllegalStateException(
+          "Need to call close() on accumulator before calling iterator()!");
+    }
+    try {
+      return new BlockFileIterator<>(this.codec, this.file);
+    } catch (final IOException e) {
+      throw new ServiceRuntimeException(new StorageException(e));
+    }
+  }
+
+  @Override
+  public Accumulator<T> accumulator() {
+    if (!canGetAccumulator) {
+      throw new UnsupportedOperationException("Can only getAccumulator() once!");
+    }
+    canGetAccumulator = false;
+    return this.accumulator;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl;
+
+import org.apache.reef.io.network.impl.StreamingCodec;
+import org.apache.reef.io.serialization.Codec;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test for {@link DoubleArrayCodec}, {@link FloatArrayCodec}, {@link IntArrayCodec} and {@link LongArrayCodec}.
+ */
+@RunWith(Parameterized.class)
+public final class PrimitiveArrayCodecTest {
+
+  private final Class<?> elementType;
+  private final int elementSize;
+  private final Codec<Object> codec;
+  private final StreamingCodec<Object> streamingCodec;
+
+  @SuppressWarnings("unchecked")
+  public PrimitiveArrayCodecTest(final Class<?> elementType, final int elementSize, final Object codec) {
+    this.elementType = elementType;
+    this.elementSize = elementSize;
+    this.codec = (Codec<Object>) codec;
+    this.streamingCodec = (StreamingCodec<Object>) codec;
+  }
+
+  @Parameterized.Parameters
+  public static Collection<Object[]> codecs() {
+    return Arrays.asList(new Object[][]{
+        {double.class, Double.SIZE / Byte.SIZE, new DoubleArrayCodec()},
+        {float.class, Float.SIZE / Byte.SIZE, new FloatArrayCodec()},
+        {int.class, Integer.SIZE / Byte.SIZE, new IntArrayCodec()},
+        {long.class, Long.SIZE / Byte.SIZE, new LongArrayCodec()},
+    });
+  }
+
+  @Test
+  public void testEncodeDecode() {
+    final Object array = randomArray(100);
+    final byte[] encoded = this.codec.encode(array);
+
+    Assert.assertEquals(100 * this.elementSize, encoded.length);
+    Assert.assertEquals(toList(array), toList(this.codec.decode(encoded)));
+  }
+
+  @Test
+  public void testStreamingLargerThanScratchBuffer() {
+    final Object first = randomArray(2 * ScratchBuffers.SIZE / this.elementSize + 3);
+    final Object second = randomArray(0);
+
+    final ByteArrayOutputStream bstream = new ByteArrayOutputStream();
+    final DataOutputStream ostream = new DataOutputStream(bstream);
+    this.streamingCodec.encodeToStream(first, ostream);
+    this.streamingCodec.encodeToStream(second, ostream);
+
+    final DataInputStream istream = new DataInputStream(new ByteArrayInputStream(bstream.toByteArray()));
+    Assert.assertEquals(toList(first), toList(this.streamingCodec.decodeFromStream(istream)));
+    Assert.assertEquals(toList(second), toList(this.streamingCodec.decodeFromStream(istream)));
+  }
+
+  private Object randomArray(final int length) {
+    final Random random = new Random(length);
+    final Object retVal = Array.newInstance(this.elementType, length);
+    for (int i = 0; i < length; i++) {
+      if (this.elementType == double.class) {
+        Array.setDouble(retVal, i, random.nextDouble());
+      } else if (this.elementType == float.class) {
+        Array.setFloat(retVal, i, random.nextFloat());
+      } else if (this.elementType == int.class) {
+        Array.setInt(retVal, i, random.nextInt());
+      } else {
+        Array.setLong(retVal, i, random.nextLong());
+      }
+    }
+    return retVal;
+  }
+
+  private static List<Object> toList(final Object array) {
+    final List<Object> retVal = new ArrayList<>(Array.getLength(array));
+    for (int i = 0; i < Array.getLength(array); i++) {
+      retVal.add(Array.get(array, i));
+    }
+    return retVal;
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.driver;
+
+import org.apache.reef.driver.parameters.DriverIdentifier;
+import org.apache.reef.io.network.group.api.driver.TaskNode;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.parameters.CommGroupNameClass;
+import org.apache.reef.io.network.group.impl.config.parameters.GroupCommSenderStage;
+import org.apache.reef.io.network.group.impl.config.parameters.OperatorNameClass;
+import org.apache.reef.io.network.group.impl.config.parameters.TreeTopologyFanOut;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.EStage;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.SyncStage;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link LocalityAwareTreeTopology}.
+ */
+public final class LocalityAwareTreeTopologyTest {
+
+  private static LocalityAwareTreeTopology newTopology(final int fanOut) throws InjectionException {
+    final EStage<GroupCommunicationMessage> senderStage =
+        new SyncStage<>(new EventHandler<GroupCommunicationMessage>() {
+          @Override
+          public void onNext(final GroupCommunicationMessage msg) {
+          }
+        });
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(GroupCommSenderStage.class, senderStage);
+    injector.bindVolatileParameter(CommGroupNameClass.class, GroupName.class);
+    injector.bindVolatileParameter(OperatorNameClass.class, OperatorName.class);
+    injector.bindVolatileParameter(DriverIdentifier.class, "DriverId");
+    injector.bindVolatileParameter(TreeTopologyFanOut.class, fanOut);
+    final LocalityAwareTreeTopology topology = injector.getInstance(LocalityAwareTreeTopology.class);
+    topology.setRootTask("root");
+    return topology;
+  }
+
+  private static String parentOf(final LocalityAwareTreeTopology topology, final String taskId) {
+    final TaskNode parent = topology.getTaskNode(taskId).getParent();
+    return parent == null ? null : parent.getTaskId();
+  }
+
+  /**
+   * Check that tasks of a host hang below a host leader, and host leaders below a single task per rack.
+   */
+  @Test
+  public void testGroupsByRackAndHost() throws InjectionException {
+    final LocalityAwareTreeTopology topology = newTopology(2);
+    topology.addTask("t1", "/r1", "h1");
+    topology.addTask("t2", "/r1", "h2");
+    topology.addTask("t3", "/r1", "h2");
+    topology.addTask("t4", "/r2", "h3");
+    topology.addTask("t5", "/r2", "h3");
+    topology.addTask("t6", "/r2", "h4");
+    topology.addTask("root", "/r1", "h1");
+
+    assertNull(parentOf(topology, "root"));
+    assertEquals("root", parentOf(topology, "t1"));
+    assertEquals("root", parentOf(topology, "t2"));
+    assertEquals("t2", parentOf(topology, "t3"));
+    assertEquals("root", parentOf(topology, "t4"));
+    assertEquals("t4", parentOf(topology, "t5"));
+    assertEquals("t4", parentOf(topology, "t6"));
+  }
+
+  /**
+   * Check that a leader that leaves is replaced by a task of its group.
+   */
+  @Test
+  public void testRebalanceOnRemove() throws InjectionException {
+    final LocalityAwareTreeTopology topology = newTopology(2);
+    topology.addTask("root", "/r1", "h1");
+    topology.addTask("t4", "/r2", "h3");
+    topology.addTask("t5", "/r2", "h3");
+    topology.addTask("t6", "/r2", "h4");
+
+    topology.removeTask("t4");
+    assertEquals("root", parentOf(topology, "t5"));
+    assertEquals("t5", parentOf(topology, "t6"));
+
+    topology.removeTask("t5");
+    assertEquals("root", parentOf(topology, "t6"));
+
+    topology.removeTask("root");
+    assertNull(parentOf(topology, "t6"));
+  }
+
+  /**
+   * Check that tasks of unknown location form a tree with the specified fan out.
+   */
+  @Test
+  public void testUnknownLocality() throws InjectionException {
+    final LocalityAwareTreeTopology topology = newTopology(2);
+    topology.addTask("root");
+    for (int i = 0; i < 6; i++) {
+      topology.addTask("t" + i);
+    }
+    assertEquals("root", parentOf(topology, "t0"));
+    assertEquals("root", parentOf(topology, "t1"));
+    assertEquals("t0", parentOf(topology, "t2"));
+    assertEquals("t0", parentOf(topology, "t3"));
+    assertEquals("t1", parentOf(topology, "t4"));
+    assertEquals("t1", parentOf(topology, "t5"));
+  }
+
+  @NamedParameter()
+  private final class GroupName implements Name<String> {
+  }
+
+  @NamedParameter()
+  private final class OperatorName implements Name<String> {
+  }
+}
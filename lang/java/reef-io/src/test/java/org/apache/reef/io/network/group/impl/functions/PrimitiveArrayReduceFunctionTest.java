@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.functions;
+
+import org.apache.reef.io.network.group.api.operators.Reduce.ElementwiseReduceFunction;
+import org.apache.reef.io.network.group.api.operators.Reduce.InPlaceReduceFunction;
+import org.apache.reef.io.network.group.impl.utils.ChunkHelper;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Test for the element-wise reduce functions over double[], float[], int[] and long[].
+ * The test vectors hold small integers, which all four element types represent exactly.
+ */
+@RunWith(Parameterized.class)
+public final class PrimitiveArrayReduceFunctionTest {
+
+  private final Class<?> elementType;
+  private final ElementwiseReduceFunction<Object> sumFunction;
+  private final InPlaceReduceFunction<Object> maxFunction;
+
+  @SuppressWarnings("unchecked")
+  public PrimitiveArrayReduceFunctionTest(final Class<?> elementType,
+                                          final Object sumFunction,
+                                          final Object maxFunction) {
+    this.elementType = elementType;
+    this.sumFunction = (ElementwiseReduceFunction<Object>) sumFunction;
+    this.maxFunction = (InPlaceReduceFunction<Object>) maxFunction;
+  }
+
+  @Parameterized.Parameters
+  public static Collection<Object[]> functions() {
+    return Arrays.asList(new Object[][]{
+        {double.class, new DoubleArraySumFunction(), new DoubleArrayMaxFunction()},
+        {float.class, new FloatArraySumFunction(), new FloatArrayMaxFunction()},
+        {int.class, new IntArraySumFunction(), new IntArrayMaxFunction()},
+        {long.class, new LongArraySumFunction(), new LongArrayMaxFunction()},
+    });
+  }
+
+  @Test
+  public void testApply() {
+    final Object first = newArray(1, 2, 3);
+    final Object sum = this.sumFunction.apply(Arrays.asList(first, newArray(10, 20, 30)));
+
+    Assert.assertEquals(toList(newArray(11, 22, 33)), toList(sum));
+    Assert.assertEquals("Inputs must not be modified", toList(newArray(1, 2, 3)), toList(first));
+  }
+
+  @Test
+  public void testReduceIntoAccumulator() {
+    final Object accumulator = newArray(1, 20, 3);
+    final Object element = newArray(10, 2, 30);
+
+    Assert.assertSame(accumulator, this.maxFunction.reduceInto(accumulator, element));
+    Assert.assertEquals(toList(newArray(10, 20, 30)), toList(accumulator));
+    Assert.assertEquals(toList(newArray(10, 2, 30)), toList(element));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testApplyDifferentLengths() {
+    this.sumFunction.apply(Arrays.asList(newArray(1, 2), newArray(1)));
+  }
+
+  @Test
+  public void testFoldChunks() {
+    final Object left = newArray(1, 2, 3, 4, 5);
+    final Object right = newArray(10, 20, 30, 40, 50);
+    final int elementSize = this.sumFunction.getElementSize();
+    final int payloadLength = this.sumFunction.getLength(left) * elementSize;
+    final int chunkSize = 2 * elementSize;
+    final byte[] payload = new byte[payloadLength];
+
+    for (int offset = 0; offset < payloadLength; offset += chunkSize) {
+      final int length = Math.min(chunkSize, payloadLength - offset);
+      final byte[] leftChunk = ChunkHelper.newChunk(payloadLength, offset, length);
+      final byte[] rightChunk = ChunkHelper.newChunk(payloadLength, offset, length);
+      this.sumFunction.encode(left, offset / elementSize, ChunkHelper.getChunkPayload(leftChunk));
+      this.sumFunction.encode(right, offset / elementSize, ChunkHelper.getChunkPayload(rightChunk));
+      this.sumFunction.fold(ChunkHelper.getChunkPayload(leftChunk), ChunkHelper.getChunkPayload(rightChunk));
+      ChunkHelper.copyChunk(leftChunk, payload);
+    }
+
+    Assert.assertEquals(toList(newArray(11, 22, 33, 44, 55)),
+        toList(this.sumFunction.decode(ByteBuffer.wrap(payload))));
+  }
+
+  private Object newArray(final int... values) {
+    final Object retVal = Array.newInstance(this.elementType, values.length);
+    for (int i = 0; i < values.length; i++) {
+      if (this.elementType == double.class) {
+        Array.setDouble(retVal, i, values[i]);
+      } else if (this.elementType == float.class) {
+        Array.setFloat(retVal, i, values[i]);
+      } else if (this.elementType == int.class) {
+        Array.setInt(retVal, i, values[i]);
+      } else {
+        Array.setLong(retVal, i, values[i]);
+      }
+    }
+    return retVal;
+  }
+
+  private static List<Object> toList(final Object array) {
+    final List<Object> retVal = new ArrayList<>(Array.getLength(array));
+    for (int i = 0; i < Array.getLength(array); i++) {
+      retVal.add(Array.get(array, i));
+    }
+    return retVal;
+  }
+}
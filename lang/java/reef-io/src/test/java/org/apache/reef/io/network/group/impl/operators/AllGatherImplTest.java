@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.io.serialization.SerializableCodec;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the ring of {@link AllGatherImpl}.
+ */
+public final class AllGatherImplTest {
+
+  private static final int MAX_SIZE = 9;
+
+  private final Codec<String> codec = new SerializableCodec<>();
+
+  private final PeerGroup.Member<List<String>> allGather = new PeerGroup.Member<List<String>>() {
+    @Override
+    public List<String> run(final PeerExchange peerExchange, final List<String> members, final String selfId)
+        throws Exception {
+      return AllGatherImpl.ring(peerExchange, members, selfId, selfId, codec);
+    }
+  };
+
+  /**
+   * Every task ends up with the elements of all tasks in rank order.
+   */
+  @Test
+  public void testGroupSizes() throws Exception {
+    for (int size = 1; size <= MAX_SIZE; size++) {
+      final PeerGroup group = new PeerGroup(size, Long.MAX_VALUE);
+      // Invoke twice to check that the invocation counts in the message headers stay in step
+      for (int invocation = 0; invocation < 2; invocation++) {
+        assertEquals("size " + size, Collections.nCopies(size, group.getIds()), group.run(null, allGather));
+      }
+    }
+  }
+}
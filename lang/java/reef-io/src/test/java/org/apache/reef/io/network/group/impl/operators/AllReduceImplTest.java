@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
+import org.apache.reef.io.network.util.StringIdentifierFactory;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.io.serialization.SerializableCodec;
+import org.apache.reef.wake.Identifier;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the recursive doubling of {@link AllReduceImpl}.
+ */
+public final class AllReduceImplTest {
+
+  private static final int MAX_SIZE = 9;
+
+  private final Codec<String> codec = new SerializableCodec<>();
+
+  /**
+   * Concatenation is not commutative, so the result shows whether partial results are combined in rank order.
+   */
+  private final ReduceFunction<String> concatenation = new ReduceFunction<String>() {
+    @Override
+    public String apply(final Iterable<String> elements) {
+      final StringBuilder builder = new StringBuilder();
+      for (final String element : elements) {
+        builder.append(element);
+      }
+      return builder.toString();
+    }
+  };
+
+  private final PeerGroup.Member<String> allReduce = new PeerGroup.Member<String>() {
+    @Override
+    public String run(final PeerExchange peerExchange, final List<String> members, final String selfId)
+        throws Exception {
+      return AllReduceImpl.recursiveDoubling(peerExchange, members, selfId, selfId + ",", codec, concatenation);
+    }
+  };
+
+  /**
+   * Every task ends up with the reduction of all elements in rank order,
+   * for power of two sizes as well as sizes that need the extra fold.
+   */
+  @Test
+  public void testGroupSizes() throws Exception {
+    for (int size = 1; size <= MAX_SIZE; size++) {
+      final PeerGroup group = new PeerGroup(size, Long.MAX_VALUE);
+      final String expected = concat(group.getIds());
+      // Invoke twice to check that the invocation counts in the message headers stay in step
+      for (int invocation = 0; invocation < 2; invocation++) {
+        assertEquals("size " + size, Collections.nCopies(size, expected), group.run(null, allReduce));
+      }
+    }
+  }
+
+  /**
+   * An explicit order of the tasks replaces the order by identifier.
+   */
+  @Test
+  public void testOrder() throws Exception {
+    final PeerGroup group = new PeerGroup(6, Long.MAX_VALUE);
+    final List<String> order = new ArrayList<>(group.getIds());
+    Collections.reverse(order);
+    final List<Identifier> ids = new ArrayList<>(order.size());
+    for (final String id : order) {
+      ids.add(new StringIdentifierFactory().getNewInstance(id));
+    }
+    assertEquals(Collections.nCopies(6, concat(order)), group.run(ids, allReduce));
+  }
+
+  private static String concat(final List<String> ids) {
+    final StringBuilder builder = new StringBuilder();
+    for (final String id : ids) {
+      builder.append(id).append(',');
+    }
+    return builder.toString();
+  }
+}
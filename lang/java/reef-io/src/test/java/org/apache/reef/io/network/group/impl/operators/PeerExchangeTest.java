@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.io.network.exception.ParentDeadException;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.parameters.CommunicationGroupName;
+import org.apache.reef.io.network.group.impl.config.parameters.OperatorName;
+import org.apache.reef.io.network.group.impl.utils.Utils;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.io.network.util.StringIdentifierFactory;
+import org.apache.reef.wake.Identifier;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link PeerExchange}.
+ */
+public final class PeerExchangeTest {
+
+  private static final String FIRST = "task0";
+  private static final String SECOND = "task1";
+
+  @Test
+  public void testMembers() throws Exception {
+    final PeerGroup group = new PeerGroup(3, Long.MAX_VALUE);
+    for (final String id : group.getIds()) {
+      assertEquals(group.getIds(), group.getPeerExchange(id).beginInvocation(null));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOrderDoesNotMatchMembers() throws Exception {
+    final PeerGroup group = new PeerGroup(3, Long.MAX_VALUE);
+    final List<Identifier> order = Collections.<Identifier>singletonList(
+        new StringIdentifierFactory().getNewInstance(FIRST));
+    group.getPeerExchange(FIRST).beginInvocation(order);
+  }
+
+  /**
+   * Messages are kept aside until the step and the invocation they belong to are asked for.
+   */
+  @Test
+  public void testMessagesAheadOfTime() throws Exception {
+    final PeerGroup group = new PeerGroup(2, Long.MAX_VALUE);
+    final PeerExchange first = group.getPeerExchange(FIRST);
+    final PeerExchange second = group.getPeerExchange(SECOND);
+
+    first.beginInvocation(null);
+    first.send(SECOND, 1, new byte[]{1});
+    first.send(SECOND, 0, new byte[]{0});
+    first.beginInvocation(null);
+    first.send(SECOND, 0, new byte[]{2});
+
+    second.beginInvocation(null);
+    assertArrayEquals(new byte[]{0}, second.receive(FIRST, 0));
+    assertArrayEquals(new byte[]{1}, second.receive(FIRST, 1));
+    second.beginInvocation(null);
+    assertArrayEquals(new byte[]{2}, second.receive(FIRST, 0));
+  }
+
+  /**
+   * Control messages go to the operator topology.
+   */
+  @Test
+  public void testControlMessages() throws Exception {
+    final PeerGroup group = new PeerGroup(2, Long.MAX_VALUE);
+    final GroupCommunicationMessage msg =
+        newControlMessage(ReefNetworkGroupCommProtos.GroupCommMessage.Type.TopologyChanges, FIRST);
+    group.getPeerExchange(SECOND).handle(msg);
+    verify(group.getTopology(SECOND)).handle(msg);
+  }
+
+  /**
+   * A task waiting for a peer gives up when the driver reports the peer dead,
+   * and waits for it again once it is added back.
+   */
+  @Test
+  public void testDeadPeer() throws Exception {
+    final PeerGroup group = new PeerGroup(2, Long.MAX_VALUE);
+    final PeerExchange second = group.getPeerExchange(SECOND);
+    group.getPeerExchange(FIRST).beginInvocation(null);
+    second.beginInvocation(null);
+
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<byte[]> receive = executor.submit(newReceive(second, FIRST));
+      Thread.sleep(100);
+      assertFalse(receive.isDone());
+      second.handle(newControlMessage(ReefNetworkGroupCommProtos.GroupCommMessage.Type.ParentDead, FIRST));
+      try {
+        receive.get(10, TimeUnit.SECONDS);
+        fail("Waiting for a dead peer must fail");
+      } catch (final ExecutionException e) {
+        assertTrue(e.getCause() instanceof ParentDeadException);
+      }
+
+      second.handle(newControlMessage(ReefNetworkGroupCommProtos.GroupCommMessage.Type.ParentAdd, FIRST));
+      final Future<byte[]> receiveAgain = executor.submit(newReceive(second, FIRST));
+      group.getPeerExchange(FIRST).send(SECOND, 0, new byte[]{0});
+      assertArrayEquals(new byte[]{0}, receiveAgain.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(expected = ParentDeadException.class)
+  public void testTimeout() throws Exception {
+    final PeerGroup group = new PeerGroup(2, 10);
+    final PeerExchange second = group.getPeerExchange(SECOND);
+    second.beginInvocation(null);
+    second.receive(FIRST, 0);
+  }
+
+  /**
+   * Data that arrived before the peer was reported dead can still be received.
+   */
+  @Test
+  public void testDataOfDeadPeer() throws Exception {
+    final PeerGroup group = new PeerGroup(2, Long.MAX_VALUE);
+    final PeerExchange second = group.getPeerExchange(SECOND);
+    group.getPeerExchange(FIRST).beginInvocation(null);
+    second.beginInvocation(null);
+    group.getPeerExchange(FIRST).send(SECOND, 0, new byte[]{0});
+    second.handle(newControlMessage(ReefNetworkGroupCommProtos.GroupCommMessage.Type.ChildDead, FIRST));
+    assertArrayEquals(new byte[]{0}, second.receive(FIRST, 0));
+  }
+
+  private static Callable<byte[]> newReceive(final PeerExchange peerExchange, final String peerId) {
+    return new Callable<byte[]>() {
+      @Override
+      public byte[] call() throws Exception {
+        return peerExchange.receive(peerId, 0);
+      }
+    };
+  }
+
+  private static GroupCommunicationMessage newControlMessage(
+      final ReefNetworkGroupCommProtos.GroupCommMessage.Type type, final String srcId) {
+    return Utils.bldVersionedGCM(CommunicationGroupName.class, OperatorName.class, type, srcId, 0, SECOND, 0,
+        Utils.EMPTY_BYTE_ARR);
+  }
+}
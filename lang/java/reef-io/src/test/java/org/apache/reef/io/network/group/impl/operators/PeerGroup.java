@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.io.network.group.api.task.OperatorTopology;
+import org.apache.reef.io.network.group.impl.GroupCommunicationMessage;
+import org.apache.reef.io.network.group.impl.config.parameters.CommunicationGroupName;
+import org.apache.reef.io.network.group.impl.config.parameters.OperatorName;
+import org.apache.reef.io.network.proto.ReefNetworkGroupCommProtos;
+import org.apache.reef.wake.Identifier;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * A group of {@link PeerExchange}s that deliver their messages to each other in memory.
+ * The operator topologies are mocks that agree on the members as a flat tree rooted at the first task.
+ */
+final class PeerGroup {
+
+  /**
+   * The part of a symmetric operator that one member runs after the members have been agreed on.
+   */
+  interface Member<R> {
+    R run(PeerExchange peerExchange, List<String> members, String selfId) throws Exception;
+  }
+
+  private static final int RUN_TIMEOUT = 10;
+
+  private final List<String> ids = new ArrayList<>();
+  private final Map<String, PeerExchange> peerExchanges = new HashMap<>();
+  private final Map<String, OperatorTopology> topologies = new HashMap<>();
+
+  PeerGroup(final int size, final long timeout) throws Exception {
+    for (int i = 0; i < size; i++) {
+      ids.add("task" + i);
+    }
+    final Sender sender = new Sender(null) {
+      @Override
+      public void send(final GroupCommunicationMessage msg) {
+        peerExchanges.get(msg.getDestid()).handle(msg);
+      }
+    };
+    final byte[] encodedChildren = PeerExchange.encodeIds(ids.subList(1, size));
+    final byte[] encodedMembers = PeerExchange.encodeIds(ids);
+    for (final String id : ids) {
+      final boolean isRoot = id.equals(ids.get(0));
+      final OperatorTopology topology = mock(OperatorTopology.class);
+      when(topology.recvFromChildren()).thenReturn(isRoot ? encodedChildren : new byte[0]);
+      when(topology.recvFromParent(ReefNetworkGroupCommProtos.GroupCommMessage.Type.Broadcast))
+          .thenReturn(encodedMembers);
+      topologies.put(id, topology);
+      peerExchanges.put(id, new PeerExchange(CommunicationGroupName.class, OperatorName.class, id, isRoot, 0,
+          topology, sender, ReefNetworkGroupCommProtos.GroupCommMessage.Type.AllReduce, timeout));
+    }
+  }
+
+  List<String> getIds() {
+    return ids;
+  }
+
+  PeerExchange getPeerExchange(final String id) {
+    return peerExchanges.get(id);
+  }
+
+  OperatorTopology getTopology(final String id) {
+    return topologies.get(id);
+  }
+
+  /**
+   * Run one invocation of an operator on every member, each on its own thread.
+   *
+   * @param order order of the members, or null to order them by identifier
+   * @return the results of the members, in the order of {@link #getIds()}
+   */
+  <R> List<R> run(final List<? extends Identifier> order, final Member<R> member) throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(ids.size());
+    try {
+      final List<Future<R>> futures = new ArrayList<>(ids.size());
+      for (final String id : ids) {
+        futures.add(executor.submit(new Callable<R>() {
+          @Override
+          public R call() throws Exception {
+            final PeerExchange peerExchange = peerExchanges.get(id);
+            return member.run(peerExchange, peerExchange.beginInvocation(order), id);
+          }
+        }));
+      }
+      final List<R> results = new ArrayList<>(ids.size());
+      for (final Future<R> future : futures) {
+        results.add(future.get(RUN_TIMEOUT, TimeUnit.SECONDS));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
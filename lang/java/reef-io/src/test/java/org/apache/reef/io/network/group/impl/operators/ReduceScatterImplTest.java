@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.operators;
+
+import org.apache.reef.io.network.group.api.operators.Reduce.ReduceFunction;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.io.serialization.SerializableCodec;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the ring of {@link ReduceScatterImpl}.
+ */
+public final class ReduceScatterImplTest {
+
+  private static final int MAX_SIZE = 9;
+
+  private final Codec<Integer> codec = new SerializableCodec<>();
+
+  private final ReduceFunction<Integer> sum = new ReduceFunction<Integer>() {
+    @Override
+    public Integer apply(final Iterable<Integer> elements) {
+      int retVal = 0;
+      for (final Integer element : elements) {
+        retVal += element;
+      }
+      return retVal;
+    }
+  };
+
+  /**
+   * Every task ends up with its block of the element-wise sum, also when blocks have different sizes or are empty.
+   * Task {@code m} contributes {@code (m + 1) * (i + 1)} at position {@code i},
+   * so the sum at position {@code i} is {@code (i + 1) * size * (size + 1) / 2}.
+   */
+  @Test
+  public void testGroupSizes() throws Exception {
+    for (int size = 1; size <= MAX_SIZE; size++) {
+      final List<Integer> counts = new ArrayList<>(size);
+      int total = 0;
+      for (int i = 0; i < size; i++) {
+        counts.add(i % 3);
+        total += i % 3;
+      }
+      final List<List<Integer>> expected = new ArrayList<>(size);
+      int offset = 0;
+      for (int i = 0; i < size; i++) {
+        final List<Integer> block = new ArrayList<>(counts.get(i));
+        for (int j = offset; j < offset + counts.get(i); j++) {
+          block.add((j + 1) * size * (size + 1) / 2);
+        }
+        expected.add(block);
+        offset += counts.get(i);
+      }
+
+      final PeerGroup group = new PeerGroup(size, Long.MAX_VALUE);
+      // Invoke twice to check that the invocation counts in the message headers stay in step
+      for (int invocation = 0; invocation < 2; invocation++) {
+        assertEquals("size " + size, expected, group.run(null, newReduceScatter(total, counts)));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCountsDoNotMatchTasks() throws Exception {
+    runAlone(Arrays.asList(1, 1), 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCountsDoNotMatchElements() throws Exception {
+    runAlone(Arrays.asList(3), 2);
+  }
+
+  private void runAlone(final List<Integer> counts, final int total) throws Exception {
+    final PeerGroup group = new PeerGroup(1, Long.MAX_VALUE);
+    final PeerExchange peerExchange = group.getPeerExchange(group.getIds().get(0));
+    newReduceScatter(total, counts).run(peerExchange, peerExchange.beginInvocation(null), group.getIds().get(0));
+  }
+
+  private PeerGroup.Member<List<Integer>> newReduceScatter(final int total, final List<Integer> counts) {
+    return new PeerGroup.Member<List<Integer>>() {
+      @Override
+      public List<Integer> run(final PeerExchange peerExchange, final List<String> members, final String selfId)
+          throws Exception {
+        final int factor = members.indexOf(selfId) + 1;
+        final List<Integer> elements = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+          elements.add(factor * (i + 1));
+        }
+        return ReduceScatterImpl.ring(peerExchange, members, selfId, elements, counts, codec, sum);
+      }
+    };
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.utils;
+
+import org.apache.reef.io.network.group.impl.config.BroadcastOperatorSpec;
+import org.apache.reef.io.serialization.SerializableCodec;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the chunk framing used by pipelined operators.
+ */
+public final class ChunkHelperTest {
+
+  /**
+   * Test that a payload split into chunks is reassembled correctly, regardless of the order the chunks arrive in.
+   */
+  @Test
+  public void testChunkRoundTrip() {
+    final Random random = new Random(0);
+    for (final int payloadLength : new int[]{0, 1, 7, 1024, 1025, 100000}) {
+      for (final int chunkSize : new int[]{1, 16, 1024, ChunkHelper.MAX_CHUNK_SIZE}) {
+        final byte[] payload = new byte[payloadLength];
+        random.nextBytes(payload);
+
+        final int numChunks = ChunkHelper.getNumChunks(payloadLength, chunkSize);
+        final List<byte[]> chunks = new ArrayList<>(numChunks);
+        for (int i = 0; i < numChunks; i++) {
+          final int offset = i * chunkSize;
+          chunks.add(ChunkHelper.encodeChunk(payload, offset, Math.min(chunkSize, payloadLength - offset)));
+        }
+        Collections.shuffle(chunks, random);
+
+        final byte[] reassembled = new byte[ChunkHelper.getPayloadLength(chunks.get(0))];
+        int copied = 0;
+        for (final byte[] chunk : chunks) {
+          assertTrue(ChunkHelper.getChunkLength(chunk) <= chunkSize);
+          copied += ChunkHelper.copyChunk(chunk, reassembled);
+        }
+        assertEquals(payloadLength, copied);
+        assertArrayEquals(payload, reassembled);
+      }
+    }
+  }
+
+  /**
+   * Test that an empty payload is still transferred as a single chunk.
+   */
+  @Test
+  public void testEmptyPayloadNeedsOneChunk() {
+    assertEquals(1, ChunkHelper.getNumChunks(0, 1024));
+    assertEquals(1, ChunkHelper.getNumChunks(1024, 1024));
+    assertEquals(2, ChunkHelper.getNumChunks(1025, 1024));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveChunkSize() {
+    ChunkHelper.getNumChunks(10, 0);
+  }
+
+  /**
+   * Test that chunks too large to skip the big message handshake are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testChunkSizeAboveMaximum() {
+    ChunkHelper.getNumChunks(10, ChunkHelper.MAX_CHUNK_SIZE + 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBroadcastSpecRejectsLargeChunks() {
+    BroadcastOperatorSpec.newBuilder()
+        .setSenderId("task0")
+        .setDataCodecClass(SerializableCodec.class)
+        .setChunkSize(1 << 20)
+        .build();
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.group.impl.utils;
+
+import org.apache.reef.io.serialization.SerializableCodec;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test for {@link DecodingList}.
+ */
+public final class DecodingListTest {
+
+  @Test
+  public void testDecodesElementsAndNulls() {
+    final SerializableCodec<String> codec = new SerializableCodec<>();
+    final List<String> list = new DecodingList<>(Arrays.asList(codec.encode("a"), null, codec.encode("c")), codec);
+
+    Assert.assertEquals(3, list.size());
+    Assert.assertEquals(Arrays.asList("a", null, "c"), list);
+  }
+
+  @Test
+  public void testDecodesOnce() {
+    final SerializableCodec<String> codec = new SerializableCodec<>();
+    final List<String> list = new DecodingList<>(Arrays.asList(codec.encode("a")), codec);
+
+    Assert.assertSame(list.get(0), list.get(0));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testUnmodifiable() {
+    final SerializableCodec<String> codec = new SerializableCodec<>();
+    new DecodingList<>(Arrays.asList(codec.encode("a")), codec).set(0, "b");
+  }
+}
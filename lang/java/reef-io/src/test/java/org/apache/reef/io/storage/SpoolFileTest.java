@@ -25,6 +25,7 @@ import org.apache.reef.io.Spool;
 import org.apache.reef.io.serialization.Codec;
 import org.apache.reef.io.serialization.Deserializer;
 import org.apache.reef.io.serialization.Serializer;
+import org.apache.reef.io.storage.local.BlockFileSpool;
 import org.apache.reef.io.storage.local.CodecFileAccumulable;
 import org.apache.reef.io.storage.local.CodecFileIterable;
 import org.apache.reef.io.storage.local.LocalStorageService;
@@ -46,7 +47,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
 
 public class SpoolFileTest {
   private final Serializer<Integer, OutputStream> serializer = new Serializer<Integer, OutputStream>() {
@@ -171,6 +176,56 @@ public class SpoolFileTest {
     service.getScratchSpace().delete();
   }
 
+  @Test
+  public void testBlockFile() throws ServiceException {
+    final LocalStorageService service = new LocalStorageService("spoolTest", "file");
+    test(new BlockFileSpool<>(service, new IntegerCodec(), false));
+    test(new BlockFileSpool<>(service, new IntegerCodec(), true));
+    service.getScratchSpace().delete();
+  }
+
+  @Test
+  public void testBlockFileRecordSizes() throws ServiceException {
+    final LocalStorageService service = new LocalStorageService("spoolTest", "file");
+    final Codec<String> codec = new Codec<String>() {
+      @Override
+      public byte[] encode(final String obj) {
+        return obj.getBytes(StandardCharsets.UTF_8);
+      }
+
+      @Override
+      public String decode(final byte[] buf) {
+        return new String(buf, StandardCharsets.UTF_8);
+      }
+    };
+    for (final boolean compress : new boolean[]{false, true}) {
+      final Spool<String> empty = new BlockFileSpool<>(service, codec, compress);
+      empty.accumulator().close();
+      Assert.assertFalse(empty.iterator().hasNext());
+
+      // Records from empty to larger than a block, with repetitive and random contents
+      final Random random = new Random(42);
+      final List<String> records = new ArrayList<>();
+      final Spool<String> spool = new BlockFileSpool<>(service, codec, compress);
+      try (Accumulator<String> acc = spool.accumulator()) {
+        for (int i = 0; i < 100; i++) {
+          final char[] chars = new char[i == 0 ? 0 : random.nextInt(i % 10 == 0 ? 200 * 1024 : 1024)];
+          for (int j = 0; j < chars.length; j++) {
+            chars[j] = (char) ('a' + random.nextInt(i % 2 == 0 ? 2 : 26));
+          }
+          records.add(new String(chars));
+          acc.add(records.get(i));
+        }
+      }
+      final Iterator<String> it = spool.iterator();
+      for (final String record : records) {
+        Assert.assertEquals(record, it.next());
+      }
+      Assert.assertFalse(it.hasNext());
+    }
+    service.getScratchSpace().delete();
+  }
+
   protected void test(final Spool<Integer> f) throws ServiceException {
     test(f, f);
   }
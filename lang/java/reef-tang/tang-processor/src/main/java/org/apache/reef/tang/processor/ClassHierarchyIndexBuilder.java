@@ -0,0 +1,822 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.processor;
+
+import org.apache.reef.tang.ExternalConstructor;
+import org.apache.reef.tang.InjectionFuture;
+import org.apache.reef.tang.annotations.DefaultImplementation;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.tang.annotations.Unit;
+import org.apache.reef.tang.exceptions.ClassHierarchyException;
+import org.apache.reef.tang.formats.ParameterParser;
+import org.apache.reef.tang.implementation.types.ConstructorArgImpl;
+import org.apache.reef.tang.implementation.types.ConstructorDefImpl;
+import org.apache.reef.tang.proto.ClassHierarchyProto;
+import org.apache.reef.tang.types.ConstructorArg;
+import org.apache.reef.tang.types.ConstructorDef;
+import org.apache.reef.tang.util.MonotonicSet;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.inject.Inject;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.*;
+
+/**
+ * Builds a class hierarchy index of some types and of every type their registration reaches.
+ * <p>
+ * The nodes mirror what ClassHierarchyImpl builds by reflection with JavaNodeFactory, including its checks.
+ * A type that fails a check, or whose reflective node the compiler's view of it cannot reproduce
+ * (enums, non-static inner classes and array types), is left out of the index together with every type
+ * that reaches it, so that ClassHierarchyImpl registers all of them by reflection and fails as before.
+ */
+final class ClassHierarchyIndexBuilder {
+
+  private static final String OBJECT = Object.class.getName();
+  private static final String SET = Set.class.getName();
+  private static final String LIST = List.class.getName();
+
+  /**
+   * The number of bits of the numeric types, as in ReflectionUtilities.isCoercable.
+   */
+  private static final Map<String, Integer> SIZEOF = new HashMap<>();
+
+  static {
+    SIZEOF.put(Byte.class.getName(), Byte.SIZE);
+    SIZEOF.put(Short.class.getName(), Short.SIZE);
+    SIZEOF.put(Integer.class.getName(), Integer.SIZE);
+    SIZEOF.put(Long.class.getName(), Long.SIZE);
+    SIZEOF.put(Float.class.getName(), Float.SIZE);
+    SIZEOF.put(Double.class.getName(), Double.SIZE);
+  }
+
+  private final Elements elements;
+  private final Types types;
+  private final ParameterParser parameterParser = new ParameterParser();
+  private final TypeElement objectElement;
+  private final TypeMirror numberType;
+  private final TypeMirror externalConstructorType;
+
+  /**
+   * The types reached so far by full name, in the order they were reached.
+   */
+  private final Map<String, Entry> entries = new LinkedHashMap<>();
+  private final Deque<Entry> pending = new ArrayDeque<>();
+
+  ClassHierarchyIndexBuilder(final ProcessingEnvironment processingEnv) {
+    this.elements = processingEnv.getElementUtils();
+    this.types = processingEnv.getTypeUtils();
+    this.objectElement = this.elements.getTypeElement(OBJECT);
+    this.numberType = this.elements.getTypeElement(Number.class.getName()).asType();
+    this.externalConstructorType =
+        this.types.erasure(this.elements.getTypeElement(ExternalConstructor.class.getName()).asType());
+  }
+
+  /**
+   * Adds a type and every type its registration reaches to the index.
+   *
+   * @param type the type
+   */
+  void add(final TypeElement type) {
+    entryOf(type);
+    while (!this.pending.isEmpty()) {
+      final Entry entry = this.pending.removeFirst();
+      try {
+        if (entry.element == null) {
+          entry.node = newClassNode(entry.fullName, Collections.<ClassHierarchyProto.ConstructorDef>emptyList(),
+              Collections.<ClassHierarchyProto.ConstructorDef>emptyList(), false, false, null);
+        } else {
+          visit(entry);
+        }
+      } catch (final UnindexableException e) {
+        entry.error = e.getMessage();
+      }
+    }
+  }
+
+  /**
+   * @return the number of types reached
+   */
+  int getNumberOfTypes() {
+    return this.entries.size();
+  }
+
+  /**
+   * Builds the index. Types added afterwards are not in it.
+   *
+   * @return the root package node of the index
+   */
+  ClassHierarchyProto.Node build() {
+    checkNamedParameterUses();
+    checkShortNames();
+    excludeReachingTypes();
+
+    for (final Entry entry : this.entries.values()) {
+      if (entry.isIndexed() && entry.node.hasClassNode()) {
+        for (final String supertype : entry.supertypes) {
+          this.entries.get(supertype).implFullNames.add(entry.fullName);
+        }
+      }
+    }
+    final ClassHierarchyProto.Node.Builder root = ClassHierarchyProto.Node.newBuilder()
+        .setPackageNode(ClassHierarchyProto.PackageNode.newBuilder().build())
+        .setName("")
+        .setFullName("[root node]");
+    for (final Entry entry : this.entries.values()) {
+      if (entry.isIndexed() && entry.enclosing == null) {
+        root.addChildren(buildNode(entry));
+      }
+    }
+    return root.build();
+  }
+
+  /**
+   * @return the number of types in the index
+   */
+  int getNumberOfIndexedTypes() {
+    int count = 0;
+    for (final Entry entry : this.entries.values()) {
+      if (entry.isIndexed()) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  private ClassHierarchyProto.Node buildNode(final Entry entry) {
+    final ClassHierarchyProto.Node.Builder builder = entry.node.toBuilder();
+    if (builder.hasClassNode()) {
+      builder.setClassNode(builder.getClassNode().toBuilder().addAllImplFullNames(entry.implFullNames));
+    }
+    for (final String member : entry.members) {
+      builder.addChildren(buildNode(this.entries.get(member)));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Mirrors ClassHierarchyImpl.register: reaches the supertypes, the enclosing and member types,
+   * and the types and named parameters of the injectable constructors or the named parameter type.
+   */
+  private void visit(final Entry entry) throws UnindexableException {
+    final TypeElement type = entry.element;
+    final NestingKind nesting = type.getNestingKind();
+    if (nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) {
+      throw new UnindexableException(entry.fullName + " is a local class");
+    }
+    if (type.getKind() == ElementKind.ENUM) {
+      throw new UnindexableException(entry.fullName + " is an enum, whose constructors take synthetic parameters");
+    }
+    if (!isStatic(type)) {
+      throw new UnindexableException(entry.fullName + " is a non-static inner class");
+    }
+    if (type.getSimpleName().toString().contains("$")) {
+      throw new UnindexableException(entry.fullName + " has a $ in its simple name");
+    }
+
+    final TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() == TypeKind.DECLARED) {
+      entry.supertypes.add(reach(entry, superclass));
+    }
+    for (final TypeMirror iface : type.getInterfaces()) {
+      entry.supertypes.add(reach(entry, iface));
+    }
+    if (nesting == NestingKind.MEMBER) {
+      entry.enclosing = reach(entry, type.getEnclosingElement().asType());
+    }
+    for (final TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+      entry.members.add(reach(entry, member.asType()));
+    }
+
+    final TypeMirror namedParameterTarget = getNamedParameterTargetOrNull(entry);
+    if (namedParameterTarget == null) {
+      visitClass(entry);
+    } else {
+      visitNamedParameter(entry, namedParameterTarget);
+    }
+  }
+
+  /**
+   * Mirrors ReflectionUtilities.getNamedParameterTargetOrNull.
+   */
+  private TypeMirror getNamedParameterTargetOrNull(final Entry entry) throws UnindexableException {
+    final TypeElement type = entry.element;
+    TypeMirror target = null;
+    boolean implementsName = false;
+    final List<TypeMirror> supertypes = new ArrayList<TypeMirror>(type.getInterfaces());
+    supertypes.add(type.getSuperclass());
+    for (final TypeMirror supertype : supertypes) {
+      if (isParameterized(supertype) && nameOf(supertype).equals(Name.class.getName())) {
+        target = ((DeclaredType) supertype).getTypeArguments().get(0);
+        implementsName = true;
+        break;
+      }
+    }
+
+    if (getAnnotation(type, NamedParameter.class) == null) {
+      if (implementsName) {
+        throw new UnindexableException(entry.fullName + " is missing its @NamedParameter annotation");
+      }
+      return null;
+    }
+    if (!implementsName) {
+      throw new UnindexableException(entry.fullName + " does not implement Name<?>");
+    }
+    if (type.getSuperclass().getKind() != TypeKind.DECLARED || !nameOf(type.getSuperclass()).equals(OBJECT)) {
+      throw new UnindexableException(entry.fullName + " has a superclass other than Object");
+    }
+    final List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+    boolean hasConstructor = constructors.size() > 1;
+    if (constructors.size() == 1) {
+      final List<? extends VariableElement> parameters = constructors.get(0).getParameters();
+      // A single parameter of the enclosing type may be the one javac adds to inner classes
+      hasConstructor = parameters.size() > 1 || parameters.size() == 1
+          && (type.getNestingKind() != NestingKind.MEMBER
+          || !types.isSameType(types.erasure(parameters.get(0).asType()),
+          types.erasure(type.getEnclosingElement().asType())));
+    }
+    for (final ExecutableElement constructor : constructors) {
+      if (getAnnotation(constructor, Inject.class) != null) {
+        hasConstructor = true;
+      }
+    }
+    if (hasConstructor) {
+      throw new UnindexableException(entry.fullName + " declares a constructor");
+    }
+    if (type.getInterfaces().size() > 1) {
+      throw new UnindexableException(entry.fullName + " implements multiple interfaces");
+    }
+    return target;
+  }
+
+  /**
+   * Mirrors JavaNodeFactory.createClassNode and createConstructorDef.
+   */
+  private void visitClass(final Entry entry) throws UnindexableException {
+    final TypeElement type = entry.element;
+    final boolean unit = getAnnotation(type, Unit.class) != null;
+    if (unit) {
+      boolean foundNonStaticInnerClass = false;
+      for (final TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+        foundNonStaticInnerClass |= !isStatic(member);
+      }
+      if (!foundNonStaticInnerClass) {
+        throw new UnindexableException(entry.fullName + " has an @Unit annotation, but no non-static inner classes");
+      }
+    }
+
+    final MonotonicSet<ConstructorDef<?>> injectableDefs = new MonotonicSet<>();
+    final List<ClassHierarchyProto.ConstructorDef> injectableConstructors = new ArrayList<>();
+    final List<ClassHierarchyProto.ConstructorDef> otherConstructors = new ArrayList<>();
+    for (final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      final boolean injectable = getAnnotation(constructor, Inject.class) != null;
+      final List<ConstructorArg> args = new ArrayList<>();
+      final ClassHierarchyProto.ConstructorDef.Builder def = ClassHierarchyProto.ConstructorDef.newBuilder()
+          .setFullClassName(entry.fullName);
+      for (final VariableElement parameter : constructor.getParameters()) {
+        final TypeMirror parameterType = parameter.asType();
+        final String argType;
+        final boolean isFuture = isInjectionFuture(parameterType);
+        if (isFuture) {
+          final List<? extends TypeMirror> typeArguments = ((DeclaredType) parameterType).getTypeArguments();
+          if (typeArguments.isEmpty()) {
+            throw new UnindexableException(entry.fullName + " has a constructor that takes a raw InjectionFuture");
+          }
+          argType = injectable ? reach(entry, typeArguments.get(0)) : nameOf(typeArguments.get(0));
+        } else {
+          argType = injectable ? reach(entry, types.erasure(parameterType)) : getReflectionName(parameterType);
+        }
+        final ClassHierarchyProto.ConstructorArg.Builder arg = ClassHierarchyProto.ConstructorArg.newBuilder()
+            .setFullArgClassName(argType)
+            .setIsInjectionFuture(isFuture);
+        String namedParameterName = null;
+        final AnnotationMirror named = getAnnotation(parameter, Parameter.class);
+        if (named != null) {
+          if (!injectable) {
+            throw new UnindexableException(entry.fullName
+                + " has a constructor that is not injectable, but has an @Parameter annotation");
+          }
+          namedParameterName = reach(entry, getClassValue(named, "value"));
+          arg.setNamedParameterName(namedParameterName);
+          entry.parameterArgs.add(new String[]{argType, namedParameterName});
+        }
+        args.add(new ConstructorArgImpl(argType, namedParameterName, isFuture));
+        def.addArgs(arg);
+      }
+      try {
+        final ConstructorDef<?> constructorDef =
+            new ConstructorDefImpl<>(entry.fullName, args.toArray(new ConstructorArg[0]), injectable);
+        if (injectable) {
+          if (injectableDefs.contains(constructorDef)) {
+            throw new UnindexableException(entry.fullName + " has ambiguous constructors");
+          }
+          injectableDefs.add(constructorDef);
+        }
+      } catch (final ClassHierarchyException e) {
+        throw new UnindexableException(e.getMessage());
+      }
+      (injectable ? injectableConstructors : otherConstructors).add(def.build());
+    }
+
+    String defaultImplementation = null;
+    final AnnotationMirror defaultImpl = getAnnotation(type, DefaultImplementation.class);
+    if (defaultImpl != null) {
+      final TypeMirror value = getClassValue(defaultImpl, "value");
+      if (nameOf(value).equals(Void.class.getName())) {
+        defaultImplementation = (String) getValue(defaultImpl, "name");
+      } else {
+        if (!types.isSubtype(types.erasure(value), types.erasure(type.asType()))) {
+          throw new UnindexableException(entry.fullName + " declares its default implementation to be non-subclass "
+              + nameOf(value));
+        }
+        defaultImplementation = nameOf(value);
+      }
+    }
+
+    entry.node = newClassNode(entry.fullName, injectableConstructors, otherConstructors, unit,
+        types.isSubtype(types.erasure(type.asType()), this.externalConstructorType), defaultImplementation);
+  }
+
+  /**
+   * Mirrors JavaNodeFactory.createNamedParameterNode and the check of ClassHierarchyImpl.buildPathToNode.
+   */
+  private void visitNamedParameter(final Entry entry, final TypeMirror argClass) throws UnindexableException {
+    final AnnotationMirror namedParameter = getAnnotation(entry.element, NamedParameter.class);
+    final String argRawName = nameOf(argClass);
+    entry.isSet = argRawName.equals(SET);
+    entry.isList = argRawName.equals(LIST);
+    final TypeMirror argClazz;
+    if (entry.isSet || entry.isList) {
+      argClazz = isParameterized(argClass)
+          ? ((DeclaredType) argClass).getTypeArguments().get(0) : this.objectElement.asType();
+    } else {
+      argClazz = argClass;
+    }
+    entry.fullArgName = reach(entry, argClazz);
+
+    final String defaultValue = (String) getValue(namedParameter, "default_value");
+    final TypeMirror defaultClass = getClassValue(namedParameter, "default_class");
+    final List<?> defaultValues = (List<?>) getValue(namedParameter, "default_values");
+    final List<?> defaultClasses = (List<?>) getValue(namedParameter, "default_classes");
+    final boolean hasStringDefault = !defaultValue.equals(NamedParameter.REEF_UNINITIALIZED_VALUE);
+    final boolean hasClassDefault = !nameOf(defaultClass).equals(Void.class.getName());
+    int defaultCount = 0;
+    for (final boolean hasDefault
+        : new boolean[]{hasStringDefault, hasClassDefault, !defaultValues.isEmpty(), !defaultClasses.isEmpty()}) {
+      defaultCount += hasDefault ? 1 : 0;
+    }
+    if (defaultCount > 1) {
+      throw new UnindexableException(entry.fullName + " defines more than one default");
+    }
+    if (hasClassDefault && this.parameterParser.canParse(argRawName)) {
+      throw new UnindexableException(entry.fullName + " defines default implementation for parsable type "
+          + argRawName);
+    }
+
+    final ClassHierarchyProto.NamedParameterNode.Builder builder = ClassHierarchyProto.NamedParameterNode.newBuilder()
+        .setSimpleArgClassName(getSimpleName(entry.fullArgName))
+        .setFullArgClassName(entry.fullArgName)
+        .setIsSet(entry.isSet)
+        .setIsList(entry.isList)
+        .setDocumentation((String) getValue(namedParameter, "doc"));
+    if (hasClassDefault) {
+      assertIsSubclassOf(entry, defaultClass, argClazz);
+      builder.addInstanceDefault(nameOf(defaultClass));
+    } else if (hasStringDefault) {
+      builder.addInstanceDefault(defaultValue);
+    } else if (!defaultClasses.isEmpty()) {
+      for (final Object value : defaultClasses) {
+        final TypeMirror clazz = toClass(((AnnotationValue) value).getValue());
+        assertIsSubclassOf(entry, clazz, argClazz);
+        builder.addInstanceDefault(nameOf(clazz));
+      }
+    } else {
+      for (final Object value : defaultValues) {
+        builder.addInstanceDefault((String) ((AnnotationValue) value).getValue());
+      }
+    }
+    final String shortName = (String) getValue(namedParameter, "short_name");
+    if (!shortName.isEmpty()) {
+      entry.shortName = shortName;
+      builder.setShortName(shortName);
+    }
+    entry.node = ClassHierarchyProto.Node.newBuilder()
+        .setName(getSimpleName(entry.fullName))
+        .setFullName(entry.fullName)
+        .setNamedParameterNode(builder)
+        .build();
+  }
+
+  /**
+   * Mirrors JavaNodeFactory.assertIsSubclassOf, which compares the first type argument of generic targets.
+   */
+  private void assertIsSubclassOf(final Entry entry, final TypeMirror defaultClass, final TypeMirror argClass)
+      throws UnindexableException {
+    boolean isSubclass = false;
+    boolean isGenericSubclass = false;
+    final String argRawName = nameOf(argClass);
+    for (final TypeMirror c : classAndAncestors(types.erasure(defaultClass))) {
+      if (nameOf(c).equals(argRawName)) {
+        isSubclass = true;
+        if (isParameterized(argClass) && isParameterized(c)) {
+          final TypeMirror argParameter = ((DeclaredType) argClass).getTypeArguments().get(0);
+          final TypeMirror defaultParameter = ((DeclaredType) c).getTypeArguments().get(0);
+          for (final TypeMirror d : classAndAncestors(argParameter)) {
+            isGenericSubclass |= nameOf(d).equals(nameOf(defaultParameter));
+          }
+          for (final TypeMirror d : classAndAncestors(defaultParameter)) {
+            isGenericSubclass |= nameOf(d).equals(nameOf(argParameter));
+          }
+        } else {
+          isGenericSubclass = true;
+        }
+      }
+    }
+    if (!isSubclass || !isGenericSubclass) {
+      throw new UnindexableException(entry.fullName + " defines a default class " + nameOf(defaultClass)
+          + " that does not extend its target's type");
+    }
+  }
+
+  /**
+   * Mirrors ReflectionUtilities.classAndAncestors, which follows raw superclasses and generic interfaces.
+   */
+  private List<TypeMirror> classAndAncestors(final TypeMirror clazz) throws UnindexableException {
+    final List<TypeMirror> workQueue = new ArrayList<>();
+    workQueue.add(clazz);
+    if (clazz.getKind() == TypeKind.DECLARED && ((DeclaredType) clazz).asElement().getKind().isInterface()) {
+      workQueue.add(this.objectElement.asType());
+    }
+    for (int i = 0; i < workQueue.size(); i++) {
+      final TypeMirror type = workQueue.get(i);
+      if (type.getKind() == TypeKind.DECLARED) {
+        final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if (element.getSuperclass().getKind() == TypeKind.DECLARED) {
+          workQueue.add(types.erasure(element.getSuperclass()));
+        }
+        workQueue.addAll(element.getInterfaces());
+      } else if (type.getKind() == TypeKind.TYPEVAR || type.getKind() == TypeKind.WILDCARD) {
+        workQueue.add(this.objectElement.asType());
+      } else if (!type.getKind().isPrimitive()) {
+        throw new UnindexableException("Cannot index the ancestors of " + type);
+      }
+    }
+    return workQueue;
+  }
+
+  /**
+   * Mirrors the check of the named parameters of constructor arguments in ClassHierarchyImpl.register,
+   * which needs the nodes of both.
+   */
+  private void checkNamedParameterUses() {
+    for (final Entry entry : this.entries.values()) {
+      for (final String[] arg : entry.parameterArgs) {
+        final Entry namedParameter = this.entries.get(arg[1]);
+        if (namedParameter.error != null) {
+          continue; // excluded along with it
+        }
+        if (namedParameter.fullArgName == null) {
+          entry.error = entry.fullName + " uses " + arg[1] + ", which is not a named parameter, as one";
+        } else if (!namedParameter.isSet && !namedParameter.isList) {
+          try {
+            if (!isCoercable(this.entries.get(arg[0]), this.entries.get(namedParameter.fullArgName))) {
+              entry.error = "Named parameter type mismatch in " + entry.fullName;
+            }
+          } catch (final UnindexableException e) {
+            entry.error = e.getMessage();
+          }
+        }
+      }
+      for (final String supertype : entry.supertypes) {
+        if (this.entries.get(supertype).fullArgName != null) {
+          entry.error = entry.fullName + " extends the named parameter " + supertype;
+        }
+      }
+    }
+  }
+
+  /**
+   * Mirrors ReflectionUtilities.isCoercable.
+   */
+  private boolean isCoercable(final Entry to, final Entry from) throws UnindexableException {
+    final TypeMirror boxedTo = box(to);
+    final TypeMirror boxedFrom = box(from);
+    if (types.isSubtype(boxedTo, this.numberType) && types.isSubtype(boxedFrom, this.numberType)) {
+      final Integer sizeTo = SIZEOF.get(nameOf(boxedTo));
+      final Integer sizeFrom = SIZEOF.get(nameOf(boxedFrom));
+      return sizeTo != null && sizeFrom != null && sizeFrom <= sizeTo;
+    }
+    return types.isSubtype(boxedFrom, boxedTo);
+  }
+
+  private TypeMirror box(final Entry entry) {
+    if (entry.element == null) {
+      final TypeKind kind = TypeKind.valueOf(entry.fullName.toUpperCase(Locale.ENGLISH));
+      return types.boxedClass(types.getPrimitiveType(kind)).asType();
+    }
+    return types.erasure(entry.element.asType());
+  }
+
+  /**
+   * Leaves out the named parameters that share a short name, which ClassHierarchyImpl rejects on registration.
+   */
+  private void checkShortNames() {
+    final Map<String, List<Entry>> shortNames = new HashMap<>();
+    for (final Entry entry : this.entries.values()) {
+      if (entry.shortName != null) {
+        List<Entry> namesakes = shortNames.get(entry.shortName);
+        if (namesakes == null) {
+          namesakes = new ArrayList<>();
+          shortNames.put(entry.shortName, namesakes);
+        }
+        namesakes.add(entry);
+      }
+    }
+    for (final List<Entry> namesakes : shortNames.values()) {
+      if (namesakes.size() > 1) {
+        for (final Entry entry : namesakes) {
+          entry.error = entry.fullName + " shares its short name " + entry.shortName;
+        }
+      }
+    }
+  }
+
+  /**
+   * Leaves out every type that reaches a type left out, so that the index only has complete registrations.
+   */
+  private void excludeReachingTypes() {
+    final Map<String, List<Entry>> reachedBy = new HashMap<>();
+    final Deque<Entry> excluded = new ArrayDeque<>();
+    for (final Entry entry : this.entries.values()) {
+      for (final String reached : entry.reach) {
+        List<Entry> reaching = reachedBy.get(reached);
+        if (reaching == null) {
+          reaching = new ArrayList<>();
+          reachedBy.put(reached, reaching);
+        }
+        reaching.add(entry);
+      }
+      if (entry.error != null) {
+        excluded.add(entry);
+      }
+    }
+    while (!excluded.isEmpty()) {
+      final Entry entry = excluded.removeFirst();
+      final List<Entry> reaching = reachedBy.remove(entry.fullName);
+      if (reaching != null) {
+        for (final Entry other : reaching) {
+          if (other.error == null) {
+            other.error = other.fullName + " reaches " + entry.fullName;
+            excluded.add(other);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Records that the registration of an entry reaches a type and adds the type.
+   *
+   * @return the full name of the raw type
+   */
+  private String reach(final Entry entry, final TypeMirror type) throws UnindexableException {
+    final Entry reached;
+    if (type.getKind() == TypeKind.DECLARED) {
+      reached = entryOf((TypeElement) ((DeclaredType) type).asElement());
+    } else if (type.getKind() == TypeKind.TYPEVAR || type.getKind() == TypeKind.WILDCARD) {
+      reached = entryOf(this.objectElement);
+    } else if (type.getKind().isPrimitive()) {
+      reached = entryOf(getReflectionName(type), null);
+    } else {
+      throw new UnindexableException(entry.fullName + " refers to the unsupported type " + type);
+    }
+    entry.reach.add(reached.fullName);
+    return reached.fullName;
+  }
+
+  private Entry entryOf(final TypeElement type) {
+    return entryOf(elements.getBinaryName(type).toString(), type);
+  }
+
+  private Entry entryOf(final String fullName, final TypeElement type) {
+    Entry entry = this.entries.get(fullName);
+    if (entry == null) {
+      entry = new Entry(fullName, type);
+      this.entries.put(fullName, entry);
+      this.pending.add(entry);
+    }
+    return entry;
+  }
+
+  private boolean isInjectionFuture(final TypeMirror type) throws UnindexableException {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return false;
+    }
+    final String name = nameOf(type);
+    if (name.equals(InjectionFuture.class.getName())) {
+      return true;
+    }
+    final TypeElement future = elements.getTypeElement(InjectionFuture.class.getName());
+    if (types.isSubtype(types.erasure(type), types.erasure(future.asType()))) {
+      throw new UnindexableException("Cannot index subclasses of InjectionFuture like " + name);
+    }
+    return false;
+  }
+
+  /**
+   * @return the full name of the raw type, as ReflectionUtilities.getFullName returns it
+   */
+  private String nameOf(final TypeMirror type) throws UnindexableException {
+    switch (type.getKind()) {
+    case DECLARED:
+      return elements.getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+    case TYPEVAR:
+    case WILDCARD:
+      return OBJECT;
+    default:
+      if (type.getKind().isPrimitive()) {
+        return getReflectionName(type);
+      }
+      throw new UnindexableException("Cannot index the type " + type);
+    }
+  }
+
+  /**
+   * @return the name that Class.getName returns for the erasure of the type
+   */
+  private String getReflectionName(final TypeMirror type) throws UnindexableException {
+    final TypeMirror erased = types.erasure(type);
+    if (erased.getKind().isPrimitive()) {
+      return erased.getKind().name().toLowerCase(Locale.ENGLISH);
+    } else if (erased.getKind() == TypeKind.ARRAY) {
+      return "[" + getDescriptor(((ArrayType) erased).getComponentType());
+    }
+    return nameOf(erased);
+  }
+
+  private String getDescriptor(final TypeMirror type) throws UnindexableException {
+    switch (type.getKind()) {
+    case BOOLEAN:
+      return "Z";
+    case BYTE:
+      return "B";
+    case CHAR:
+      return "C";
+    case SHORT:
+      return "S";
+    case INT:
+      return "I";
+    case LONG:
+      return "J";
+    case FLOAT:
+      return "F";
+    case DOUBLE:
+      return "D";
+    case ARRAY:
+      return "[" + getDescriptor(((ArrayType) type).getComponentType());
+    default:
+      return "L" + nameOf(type) + ";";
+    }
+  }
+
+  private TypeMirror getClassValue(final AnnotationMirror annotation, final String name)
+      throws UnindexableException {
+    return toClass(getValue(annotation, name));
+  }
+
+  private static TypeMirror toClass(final Object value) throws UnindexableException {
+    if (!(value instanceof TypeMirror)
+        || ((TypeMirror) value).getKind() != TypeKind.DECLARED && !((TypeMirror) value).getKind().isPrimitive()) {
+      throw new UnindexableException("Cannot index the class value " + value);
+    }
+    return (TypeMirror) value;
+  }
+
+  private Object getValue(final AnnotationMirror annotation, final String name) {
+    for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+        : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+      if (value.getKey().getSimpleName().contentEquals(name)) {
+        return value.getValue().getValue();
+      }
+    }
+    throw new IllegalArgumentException("Unknown annotation element " + name);
+  }
+
+  private static AnnotationMirror getAnnotation(final Element element, final Class<?> annotationType) {
+    for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+          .contentEquals(annotationType.getName())) {
+        return annotation;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isStatic(final TypeElement type) {
+    return type.getNestingKind() != NestingKind.MEMBER || type.getKind() != ElementKind.CLASS
+        || type.getModifiers().contains(Modifier.STATIC);
+  }
+
+  private static boolean isParameterized(final TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty();
+  }
+
+  /**
+   * Mirrors ReflectionUtilities.getSimpleName.
+   */
+  private static String getSimpleName(final String fullName) {
+    final String[] names = fullName.split("[\\.\\$]");
+    return names[names.length - 1];
+  }
+
+  private static ClassHierarchyProto.Node newClassNode(
+      final String fullName, final List<ClassHierarchyProto.ConstructorDef> injectableConstructors,
+      final List<ClassHierarchyProto.ConstructorDef> otherConstructors, final boolean isUnit,
+      final boolean isExternalConstructor, final String defaultImplementation) {
+    final ClassHierarchyProto.ClassNode.Builder classNode = ClassHierarchyProto.ClassNode.newBuilder()
+        .setIsInjectionCandidate(true)
+        .setIsExternalConstructor(isExternalConstructor)
+        .setIsUnit(isUnit)
+        .addAllInjectableConstructors(injectableConstructors)
+        .addAllOtherConstructors(otherConstructors);
+    if (defaultImplementation != null) {
+      classNode.setDefaultImplementation(defaultImplementation);
+    }
+    return ClassHierarchyProto.Node.newBuilder()
+        .setName(getSimpleName(fullName))
+        .setFullName(fullName)
+        .setClassNode(classNode)
+        .build();
+  }
+
+  /**
+   * A type reached by the index, which is a primitive type if it has no element.
+   */
+  private static final class Entry {
+
+    private final String fullName;
+    private final TypeElement element;
+    private final List<String> reach = new ArrayList<>();
+    private final List<String> supertypes = new ArrayList<>();
+    private final List<String> members = new ArrayList<>();
+    private final List<String> implFullNames = new ArrayList<>();
+    /**
+     * The constructor arguments with a named parameter, as pairs of type and named parameter.
+     */
+    private final List<String[]> parameterArgs = new ArrayList<>();
+    private String enclosing;
+    private ClassHierarchyProto.Node node;
+    private String fullArgName;
+    private boolean isSet;
+    private boolean isList;
+    private String shortName;
+    /**
+     * Why the type is left out of the index, or null if it is not.
+     */
+    private String error;
+
+    Entry(final String fullName, final TypeElement element) {
+      this.fullName = fullName;
+      this.element = element;
+    }
+
+    boolean isIndexed() {
+      return this.error == null && this.node != null;
+    }
+  }
+
+  /**
+   * Thrown when a type cannot be added to the index.
+   */
+  private static final class UnindexableException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    UnindexableException(final String message) {
+      super(message);
+    }
+  }
+}
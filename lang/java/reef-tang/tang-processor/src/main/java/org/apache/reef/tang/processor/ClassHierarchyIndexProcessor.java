@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.processor;
+
+import org.apache.reef.tang.implementation.java.ClassHierarchyIndex;
+import org.apache.reef.tang.proto.ClassHierarchyProto;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Writes a class hierarchy index of the compiled classes to {@link ClassHierarchyIndex#RESOURCE_NAME},
+ * which ClassHierarchyImpl loads instead of building the nodes of the indexed classes by reflection.
+ * <p>
+ * The processor runs for every compilation that has this module on its class path and claims no annotations.
+ * Jars that are shaded together need an AppendingTransformer for the index resource.
+ */
+@SupportedAnnotationTypes("*")
+public final class ClassHierarchyIndexProcessor extends AbstractProcessor {
+
+  /**
+   * The names of the top level classes of all rounds.
+   */
+  private final Set<String> typeNames = new LinkedHashSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    if (!roundEnv.processingOver()) {
+      for (final Element element : roundEnv.getRootElements()) {
+        if (element instanceof TypeElement) {
+          this.typeNames.add(((TypeElement) element).getQualifiedName().toString());
+        }
+      }
+    } else if (!this.typeNames.isEmpty()) {
+      writeIndex();
+    }
+    return false;
+  }
+
+  private void writeIndex() {
+    final ClassHierarchyIndexBuilder builder = new ClassHierarchyIndexBuilder(processingEnv);
+    for (final String typeName : this.typeNames) {
+      final TypeElement type = processingEnv.getElementUtils().getTypeElement(typeName);
+      if (type != null) {
+        builder.add(type);
+      }
+    }
+    final ClassHierarchyProto.Node index = builder.build();
+    try (final OutputStream output = processingEnv.getFiler()
+        .createResource(StandardLocation.CLASS_OUTPUT, "", ClassHierarchyIndex.RESOURCE_NAME).openOutputStream()) {
+      index.writeTo(output);
+    } catch (final IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+          "Could not write the class hierarchy index: " + e.getMessage());
+      return;
+    }
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Indexed " + builder.getNumberOfIndexedTypes()
+        + " of the " + builder.getNumberOfTypes() + " classes reached from " + this.typeNames.size() + " classes");
+  }
+}
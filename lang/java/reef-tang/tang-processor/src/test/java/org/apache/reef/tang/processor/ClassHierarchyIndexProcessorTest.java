@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.processor;
+
+import org.apache.reef.tang.exceptions.ClassHierarchyException;
+import org.apache.reef.tang.implementation.java.ClassHierarchyImpl;
+import org.apache.reef.tang.implementation.java.ClassHierarchyIndex;
+import org.apache.reef.tang.types.*;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.*;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.util.*;
+
+/**
+ * Compiles a few classes with the ClassHierarchyIndexProcessor and compares the indexed nodes
+ * with the ones ClassHierarchyImpl builds by reflection.
+ */
+public class ClassHierarchyIndexProcessorTest {
+
+  private static final String[][] SOURCES = {
+      {"fixture.Handler", "package fixture; public interface Handler<T> { }"},
+      {"fixture.Count", "package fixture; import org.apache.reef.tang.annotations.*;"
+          + " @NamedParameter(doc = \"count\", short_name = \"fixture_count\", default_value = \"3\")"
+          + " public final class Count implements Name<Integer> { }"},
+      {"fixture.Handlers", "package fixture; import org.apache.reef.tang.annotations.*; import java.util.Set;"
+          + " @NamedParameter(default_classes = A.class)"
+          + " public final class Handlers implements Name<Set<Handler<String>>> { }"},
+      {"fixture.Iface", "package fixture; import org.apache.reef.tang.annotations.*;"
+          + " @DefaultImplementation(A.class) public interface Iface { }"},
+      {"fixture.A", "package fixture; import org.apache.reef.tang.InjectionFuture;"
+          + " import org.apache.reef.tang.annotations.Parameter; import javax.inject.Inject;"
+          + " public final class A implements Iface, Handler<String> {"
+          + " @Inject A(@Parameter(Count.class) final int count, final InjectionFuture<B> b) { } }"},
+      {"fixture.B", "package fixture; import javax.inject.Inject;"
+          + " public final class B { @Inject public B() { } public B(final String[] names) { }"
+          + " public static final class Inner { @Inject Inner(final A a) { } } }"},
+      {"fixture.Color", "package fixture; public enum Color { RED }"},
+      {"fixture.UsesEnum", "package fixture; import javax.inject.Inject;"
+          + " public final class UsesEnum { @Inject UsesEnum(final Color color) { } }"},
+      {"fixture.Mismatch", "package fixture; import org.apache.reef.tang.annotations.Parameter;"
+          + " import javax.inject.Inject;"
+          + " public final class Mismatch { @Inject Mismatch(@Parameter(Count.class) final String count) { } }"},
+  };
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private File classes;
+
+  @Before
+  public void setUp() throws Exception {
+    this.classes = this.folder.newFolder("classes");
+    final List<JavaFileObject> sources = new ArrayList<>();
+    for (final String[] source : SOURCES) {
+      sources.add(new SimpleJavaFileObject(URI.create("string:///" + source[0].replace('.', '/') + ".java"),
+          JavaFileObject.Kind.SOURCE) {
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+          return source[1];
+        }
+      });
+    }
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final JavaCompiler.CompilationTask task = compiler.getTask(null, null, null,
+        Arrays.asList("-d", this.classes.getPath(), "-classpath", System.getProperty("java.class.path")),
+        null, sources);
+    task.setProcessors(Collections.singletonList(new ClassHierarchyIndexProcessor()));
+    Assert.assertTrue(task.call());
+    Assert.assertTrue(new File(this.classes, ClassHierarchyIndex.RESOURCE_NAME).isFile());
+  }
+
+  @Test
+  public void testIndexedNodesMatchReflection() throws Exception {
+    final ClassHierarchyImpl indexed = new ClassHierarchyImpl(this.classes.toURI().toURL());
+    final PackageNode namespace = indexed.getNamespace();
+    for (final String name : new String[]{"fixture.Handler", "fixture.Count", "fixture.Handlers", "fixture.Iface",
+        "fixture.A", "fixture.B", "int", "java.lang.Object"}) {
+      Assert.assertTrue(name + " is not indexed", namespace.contains(name));
+    }
+    Assert.assertFalse(namespace.contains("fixture.UsesEnum"));
+    Assert.assertFalse(namespace.contains("fixture.Mismatch"));
+    Assert.assertTrue(namespace.get("fixture.B").contains("Inner"));
+
+    final ClassHierarchyImpl reflective = newReflectiveClassHierarchy();
+    for (final String name : new String[]{"fixture.Handler", "fixture.Count", "fixture.Handlers", "fixture.Iface",
+        "fixture.A", "fixture.B", "fixture.B$Inner"}) {
+      assertSameNode(reflective.getNode(name), indexed.getNode(name));
+    }
+    Assert.assertTrue(((ClassNode<?>) indexed.getNode("fixture.A"))
+        .isImplementationOf((ClassNode<?>) indexed.getNode("fixture.Iface")));
+  }
+
+  @Test
+  public void testFallbackToReflection() throws Exception {
+    final ClassHierarchyImpl indexed = new ClassHierarchyImpl(this.classes.toURI().toURL());
+    assertSameNode(newReflectiveClassHierarchy().getNode("fixture.UsesEnum"), indexed.getNode("fixture.UsesEnum"));
+    try {
+      indexed.getNode("fixture.Mismatch");
+      Assert.fail("Registered a constructor whose argument does not match its named parameter");
+    } catch (final ClassHierarchyException e) {
+      Assert.assertTrue(e.getMessage().contains("Named parameter type mismatch"));
+    }
+  }
+
+  private ClassHierarchyImpl newReflectiveClassHierarchy() throws Exception {
+    final File copy = this.folder.newFolder("reflective");
+    for (final File file : listFiles(this.classes)) {
+      final String path = this.classes.toURI().relativize(file.toURI()).getPath();
+      if (path.endsWith(".class")) {
+        final File target = new File(copy, path);
+        Assert.assertTrue(target.getParentFile().isDirectory() || target.getParentFile().mkdirs());
+        java.nio.file.Files.copy(file.toPath(), target.toPath());
+      }
+    }
+    return new ClassHierarchyImpl(new URL[]{copy.toURI().toURL()});
+  }
+
+  private static List<File> listFiles(final File directory) {
+    final List<File> files = new ArrayList<>();
+    for (final File file : directory.listFiles()) {
+      if (file.isDirectory()) {
+        files.addAll(listFiles(file));
+      } else {
+        files.add(file);
+      }
+    }
+    return files;
+  }
+
+  private static void assertSameNode(final Node expected, final Node actual) {
+    Assert.assertEquals(expected.getName(), actual.getName());
+    Assert.assertEquals(expected.getFullName(), actual.getFullName());
+    Assert.assertEquals(expected.getParent().getFullName(), actual.getParent().getFullName());
+    if (expected instanceof NamedParameterNode) {
+      final NamedParameterNode<?> expectedParameter = (NamedParameterNode<?>) expected;
+      final NamedParameterNode<?> actualParameter = (NamedParameterNode<?>) actual;
+      Assert.assertEquals(expectedParameter.getFullArgName(), actualParameter.getFullArgName());
+      Assert.assertEquals(expectedParameter.getSimpleArgName(), actualParameter.getSimpleArgName());
+      Assert.assertEquals(expectedParameter.isSet(), actualParameter.isSet());
+      Assert.assertEquals(expectedParameter.isList(), actualParameter.isList());
+      Assert.assertEquals(expectedParameter.getDocumentation(), actualParameter.getDocumentation());
+      Assert.assertEquals(expectedParameter.getShortName(), actualParameter.getShortName());
+      Assert.assertArrayEquals(expectedParameter.getDefaultInstanceAsStrings(),
+          actualParameter.getDefaultInstanceAsStrings());
+    } else {
+      final ClassNode<?> expectedClass = (ClassNode<?>) expected;
+      final ClassNode<?> actualClass = (ClassNode<?>) actual;
+      Assert.assertEquals(expectedClass.isUnit(), actualClass.isUnit());
+      Assert.assertEquals(expectedClass.isInjectionCandidate(), actualClass.isInjectionCandidate());
+      Assert.assertEquals(expectedClass.isExternalConstructor(), actualClass.isExternalConstructor());
+      Assert.assertEquals(expectedClass.getDefaultImplementation(), actualClass.getDefaultImplementation());
+      Assert.assertEquals(describe(expectedClass.getInjectableConstructors()),
+          describe(actualClass.getInjectableConstructors()));
+      Assert.assertEquals(describe(expectedClass.getAllConstructors()), describe(actualClass.getAllConstructors()));
+    }
+  }
+
+  private static Set<String> describe(final ConstructorDef<?>[] constructors) {
+    final Set<String> descriptions = new TreeSet<>();
+    for (final ConstructorDef<?> constructor : constructors) {
+      final StringBuilder sb = new StringBuilder(constructor.getClassName());
+      for (final ConstructorArg arg : constructor.getArgs()) {
+        sb.append(' ').append(arg.getType()).append('/').append(arg.getNamedParameterName())
+            .append('/').append(arg.isInjectionFuture());
+      }
+      descriptions.add(sb.toString());
+    }
+    return descriptions;
+  }
+}
@@ -26,17 +26,20 @@ import org.apache.reef.tang.implementation.java.JavaConfigurationBuilderImpl;
 
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class TangImpl implements Tang {
 
-  private static Map<SetValuedKey, JavaClassHierarchy> defaultClassHierarchy = new HashMap<>();
+  private static final ConcurrentMap<SetValuedKey, JavaClassHierarchy> DEFAULT_CLASS_HIERARCHY =
+      new ConcurrentHashMap<>();
 
   /**
    * Only for testing. Deletes Tang's current database of known classes, forcing
    * it to rebuild them over time.
    */
   public static void reset() {
-    defaultClassHierarchy = new HashMap<>();
+    DEFAULT_CLASS_HIERARCHY.clear();
   }
 
   @Override
@@ -102,12 +105,14 @@ public class TangImpl implements Tang {
                                                      final Class<? extends ExternalConstructor<?>>[] parameterParsers) {
     final SetValuedKey key = new SetValuedKey(jars, parameterParsers);
 
-    JavaClassHierarchy ret = defaultClassHierarchy.get(key);
-    if (ret == null) {
-      ret = new ClassHierarchyImpl(jars, parameterParsers);
-      defaultClassHierarchy.put(key, ret);
+    final JavaClassHierarchy ret = DEFAULT_CLASS_HIERARCHY.get(key);
+    if (ret != null) {
+      return ret;
     }
-    return ret;
+    // Threads that race here all end up using the class hierarchy that was cached first
+    final JavaClassHierarchy created = new ClassHierarchyImpl(jars, parameterParsers);
+    final JavaClassHierarchy previous = DEFAULT_CLASS_HIERARCHY.putIfAbsent(key, created);
+    return previous != null ? previous : created;
   }
 
   @Override
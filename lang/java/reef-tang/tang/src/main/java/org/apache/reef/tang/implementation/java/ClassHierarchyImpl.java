@@ -20,6 +20,7 @@ package org.apache.reef.tang.implementation.java;
 
 import org.apache.reef.tang.ClassHierarchy;
 import org.apache.reef.tang.ExternalConstructor;
+import org.apache.reef.tang.InjectionFuture;
 import org.apache.reef.tang.JavaClassHierarchy;
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.NamedParameter;
@@ -36,6 +37,8 @@ import java.lang.reflect.Type;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ClassHierarchyImpl implements JavaClassHierarchy {
   // TODO Want to add a "register namespace" method, but Java is not designed
@@ -72,6 +75,20 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
    * sanity check short names so that name clashes get resolved.
    */
   private final Map<String, NamedParameterNode<?>> shortNames = new MonotonicTreeMap<>();
+  /**
+   * The nodes that getNode() returned so far, by the name they were looked up with.
+   * Lookups of these do not take the registration lock.
+   */
+  private final ConcurrentMap<String, Node> registeredNodes = new ConcurrentHashMap<>();
+  /**
+   * Guards the registration of new classes, which modifies the namespace and the short names.
+   */
+  private final Object registrationLock = new Object();
+  /**
+   * The constructors that injectors resolved so far, keyed by class and parameter types.
+   * Injectors of all configurations that use this class hierarchy share them.
+   */
+  private final ConcurrentMap<String, ConstructorHandle<?>> constructorHandles = new ConcurrentHashMap<>();
 
   @SuppressWarnings("unchecked")
   public ClassHierarchyImpl() {
@@ -94,6 +111,12 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
         throw new IllegalArgumentException("Could not register parameter parsers", e);
       }
     }
+    // The indexes were checked against the built-in parameter parsers only
+    if (parameterParsers.length == 0) {
+      for (final NamedParameterNode<?> np : ClassHierarchyIndex.load(loader, namespace)) {
+        registerShortName(np);
+      }
+    }
   }
 
   /**
@@ -190,6 +213,39 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
     return ReflectionUtilities.classForName(name, loader);
   }
 
+  /**
+   * Resolve the Java constructor of a ConstructorDef, or reuse the one resolved before.
+   */
+  @SuppressWarnings("unchecked")
+  <T> ConstructorHandle<T> getConstructorHandle(final ConstructorDef<T> def)
+      throws ClassNotFoundException, NoSuchMethodException {
+    // ConstructorDef.equals() only compares argument names, so key by the signature
+    final StringBuilder signature = new StringBuilder(def.getClassName()).append('(');
+    for (final ConstructorArg arg : def.getArgs()) {
+      signature.append(arg.isInjectionFuture() ? InjectionFuture.class.getName() : arg.getType()).append(',');
+    }
+    final String key = signature.append(')').toString();
+    final ConstructorHandle<T> cached = (ConstructorHandle<T>) constructorHandles.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    final Class<T> clazz = (Class<T>) classForName(def.getClassName());
+    final ConstructorArg[] args = def.getArgs();
+    final Class<?>[] parameterTypes = new Class[args.length];
+    for (int i = 0; i < args.length; i++) {
+      if (args[i].isInjectionFuture()) {
+        parameterTypes[i] = InjectionFuture.class;
+      } else {
+        parameterTypes[i] = classForName(args[i].getType());
+      }
+    }
+    final java.lang.reflect.Constructor<T> constructor = clazz.getDeclaredConstructor(parameterTypes);
+    constructor.setAccessible(true);
+    final ConstructorHandle<T> handle = new ConstructorHandle<>(constructor);
+    final ConstructorHandle<?> previous = constructorHandles.putIfAbsent(key, handle);
+    return previous != null ? (ConstructorHandle<T>) previous : handle;
+  }
+
   private <T, U> Node buildPathToNode(final Class<U> clazz)
       throws ClassHierarchyException {
     final String[] path = clazz.getName().split("\\$");
@@ -220,21 +276,25 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
             " defines default implementation for parsable type " + ReflectionUtilities.getFullName(argType));
       }
 
-      final String shortName = np.getShortName();
-      if (shortName != null) {
-        final NamedParameterNode<?> oldNode = shortNames.get(shortName);
-        if (oldNode != null) {
-          if (oldNode.getFullName().equals(np.getFullName())) {
-            throw new IllegalStateException("Tried to double bind "
-                + oldNode.getFullName() + " to short name " + shortName);
-          }
-          throw new ClassHierarchyException("Named parameters " + oldNode.getFullName()
-              + " and " + np.getFullName() + " have the same short name: "
-              + shortName);
+      registerShortName(np);
+      return np;
+    }
+  }
+
+  private void registerShortName(final NamedParameterNode<?> np) {
+    final String shortName = np.getShortName();
+    if (shortName != null) {
+      final NamedParameterNode<?> oldNode = shortNames.get(shortName);
+      if (oldNode != null) {
+        if (oldNode.getFullName().equals(np.getFullName())) {
+          throw new IllegalStateException("Tried to double bind "
+              + oldNode.getFullName() + " to short name " + shortName);
         }
-        shortNames.put(shortName, np);
+        throw new ClassHierarchyException("Named parameters " + oldNode.getFullName()
+            + " and " + np.getFullName() + " have the same short name: "
+            + shortName);
       }
-      return np;
+      shortNames.put(shortName, np);
     }
   }
 
@@ -253,15 +313,22 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
   }
 
   @Override
-  public synchronized Node getNode(final String name) throws NameResolutionException {
-    final Node n = register(name);
-    if (n == null) {
-      // This will never succeed; it just generates a nice exception.
-      getAlreadyBoundNode(name);
-      throw new IllegalStateException("IMPLEMENTATION BUG: Register failed, "
-          + "but getAlreadyBoundNode succeeded!");
+  public Node getNode(final String name) throws NameResolutionException {
+    final Node registered = registeredNodes.get(name);
+    if (registered != null) {
+      return registered;
+    }
+    synchronized (registrationLock) {
+      final Node n = register(name);
+      if (n == null) {
+        // This will never succeed; it just generates a nice exception.
+        getAlreadyBoundNode(name);
+        throw new IllegalStateException("IMPLEMENTATION BUG: Register failed, "
+            + "but getAlreadyBoundNode succeeded!");
+      }
+      registeredNodes.put(name, n);
+      return n;
     }
-    return n;
   }
 
   private Node getAlreadyBoundNode(final String name) throws NameResolutionException {
@@ -289,18 +356,18 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
   }
 
   private Node register(final String s) {
+    // Indexed classes are bound without loading them
+    try {
+      return getAlreadyBoundNode(s);
+    } catch (final NameResolutionException ignored) {
+      // node not bound yet
+    }
     final Class<?> c;
     try {
       c = classForName(s);
     } catch (final ClassNotFoundException e1) {
       return null;
     }
-    try {
-      final Node n = getAlreadyBoundNode(c);
-      return n;
-    } catch (final NameResolutionException ignored) {
-      // node not bound yet
-    }
     // First, walk up the class hierarchy, registering all out parents. This
     // can't be loopy.
     if (c.getSuperclass() != null) {
@@ -417,12 +484,12 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
   }
 
   @Override
-  public synchronized boolean isImplementation(final ClassNode<?> inter, final ClassNode<?> impl) {
+  public boolean isImplementation(final ClassNode<?> inter, final ClassNode<?> impl) {
     return impl.isImplementationOf(inter);
   }
 
   @Override
-  public synchronized ClassHierarchy merge(final ClassHierarchy ch) {
+  public ClassHierarchy merge(final ClassHierarchy ch) {
     if (this == ch) {
       return this;
     }
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.java;
+
+import org.apache.reef.tang.implementation.types.ClassNodeImpl;
+import org.apache.reef.tang.implementation.types.ConstructorArgImpl;
+import org.apache.reef.tang.implementation.types.ConstructorDefImpl;
+import org.apache.reef.tang.implementation.types.NamedParameterNodeImpl;
+import org.apache.reef.tang.proto.ClassHierarchyProto;
+import org.apache.reef.tang.types.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads the class hierarchy indexes that the tang-processor annotation processor writes at compile time.
+ * <p>
+ * An index is the {@link ClassHierarchyProto.Node} of the root package, as ProtocolBufferClassHierarchy reads it.
+ * It holds a class only together with every class that registering it by reflection reaches,
+ * so a class hierarchy can use the indexed nodes as they are and fall back to reflection for the other classes.
+ * Indexes concatenated into one resource, e.g. by a shading AppendingTransformer, parse as a single index.
+ */
+public final class ClassHierarchyIndex {
+
+  private static final Logger LOG = Logger.getLogger(ClassHierarchyIndex.class.getName());
+
+  /**
+   * The name of the class hierarchy index resources.
+   */
+  public static final String RESOURCE_NAME = "META-INF/tang/class-hierarchy.bin";
+
+  /**
+   * Adds the nodes of all indexes visible to the class loader to the namespace.
+   * Nodes already in the namespace are kept; their implementations are merged.
+   *
+   * @param loader    the class loader to get the indexes from
+   * @param namespace the root package of the class hierarchy
+   * @return the named parameter nodes that were added
+   */
+  static List<NamedParameterNode<?>> load(final ClassLoader loader, final PackageNode namespace) {
+    final List<ClassHierarchyProto.Node> indexes = read(loader);
+    final Map<String, Node> nodes = new HashMap<>();
+    final List<NamedParameterNode<?>> namedParameters = new ArrayList<>();
+    for (final ClassHierarchyProto.Node index : indexes) {
+      for (final ClassHierarchyProto.Node child : index.getChildrenList()) {
+        mergeSubHierarchy(namespace, child, nodes, namedParameters);
+      }
+    }
+    for (final ClassHierarchyProto.Node index : indexes) {
+      for (final ClassHierarchyProto.Node child : index.getChildrenList()) {
+        wireUpInheritanceRelationships(child, nodes);
+      }
+    }
+    if (!indexes.isEmpty()) {
+      LOG.log(Level.FINE, "Loaded {0} class hierarchy nodes from {1} indexes",
+          new Object[]{nodes.size(), indexes.size()});
+    }
+    return namedParameters;
+  }
+
+  private static List<ClassHierarchyProto.Node> read(final ClassLoader loader) {
+    final List<ClassHierarchyProto.Node> indexes = new ArrayList<>();
+    final Enumeration<URL> urls;
+    try {
+      urls = loader.getResources(RESOURCE_NAME);
+    } catch (final IOException e) {
+      LOG.log(Level.WARNING, "Could not look up the class hierarchy indexes", e);
+      return indexes;
+    }
+    while (urls.hasMoreElements()) {
+      final URL url = urls.nextElement();
+      try (final InputStream stream = url.openStream()) {
+        indexes.add(ClassHierarchyProto.Node.parseFrom(stream));
+      } catch (final IOException e) {
+        // Reflection covers whatever the index would have
+        LOG.log(Level.WARNING, "Could not read the class hierarchy index " + url, e);
+      }
+    }
+    return indexes;
+  }
+
+  private static void mergeSubHierarchy(final Node parent, final ClassHierarchyProto.Node n,
+                                        final Map<String, Node> nodes,
+                                        final List<NamedParameterNode<?>> namedParameters) {
+    // The root package uses full names as keys, see PackageNodeImpl
+    Node parsed = parent.get(parent instanceof PackageNode ? n.getFullName() : n.getName());
+    if (parsed == null) {
+      parsed = parseNode(parent, n);
+      if (parsed instanceof NamedParameterNode) {
+        namedParameters.add((NamedParameterNode<?>) parsed);
+      }
+    }
+    nodes.put(n.getFullName(), parsed);
+    for (final ClassHierarchyProto.Node child : n.getChildrenList()) {
+      mergeSubHierarchy(parsed, child, nodes, namedParameters);
+    }
+  }
+
+  private static Node parseNode(final Node parent, final ClassHierarchyProto.Node n) {
+    if (n.hasNamedParameterNode()) {
+      final ClassHierarchyProto.NamedParameterNode np = n.getNamedParameterNode();
+      return new NamedParameterNodeImpl<Object>(parent, n.getName(),
+          n.getFullName(), np.getFullArgClassName(), np.getSimpleArgClassName(),
+          np.getIsSet(), np.getIsList(), np.getDocumentation(), np.hasShortName() ? np.getShortName() : null,
+          np.getInstanceDefaultList().toArray(new String[0]));
+    } else if (n.hasClassNode()) {
+      final ClassHierarchyProto.ClassNode cn = n.getClassNode();
+      final List<ConstructorDef<?>> injectableConstructors = new ArrayList<>();
+      final List<ConstructorDef<?>> allConstructors = new ArrayList<>();
+      for (final ClassHierarchyProto.ConstructorDef injectable : cn.getInjectableConstructorsList()) {
+        final ConstructorDef<?> def = parseConstructorDef(injectable, true);
+        injectableConstructors.add(def);
+        allConstructors.add(def);
+      }
+      for (final ClassHierarchyProto.ConstructorDef other : cn.getOtherConstructorsList()) {
+        allConstructors.add(parseConstructorDef(other, false));
+      }
+      @SuppressWarnings("unchecked") final ConstructorDef<Object>[] dummy = new ConstructorDef[0];
+      return new ClassNodeImpl<>(parent, n.getName(), n.getFullName(),
+          cn.getIsUnit(), cn.getIsInjectionCandidate(),
+          cn.getIsExternalConstructor(), injectableConstructors.toArray(dummy),
+          allConstructors.toArray(dummy), cn.hasDefaultImplementation() ? cn.getDefaultImplementation() : null);
+    } else {
+      throw new IllegalStateException("Bad class hierarchy index: got non-class node " + n.getFullName());
+    }
+  }
+
+  private static ConstructorDef<?> parseConstructorDef(final ClassHierarchyProto.ConstructorDef def,
+                                                       final boolean isInjectable) {
+    final List<ConstructorArg> args = new ArrayList<>();
+    for (final ClassHierarchyProto.ConstructorArg arg : def.getArgsList()) {
+      args.add(new ConstructorArgImpl(arg.getFullArgClassName(),
+          arg.hasNamedParameterName() ? arg.getNamedParameterName() : null, arg.getIsInjectionFuture()));
+    }
+    return new ConstructorDefImpl<>(def.getFullClassName(), args.toArray(new ConstructorArg[0]), isInjectable);
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static void wireUpInheritanceRelationships(final ClassHierarchyProto.Node n, final Map<String, Node> nodes) {
+    if (n.hasClassNode() && n.getClassNode().getImplFullNamesCount() > 0) {
+      final ClassNode iface = (ClassNode) nodes.get(n.getFullName());
+      final Set<ClassNode> knownImpls = iface.getKnownImplementations();
+      for (final String implName : n.getClassNode().getImplFullNamesList()) {
+        final Node impl = nodes.get(implName);
+        if (!(impl instanceof ClassNode)) {
+          throw new IllegalStateException("Bad class hierarchy index: " + n.getFullName()
+              + " refers to non-existent implementation " + implName);
+        }
+        if (!knownImpls.contains(impl)) {
+          knownImpls.add((ClassNode) impl);
+          iface.putImpl((ClassNode) impl);
+        }
+      }
+    }
+    for (final ClassHierarchyProto.Node child : n.getChildrenList()) {
+      wireUpInheritanceRelationships(child, nodes);
+    }
+  }
+
+  /**
+   * Empty private constructor to prohibit instantiation of utility class.
+   */
+  private ClassHierarchyIndex() {
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.java;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+/**
+ * A constructor that was resolved once and is invoked through a MethodHandle,
+ * which spreads the argument array and unboxes primitive arguments.
+ * Constructors that cannot be invoked through a handle, e.g. those of abstract classes, fall back to reflection
+ * so that they fail the same way as before.
+ *
+ * @param <T> The type of the constructed instances
+ */
+final class ConstructorHandle<T> {
+
+  private final Constructor<T> constructor;
+  private final MethodHandle handle;
+
+  ConstructorHandle(final Constructor<T> constructor) {
+    this.constructor = constructor;
+    this.handle = newHandle(constructor);
+  }
+
+  private static MethodHandle newHandle(final Constructor<?> constructor) {
+    if (Modifier.isAbstract(constructor.getDeclaringClass().getModifiers())) {
+      return null;
+    }
+    final int arity = constructor.getParameterTypes().length;
+    try {
+      return MethodHandles.lookup().unreflectConstructor(constructor)
+          .asType(MethodType.genericMethodType(arity))
+          .asSpreader(Object[].class, arity);
+    } catch (final IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return The constructor, e.g. to pass it to an Aspect.
+   */
+  Constructor<T> getConstructor() {
+    return this.constructor;
+  }
+
+  /**
+   * Invoke the constructor.
+   *
+   * @param args The arguments, in the order of the constructor parameters.
+   * @return The new instance.
+   * @throws InvocationTargetException if the constructor threw.
+   * @throws InstantiationException    if the class is abstract.
+   * @throws IllegalAccessException    if the constructor could not be made accessible.
+   */
+  @SuppressWarnings({"unchecked", "checkstyle:illegalcatch"})
+  T newInstance(final Object[] args)
+      throws InvocationTargetException, InstantiationException, IllegalAccessException {
+    if (this.handle == null) {
+      return this.constructor.newInstance(args);
+    }
+    try {
+      return (T) (Object) this.handle.invokeExact(args);
+    } catch (final Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+}
@@ -74,12 +74,35 @@ public class InjectorImpl implements Injector {
     }
 
   };
+  /**
+   * The number of configurations whose forks an injector keeps, see forkInjector().
+   */
+  private static final int MAX_CACHED_FORKS = 16;
   private final Map<ClassNode<?>, Object> instances = new TracingMonotonicTreeMap<>();
   private final Map<NamedParameterNode<?>, Object> namedParameterInstances = new TracingMonotonicTreeMap<>();
   private final Configuration c;
   private final ClassHierarchy namespace;
-  private final JavaClassHierarchy javaNamespace;
+  private final ClassHierarchyImpl javaNamespace;
   private final Set<InjectionFuture<?>> pendingFutures = new HashSet<>();
+  /**
+   * The injectable plans of the nodes that were injected so far.
+   * Binding a volatile instance or parameter clears them.
+   */
+  private final Map<Node, InjectionPlan<?>> injectablePlans = new HashMap<>();
+  /**
+   * The forks of this injector by the configuration that was added to them, most recently used last.
+   * Binding a volatile instance or parameter clears them.
+   */
+  private final Map<Configuration, Fork> forks = new LinkedHashMap<Configuration, Fork>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Configuration, Fork> eldest) {
+      return size() > MAX_CACHED_FORKS;
+    }
+  };
+  /**
+   * The fork this injector was created as, until it injects or binds anything.
+   */
+  private Fork fork;
   private boolean concurrentModificationGuard = false;
   private Aspect aspect;
 
@@ -92,15 +115,26 @@ public class InjectorImpl implements Injector {
   private static InjectorImpl copy(final InjectorImpl old,
                                    final Configuration... configurations) throws BindException {
     final InjectorImpl i;
-    try {
-      final ConfigurationBuilder cb = old.c.newBuilder();
-      for (final Configuration c : configurations) {
-        cb.addConfiguration(c);
+    final Fork cached = configurations.length == 1 ? old.forks.get(configurations[0]) : null;
+    if (cached != null && cached.added.getClassHierarchy() == configurations[0].getClassHierarchy()) {
+      i = new InjectorImpl(cached.configuration);
+      i.injectablePlans.putAll(cached.plans);
+      i.fork = cached;
+    } else {
+      try {
+        final ConfigurationBuilder cb = old.c.newBuilder();
+        for (final Configuration c : configurations) {
+          cb.addConfiguration(c);
+        }
+        i = new InjectorImpl(cb.build());
+      } catch (final BindException e) {
+        throw new IllegalStateException(
+            "Unexpected error copying configuration!", e);
+      }
+      if (configurations.length == 1) {
+        i.fork = new Fork(configurations[0], i.c);
+        old.forks.put(configurations[0], i.fork);
       }
-      i = new InjectorImpl(cb.build());
-    } catch (final BindException e) {
-      throw new IllegalStateException(
-          "Unexpected error copying configuration!", e);
     }
     for (final ClassNode<?> cn : old.instances.keySet()) {
       if (cn.getFullName().equals(ReflectionUtilities.getFullName(Injector.class))
@@ -509,9 +543,58 @@ public class InjectorImpl implements Injector {
     return isParameterSet(name.getName());
   }
 
+  @SuppressWarnings("unchecked")
+  private <U> InjectionPlan<U> getInjectablePlan(final Node n) {
+    InjectionPlan<?> plan = injectablePlans.get(n);
+    if (plan == null) {
+      plan = getInjectionPlan(n);
+      if (plan.isInjectable()) {
+        injectablePlans.put(n, plan);
+        if (fork != null && !injectsInstance(plan,
+            Collections.newSetFromMap(new IdentityHashMap<InjectionPlan<?>, Boolean>()))) {
+          fork.plans.put(n, plan);
+        }
+      }
+    }
+    return (InjectionPlan<U>) plan;
+  }
+
+  /**
+   * Checks whether the plan injects an instance bound to a class, such as this injector.
+   * Such plans are not shared with other forks, as they would inject, and keep alive, the instances of this one.
+   *
+   * @param plan    the plan to check
+   * @param visited the sub-plans checked so far
+   * @return true if the plan or one of its sub-plans injects an instance bound to a class
+   */
+  private static boolean injectsInstance(final InjectionPlan<?> plan, final Set<InjectionPlan<?>> visited) {
+    if (!visited.add(plan)) {
+      return false;
+    }
+    if (plan instanceof JavaInstance) {
+      return plan.getNode() instanceof ClassNode;
+    }
+    final Collection<? extends InjectionPlan<?>> children;
+    if (plan instanceof SetInjectionPlan) {
+      children = ((SetInjectionPlan<?>) plan).getEntryPlans();
+    } else if (plan instanceof ListInjectionPlan) {
+      children = ((ListInjectionPlan<?>) plan).getEntryPlans();
+    } else {
+      children = plan.getChildren();
+    }
+    for (final InjectionPlan<?> child : children) {
+      if (injectsInstance(child, visited)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private <U> U getInstance(final Node n) throws InjectionException {
     assertNotConcurrent();
-    @SuppressWarnings("unchecked") final InjectionPlan<U> plan = (InjectionPlan<U>) getInjectionPlan(n);
+    final InjectionPlan<U> plan = getInjectablePlan(n);
+    // Later plans may depend on the instances this injects
+    fork = null;
     final U u = (U) injectFromPlan(plan);
 
     while (!pendingFutures.isEmpty()) {
@@ -551,26 +634,6 @@ public class InjectorImpl implements Injector {
     return getNamedInstance(clazz);
   }
 
-  private <T> java.lang.reflect.Constructor<T> getConstructor(
-      final ConstructorDef<T> constructor) throws ClassNotFoundException,
-      NoSuchMethodException, SecurityException {
-    @SuppressWarnings("unchecked") final Class<T> clazz =
-        (Class<T>) javaNamespace.classForName(constructor.getClassName());
-    final ConstructorArg[] args = constructor.getArgs();
-    final Class<?>[] parameterTypes = new Class[args.length];
-    for (int i = 0; i < args.length; i++) {
-      if (args[i].isInjectionFuture()) {
-        parameterTypes[i] = InjectionFuture.class;
-      } else {
-        parameterTypes[i] = javaNamespace.classForName(args[i].getType());
-      }
-    }
-    final java.lang.reflect.Constructor<T> cons = clazz
-        .getDeclaredConstructor(parameterTypes);
-    cons.setAccessible(true);
-    return cons;
-  }
-
   /**
    * This gets really nasty now that constructors can invoke operations on us.
    * The upshot is that we should check to see if instances have been
@@ -629,10 +692,10 @@ public class InjectorImpl implements Injector {
         T ret;
         try {
           final ConstructorDef<T> def = constructor.getConstructorDef();
-          final java.lang.reflect.Constructor<T> construct = getConstructor(def);
+          final ConstructorHandle<T> construct = javaNamespace.getConstructorHandle(def);
 
           if (aspect != null) {
-            ret = aspect.inject(def, construct, args);
+            ret = aspect.inject(def, construct.getConstructor(), args);
           } else {
             ret = construct.newInstance(args);
           }
@@ -700,6 +763,7 @@ public class InjectorImpl implements Injector {
             + old + " new value is " + o);
       }
       instances.put(cn, o);
+      invalidatePlans();
     } else {
       throw new IllegalArgumentException("Expected Class but got " + cl
           + " (probably a named parameter).");
@@ -720,6 +784,7 @@ public class InjectorImpl implements Injector {
       }
       try {
         namedParameterInstances.put(np, o);
+        invalidatePlans();
       } catch (final IllegalArgumentException e) {
         throw new BindException(
             "Attempt to bind named parameter " + ReflectionUtilities.getFullName(cl) + " failed. "
@@ -732,6 +797,12 @@ public class InjectorImpl implements Injector {
     }
   }
 
+  private void invalidatePlans() {
+    injectablePlans.clear();
+    forks.clear();
+    fork = null;
+  }
+
   @Override
   public Injector forkInjector() {
     try {
@@ -761,4 +832,22 @@ public class InjectorImpl implements Injector {
   public Aspect getAspect() {
     return aspect;
   }
+
+  /**
+   * A fork of an injector by one configuration: the merged configuration, and the injectable plans
+   * that forks resolved before they injected or bound anything.
+   * Later forks by an equal configuration reuse both.  The plans stay valid as the parent only gains instances,
+   * which injectFromPlan() prefers to the plans, and volatile bindings of the parent drop its forks.
+   * Plans that inject an instance bound to a class, such as the fork itself as Injector, are not kept.
+   */
+  private static final class Fork {
+    private final Configuration added;
+    private final Configuration configuration;
+    private final Map<Node, InjectionPlan<?>> plans = new HashMap<>();
+
+    Fork(final Configuration added, final Configuration configuration) {
+      this.added = added;
+      this.configuration = configuration;
+    }
+  }
 }
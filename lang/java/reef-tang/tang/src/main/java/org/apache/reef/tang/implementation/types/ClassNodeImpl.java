@@ -27,6 +27,7 @@ import org.apache.reef.tang.util.MonotonicSet;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 public class ClassNodeImpl<T> extends AbstractNode implements ClassNode<T> {
   private final boolean injectable;
@@ -34,7 +35,10 @@ public class ClassNodeImpl<T> extends AbstractNode implements ClassNode<T> {
   private final boolean externalConstructor;
   private final ConstructorDef<T>[] injectableConstructors;
   private final ConstructorDef<T>[] allConstructors;
-  private final MonotonicSet<ClassNode<T>> knownImpls;
+  /**
+   * Concurrent, as class hierarchies check implementations without holding their registration lock.
+   */
+  private final Set<ClassNode<T>> knownImpls;
   private final String defaultImpl;
 
   public ClassNodeImpl(final Node parent, final String simpleName, final String fullName,
@@ -48,7 +52,7 @@ public class ClassNodeImpl<T> extends AbstractNode implements ClassNode<T> {
     this.externalConstructor = externalConstructor;
     this.injectableConstructors = injectableConstructors;
     this.allConstructors = allConstructors;
-    this.knownImpls = new MonotonicSet<>();
+    this.knownImpls = new ConcurrentSkipListSet<>();
     this.defaultImpl = defaultImplementation;
   }
 
@@ -102,12 +106,16 @@ public class ClassNodeImpl<T> extends AbstractNode implements ClassNode<T> {
 
   @Override
   public void putImpl(final ClassNode<T> impl) {
-    knownImpls.add(impl);
+    if (!knownImpls.add(impl)) {
+      throw new IllegalArgumentException("Attempt to re-add " + impl + " to the implementations of " + getFullName());
+    }
   }
 
   @Override
   public Set<ClassNode<T>> getKnownImplementations() {
-    return new MonotonicSet<>(knownImpls);
+    final Set<ClassNode<T>> impls = new MonotonicSet<>();
+    impls.addAll(knownImpls);
+    return impls;
   }
 
   @Override
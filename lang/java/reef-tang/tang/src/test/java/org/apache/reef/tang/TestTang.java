@@ -39,6 +39,7 @@ import org.junit.rules.ExpectedException;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 
 interface SMC {
 }
@@ -234,6 +235,66 @@ public class TestTang {
     Assert.assertEquals("volatile", i.getInstance(OneNamedStringArg.class).s);
   }
 
+  @Test
+  public void testVolatileBindingAfterInjection() throws BindException,
+      InjectionException {
+    final Injector i = tang.newInjector();
+    Assert.assertEquals("default", i.getNamedInstance(OneNamedStringArg.A.class));
+    i.bindVolatileParameter(OneNamedStringArg.A.class, "volatile");
+    Assert.assertEquals("volatile", i.getNamedInstance(OneNamedStringArg.A.class));
+    try {
+      i.getInstance(Interf.class);
+      Assert.fail("Injected an interface without implementation");
+    } catch (final InjectionException e) {
+      Assert.assertTrue(e.getMessage().startsWith("Cannot inject"));
+    }
+    final Interf impl = new Interf() { };
+    i.bindVolatileInstance(Interf.class, impl);
+    Assert.assertSame(impl, i.getInstance(Interf.class));
+  }
+
+  @Test
+  public void testForksWithEqualConfigurations() throws BindException, InjectionException {
+    final Injector parent = tang.newInjector();
+    final TwoNamedStringArgs first = parent.forkInjector(
+        tang.newConfigurationBuilder().bindNamedParameter(TwoNamedStringArgs.A.class, "forked").build())
+        .getInstance(TwoNamedStringArgs.class);
+    parent.bindVolatileParameter(TwoNamedStringArgs.B.class, "volatile");
+    final Configuration conf =
+        tang.newConfigurationBuilder().bindNamedParameter(TwoNamedStringArgs.A.class, "forked").build();
+    final Injector fork = parent.forkInjector(conf);
+    Assert.assertSame(fork, fork.getInstance(InjectInjector.class).i);
+    final TwoNamedStringArgs second = fork.getInstance(TwoNamedStringArgs.class);
+    Assert.assertNotSame(first, second);
+    Assert.assertEquals("defaultB", first.b);
+    Assert.assertEquals("forked", second.a);
+    Assert.assertEquals("volatile", second.b);
+    final Injector otherFork = parent.forkInjector(conf);
+    Assert.assertSame(otherFork, otherFork.getInstance(InjectInjector.class).i);
+    Assert.assertNotSame(second, otherFork.getInstance(TwoNamedStringArgs.class));
+  }
+
+  /**
+   * A later fork with an equal configuration injects itself, and the forks before it can be collected.
+   */
+  @Test
+  public void testForksDoNotKeepEachOther() throws BindException, InjectionException {
+    final Injector parent = tang.newInjector();
+    final Configuration conf =
+        tang.newConfigurationBuilder().bindNamedParameter(TwoNamedStringArgs.A.class, "forked").build();
+    Injector first = parent.forkInjector(conf);
+    Assert.assertSame(first, first.getInstance(InjectInjector.class).i);
+    final WeakReference<Injector> firstRef = new WeakReference<>(first);
+    first = null;
+
+    final Injector second = parent.forkInjector(conf);
+    Assert.assertSame(second, second.getInstance(InjectInjector.class).i);
+    for (int i = 0; i < 100 && firstRef.get() != null; ++i) {
+      System.gc();
+    }
+    Assert.assertNull("The parent keeps a former fork alive", firstRef.get());
+  }
+
   @Test
   public void testTwoNamedStringArgsBind() throws BindException,
       InjectionException {
@@ -36,9 +36,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import javax.inject.Inject;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.*;
 
 @DefaultImplementation(String.class)
 interface BadIfaceDefault {
@@ -47,6 +46,9 @@ interface BadIfaceDefault {
 interface I1 {
 }
 
+class I1Impl implements I1 {
+}
+
 public class TestClassHierarchy {
   protected ClassHierarchy ns;
   protected ClassHierarchySerializer serializer;
@@ -100,6 +102,40 @@ public class TestClassHierarchy {
     ns.getNode(s(NamedParameterConstructors.class));
   }
 
+  @Test
+  public void testConcurrentGetNode() throws InterruptedException, ExecutionException, NameResolutionException {
+    final List<String> names = Arrays.asList(s(SimpleConstructors.class), s(NamedParameterConstructors.class),
+        s(NamedRepeatConstructorArgClasses.class), s(AA.class), s(BB.class), s(GenericTorture1.class),
+        s(DocumentedLocalNamedParameter.class), s(I1.class), s(I1Impl.class));
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<Map<String, Node>>> lookups = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        final List<String> shuffled = new ArrayList<>(names);
+        Collections.shuffle(shuffled, new Random(i));
+        lookups.add(executor.submit(new Callable<Map<String, Node>>() {
+          @Override
+          public Map<String, Node> call() throws NameResolutionException {
+            final Map<String, Node> nodes = new HashMap<>();
+            for (final String name : shuffled) {
+              nodes.put(name, ns.getNode(name));
+            }
+            return nodes;
+          }
+        }));
+      }
+      for (final Future<Map<String, Node>> lookup : lookups) {
+        for (final Map.Entry<String, Node> node : lookup.get().entrySet()) {
+          Assert.assertSame(ns.getNode(node.getKey()), node.getValue());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertTrue(ns.isImplementation((ClassNode<?>) ns.getNode(s(I1.class)),
+        (ClassNode<?>) ns.getNode(s(I1Impl.class))));
+  }
+
   @Test
   public void testArray() throws NameResolutionException {
     thrown.expect(UnsupportedOperationException.class);
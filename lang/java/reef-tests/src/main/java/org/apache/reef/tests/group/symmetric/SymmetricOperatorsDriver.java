@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.group.symmetric;
+
+import org.apache.reef.driver.context.ActiveContext;
+import org.apache.reef.driver.evaluator.AllocatedEvaluator;
+import org.apache.reef.driver.evaluator.EvaluatorRequest;
+import org.apache.reef.driver.evaluator.EvaluatorRequestor;
+import org.apache.reef.driver.task.TaskConfiguration;
+import org.apache.reef.io.network.group.api.driver.CommunicationGroupDriver;
+import org.apache.reef.io.network.group.api.driver.GroupCommDriver;
+import org.apache.reef.io.network.group.impl.config.AllGatherOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.AllReduceOperatorSpec;
+import org.apache.reef.io.network.group.impl.config.ReduceScatterOperatorSpec;
+import org.apache.reef.io.serialization.SerializableCodec;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.annotations.Unit;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.time.event.StartTime;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Driver code for the SymmetricOperators test.
+ * Spawns a number of evaluators that is not a power of two, whose tasks run AllReduce, AllGather and ReduceScatter.
+ */
+@Unit
+final class SymmetricOperatorsDriver {
+  // Not a power of two, and within LocalTestEnvironment.MAX_NUMBER_OF_EVALUATORS
+  static final int NUM_TASKS = 3;
+  static final String TASK_ID_PREFIX = "SymmetricOperatorsTask-";
+
+  private final EvaluatorRequestor evaluatorRequestor;
+  private final GroupCommDriver groupCommDriver;
+  private final CommunicationGroupDriver commGroupDriver;
+
+  @Inject
+  private SymmetricOperatorsDriver(final EvaluatorRequestor evaluatorRequestor,
+                                   final GroupCommDriver groupCommDriver) {
+    this.evaluatorRequestor = evaluatorRequestor;
+    this.groupCommDriver = groupCommDriver;
+    this.commGroupDriver = groupCommDriver.newCommunicationGroup(SymmetricOperatorsGroupName.class, NUM_TASKS);
+
+    final String rootId = TASK_ID_PREFIX + 0;
+    this.commGroupDriver
+        .addAllReduce(SymmetricOperatorsAllReduce.class,
+            AllReduceOperatorSpec.newBuilder()
+                .setRootId(rootId)
+                .setDataCodecClass(SerializableCodec.class)
+                .setReduceFunctionClass(SumFunction.class)
+                .build())
+        .addAllGather(SymmetricOperatorsAllGather.class,
+            AllGatherOperatorSpec.newBuilder()
+                .setRootId(rootId)
+                .setDataCodecClass(SerializableCodec.class)
+                .build())
+        .addReduceScatter(SymmetricOperatorsReduceScatter.class,
+            ReduceScatterOperatorSpec.newBuilder()
+                .setRootId(rootId)
+                .setDataCodecClass(SerializableCodec.class)
+                .setReduceFunctionClass(SumFunction.class)
+                .build())
+        .finalise();
+  }
+
+  final class StartHandler implements EventHandler<StartTime> {
+    @Override
+    public void onNext(final StartTime startTime) {
+      evaluatorRequestor.submit(EvaluatorRequest.newBuilder()
+          .setNumber(NUM_TASKS)
+          .setMemory(128)
+          .build());
+    }
+  }
+
+  final class EvaluatorAllocatedHandler implements EventHandler<AllocatedEvaluator> {
+    @Override
+    public void onNext(final AllocatedEvaluator allocatedEvaluator) {
+      allocatedEvaluator.submitContextAndService(
+          groupCommDriver.getContextConfiguration(), groupCommDriver.getServiceConfiguration());
+    }
+  }
+
+  final class ContextActiveHandler implements EventHandler<ActiveContext> {
+    private final AtomicInteger taskCounter = new AtomicInteger(0);
+
+    @Override
+    public void onNext(final ActiveContext activeContext) {
+      final Configuration partialTaskConf = TaskConfiguration.CONF
+          .set(TaskConfiguration.IDENTIFIER, TASK_ID_PREFIX + taskCounter.getAndIncrement())
+          .set(TaskConfiguration.TASK, SymmetricOperatorsTask.class)
+          .build();
+      commGroupDriver.addTask(partialTaskConf);
+      activeContext.submitTask(groupCommDriver.getTaskConfiguration(partialTaskConf));
+    }
+  }
+
+  @NamedParameter(doc = "AllReduce operator name for SymmetricOperators test")
+  final class SymmetricOperatorsAllReduce implements Name<String> {
+  }
+
+  @NamedParameter(doc = "AllGather operator name for SymmetricOperators test")
+  final class SymmetricOperatorsAllGather implements Name<String> {
+  }
+
+  @NamedParameter(doc = "ReduceScatter operator name for SymmetricOperators test")
+  final class SymmetricOperatorsReduceScatter implements Name<String> {
+  }
+
+  @NamedParameter(doc = "GC group name used for SymmetricOperators test")
+  final class SymmetricOperatorsGroupName implements Name<String> {
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.group.symmetric;
+
+import org.apache.reef.driver.task.TaskConfigurationOptions;
+import org.apache.reef.io.network.group.api.operators.AllGather;
+import org.apache.reef.io.network.group.api.operators.AllReduce;
+import org.apache.reef.io.network.group.api.operators.ReduceScatter;
+import org.apache.reef.io.network.group.api.task.CommunicationGroupClient;
+import org.apache.reef.io.network.group.api.task.GroupCommClient;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.task.Task;
+import org.apache.reef.tests.group.symmetric.SymmetricOperatorsDriver.SymmetricOperatorsAllGather;
+import org.apache.reef.tests.group.symmetric.SymmetricOperatorsDriver.SymmetricOperatorsAllReduce;
+import org.apache.reef.tests.group.symmetric.SymmetricOperatorsDriver.SymmetricOperatorsGroupName;
+import org.apache.reef.tests.group.symmetric.SymmetricOperatorsDriver.SymmetricOperatorsReduceScatter;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Task used for the SymmetricOperators test.
+ * Every task runs each symmetric operator and checks its own result.
+ * Task {@code i} contributes {@code i + 1} to the AllReduce and {@code (i + 1) * (j + 1)} at position {@code j}
+ * to the ReduceScatter, whose blocks have different sizes.
+ */
+final class SymmetricOperatorsTask implements Task {
+
+  private final String taskId;
+  private final AllReduce<Integer> allReduce;
+  private final AllGather<String> allGather;
+  private final ReduceScatter<Integer> reduceScatter;
+
+  @Inject
+  private SymmetricOperatorsTask(@Parameter(TaskConfigurationOptions.Identifier.class) final String taskId,
+                                 final GroupCommClient groupCommClient) {
+    this.taskId = taskId;
+    final CommunicationGroupClient commGroupClient =
+        groupCommClient.getCommunicationGroup(SymmetricOperatorsGroupName.class);
+    this.allReduce = commGroupClient.getAllReduce(SymmetricOperatorsAllReduce.class);
+    this.allGather = commGroupClient.getAllGather(SymmetricOperatorsAllGather.class);
+    this.reduceScatter = commGroupClient.getReduceScatter(SymmetricOperatorsReduceScatter.class);
+  }
+
+  @Override
+  public byte[] call(final byte[] memento) throws Exception {
+    final int numTasks = SymmetricOperatorsDriver.NUM_TASKS;
+    final List<String> taskIds = new ArrayList<>(numTasks);
+    for (int i = 0; i < numTasks; i++) {
+      taskIds.add(SymmetricOperatorsDriver.TASK_ID_PREFIX + i);
+    }
+    final int rank = taskIds.indexOf(taskId);
+
+    check("AllReduce", numTasks * (numTasks + 1) / 2, allReduce.apply(rank + 1));
+    check("AllGather", taskIds, allGather.apply(taskId));
+
+    final List<Integer> counts = new ArrayList<>(numTasks);
+    int offset = 0;
+    int total = 0;
+    for (int i = 0; i < numTasks; i++) {
+      counts.add(i + 1);
+      if (i < rank) {
+        offset += i + 1;
+      }
+      total += i + 1;
+    }
+    final List<Integer> elements = new ArrayList<>(total);
+    for (int j = 0; j < total; j++) {
+      elements.add((rank + 1) * (j + 1));
+    }
+    final List<Integer> expected = new ArrayList<>(rank + 1);
+    for (int j = offset; j < offset + rank + 1; j++) {
+      expected.add((j + 1) * numTasks * (numTasks + 1) / 2);
+    }
+    check("ReduceScatter", expected, reduceScatter.apply(elements, counts));
+
+    return null;
+  }
+
+  private void check(final String operator, final Object expected, final Object received) {
+    if (!expected.equals(received)) {
+      throw new RuntimeException(String.format("%s on %s: expected %s but received %s",
+          operator, taskId, expected, received));
+    }
+  }
+}
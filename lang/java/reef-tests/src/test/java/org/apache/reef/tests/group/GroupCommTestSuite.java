@@ -19,6 +19,7 @@
 package org.apache.reef.tests.group;
 
 import org.apache.reef.tests.group.conf.TestGroupCommServiceInjection;
+import org.apache.reef.tests.group.symmetric.TestSymmetricOperators;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -28,7 +29,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     TestMultipleCommGroups.class,
-    TestGroupCommServiceInjection.class
+    TestGroupCommServiceInjection.class,
+    TestSymmetricOperators.class
     })
 public final class GroupCommTestSuite {
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.reef.wake;
 
+import org.apache.reef.wake.metrics.LatencySampler;
 import org.apache.reef.wake.metrics.Meter;
 
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -29,6 +30,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public abstract class AbstractEStage<T> implements EStage<T> {
 
+  /**
+   * One in how many events the stages sample for their latency histograms by default.
+   */
+  public static final int DEFAULT_SAMPLING_PERIOD = 16;
+
   protected final AtomicBoolean closed;
   protected final String name;
   private final Meter inMeter;
@@ -38,6 +44,8 @@ public abstract class AbstractEStage<T> implements EStage<T> {
    */
   private final Meter outMeter;
 
+  private final LatencySampler latencySampler;
+
   /**
    * Constructs an abstract estage.
    *
@@ -48,6 +56,7 @@ public abstract class AbstractEStage<T> implements EStage<T> {
     this.name = stageName;
     this.inMeter = new Meter(stageName + "_in");
     this.outMeter = new Meter(stageName + "_out");
+    this.latencySampler = new LatencySampler(DEFAULT_SAMPLING_PERIOD);
   }
 
   /**
@@ -68,6 +77,15 @@ public abstract class AbstractEStage<T> implements EStage<T> {
     return outMeter;
   }
 
+  /**
+   * Gets the sampler of the queue wait and handler time of this stage.
+   *
+   * @return the latency sampler
+   */
+  public LatencySampler getLatencySampler() {
+    return latencySampler;
+  }
+
   /**
    * Updates the input meter.
    * <p>
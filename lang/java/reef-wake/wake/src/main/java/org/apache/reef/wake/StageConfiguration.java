@@ -20,6 +20,8 @@ package org.apache.reef.wake;
 
 import org.apache.reef.tang.annotations.Name;
 import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.wake.impl.ParkingWaitStrategy;
+import org.apache.reef.wake.impl.WaitStrategy;
 import org.apache.reef.wake.rx.Observer;
 
 import java.util.concurrent.ExecutorService;
@@ -92,4 +94,19 @@ public final class StageConfiguration {
   public static final class StageObserver implements Name<Observer<?>> {
   }
 
+  /**
+   * The maximum number of events handed to the handler in one batch.
+   */
+  @NamedParameter(doc = "The maximum number of events handed to the handler in one batch.", default_value = "64")
+  public static final class BatchSize implements Name<Integer> {
+  }
+
+  /**
+   * The strategy with which the threads of the stage wait.
+   */
+  @NamedParameter(doc = "The strategy with which the threads of the stage wait for events or for free capacity.",
+      default_class = ParkingWaitStrategy.class)
+  public static final class StageWaitStrategy implements Name<WaitStrategy> {
+  }
+
 }
@@ -71,6 +71,7 @@ public class ForkPoolStage<T> extends AbstractEStage<T> {
   @Override
   public void onNext(final T value) {
     beforeOnNext();
+    final long enqueueTime = getLatencySampler().start();
     pool.submit(new ForkJoinTask<T>() {
       @Override
       public T getRawResult() {
@@ -87,7 +88,9 @@ public class ForkPoolStage<T> extends AbstractEStage<T> {
 
       @Override
       protected boolean exec() {
+        final long startTime = getLatencySampler().recordQueueWait(enqueueTime);
         handler.onNext(value);
+        getLatencySampler().recordHandlerTime(startTime);
         afterOnNext();
         return true;
       }
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+import org.apache.reef.wake.AbstractEStage;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.WakeParameters;
+import org.apache.reef.wake.exception.WakeRuntimeException;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stage that handles the events of each key in the order they were added,
+ * and the events of different keys in parallel on a work-stealing pool.
+ * <p>
+ * Every key with pending events has its own queue, which at most one pool thread drains at a time.
+ * A thread hands the rest of a queue back to the pool after {@code batchSize} events,
+ * so a busy key does not starve the others. Queues of idle keys are dropped.
+ * <p>
+ * A handler that blocks holds a pool thread, so {@code numThreads} keys blocked at once stall the stage.
+ *
+ * @param <K> type of keys, which must implement equals and hashCode
+ * @param <T> type of events
+ */
+public final class KeyedOrderedStage<K, T> extends AbstractEStage<T> {
+  private static final Logger LOG = Logger.getLogger(KeyedOrderedStage.class.getName());
+  private static final int DEFAULT_BATCH_SIZE = 64;
+
+  private final KeySelector<K, T> keySelector;
+  private final EventHandler<T> handler;
+  private final EventHandler<Throwable> errorHandler;
+  private final int batchSize;
+  private final ForkJoinPool pool;
+  private final ConcurrentMap<K, KeyQueue> queues = new ConcurrentHashMap<>();
+  private final long shutdownTimeout;
+
+  /**
+   * Selects the key of an event.
+   *
+   * @param <K> type of keys
+   * @param <T> type of events
+   */
+  public interface KeySelector<K, T> {
+
+    /**
+     * @param event the event
+     * @return the key whose events are handled in order, never null
+     */
+    K getKey(T event);
+  }
+
+  /**
+   * Constructs a keyed ordered stage.
+   *
+   * @param keySelector the selector of the key of each event
+   * @param handler     the event handler to execute
+   * @param numThreads  the number of threads to use
+   * @throws WakeRuntimeException
+   */
+  public KeyedOrderedStage(final KeySelector<K, T> keySelector, final EventHandler<T> handler, final int numThreads) {
+    this(handler.getClass().getName(), keySelector, handler, numThreads, DEFAULT_BATCH_SIZE, null,
+        WakeParameters.EXECUTOR_SHUTDOWN_TIMEOUT);
+  }
+
+  /**
+   * Constructs a keyed ordered stage.
+   *
+   * @param name            the stage name
+   * @param keySelector     the selector of the key of each event
+   * @param handler         the event handler to execute
+   * @param numThreads      the number of threads to use
+   * @param batchSize       the maximum number of events of a key handled before the thread moves on
+   * @param errorHandler    the error handler, or null to log the exceptions of the handler
+   * @param shutdownTimeout the milliseconds to wait on close for the pending events to be handled
+   * @throws WakeRuntimeException
+   */
+  public KeyedOrderedStage(final String name,
+                           final KeySelector<K, T> keySelector,
+                           final EventHandler<T> handler,
+                           final int numThreads,
+                           final int batchSize,
+                           final EventHandler<Throwable> errorHandler,
+                           final long shutdownTimeout) {
+    super(name);
+    if (numThreads <= 0) {
+      throw new WakeRuntimeException(name + " numThreads " + numThreads + " is less than or equal to 0");
+    }
+    if (batchSize <= 0) {
+      throw new WakeRuntimeException(name + " batchSize " + batchSize + " is less than or equal to 0");
+    }
+    this.keySelector = keySelector;
+    this.handler = handler;
+    this.errorHandler = errorHandler;
+    this.batchSize = batchSize;
+    this.shutdownTimeout = shutdownTimeout;
+    // async mode, since the queues are fire-and-forget tasks that are never joined
+    this.pool = new ForkJoinPool(numThreads, new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+      @Override
+      public ForkJoinWorkerThread newThread(final ForkJoinPool forkJoinPool) {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+        thread.setName(name + "-" + thread.getPoolIndex());
+        return thread;
+      }
+    }, null, true);
+    StageManager.instance().register(this);
+  }
+
+  /**
+   * Adds the event to the queue of its key, which will be processed by the handler later.
+   *
+   * @param value the event
+   * @throws RejectedExecutionException if the stage is closed
+   */
+  @Override
+  public void onNext(final T value) {
+    if (this.closed.get()) {
+      throw new RejectedExecutionException(this.name + " is closed");
+    }
+    beforeOnNext();
+    final K key = this.keySelector.getKey(value);
+    while (true) {
+      KeyQueue queue = this.queues.get(key);
+      if (queue == null) {
+        final KeyQueue newQueue = new KeyQueue(key);
+        queue = this.queues.putIfAbsent(key, newQueue);
+        if (queue == null) {
+          queue = newQueue;
+        }
+      }
+      if (queue.add(value)) {
+        return;
+      }
+      // The queue went idle and was dropped in the meantime
+      this.queues.remove(key, queue);
+    }
+  }
+
+  /**
+   * @return the number of keys with pending events
+   */
+  public int getNumberOfKeys() {
+    return this.queues.size();
+  }
+
+  /**
+   * Closes the stage, waiting for the pending events to be handled.
+   *
+   * @throws Exception
+   */
+  @Override
+  public void close() throws Exception {
+    if (this.closed.compareAndSet(false, true)) {
+      this.pool.shutdown();
+      if (!this.pool.awaitTermination(this.shutdownTimeout, TimeUnit.MILLISECONDS)) {
+        LOG.log(Level.WARNING, "Executor did not terminate in " + this.shutdownTimeout + "ms.");
+        final List<Runnable> droppedRunnables = this.pool.shutdownNow();
+        LOG.log(Level.WARNING, "Executor dropped " + droppedRunnables.size() + " tasks.");
+      }
+    }
+  }
+
+  /**
+   * The pending events of a key.
+   * <p>
+   * The count of pending events tells whether the queue needs a thread: the producer that raises it from zero
+   * hands the queue to the pool, and the thread that lowers it to zero gives the queue up.
+   * That thread then tries to drop the queue by setting the count to -1. If a producer raised the count first,
+   * the task that producer submitted drains the queue instead.
+   * A producer that finds a dropped queue creates a new one, so events of a key never run on two threads at once.
+   */
+  private final class KeyQueue implements Runnable {
+
+    private final K key;
+    private final Queue<T> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    KeyQueue(final K key) {
+      this.key = key;
+    }
+
+    /**
+     * @return false if the queue has been dropped and the event was not added
+     * @throws RejectedExecutionException if the queue needs a thread and the pool is shut down
+     */
+    boolean add(final T event) {
+      int count;
+      do {
+        count = this.pending.get();
+        if (count < 0) {
+          return false;
+        }
+      } while (!this.pending.compareAndSet(count, count + 1));
+      this.events.add(event);
+      if (count == 0) {
+        try {
+          pool.execute(this);
+        } catch (final RejectedExecutionException e) {
+          // No thread will drain the queue, so drop it rather than leave later events of the key stranded in it.
+          // Events other producers added meanwhile raced with close and are dropped as well
+          this.pending.set(-1);
+          this.events.clear();
+          queues.remove(this.key, this);
+          throw e;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void run() {
+      int handled = 0;
+      while (true) {
+        final T event = this.events.poll();
+        if (event == null) {
+          // A producer counted its event but has not added it yet
+          if (this.resubmit()) {
+            return;
+          }
+          Thread.yield();
+          continue;
+        }
+        this.handle(event);
+        if (this.pending.decrementAndGet() == 0) {
+          if (this.pending.compareAndSet(0, -1)) {
+            queues.remove(this.key, this);
+          }
+          return;
+        }
+        if (++handled % batchSize == 0 && this.resubmit()) {
+          return;
+        }
+      }
+    }
+
+    @SuppressWarnings("checkstyle:illegalcatch")
+    private void handle(final T event) {
+      try {
+        final long startTime = getLatencySampler().start();
+        handler.onNext(event);
+        getLatencySampler().recordHandlerTime(startTime);
+        afterOnNext();
+      } catch (final Throwable t) {
+        // Rethrowing would leave the remaining events of the key without a thread
+        if (errorHandler == null) {
+          LOG.log(Level.SEVERE, name + " Exception from event handler", t);
+          return;
+        }
+        try {
+          errorHandler.onNext(t);
+        } catch (final Throwable errorHandlerException) {
+          LOG.log(Level.SEVERE, name + " Exception from error handler", errorHandlerException);
+          LOG.log(Level.SEVERE, name + " Exception from event handler", t);
+        }
+      }
+    }
+
+    /**
+     * @return false if the pool is shut down, in which case the calling thread keeps draining the queue
+     */
+    private boolean resubmit() {
+      try {
+        pool.execute(this);
+        return true;
+      } catch (final RejectedExecutionException e) {
+        return false;
+      }
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+import org.apache.reef.wake.EventHandler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ * <p>
+ * Every slot carries a sequence number that tells whether it is free for the producer claiming position
+ * {@code p} (sequence {@code p}) or holds the event of position {@code p} for the consumer (sequence {@code p + 1}).
+ * Producers claim positions with a CAS on the tail and never touch the head, which only the consumer moves.
+ * <p>
+ * Slots are published and freed with volatile stores, so that a {@link WaitSignal} raised right after
+ * {@link #offer} or {@link #drain} cannot miss a thread that is about to wait for that change.
+ *
+ * @param <T> type of events
+ */
+final class MpscRingBuffer<T> {
+
+  private final int capacity;
+  private final int mask;
+  private final Object[] events;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  /**
+   * @param minCapacity the minimum number of events the buffer holds, rounded up to a power of two.
+   *                    A slot holding the event of position {@code p} must not look free for position {@code p + 1},
+   *                    so the buffer holds at least two events.
+   */
+  MpscRingBuffer(final int minCapacity) {
+    if (minCapacity <= 0 || minCapacity > 1 << 30) {
+      throw new IllegalArgumentException("Invalid capacity " + minCapacity);
+    }
+    this.capacity = minCapacity <= 2 ? 2 : Integer.highestOneBit(minCapacity - 1) << 1;
+    this.mask = this.capacity - 1;
+    this.events = new Object[this.capacity];
+    this.sequences = new AtomicLongArray(this.capacity);
+    for (int i = 0; i < this.capacity; ++i) {
+      this.sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Adds an event if the buffer is not full. May be called by any thread.
+   *
+   * @param event the event
+   * @return true if the event was added, false if the buffer is full
+   */
+  boolean offer(final T event) {
+    long position = this.tail.get();
+    while (true) {
+      final int index = (int) position & this.mask;
+      final long distance = this.sequences.get(index) - position;
+      if (distance == 0) {
+        if (this.tail.compareAndSet(position, position + 1)) {
+          this.events[index] = event;
+          // Publishes the event; the consumer reads the sequence before the event
+          this.sequences.set(index, position + 1);
+          return true;
+        }
+        position = this.tail.get();
+      } else if (distance < 0) {
+        return false;
+      } else {
+        // Another producer claimed the position
+        position = this.tail.get();
+      }
+    }
+  }
+
+  /**
+   * Removes up to the given number of events and hands them to the handler in order.
+   * Must only be called by the consumer thread.
+   * <p>
+   * Each slot is freed before its event is handed over, so an exception thrown by the handler
+   * loses only the event that caused it.
+   *
+   * @param handler   the handler of the events
+   * @param maxEvents the maximum number of events to remove
+   * @return the number of events removed
+   */
+  @SuppressWarnings("unchecked")
+  int drain(final EventHandler<? super T> handler, final int maxEvents) {
+    final long first = this.head.get();
+    long position = first;
+    try {
+      while (position - first < maxEvents) {
+        final int index = (int) position & this.mask;
+        if (this.sequences.get(index) != position + 1) {
+          break;
+        }
+        final T event = (T) this.events[index];
+        this.events[index] = null;
+        this.sequences.set(index, position + this.capacity);
+        ++position;
+        handler.onNext(event);
+      }
+    } finally {
+      this.head.set(position);
+    }
+    return (int) (position - first);
+  }
+
+  /**
+   * @return true if the consumer has no event to remove
+   */
+  boolean isEmpty() {
+    final long position = this.head.get();
+    return this.sequences.get((int) position & this.mask) != position + 1;
+  }
+
+  /**
+   * @return true if a producer would find the buffer full
+   */
+  boolean isFull() {
+    final long position = this.tail.get();
+    return this.sequences.get((int) position & this.mask) < position;
+  }
+
+  /**
+   * @return the number of events in the buffer, which may be stale when other threads access it
+   */
+  int size() {
+    final long size = this.tail.get() - this.head.get();
+    return (int) Math.max(0, Math.min(size, this.capacity));
+  }
+
+  /**
+   * @return the number of events the buffer holds
+   */
+  int getCapacity() {
+    return this.capacity;
+  }
+}
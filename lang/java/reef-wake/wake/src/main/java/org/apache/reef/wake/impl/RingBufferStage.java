@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.AbstractEStage;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.StageConfiguration.BatchSize;
+import org.apache.reef.wake.StageConfiguration.Capacity;
+import org.apache.reef.wake.StageConfiguration.StageHandler;
+import org.apache.reef.wake.StageConfiguration.StageName;
+import org.apache.reef.wake.StageConfiguration.StageWaitStrategy;
+import org.apache.reef.wake.exception.WakeRuntimeException;
+
+import javax.inject.Inject;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single thread stage backed by a lock-free ring buffer.
+ * <p>
+ * Unlike {@link SingleThreadStage}, producers do not contend on a lock: they claim a slot with a single CAS.
+ * The stage thread takes the events in batches and hands them to the handler in the order they were added.
+ * When the buffer is full, {@code onNext} blocks until the stage thread frees a slot instead of failing.
+ * Producers and the stage thread wait with the configured {@link WaitStrategy}.
+ *
+ * @param <T> type
+ */
+public final class RingBufferStage<T> extends AbstractEStage<T> {
+  private static final Logger LOG = Logger.getLogger(RingBufferStage.class.getName());
+  private static final int DEFAULT_BATCH_SIZE = 64;
+
+  private final MpscRingBuffer<T> buffer;
+  private final EventHandler<T> handler;
+  private final int batchSize;
+  private final WaitStrategy waitStrategy;
+  private final WaitSignal notEmpty = new WaitSignal();
+  private final WaitSignal notFull = new WaitSignal();
+
+  private final WaitStrategy.Condition canTake = new WaitStrategy.Condition() {
+    @Override
+    public boolean holds() {
+      return !buffer.isEmpty() || closed.get();
+    }
+  };
+
+  private final WaitStrategy.Condition canPut = new WaitStrategy.Condition() {
+    @Override
+    public boolean holds() {
+      return !buffer.isFull() || closed.get();
+    }
+  };
+
+  /**
+   * Constructs a ring buffer stage that parks waiting threads.
+   *
+   * @param handler  the event handler to execute
+   * @param capacity the buffer capacity, rounded up to a power of two of at least two
+   */
+  public RingBufferStage(final EventHandler<T> handler, final int capacity) {
+    this(handler.getClass().getName(), handler, capacity, DEFAULT_BATCH_SIZE, new ParkingWaitStrategy());
+  }
+
+  /**
+   * Constructs a ring buffer stage.
+   *
+   * @param handler      the event handler to execute
+   * @param capacity     the buffer capacity, rounded up to a power of two of at least two
+   * @param batchSize    the maximum number of events taken from the buffer at once
+   * @param waitStrategy the strategy with which producers and the stage thread wait
+   */
+  @Inject
+  public RingBufferStage(@Parameter(StageHandler.class) final EventHandler<T> handler,
+                         @Parameter(Capacity.class) final int capacity,
+                         @Parameter(BatchSize.class) final int batchSize,
+                         @Parameter(StageWaitStrategy.class) final WaitStrategy waitStrategy) {
+    this(handler.getClass().getName(), handler, capacity, batchSize, waitStrategy);
+  }
+
+  /**
+   * Constructs a ring buffer stage.
+   *
+   * @param name         the stage name
+   * @param handler      the event handler to execute
+   * @param capacity     the buffer capacity, rounded up to a power of two of at least two
+   * @param batchSize    the maximum number of events taken from the buffer at once
+   * @param waitStrategy the strategy with which producers and the stage thread wait
+   */
+  @Inject
+  public RingBufferStage(@Parameter(StageName.class) final String name,
+                         @Parameter(StageHandler.class) final EventHandler<T> handler,
+                         @Parameter(Capacity.class) final int capacity,
+                         @Parameter(BatchSize.class) final int batchSize,
+                         @Parameter(StageWaitStrategy.class) final WaitStrategy waitStrategy) {
+    super(name);
+    if (batchSize <= 0) {
+      throw new WakeRuntimeException(name + " batchSize " + batchSize + " is less than or equal to 0");
+    }
+    this.buffer = new MpscRingBuffer<>(capacity);
+    this.handler = handler;
+    this.batchSize = batchSize;
+    this.waitStrategy = waitStrategy;
+    final Thread thread = new Thread(new Consumer());
+    thread.setName("RingBufferStage<" + name + ">");
+    thread.start();
+    StageManager.instance().register(this);
+  }
+
+  /**
+   * Adds the value to the buffer, which will be processed by the handler later.
+   * If the buffer is full, waits until the stage thread frees a slot.
+   *
+   * @param value the value
+   * @throws IllegalStateException if the stage is closed while waiting
+   * @throws WakeRuntimeException  if the calling thread is interrupted while waiting
+   */
+  @Override
+  public void onNext(final T value) {
+    beforeOnNext();
+    while (!this.buffer.offer(value)) {
+      if (this.closed.get()) {
+        throw new IllegalStateException(this.name + " is closed");
+      }
+      try {
+        this.waitStrategy.await(this.canPut, this.notFull);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new WakeRuntimeException(this.name + " interrupted while waiting for free capacity", e);
+      }
+    }
+    this.notEmpty.signal();
+  }
+
+  /**
+   * @return the number of events waiting to be handled
+   */
+  public int getQueueLength() {
+    return this.buffer.size();
+  }
+
+  /**
+   * Closes the stage. Events still in the buffer are not handled.
+   *
+   * @throws Exception
+   */
+  @Override
+  public void close() throws Exception {
+    if (this.closed.compareAndSet(false, true)) {
+      this.notEmpty.signal();
+      this.notFull.signal();
+    }
+  }
+
+  /**
+   * Takes events from the buffer in batches and provides them to the handler.
+   */
+  private final class Consumer implements Runnable, EventHandler<T> {
+
+    @Override
+    public void run() {
+      while (!closed.get()) {
+        try {
+          final int drained = buffer.drain(this, batchSize);
+          if (drained > 0) {
+            // Marks the output meter once per batch rather than per event
+            getOutMeter().mark(drained);
+            notFull.signal();
+          } else {
+            waitStrategy.await(canTake, notEmpty);
+          }
+        } catch (final InterruptedException e) {
+          LOG.log(Level.FINEST, name + " Interrupted while waiting for events");
+        } catch (final Exception t) {
+          LOG.log(Level.SEVERE, name + " Exception from event handler", t);
+          throw t;
+        }
+      }
+      final int dropped = buffer.size();
+      if (dropped > 0) {
+        LOG.log(Level.FINE, "{0} Closing with {1} events not handled", new Object[]{name, dropped});
+      }
+    }
+
+    /**
+     * Hands an event taken from the buffer to the handler.
+     */
+    @Override
+    public void onNext(final T value) {
+      final long startTime = getLatencySampler().start();
+      handler.onNext(value);
+      getLatencySampler().recordHandlerTime(startTime);
+    }
+  }
+}
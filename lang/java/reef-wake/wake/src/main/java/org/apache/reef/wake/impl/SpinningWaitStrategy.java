@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+import javax.inject.Inject;
+
+/**
+ * Spins on the condition for a while before parking the waiting thread.
+ * Trades processor time for the lowest latency on bursts of events.
+ */
+public final class SpinningWaitStrategy implements WaitStrategy {
+
+  /**
+   * The number of checks before the thread yields the processor between checks.
+   */
+  private static final int SPIN_TRIES = 100;
+
+  /**
+   * The number of checks before the thread parks.
+   */
+  private static final int YIELD_TRIES = 200;
+
+  @Inject
+  public SpinningWaitStrategy() {
+  }
+
+  @Override
+  public void await(final Condition condition, final WaitSignal signal) throws InterruptedException {
+    for (int tries = 0; !condition.holds(); ++tries) {
+      if (tries >= YIELD_TRIES) {
+        signal.park(condition);
+      } else if (tries >= SPIN_TRIES) {
+        Thread.yield();
+      }
+    }
+  }
+}
@@ -89,8 +89,10 @@ public final class SyncStage<T> extends AbstractEStage<T> {
   @SuppressWarnings("checkstyle:illegalcatch")
   public void onNext(final T value) {
     beforeOnNext();
+    final long startTime = getLatencySampler().start();
     try {
       handler.onNext(value);
+      getLatencySampler().recordHandlerTime(startTime);
     } catch (final Throwable t) {
       if (errorHandler != null) {
         errorHandler.onNext(t);
@@ -174,12 +174,15 @@ public final class ThreadPoolStage<T> extends AbstractEStage<T> {
   @SuppressWarnings("checkstyle:illegalcatch")
   public void onNext(final T value) {
     beforeOnNext();
+    final long enqueueTime = getLatencySampler().start();
     executor.submit(new Runnable() {
 
       @Override
       public void run() {
         try {
+          final long startTime = getLatencySampler().recordQueueWait(enqueueTime);
           handler.onNext(value);
+          getLatencySampler().recordHandlerTime(startTime);
           afterOnNext();
         } catch (final Throwable t) {
           if (errorHandler != null) {
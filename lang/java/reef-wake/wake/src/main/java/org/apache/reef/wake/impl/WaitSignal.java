@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wakes up the threads waiting for a condition with a {@link WaitStrategy}.
+ * <p>
+ * Raising the signal costs a single volatile read while no thread waits,
+ * so it can be raised on every change that may make the condition hold.
+ * A waiting thread registers itself before checking the condition one last time,
+ * and the signal is raised after the change. As long as the change is made with a volatile
+ * write (or an atomic update), either the waiting thread sees the change or the signal sees
+ * the waiting thread. A lazy or plain write may be reordered after the read of the waiters,
+ * in which case the wakeup is lost.
+ */
+public final class WaitSignal {
+
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final Queue<Thread> parkedThreads = new ConcurrentLinkedQueue<>();
+  private final Object lock = new Object();
+  private final AtomicInteger blockedThreads = new AtomicInteger();
+
+  /**
+   * Wakes up all threads waiting on this signal.
+   */
+  public void signal() {
+    if (this.waiters.get() == 0) {
+      return;
+    }
+    for (final Thread thread : this.parkedThreads) {
+      LockSupport.unpark(thread);
+    }
+    if (this.blockedThreads.get() > 0) {
+      synchronized (this.lock) {
+        this.lock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Parks the calling thread unless the condition holds.
+   * Returns when the signal is raised or spuriously.
+   *
+   * @param condition the condition to wait for
+   * @throws InterruptedException if the calling thread is interrupted
+   */
+  public void park(final WaitStrategy.Condition condition) throws InterruptedException {
+    final Thread thread = Thread.currentThread();
+    this.parkedThreads.add(thread);
+    this.waiters.incrementAndGet();
+    try {
+      if (!condition.holds()) {
+        LockSupport.park(this);
+      }
+    } finally {
+      this.waiters.decrementAndGet();
+      this.parkedThreads.remove(thread);
+    }
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  /**
+   * Blocks the calling thread on a monitor until the condition holds.
+   *
+   * @param condition the condition to wait for
+   * @throws InterruptedException if the calling thread is interrupted
+   */
+  public void block(final WaitStrategy.Condition condition) throws InterruptedException {
+    synchronized (this.lock) {
+      this.blockedThreads.incrementAndGet();
+      this.waiters.incrementAndGet();
+      try {
+        while (!condition.holds()) {
+          this.lock.wait();
+        }
+      } finally {
+        this.waiters.decrementAndGet();
+        this.blockedThreads.decrementAndGet();
+      }
+    }
+  }
+}
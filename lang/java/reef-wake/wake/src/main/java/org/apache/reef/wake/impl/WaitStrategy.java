@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.impl;
+
+/**
+ * The way threads of a stage wait until they can make progress,
+ * such as a consumer waiting for events or a producer waiting for free capacity.
+ */
+public interface WaitStrategy {
+
+  /**
+   * Blocks the calling thread until the condition holds.
+   *
+   * @param condition the condition to wait for
+   * @param signal    the signal raised by the threads that may make the condition hold
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  void await(Condition condition, WaitSignal signal) throws InterruptedException;
+
+  /**
+   * A condition a thread waits for.
+   */
+  interface Condition {
+
+    /**
+     * @return true if the waiting thread can make progress
+     */
+    boolean holds();
+  }
+}
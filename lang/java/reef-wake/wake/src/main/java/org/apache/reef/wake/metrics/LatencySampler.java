@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records the queue wait and handler time of a sample of the events of a stage in nanoseconds.
+ * <p>
+ * A stage calls {@link #start()} when an event enters it and passes the returned time on with the event.
+ * Events that are not sampled get {@link #NOT_SAMPLED}, which the recording methods ignore,
+ * so an event that is not sampled costs one random number and no clock reads.
+ */
+public final class LatencySampler {
+
+  /**
+   * The time of events that are not sampled.
+   */
+  public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+  private final LogHistogram queueWaitHistogram = new LogHistogram();
+  private final LogHistogram handlerTimeHistogram = new LogHistogram();
+  private volatile int samplingPeriod;
+
+  /**
+   * Constructs a latency sampler.
+   *
+   * @param samplingPeriod one in how many events is sampled on average, or 0 to sample none
+   */
+  public LatencySampler(final int samplingPeriod) {
+    setSamplingPeriod(samplingPeriod);
+  }
+
+  /**
+   * Sets one in how many events is sampled on average.
+   *
+   * @param samplingPeriod the sampling period, 1 to sample every event or 0 to sample none
+   */
+  public void setSamplingPeriod(final int samplingPeriod) {
+    if (samplingPeriod < 0) {
+      throw new IllegalArgumentException("Invalid sampling period " + samplingPeriod);
+    }
+    this.samplingPeriod = samplingPeriod;
+  }
+
+  /**
+   * Gets one in how many events is sampled on average.
+   *
+   * @return the sampling period, or 0 if no event is sampled
+   */
+  public int getSamplingPeriod() {
+    return samplingPeriod;
+  }
+
+  /**
+   * Decides whether an event entering the stage is sampled.
+   *
+   * @return the current time if the event is sampled, {@link #NOT_SAMPLED} otherwise
+   */
+  public long start() {
+    final int period = samplingPeriod;
+    if (period == 1 || period > 1 && ThreadLocalRandom.current().nextInt(period) == 0) {
+      return System.nanoTime();
+    }
+    return NOT_SAMPLED;
+  }
+
+  /**
+   * Records the time a sampled event waited for a thread of the stage.
+   *
+   * @param startTime the time returned by {@link #start()} when the event entered the stage
+   * @return the current time if the event is sampled, {@link #NOT_SAMPLED} otherwise
+   */
+  public long recordQueueWait(final long startTime) {
+    if (startTime == NOT_SAMPLED) {
+      return NOT_SAMPLED;
+    }
+    final long now = System.nanoTime();
+    queueWaitHistogram.update(now - startTime);
+    return now;
+  }
+
+  /**
+   * Records the time the handler took for a sampled event.
+   *
+   * @param startTime the time the handler was called, as returned by {@link #start()} or {@link #recordQueueWait}
+   */
+  public void recordHandlerTime(final long startTime) {
+    if (startTime != NOT_SAMPLED) {
+      handlerTimeHistogram.update(System.nanoTime() - startTime);
+    }
+  }
+
+  /**
+   * Gets the histogram of the times sampled events waited for a thread of the stage.
+   * Stages that queue events without a timestamp only record the handler time.
+   *
+   * @return the queue wait histogram in nanoseconds
+   */
+  public LogHistogram getQueueWaitHistogram() {
+    return queueWaitHistogram;
+  }
+
+  /**
+   * Gets the histogram of the times the handler took for sampled events.
+   *
+   * @return the handler time histogram in nanoseconds
+   */
+  public LogHistogram getHandlerTimeHistogram() {
+    return handlerTimeHistogram;
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An {@link Histogram} of numbers ({@code >=0}) with log-linear bins, which covers the whole range of long
+ * with a bounded relative error, like latencies from nanoseconds to hours.
+ * <p>
+ * Values below {@code 2^PRECISION_BITS} have a bin each. Every larger power-of-two range is split
+ * into {@code 2^PRECISION_BITS} bins of equal width, so a bin is at most 1/8 of its lower bound wide.
+ * The count is the sum of the bins, so an update touches a single counter.
+ */
+public class LogHistogram implements Histogram {
+
+  private static final int PRECISION_BITS = 3;
+  private static final int SUB_BINS = 1 << PRECISION_BITS;
+  private static final int NUM_BINS = (Long.SIZE - 1 - PRECISION_BITS + 1) * SUB_BINS;
+
+  private final AtomicLongArray values = new AtomicLongArray(NUM_BINS);
+
+  /**
+   * Updates the value; negative values are counted as 0.
+   *
+   * @param value the new value
+   */
+  @Override
+  public void update(final long value) {
+    values.incrementAndGet(getIndex(Math.max(0, value)));
+  }
+
+  /**
+   * Returns the number of recorded values, which may miss concurrent updates.
+   *
+   * @return the number of recorded values
+   */
+  @Override
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < NUM_BINS; ++i) {
+      count += values.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the value of the index.
+   *
+   * @param index the index
+   * @return the value of the index
+   */
+  @Override
+  public long getValue(final int index) {
+    return values.get(index);
+  }
+
+  /**
+   * Returns the number of bins.
+   *
+   * @return the number of bins
+   */
+  @Override
+  public int getNumBins() {
+    return NUM_BINS;
+  }
+
+  /**
+   * Returns the smallest number counted in the bin.
+   *
+   * @param index the index
+   * @return the lower bound of the bin
+   */
+  public long getLowerBound(final int index) {
+    if (index < SUB_BINS) {
+      return index;
+    }
+    final int shift = index / SUB_BINS - 1;
+    return (long) (SUB_BINS + index % SUB_BINS) << shift;
+  }
+
+  /**
+   * Returns the largest number counted in the bin.
+   *
+   * @param index the index
+   * @return the upper bound of the bin
+   */
+  public long getUpperBound(final int index) {
+    return index == NUM_BINS - 1 ? Long.MAX_VALUE : getLowerBound(index + 1) - 1;
+  }
+
+  /**
+   * Returns the upper bound of the bin holding the value at the percentile,
+   * which overestimates the value by at most 1/8.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @return the value at the percentile, or 0 if no value was recorded
+   */
+  public long getPercentile(final double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Invalid percentile " + percentile);
+    }
+    final long[] snapshot = new long[NUM_BINS];
+    long count = 0;
+    for (int i = 0; i < NUM_BINS; ++i) {
+      snapshot[i] = values.get(i);
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < NUM_BINS; ++i) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return getUpperBound(i);
+      }
+    }
+    return getUpperBound(NUM_BINS - 1);
+  }
+
+  private static int getIndex(final long value) {
+    if (value < SUB_BINS) {
+      return (int) value;
+    }
+    final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - PRECISION_BITS;
+    return (shift + 1) * SUB_BINS + (int) (value >>> shift) - SUB_BINS;
+  }
+}
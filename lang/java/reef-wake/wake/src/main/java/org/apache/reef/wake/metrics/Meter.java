@@ -23,15 +23,23 @@ import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Meter that monitors mean throughput and ewma (1m, 5m, 15m) throughput.
+ * <p>
+ * Marking only adds to a {@link StripedCounter}; the moving averages catch up with the count
+ * when they are read, so threads marking the same meter do not contend.
  */
 public class Meter {
 
   private static final long TICK_INTERVAL = TimeUnit.SECONDS.toNanos(5);
 
-  private final AtomicLong count = new AtomicLong();
+  private final StripedCounter count = new StripedCounter();
   private final long startTime;
   private final AtomicLong lastTick;
 
+  /**
+   * The count when the moving averages were last ticked, guarded by this meter.
+   */
+  private long lastTickCount;
+
   private final EWMA m1Thp;
   private final EWMA m5Thp;
   private final EWMA m15Thp;
@@ -67,11 +75,7 @@ public class Meter {
    * @param n the number of events
    */
   public void mark(final long n) {
-    tickIfNecessary();
-    count.addAndGet(n);
-    m1Thp.update(n);
-    m5Thp.update(n);
-    m15Thp.update(n);
+    count.add(n);
   }
 
   /**
@@ -80,7 +84,7 @@ public class Meter {
    * @return the count
    */
   public long getCount() {
-    return count.get();
+    return count.sum();
   }
 
   /**
@@ -137,10 +141,20 @@ public class Meter {
     final long age = newTick - oldTick;
     if (age > TICK_INTERVAL && lastTick.compareAndSet(oldTick, newTick)) {
       final long requiredTicks = age / TICK_INTERVAL;
-      for (long i = 0; i < requiredTicks; i++) {
-        m1Thp.tick();
-        m5Thp.tick();
-        m15Thp.tick();
+      synchronized (this) {
+        final long currentCount = count.sum();
+        final long uncounted = currentCount - lastTickCount;
+        lastTickCount = currentCount;
+        // The events since the last tick are spread evenly over the elapsed intervals
+        for (long i = 0; i < requiredTicks; i++) {
+          final long share = uncounted / requiredTicks + (i < uncounted % requiredTicks ? 1 : 0);
+          m1Thp.update(share);
+          m5Thp.update(share);
+          m15Thp.update(share);
+          m1Thp.tick();
+          m5Thp.tick();
+          m15Thp.tick();
+        }
       }
     }
   }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter that spreads concurrent updates over several cells, so threads adding to it rarely contend.
+ * <p>
+ * Each thread adds to the cell picked by its id, and every cell sits on its own cache line.
+ * Reading the sum visits all cells and is therefore more expensive than adding.
+ */
+public final class StripedCounter {
+
+  /**
+   * Longs per 64-byte cache line, the distance between two cells.
+   */
+  private static final int PADDING = 8;
+
+  // not a constant, so specify here
+  private static final int NUM_CELLS =
+      Math.min(64, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1) << 1);
+
+  private final AtomicLongArray cells = new AtomicLongArray((NUM_CELLS + 1) * PADDING);
+
+  /**
+   * Adds to the counter.
+   *
+   * @param n the number to add
+   */
+  public void add(final long n) {
+    this.cells.getAndAdd(cellIndex(), n);
+  }
+
+  /**
+   * Returns the sum of the counter, which may miss concurrent additions.
+   *
+   * @return the sum
+   */
+  public long sum() {
+    long sum = 0;
+    for (int i = 1; i <= NUM_CELLS; ++i) {
+      sum += this.cells.get(i * PADDING);
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the index of the cell of the current thread; the first line is left empty as padding.
+   */
+  private static int cellIndex() {
+    final long id = Thread.currentThread().getId();
+    // Fibonacci hashing spreads consecutive thread ids over the cells
+    final int hash = (int) (id * 0x9E3779B97F4A7C15L >>> 32);
+    return ((hash & (NUM_CELLS - 1)) + 1) * PADDING;
+  }
+}
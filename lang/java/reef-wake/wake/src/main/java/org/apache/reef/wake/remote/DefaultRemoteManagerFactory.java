@@ -25,6 +25,7 @@ import org.apache.reef.tang.exceptions.InjectionException;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
 import org.apache.reef.wake.remote.ports.TcpPortProvider;
+import org.apache.reef.wake.remote.transport.OverflowPolicy;
 import org.apache.reef.wake.remote.transport.TransportFactory;
 
 import javax.inject.Inject;
@@ -41,6 +42,11 @@ final class DefaultRemoteManagerFactory implements RemoteManagerFactory {
   private final boolean orderingGuarantee;
   private final int numberOfTries;
   private final int retryTimeout;
+  private final int batchingWindow;
+  private final int batchingMaxBytes;
+  private final long outboundHighWaterMark;
+  private final long outboundLowWaterMark;
+  private final OverflowPolicy overflowPolicy;
   private final LocalAddressProvider localAddressProvider;
   private final TransportFactory transportFactory;
   private final TcpPortProvider tcpPortProvider;
@@ -52,6 +58,11 @@ final class DefaultRemoteManagerFactory implements RemoteManagerFactory {
       @Parameter(RemoteConfiguration.OrderingGuarantee.class) final boolean orderingGuarantee,
       @Parameter(RemoteConfiguration.NumberOfTries.class) final int numberOfTries,
       @Parameter(RemoteConfiguration.RetryTimeout.class) final int retryTimeout,
+      @Parameter(RemoteConfiguration.BatchingWindow.class) final int batchingWindow,
+      @Parameter(RemoteConfiguration.BatchingMaxBytes.class) final int batchingMaxBytes,
+      @Parameter(RemoteConfiguration.OutboundHighWaterMark.class) final long outboundHighWaterMark,
+      @Parameter(RemoteConfiguration.OutboundLowWaterMark.class) final long outboundLowWaterMark,
+      @Parameter(RemoteConfiguration.OutboundOverflowPolicy.class) final OverflowPolicy overflowPolicy,
       final LocalAddressProvider localAddressProvider,
       final TransportFactory tpFactory,
       final TcpPortProvider tcpPortProvider) {
@@ -61,6 +72,11 @@ final class DefaultRemoteManagerFactory implements RemoteManagerFactory {
     this.orderingGuarantee = orderingGuarantee;
     this.numberOfTries = numberOfTries;
     this.retryTimeout = retryTimeout;
+    this.batchingWindow = batchingWindow;
+    this.batchingMaxBytes = batchingMaxBytes;
+    this.outboundHighWaterMark = outboundHighWaterMark;
+    this.outboundLowWaterMark = outboundLowWaterMark;
+    this.overflowPolicy = overflowPolicy;
     this.localAddressProvider = localAddressProvider;
     this.transportFactory = tpFactory;
     this.tcpPortProvider = tcpPortProvider;
@@ -76,6 +92,11 @@ final class DefaultRemoteManagerFactory implements RemoteManagerFactory {
       newInjector.bindVolatileParameter(RemoteConfiguration.OrderingGuarantee.class, this.orderingGuarantee);
       newInjector.bindVolatileParameter(RemoteConfiguration.NumberOfTries.class, this.numberOfTries);
       newInjector.bindVolatileParameter(RemoteConfiguration.RetryTimeout.class, this.retryTimeout);
+      newInjector.bindVolatileParameter(RemoteConfiguration.BatchingWindow.class, this.batchingWindow);
+      newInjector.bindVolatileParameter(RemoteConfiguration.BatchingMaxBytes.class, this.batchingMaxBytes);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundHighWaterMark.class, this.outboundHighWaterMark);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundLowWaterMark.class, this.outboundLowWaterMark);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundOverflowPolicy.class, this.overflowPolicy);
       newInjector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
       newInjector.bindVolatileInstance(TransportFactory.class, this.transportFactory);
       newInjector.bindVolatileInstance(TcpPortProvider.class, this.tcpPortProvider);
@@ -107,6 +128,11 @@ final class DefaultRemoteManagerFactory implements RemoteManagerFactory {
       newInjector.bindVolatileParameter(RemoteConfiguration.OrderingGuarantee.class, orderingGuarantee);
       newInjector.bindVolatileParameter(RemoteConfiguration.NumberOfTries.class, numberOfTries);
       newInjector.bindVolatileParameter(RemoteConfiguration.RetryTimeout.class, retryTimeout);
+      newInjector.bindVolatileParameter(RemoteConfiguration.BatchingWindow.class, this.batchingWindow);
+      newInjector.bindVolatileParameter(RemoteConfiguration.BatchingMaxBytes.class, this.batchingMaxBytes);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundHighWaterMark.class, this.outboundHighWaterMark);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundLowWaterMark.class, this.outboundLowWaterMark);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundOverflowPolicy.class, this.overflowPolicy);
       newInjector.bindVolatileInstance(LocalAddressProvider.class, localAddressProvider);
       newInjector.bindVolatileInstance(TransportFactory.class, this.transportFactory);
       newInjector.bindVolatileInstance(TcpPortProvider.class, tcpPortProvider);
@@ -136,6 +162,11 @@ final class DefaultRemoteManagerFactory implements RemoteManagerFactory {
       newInjector.bindVolatileParameter(RemoteConfiguration.OrderingGuarantee.class, orderingGuarantee);
       newInjector.bindVolatileParameter(RemoteConfiguration.NumberOfTries.class, numberOfTries);
       newInjector.bindVolatileParameter(RemoteConfiguration.RetryTimeout.class, retryTimeout);
+      newInjector.bindVolatileParameter(RemoteConfiguration.BatchingWindow.class, this.batchingWindow);
+      newInjector.bindVolatileParameter(RemoteConfiguration.BatchingMaxBytes.class, this.batchingMaxBytes);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundHighWaterMark.class, this.outboundHighWaterMark);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundLowWaterMark.class, this.outboundLowWaterMark);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundOverflowPolicy.class, this.overflowPolicy);
       newInjector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
       newInjector.bindVolatileInstance(TransportFactory.class, this.transportFactory);
       newInjector.bindVolatileInstance(TcpPortProvider.class, this.tcpPortProvider);
@@ -157,6 +188,11 @@ final class DefaultRemoteManagerFactory implements RemoteManagerFactory {
       newInjector.bindVolatileParameter(RemoteConfiguration.OrderingGuarantee.class, this.orderingGuarantee);
       newInjector.bindVolatileParameter(RemoteConfiguration.NumberOfTries.class, this.numberOfTries);
       newInjector.bindVolatileParameter(RemoteConfiguration.RetryTimeout.class, this.retryTimeout);
+      newInjector.bindVolatileParameter(RemoteConfiguration.BatchingWindow.class, this.batchingWindow);
+      newInjector.bindVolatileParameter(RemoteConfiguration.BatchingMaxBytes.class, this.batchingMaxBytes);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundHighWaterMark.class, this.outboundHighWaterMark);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundLowWaterMark.class, this.outboundLowWaterMark);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundOverflowPolicy.class, this.overflowPolicy);
       newInjector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
       newInjector.bindVolatileInstance(TransportFactory.class, this.transportFactory);
       newInjector.bindVolatileInstance(TcpPortProvider.class, this.tcpPortProvider);
@@ -181,6 +217,11 @@ final class DefaultRemoteManagerFactory implements RemoteManagerFactory {
       newInjector.bindVolatileParameter(RemoteConfiguration.OrderingGuarantee.class, this.orderingGuarantee);
       newInjector.bindVolatileParameter(RemoteConfiguration.NumberOfTries.class, this.numberOfTries);
       newInjector.bindVolatileParameter(RemoteConfiguration.RetryTimeout.class, this.retryTimeout);
+      newInjector.bindVolatileParameter(RemoteConfiguration.BatchingWindow.class, this.batchingWindow);
+      newInjector.bindVolatileParameter(RemoteConfiguration.BatchingMaxBytes.class, this.batchingMaxBytes);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundHighWaterMark.class, this.outboundHighWaterMark);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundLowWaterMark.class, this.outboundLowWaterMark);
+      newInjector.bindVolatileParameter(RemoteConfiguration.OutboundOverflowPolicy.class, this.overflowPolicy);
       newInjector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
       newInjector.bindVolatileInstance(TransportFactory.class, this.transportFactory);
       newInjector.bindVolatileInstance(TcpPortProvider.class, this.tcpPortProvider);
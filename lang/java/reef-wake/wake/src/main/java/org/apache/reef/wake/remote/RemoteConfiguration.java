@@ -25,6 +25,8 @@ import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.remote.impl.DefaultTransportEStage;
 import org.apache.reef.wake.remote.impl.ObjectSerializableCodec;
 import org.apache.reef.wake.remote.impl.TransportEvent;
+import org.apache.reef.wake.remote.transport.BlockingOverflowPolicy;
+import org.apache.reef.wake.remote.transport.OverflowPolicy;
 
 /**
  * Configuration options and helper methods for Wake remoting.
@@ -97,6 +99,140 @@ public final class RemoteConfiguration {
     // Intentionally empty       
   }
 
+  /**
+   * The time window of batching.
+   */
+  @NamedParameter(doc = "The time window in milliseconds within which events bound for the same remote address " +
+      "are coalesced into a single write. Zero disables batching.", default_value = "0")
+  public static final class BatchingWindow implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The size limit of a batch.
+   */
+  @NamedParameter(doc = "The number of bytes after which a batch of events is written " +
+      "before its time window has elapsed.", default_value = "65536")
+  public static final class BatchingMaxBytes implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * Whether the transport hands received frames over as pooled buffers.
+   */
+  @NamedParameter(doc = "Whether the transport reads frames into pooled, reference-counted buffers " +
+      "instead of copying them into byte arrays.", default_value = "false")
+  public static final class PooledBuffers implements Name<Boolean> {
+    // Intentionally empty
+  }
+
+  /**
+   * The number of threads accepting connections.
+   */
+  @NamedParameter(doc = "The number of threads accepting connections. " +
+      "Zero uses twice the number of cores.", default_value = "3")
+  public static final class ServerBossThreads implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The number of threads serving accepted connections.
+   */
+  @NamedParameter(doc = "The number of threads serving accepted connections. " +
+      "Zero uses twice the number of cores.", default_value = "20")
+  public static final class ServerWorkerThreads implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The number of threads serving outgoing connections.
+   */
+  @NamedParameter(doc = "The number of threads serving outgoing connections. " +
+      "Zero uses twice the number of cores.", default_value = "10")
+  public static final class ClientWorkerThreads implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * Whether to use the native epoll transport.
+   */
+  @NamedParameter(doc = "Whether to use the native epoll transport. " +
+      "Falls back to NIO when it is not available.", default_value = "false")
+  public static final class NativeTransport implements Name<Boolean> {
+    // Intentionally empty
+  }
+
+  /**
+   * Whether to disable Nagle's algorithm on connections.
+   */
+  @NamedParameter(doc = "Whether to disable Nagle's algorithm on connections.", default_value = "true")
+  public static final class TcpNoDelay implements Name<Boolean> {
+    // Intentionally empty
+  }
+
+  /**
+   * The socket send buffer size.
+   */
+  @NamedParameter(doc = "The socket send buffer size in bytes. Zero keeps the system default.",
+      default_value = "0")
+  public static final class SendBufferSize implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The socket receive buffer size.
+   */
+  @NamedParameter(doc = "The socket receive buffer size in bytes. Zero keeps the system default.",
+      default_value = "0")
+  public static final class ReceiveBufferSize implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The high water mark of a connection's write buffer.
+   */
+  @NamedParameter(doc = "The number of pending outbound bytes above which a connection " +
+      "is no longer writable.", default_value = "65536")
+  public static final class WriteBufferHighWaterMark implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The low water mark of a connection's write buffer.
+   */
+  @NamedParameter(doc = "The number of pending outbound bytes below which a connection " +
+      "becomes writable again.", default_value = "32768")
+  public static final class WriteBufferLowWaterMark implements Name<Integer> {
+    // Intentionally empty
+  }
+
+  /**
+   * The high water mark of a link's outbound buffer.
+   */
+  @NamedParameter(doc = "The number of bytes queued for a remote address at which the overflow policy " +
+      "is applied to further writes. Zero leaves the outbound buffers unbounded.", default_value = "0")
+  public static final class OutboundHighWaterMark implements Name<Long> {
+    // Intentionally empty
+  }
+
+  /**
+   * The low water mark of a link's outbound buffer.
+   */
+  @NamedParameter(doc = "The number of bytes queued for a remote address at which blocked writers resume. " +
+      "Zero uses half of the high water mark.", default_value = "0")
+  public static final class OutboundLowWaterMark implements Name<Long> {
+    // Intentionally empty
+  }
+
+  /**
+   * The policy for writes to a full outbound buffer.
+   */
+  @NamedParameter(doc = "The policy for writes to a full outbound buffer.",
+      default_class = BlockingOverflowPolicy.class)
+  public static final class OutboundOverflowPolicy implements Name<OverflowPolicy> {
+    // Intentionally empty
+  }
+
   /**
    * Client stage for messaging transport.
    */
@@ -25,6 +25,7 @@ import org.apache.reef.wake.impl.StageManager;
 import org.apache.reef.wake.remote.*;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
 import org.apache.reef.wake.remote.ports.TcpPortProvider;
+import org.apache.reef.wake.remote.transport.OverflowPolicy;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.TransportFactory;
 import org.apache.reef.wake.remote.transport.netty.NettyMessagingTransport;
@@ -75,6 +76,11 @@ public final class DefaultRemoteManagerImplementation implements RemoteManager {
             @Parameter(RemoteConfiguration.OrderingGuarantee.class) final boolean orderingGuarantee,
             @Parameter(RemoteConfiguration.NumberOfTries.class) final int numberOfTries,
             @Parameter(RemoteConfiguration.RetryTimeout.class) final int retryTimeout,
+            @Parameter(RemoteConfiguration.BatchingWindow.class) final int batchingWindow,
+            @Parameter(RemoteConfiguration.BatchingMaxBytes.class) final int batchingMaxBytes,
+            @Parameter(RemoteConfiguration.OutboundHighWaterMark.class) final long outboundHighWaterMark,
+            @Parameter(RemoteConfiguration.OutboundLowWaterMark.class) final long outboundLowWaterMark,
+            @Parameter(RemoteConfiguration.OutboundOverflowPolicy.class) final OverflowPolicy overflowPolicy,
             final LocalAddressProvider localAddressProvider,
             final TransportFactory tpFactory,
             final TcpPortProvider tcpPortProvider) {
@@ -95,7 +101,8 @@ public final class DefaultRemoteManagerImplementation implements RemoteManager {
     this.myIdentifier = new SocketRemoteIdentifier(
                 (InetSocketAddress) this.transport.getLocalAddress());
 
-    this.reSendStage = new RemoteSenderStage(codec, this.transport, 10);
+    this.reSendStage = new RemoteSenderStage(codec, this.transport, 10, batchingWindow, batchingMaxBytes,
+        outboundHighWaterMark, outboundLowWaterMark, overflowPolicy);
 
     StageManager.instance().register(this);
     LOG.log(Level.FINEST, "RemoteManager {0} instantiated id {1} counter {2} listening on {3}:{4}. " +
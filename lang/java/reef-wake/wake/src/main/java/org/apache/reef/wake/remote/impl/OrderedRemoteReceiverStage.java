@@ -21,30 +21,33 @@ package org.apache.reef.wake.remote.impl;
 import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.WakeParameters;
-import org.apache.reef.wake.impl.DefaultThreadFactory;
-import org.apache.reef.wake.impl.ThreadPoolStage;
+import org.apache.reef.wake.impl.KeyedOrderedStage;
 import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
 
 import java.net.SocketAddress;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Receive incoming events and dispatch to correct handlers in order.
+ * <p>
+ * The transport events of each sender are decoded and dispatched by one thread at a time,
+ * while the events of different senders are handled in parallel.
  */
 public class OrderedRemoteReceiverStage implements EStage<TransportEvent> {
 
   private static final Logger LOG = Logger.getLogger(OrderedRemoteReceiverStage.class.getName());
-  private final long shutdownTimeout = WakeParameters.REMOTE_EXECUTOR_SHUTDOWN_TIMEOUT;
 
-  private final ConcurrentMap<SocketAddress, OrderedEventStream> streamMap;
-  private final ExecutorService pushExecutor;
-  private final ExecutorService pullExecutor;
+  // not a constant, so specify here
+  private static final int NUM_THREADS = Runtime.getRuntime().availableProcessors();
+  private static final int BATCH_SIZE = 64;
 
-  private final ThreadPoolStage<TransportEvent> pushStage;
-  private final ThreadPoolStage<OrderedEventStream> pullStage;
+  private final KeyedOrderedStage<SocketAddress, TransportEvent> stage;
 
   /**
    * Constructs an ordered remote receiver stage.
@@ -54,141 +57,108 @@ public class OrderedRemoteReceiverStage implements EStage<TransportEvent> {
    */
   public OrderedRemoteReceiverStage(
       final EventHandler<RemoteEvent<byte[]>> handler, final EventHandler<Throwable> errorHandler) {
-    this.streamMap = new ConcurrentHashMap<SocketAddress, OrderedEventStream>();
-
-    this.pushExecutor = Executors.newCachedThreadPool(
-        new DefaultThreadFactory(OrderedRemoteReceiverStage.class.getName() + "_Push"));
-    this.pullExecutor = Executors.newCachedThreadPool(
-        new DefaultThreadFactory(OrderedRemoteReceiverStage.class.getName() + "_Pull"));
-
-    this.pullStage = new ThreadPoolStage<OrderedEventStream>(
-        new OrderedPullEventHandler(handler), this.pullExecutor, errorHandler);
-    this.pushStage = new ThreadPoolStage<TransportEvent>(
-        new OrderedPushEventHandler(streamMap, pullStage), this.pushExecutor, errorHandler); // for decoupling
+    this.stage = new KeyedOrderedStage<>(OrderedRemoteReceiverStage.class.getName(),
+        new KeyedOrderedStage.KeySelector<SocketAddress, TransportEvent>() {
+          @Override
+          public SocketAddress getKey(final TransportEvent event) {
+            return event.getRemoteAddress();
+          }
+        },
+        new OrderedEventHandler(handler), NUM_THREADS, BATCH_SIZE, errorHandler,
+        WakeParameters.REMOTE_EXECUTOR_SHUTDOWN_TIMEOUT);
   }
 
   @Override
   public void onNext(final TransportEvent value) {
     LOG.log(Level.FINEST, "{0}", value);
-    pushStage.onNext(value);
+    stage.onNext(value);
   }
 
   @Override
   public void close() throws Exception {
     LOG.log(Level.FINE, "close");
-
-    if (pushExecutor != null) {
-      pushExecutor.shutdown();
-      try {
-        // wait for threads to finish for timeout
-        if (!pushExecutor.awaitTermination(shutdownTimeout, TimeUnit.MILLISECONDS)) {
-          LOG.log(Level.WARNING, "Executor did not terminate in " + shutdownTimeout + "ms.");
-          final List<Runnable> droppedRunnables = pushExecutor.shutdownNow();
-          LOG.log(Level.WARNING, "Executor dropped " + droppedRunnables.size() + " tasks.");
-        }
-      } catch (final InterruptedException e) {
-        LOG.log(Level.WARNING, "Close interrupted");
-        throw new RemoteRuntimeException(e);
-      }
-    }
-
-    if (pullExecutor != null) {
-      pullExecutor.shutdown();
-      try {
-        // wait for threads to finish for timeout
-        if (!pullExecutor.awaitTermination(shutdownTimeout, TimeUnit.MILLISECONDS)) {
-          LOG.log(Level.WARNING, "Executor did not terminate in " + shutdownTimeout + "ms.");
-          final List<Runnable> droppedRunnables = pullExecutor.shutdownNow();
-          LOG.log(Level.WARNING, "Executor dropped " + droppedRunnables.size() + " tasks.");
-        }
-      } catch (final InterruptedException e) {
-        LOG.log(Level.WARNING, "Close interrupted");
-        throw new RemoteRuntimeException(e);
-      }
+    try {
+      stage.close();
+    } catch (final InterruptedException e) {
+      LOG.log(Level.WARNING, "Close interrupted");
+      throw new RemoteRuntimeException(e);
     }
   }
 }
 
-class OrderedPushEventHandler implements EventHandler<TransportEvent> {
+/**
+ * Decodes the transport events of a sender and hands its remote events to the handler in sequence order.
+ * Never called by two threads at once for the same sender.
+ */
+class OrderedEventHandler implements EventHandler<TransportEvent> {
 
-  private static final Logger LOG = Logger.getLogger(OrderedPushEventHandler.class.getName());
+  private static final Logger LOG = Logger.getLogger(OrderedEventHandler.class.getName());
 
   private final RemoteEventCodec<byte[]> codec;
+  private final EventHandler<RemoteEvent<byte[]>> handler;
   private final ConcurrentMap<SocketAddress, OrderedEventStream> streamMap; // per remote address
-  private final ThreadPoolStage<OrderedEventStream> pullStage;
 
-  OrderedPushEventHandler(final ConcurrentMap<SocketAddress, OrderedEventStream> streamMap,
-                          final ThreadPoolStage<OrderedEventStream> pullStage) {
+  OrderedEventHandler(final EventHandler<RemoteEvent<byte[]>> handler) {
     this.codec = new RemoteEventCodec<>(new ByteCodec());
-    this.streamMap = streamMap;
-    this.pullStage = pullStage;
+    this.handler = handler;
+    this.streamMap = new ConcurrentHashMap<>();
   }
 
   @Override
   public void onNext(final TransportEvent value) {
-    final RemoteEvent<byte[]> re = codec.decode(value.getData());
-    re.setLocalAddress(value.getLocalAddress());
-    re.setRemoteAddress(value.getRemoteAddress());
+    LOG.log(Level.FINER, "Value length is {0}", value.getLength());
 
-    if (LOG.isLoggable(Level.FINER)) {
-      LOG.log(Level.FINER, "{0} {1}", new Object[]{value, re});
+    final List<RemoteEvent<byte[]>> events;
+    try {
+      events = value.hasBuffer() ? codec.decodeAll(value.getDataStream()) : codec.decodeAll(value.getData());
+    } finally {
+      value.release();
     }
 
-    LOG.log(Level.FINER, "Value length is {0}", value.getData().length);
-
-    final SocketAddress addr = re.remoteAddress();
-    OrderedEventStream stream = streamMap.get(re.remoteAddress());
+    final SocketAddress addr = value.getRemoteAddress();
+    OrderedEventStream stream = streamMap.get(addr);
     if (stream == null) {
       stream = new OrderedEventStream();
-      if (streamMap.putIfAbsent(addr, stream) != null) {
-        stream = streamMap.get(addr);
-      }
+      streamMap.put(addr, stream);
     }
-    stream.add(re);
-    pullStage.onNext(stream);
-  }
-}
 
-class OrderedPullEventHandler implements EventHandler<OrderedEventStream> {
+    // A batch is queued as a whole before the stream is consumed once
+    for (final RemoteEvent<byte[]> re : events) {
+      re.setLocalAddress(value.getLocalAddress());
+      re.setRemoteAddress(addr);
 
-  private static final Logger LOG = Logger.getLogger(OrderedPullEventHandler.class.getName());
-
-  private final EventHandler<RemoteEvent<byte[]>> handler;
-
-  OrderedPullEventHandler(final EventHandler<RemoteEvent<byte[]>> handler) {
-    this.handler = handler;
-  }
-
-  @Override
-  public void onNext(final OrderedEventStream stream) {
-    if (LOG.isLoggable(Level.FINER)) {
-      LOG.log(Level.FINER, "{0}", stream);
+      if (LOG.isLoggable(Level.FINER)) {
+        LOG.log(Level.FINER, "{0} {1}", new Object[]{value, re});
+      }
+      stream.add(re);
     }
 
-    synchronized (stream) {
-      RemoteEvent<byte[]> event;
-      while ((event = stream.consume()) != null) {
-        handler.onNext(event);
-      }
+    RemoteEvent<byte[]> event;
+    while ((event = stream.consume()) != null) {
+      handler.onNext(event);
     }
   }
 }
 
+/**
+ * The remote events of a sender that arrived ahead of their turn.
+ * Only accessed by the thread handling the events of that sender.
+ */
 class OrderedEventStream {
   private static final Logger LOG = Logger.getLogger(OrderedEventStream.class.getName());
-  private final BlockingQueue<RemoteEvent<byte[]>> queue; // a queue of remote events
+  private final Queue<RemoteEvent<byte[]>> queue; // a queue of remote events
   private long nextSeq; // the number of the next event to consume
 
   OrderedEventStream() {
-    queue = new PriorityBlockingQueue<>(11, new RemoteEventComparator<byte[]>());
+    queue = new PriorityQueue<>(11, new RemoteEventComparator<byte[]>());
     nextSeq = 0;
   }
 
-  synchronized void add(final RemoteEvent<byte[]> event) {
+  void add(final RemoteEvent<byte[]> event) {
     queue.add(event);
   }
 
-  synchronized RemoteEvent<byte[]> consume() {
+  RemoteEvent<byte[]> consume() {
     RemoteEvent<byte[]> event = queue.peek();
     if (event != null) {
 
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.impl;
+
+import com.google.protobuf.ByteString;
+import org.apache.reef.wake.impl.DefaultThreadFactory;
+import org.apache.reef.wake.remote.proto.WakeRemoteProtos.WakeMessagePBuf;
+import org.apache.reef.wake.remote.transport.Link;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Coalesces the remote events bound for the same remote address into batch frames,
+ * so that many small events cost a single write on the link.
+ * A batch is written once it holds at least the maximum number of bytes, or when the
+ * batching window has elapsed since its first event was added, whichever comes first.
+ * <p>
+ * Writes to a link may block while its peer is slow, so they are never made while holding
+ * the lock that producers take to add events. Batches whose window has elapsed are written
+ * by the sender executor rather than by the timer thread, so that a slow peer does not delay
+ * the batches of the others. While a write to the peer is still in progress, a timed write
+ * is postponed by another window instead of waiting for it.
+ * A batch found empty after a timed write is removed, so the batcher only keeps track of
+ * the addresses that events were sent to lately.
+ */
+final class RemoteEventBatcher implements AutoCloseable {
+
+  private static final Logger LOG = Logger.getLogger(RemoteEventBatcher.class.getName());
+
+  /**
+   * Sequence number of a batch frame; the sequence numbers of its events are kept in the batch.
+   */
+  private static final long BATCH_SEQ = -1;
+
+  private final long windowMillis;
+  private final int maxBytes;
+  private final Executor executor;
+  private final ScheduledExecutorService scheduler;
+  private final ConcurrentMap<SocketAddress, Batch> batches = new ConcurrentHashMap<>();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  /**
+   * Constructs a remote event batcher.
+   *
+   * @param windowMillis the time window in milliseconds within which events are coalesced
+   * @param maxBytes     the number of bytes after which a batch is written right away
+   * @param executor     the executor that writes the batches whose window has elapsed
+   */
+  RemoteEventBatcher(final long windowMillis, final int maxBytes, final Executor executor) {
+    this.windowMillis = windowMillis;
+    this.maxBytes = maxBytes;
+    this.executor = executor;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(
+        new DefaultThreadFactory(RemoteEventBatcher.class.getName()));
+  }
+
+  /**
+   * Adds the event to the batch of its remote address.
+   * Once the batcher is closed, the event is written right away.
+   *
+   * @param link    the link to the remote address
+   * @param message the encoded event
+   */
+  void write(final Link<byte[]> link, final WakeMessagePBuf message) {
+    if (closed.get()) {
+      link.write(message.toByteArray());
+      return;
+    }
+    final SocketAddress address = link.getRemoteAddress();
+    while (true) {
+      Batch batch = batches.get(address);
+      if (batch == null) {
+        final Batch newBatch = new Batch(address);
+        batch = batches.putIfAbsent(address, newBatch);
+        if (batch == null) {
+          batch = newBatch;
+        }
+      }
+      if (batch.add(link, message)) {
+        return;
+      }
+      // The batch was removed in the meantime, so retry with a new one
+    }
+  }
+
+  /**
+   * Writes all pending batches and stops the timer.
+   */
+  @Override
+  public void close() {
+    closed.set(true);
+    for (final Batch batch : batches.values()) {
+      batch.flush();
+    }
+    scheduler.shutdown();
+  }
+
+  /**
+   * Writes the batch once the window has elapsed.
+   * If the batcher has been closed since, the batch is written right away.
+   */
+  private void scheduleFlush(final Batch batch) {
+    try {
+      scheduler.schedule(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            executor.execute(batch);
+          } catch (final RejectedExecutionException e) {
+            batch.run();
+          }
+        }
+      }, windowMillis, TimeUnit.MILLISECONDS);
+    } catch (final RejectedExecutionException e) {
+      batch.flush();
+    }
+  }
+
+  /**
+   * The events pending for a remote address.
+   */
+  private final class Batch implements Runnable {
+
+    private final SocketAddress address;
+    private final List<WakeMessagePBuf> messages = new ArrayList<>();
+    private Link<byte[]> link;
+    private int numBytes = 0;
+    private boolean removed = false;
+
+    /**
+     * Held while a frame is taken from the batch and written, so that frames are written in order.
+     * Taken before the monitor of the batch.
+     */
+    private final Lock writeLock = new ReentrantLock();
+
+    Batch(final SocketAddress address) {
+      this.address = address;
+    }
+
+    /**
+     * @return false if the batch has been removed, in which case the event is not added
+     */
+    boolean add(final Link<byte[]> newLink, final WakeMessagePBuf message) {
+      final boolean first;
+      final boolean full;
+      synchronized (this) {
+        if (removed) {
+          return false;
+        }
+        link = newLink;
+        messages.add(message);
+        numBytes += message.getSerializedSize();
+        first = messages.size() == 1;
+        full = numBytes >= maxBytes;
+      }
+      if (full) {
+        flush();
+      } else if (first) {
+        scheduleFlush(this);
+      }
+      return true;
+    }
+
+    /**
+     * Writes the pending events. A single event is written as is.
+     */
+    void flush() {
+      writeLock.lock();
+      try {
+        final Link<byte[]> target;
+        final WakeMessagePBuf frame;
+        synchronized (this) {
+          if (messages.isEmpty()) {
+            return;
+          }
+          target = link;
+          if (messages.size() == 1) {
+            frame = messages.get(0);
+          } else {
+            frame = WakeMessagePBuf.newBuilder()
+                .setSeq(BATCH_SEQ)
+                .setData(ByteString.EMPTY)
+                .addAllBatch(messages)
+                .build();
+          }
+          LOG.log(Level.FINEST, "Write {0} events in {1} bytes to {2}",
+              new Object[]{messages.size(), numBytes, address});
+          messages.clear();
+          numBytes = 0;
+        }
+        target.write(frame.toByteArray());
+      } finally {
+        writeLock.unlock();
+      }
+    }
+
+    /**
+     * Writes the pending events when a window has elapsed, and removes the batch if no event arrived meanwhile.
+     * If the batch reached the byte limit in the meantime, this writes a younger batch early, which is harmless.
+     * If another thread is still writing to the peer, tries again after another window.
+     */
+    @Override
+    public void run() {
+      if (!writeLock.tryLock()) {
+        scheduleFlush(this);
+        return;
+      }
+      try {
+        flush();
+        synchronized (this) {
+          if (messages.isEmpty()) {
+            removed = true;
+            batches.remove(address, this);
+          }
+        }
+      } finally {
+        writeLock.unlock();
+      }
+    }
+  }
+}
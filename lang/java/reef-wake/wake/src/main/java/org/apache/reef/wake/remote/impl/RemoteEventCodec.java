@@ -20,6 +20,9 @@ package org.apache.reef.wake.remote.impl;
 
 import org.apache.reef.wake.remote.Codec;
 
+import java.io.InputStream;
+import java.util.List;
+
 /**
  * Codec of the event sent remotely.
  *
@@ -62,4 +65,23 @@ public class RemoteEventCodec<T> implements Codec<RemoteEvent<T>> {
     return decoder.decode(data);
   }
 
+  /**
+   * Decodes all remote event objects from the bytes of a single event or of a batch of events.
+   *
+   * @param data the byte array
+   * @return the remote event objects
+   */
+  List<RemoteEvent<T>> decodeAll(final byte[] data) {
+    return decoder.decodeAll(data);
+  }
+
+  /**
+   * Decodes the remote events of a message read from the stream.
+   *
+   * @param stream the stream holding the message
+   * @return the remote event objects
+   */
+  List<RemoteEvent<T>> decodeAll(final InputStream stream) {
+    return decoder.decodeAll(stream);
+  }
 }
@@ -23,6 +23,12 @@ import org.apache.reef.wake.remote.Decoder;
 import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
 import org.apache.reef.wake.remote.proto.WakeRemoteProtos.WakeMessagePBuf;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Remote event decoder using the WakeMessage protocol buffer.
  *
@@ -59,4 +65,53 @@ public class RemoteEventDecoder<T> implements Decoder<RemoteEvent<T>> {
     }
   }
 
+  /**
+   * Decodes all remote events from the byte array data, which holds
+   * either a single event or a batch of events written by a batching sender.
+   *
+   * @param data the byte array data
+   * @return the remote events, in the order they were sent
+   * @throws RemoteRuntimeException
+   */
+  List<RemoteEvent<T>> decodeAll(final byte[] data) {
+    final WakeMessagePBuf pbuf;
+    try {
+      pbuf = WakeMessagePBuf.parseFrom(data);
+    } catch (final InvalidProtocolBufferException e) {
+      throw new RemoteRuntimeException(e);
+    }
+    return toRemoteEvents(pbuf);
+  }
+
+  /**
+   * Decodes the remote events of a message read from the stream.
+   *
+   * @param stream the stream holding the message
+   * @return the remote events, in the order they were sent
+   * @throws RemoteRuntimeException
+   */
+  List<RemoteEvent<T>> decodeAll(final InputStream stream) {
+    final WakeMessagePBuf pbuf;
+    try {
+      pbuf = WakeMessagePBuf.parseFrom(stream);
+    } catch (final IOException e) {
+      throw new RemoteRuntimeException(e);
+    }
+    return toRemoteEvents(pbuf);
+  }
+
+  private List<RemoteEvent<T>> toRemoteEvents(final WakeMessagePBuf pbuf) {
+    if (pbuf.getBatchCount() == 0) {
+      return Collections.singletonList(toRemoteEvent(pbuf));
+    }
+    final List<RemoteEvent<T>> events = new ArrayList<>(pbuf.getBatchCount());
+    for (final WakeMessagePBuf message : pbuf.getBatchList()) {
+      events.add(toRemoteEvent(message));
+    }
+    return events;
+  }
+
+  private RemoteEvent<T> toRemoteEvent(final WakeMessagePBuf pbuf) {
+    return new RemoteEvent<T>(null, null, pbuf.getSeq(), decoder.decode(pbuf.getData().toByteArray()));
+  }
 }
@@ -50,6 +50,17 @@ public class RemoteEventEncoder<T> implements Encoder<RemoteEvent<T>> {
    */
   @Override
   public byte[] encode(final RemoteEvent<T> obj) {
+    return toPBuf(obj).toByteArray();
+  }
+
+  /**
+   * Builds the protocol buffer message of the remote event, to be written on its own or as part of a batch.
+   *
+   * @param obj the remote event
+   * @return the message
+   * @throws RemoteRuntimeException
+   */
+  WakeMessagePBuf toPBuf(final RemoteEvent<T> obj) {
     if (obj.getEvent() == null) {
       throw new RemoteRuntimeException("Event is null");
     }
@@ -58,7 +69,7 @@ public class RemoteEventEncoder<T> implements Encoder<RemoteEvent<T>> {
     builder.setSeq(obj.getSeq());
     builder.setData(ByteString.copyFrom(encoder.encode(obj.getEvent())));
 
-    return builder.build().toByteArray();
+    return builder.build();
   }
 
 }
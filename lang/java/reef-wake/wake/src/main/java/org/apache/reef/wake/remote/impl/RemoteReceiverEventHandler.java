@@ -20,6 +20,7 @@ package org.apache.reef.wake.remote.impl;
 
 import org.apache.reef.wake.EventHandler;
 
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -44,19 +45,27 @@ class RemoteReceiverEventHandler implements EventHandler<TransportEvent> {
   }
 
   /**
-   * Handles the event received from a remote node.
+   * Handles the event received from a remote node, or each of the events of a batch in order.
    *
    * @param e the event
    */
   @Override
   public void onNext(final TransportEvent e) {
-    final RemoteEvent<byte[]> re = codec.decode(e.getData());
-    re.setLocalAddress(e.getLocalAddress());
-    re.setRemoteAddress(e.getRemoteAddress());
+    final List<RemoteEvent<byte[]>> events;
+    try {
+      events = e.hasBuffer() ? codec.decodeAll(e.getDataStream()) : codec.decodeAll(e.getData());
+    } finally {
+      e.release();
+    }
+
+    for (final RemoteEvent<byte[]> re : events) {
+      re.setLocalAddress(e.getLocalAddress());
+      re.setRemoteAddress(e.getRemoteAddress());
 
-    if (LOG.isLoggable(Level.FINER)) {
-      LOG.log(Level.FINER, "{0} {1}", new Object[]{e, re});
+      if (LOG.isLoggable(Level.FINER)) {
+        LOG.log(Level.FINER, "{0} {1}", new Object[]{e, re});
+      }
+      handler.onNext(re);
     }
-    handler.onNext(re);
   }
 }
@@ -21,7 +21,9 @@ package org.apache.reef.wake.remote.impl;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.remote.Encoder;
 import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
+import org.apache.reef.wake.remote.proto.WakeRemoteProtos.WakeMessagePBuf;
 import org.apache.reef.wake.remote.transport.Link;
+import org.apache.reef.wake.remote.transport.OutboundBuffer;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.netty.LoggingLinkListener;
 
@@ -42,9 +44,11 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
 
   private final RemoteEventEncoder<T> encoder;
   private final Transport transport;
-  private final BlockingQueue<RemoteEvent<T>> queue;
+  private final BlockingQueue<WakeMessagePBuf> queue;
+  private final OutboundBuffer queueBuffer;
   private final AtomicReference<Link<byte[]>> linkRef;
   private final ExecutorService executor;
+  private final RemoteEventBatcher batcher;
 
   /**
    * Constructs a remote sender event handler.
@@ -52,13 +56,18 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
    * @param encoder   the encoder
    * @param transport the transport to send events
    * @param executor  the executor service used for creating channels
+   * @param batcher   the batcher to coalesce writes with, or null to write every event on its own
+   * @param queueBuffer the buffer bounding the events queued while the link is being established
    */
-  RemoteSenderEventHandler(final Encoder<T> encoder, final Transport transport, final ExecutorService executor) {
+  RemoteSenderEventHandler(final Encoder<T> encoder, final Transport transport, final ExecutorService executor,
+                           final RemoteEventBatcher batcher, final OutboundBuffer queueBuffer) {
     this.encoder = new RemoteEventEncoder<>(encoder);
     this.transport = transport;
     this.executor = executor;
+    this.batcher = batcher;
     this.linkRef = new AtomicReference<>();
     this.queue = new LinkedBlockingQueue<>();
+    this.queueBuffer = queueBuffer;
   }
 
   void setLink(final Link<byte[]> link) {
@@ -69,10 +78,11 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
 
   void consumeQueue() {
     try {
-      RemoteEvent<T> event;
-      while ((event = queue.poll(0, TimeUnit.MICROSECONDS)) != null) {
-        LOG.log(Level.FINEST, "{0}", event);
-        linkRef.get().write(encoder.encode(event));
+      WakeMessagePBuf message;
+      while ((message = queue.poll(0, TimeUnit.MICROSECONDS)) != null) {
+        LOG.log(Level.FINEST, "{0}", message);
+        queueBuffer.release(message.getSerializedSize());
+        write(linkRef.get(), message);
       }
     } catch (final InterruptedException e) {
       e.printStackTrace();
@@ -90,7 +100,13 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
   public void onNext(final RemoteEvent<T> value) {
     try {
       if (linkRef.get() == null) {
-        queue.add(value);
+        final WakeMessagePBuf message = encoder.toPBuf(value);
+        if (!queueBuffer.acquire(message.getSerializedSize())) {
+          LOG.log(Level.FINE, "Queue of events to {0} full, event dropped: {1}",
+              new Object[]{value.remoteAddress(), value});
+          return;
+        }
+        queue.add(message);
 
         final Link<byte[]> link = transport.get(value.remoteAddress());
         if (link != null) {
@@ -111,7 +127,7 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
           LOG.log(Level.FINEST, "Send an event from " + linkRef.get().getLocalAddress() + " to " +
               linkRef.get().getRemoteAddress() + " value " + value);
         }
-        linkRef.get().write(encoder.encode(value));
+        write(linkRef.get(), encoder.toPBuf(value));
       }
     } catch (final RemoteRuntimeException ex2) {
       ex2.printStackTrace();
@@ -119,6 +135,24 @@ class RemoteSenderEventHandler<T> implements EventHandler<RemoteEvent<T>> {
     }
   }
 
+  /**
+   * Drops the events queued for a link that could not be established.
+   */
+  void clearQueue() {
+    WakeMessagePBuf message;
+    while ((message = queue.poll()) != null) {
+      queueBuffer.release(message.getSerializedSize());
+    }
+  }
+
+  private void write(final Link<byte[]> link, final WakeMessagePBuf message) {
+    if (batcher == null) {
+      link.write(message.toByteArray());
+    } else {
+      batcher.write(link, message);
+    }
+  }
+
 
 }
 
@@ -155,6 +189,7 @@ class ConnectEventHandler<T> implements EventHandler<ConnectFutureTask<Link<byte
     try {
       handler.setLink(value.get());
     } catch (InterruptedException | ExecutionException e) {
+      handler.clearQueue();
       e.printStackTrace();
       throw new RemoteRuntimeException(e);
     }
@@ -24,6 +24,8 @@ import org.apache.reef.wake.WakeParameters;
 import org.apache.reef.wake.impl.DefaultThreadFactory;
 import org.apache.reef.wake.remote.Encoder;
 import org.apache.reef.wake.remote.exception.RemoteRuntimeException;
+import org.apache.reef.wake.remote.transport.OutboundBuffer;
+import org.apache.reef.wake.remote.transport.OverflowPolicy;
 import org.apache.reef.wake.remote.transport.Transport;
 
 import java.util.List;
@@ -45,6 +47,10 @@ public class RemoteSenderStage implements Stage {
   private final ExecutorService executor;
   private final Encoder encoder;
   private final Transport transport;
+  private final RemoteEventBatcher batcher;
+  private final long outboundHighWaterMark;
+  private final long outboundLowWaterMark;
+  private final OverflowPolicy overflowPolicy;
 
   /**
    * Constructs a remote sender stage.
@@ -54,10 +60,48 @@ public class RemoteSenderStage implements Stage {
    * @param numThreads the number of threads
    */
   public RemoteSenderStage(final Encoder encoder, final Transport transport, final int numThreads) {
+    this(encoder, transport, numThreads, 0, 0);
+  }
+
+  /**
+   * Constructs a remote sender stage that coalesces the events bound for the same remote address.
+   *
+   * @param encoder          the encoder of the event
+   * @param transport        the transport to send events
+   * @param numThreads       the number of threads
+   * @param batchingWindow   the time window in milliseconds within which events are coalesced; 0 disables batching
+   * @param batchingMaxBytes the number of bytes after which a batch is written before its window has elapsed
+   */
+  public RemoteSenderStage(final Encoder encoder, final Transport transport, final int numThreads,
+                           final int batchingWindow, final int batchingMaxBytes) {
+    this(encoder, transport, numThreads, batchingWindow, batchingMaxBytes, 0, 0, null);
+  }
+
+  /**
+   * Constructs a remote sender stage that also bounds the events queued while a link is being established.
+   *
+   * @param encoder               the encoder of the event
+   * @param transport             the transport to send events
+   * @param numThreads            the number of threads
+   * @param batchingWindow        the time window in milliseconds within which events are coalesced;
+   *                              0 disables batching
+   * @param batchingMaxBytes      the number of bytes after which a batch is written before its window has elapsed
+   * @param outboundHighWaterMark the number of queued bytes at which the overflow policy is applied; 0 if unbounded
+   * @param outboundLowWaterMark  the number of queued bytes at which blocked writers resume
+   * @param overflowPolicy        the policy for events sent while the queue is full
+   */
+  public RemoteSenderStage(final Encoder encoder, final Transport transport, final int numThreads,
+                           final int batchingWindow, final int batchingMaxBytes,
+                           final long outboundHighWaterMark, final long outboundLowWaterMark,
+                           final OverflowPolicy overflowPolicy) {
     this.encoder = encoder;
     this.transport = transport;
     this.executor = Executors.newFixedThreadPool(
         numThreads, new DefaultThreadFactory(RemoteSenderStage.class.getName()));
+    this.batcher = batchingWindow > 0 ? new RemoteEventBatcher(batchingWindow, batchingMaxBytes, executor) : null;
+    this.outboundHighWaterMark = outboundHighWaterMark;
+    this.outboundLowWaterMark = outboundLowWaterMark;
+    this.overflowPolicy = overflowPolicy;
   }
 
   /**
@@ -66,7 +110,8 @@ public class RemoteSenderStage implements Stage {
    * @return a remote sender event handler
    */
   public <T> EventHandler<RemoteEvent<T>> getHandler() {
-    return new RemoteSenderEventHandler<T>(encoder, transport, executor);
+    return new RemoteSenderEventHandler<T>(encoder, transport, executor, batcher,
+        new OutboundBuffer(outboundHighWaterMark, outboundLowWaterMark, overflowPolicy));
   }
 
   /**
@@ -75,6 +120,8 @@ public class RemoteSenderStage implements Stage {
   @Override
   public void close() throws Exception {
     LOG.log(Level.FINE, "close {0}", transport);
+    // Connections still being established write their queued events into the batcher,
+    // so the batcher is closed only once the executor has drained.
     executor.shutdown();
     try {
       // wait for threads to finish for timeout
@@ -86,6 +133,10 @@ public class RemoteSenderStage implements Stage {
     } catch (final InterruptedException e) {
       LOG.log(Level.WARNING, "Close interrupted", e);
       throw new RemoteRuntimeException(e);
+    } finally {
+      if (batcher != null) {
+        batcher.close();
+      }
     }
   }
 }
@@ -18,16 +18,26 @@
  */
 package org.apache.reef.wake.remote.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import org.apache.reef.wake.remote.transport.Link;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 
 
 /**
  * Event sent from a remote node.
+ * <p>
+ * The data is either a byte array or, when the transport runs with pooled buffers,
+ * a reference-counted buffer owned by the event. A buffer is released by {@link #release()}
+ * or by the first call to {@link #getData()}, which copies it into a byte array.
  */
 public class TransportEvent {
-  private final byte[] data;
+  private byte[] data;
+  private ByteBuf buffer;
   private final SocketAddress localAddr;
   private final SocketAddress remoteAddr;
   private final Link<byte[]> link;
@@ -41,6 +51,22 @@ public class TransportEvent {
    */
   public TransportEvent(final byte[] data, final SocketAddress localAddr, final SocketAddress remoteAddr) {
     this.data = data;
+    this.buffer = null;
+    this.localAddr = localAddr;
+    this.remoteAddr = remoteAddr;
+    link = null;
+  }
+
+  /**
+   * Constructs an object event that takes over a reference to the buffer.
+   *
+   * @param buffer     the buffer holding the data
+   * @param localAddr  the local socket address
+   * @param remoteAddr the remote socket address
+   */
+  public TransportEvent(final ByteBuf buffer, final SocketAddress localAddr, final SocketAddress remoteAddr) {
+    this.data = null;
+    this.buffer = buffer;
     this.localAddr = localAddr;
     this.remoteAddr = remoteAddr;
     link = null;
@@ -54,7 +80,23 @@ public class TransportEvent {
    * @param link
    */
   public TransportEvent(final byte[] data, final Link<byte[]> link) {
+    this(data, null, link);
+  }
+
+  /**
+   * Constructs the transport event object that takes over a reference to the buffer.
+   * initialize local and remote address if link not null
+   *
+   * @param buffer the buffer holding the data
+   * @param link   the link to write back to the client
+   */
+  public TransportEvent(final ByteBuf buffer, final Link<byte[]> link) {
+    this(null, buffer, link);
+  }
+
+  private TransportEvent(final byte[] data, final ByteBuf buffer, final Link<byte[]> link) {
     this.data = data;
+    this.buffer = buffer;
     this.link = link;
     if (this.link != null) {
       localAddr = link.getLocalAddress();
@@ -67,13 +109,88 @@ public class TransportEvent {
 
   /**
    * Gets the data.
+   * If the data is held in a buffer, it is copied into a byte array and the buffer is released.
    *
    * @return data
+   * @throws IllegalStateException if the buffer has already been released
    */
-  public byte[] getData() {
+  public synchronized byte[] getData() {
+    if (data == null) {
+      checkNotReleased();
+      data = new byte[buffer.readableBytes()];
+      buffer.getBytes(buffer.readerIndex(), data);
+      release();
+    }
     return data;
   }
 
+  /**
+   * Returns whether the data is held in a buffer that has not been released yet.
+   *
+   * @return true if the data can be read without copying it into a byte array
+   */
+  public synchronized boolean hasBuffer() {
+    return buffer != null;
+  }
+
+  /**
+   * Gets the length of the data in bytes.
+   *
+   * @return the length of the data
+   * @throws IllegalStateException if the buffer has already been released
+   */
+  public synchronized int getLength() {
+    if (data != null) {
+      return data.length;
+    }
+    checkNotReleased();
+    return buffer.readableBytes();
+  }
+
+  /**
+   * Gets a read-only view of the data, valid until the event is released.
+   *
+   * @return the data as a byte buffer
+   * @throws IllegalStateException if the buffer has already been released
+   */
+  public synchronized ByteBuffer getDataBuffer() {
+    if (data != null) {
+      return ByteBuffer.wrap(data).asReadOnlyBuffer();
+    }
+    checkNotReleased();
+    return buffer.nioBuffer().asReadOnlyBuffer();
+  }
+
+  /**
+   * Gets a stream over the data, valid until the event is released.
+   *
+   * @return a stream that reads the data
+   * @throws IllegalStateException if the buffer has already been released
+   */
+  public synchronized InputStream getDataStream() {
+    if (data != null) {
+      return new ByteArrayInputStream(data);
+    }
+    checkNotReleased();
+    return new ByteBufInputStream(buffer.duplicate());
+  }
+
+  /**
+   * Releases the buffer holding the data, if any. Calling it more than once has no effect.
+   */
+  public synchronized void release() {
+    if (buffer != null) {
+      buffer.release();
+      buffer = null;
+    }
+  }
+
+  private void checkNotReleased() {
+    if (buffer == null) {
+      throw new IllegalStateException("The data of the event has already been released");
+    }
+  }
+
   /**
    * Returns the link associated with the event.
    * which can be used to write back to the client
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport;
+
+import org.apache.reef.wake.remote.transport.exception.TransportRuntimeException;
+
+import javax.inject.Inject;
+
+/**
+ * Overflow policy that makes the writer wait until the outbound buffer drains to its low water mark.
+ */
+public final class BlockingOverflowPolicy implements OverflowPolicy {
+
+  @Inject
+  public BlockingOverflowPolicy() {
+  }
+
+  @Override
+  public boolean onOverflow(final OutboundBuffer buffer, final int size) {
+    try {
+      buffer.awaitLowWaterMark();
+      return true;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TransportRuntimeException("Interrupted while waiting for the outbound buffer to drain", e);
+    }
+  }
+}
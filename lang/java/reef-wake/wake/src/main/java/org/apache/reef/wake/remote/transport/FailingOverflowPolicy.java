@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport;
+
+import org.apache.reef.wake.remote.transport.exception.TransportRuntimeException;
+
+import javax.inject.Inject;
+
+/**
+ * Overflow policy that fails the writes made while the outbound buffer is full.
+ */
+public final class FailingOverflowPolicy implements OverflowPolicy {
+
+  @Inject
+  public FailingOverflowPolicy() {
+  }
+
+  @Override
+  public boolean onOverflow(final OutboundBuffer buffer, final int size) {
+    throw new TransportRuntimeException("Outbound buffer is full: " + buffer.getQueuedBytes() +
+        " bytes queued, high water mark " + buffer.getHighWaterMark());
+  }
+}
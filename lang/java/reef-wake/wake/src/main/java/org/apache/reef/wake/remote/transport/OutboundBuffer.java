@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport;
+
+/**
+ * Accounts for the bytes written to a link that have not been sent yet.
+ * <p>
+ * Once the queued bytes reach the high water mark, the overflow policy decides whether a new message
+ * is queued, dropped or fails. The limit is soft: writers racing past the check may overshoot it by one
+ * message each. Writers waiting for the buffer to drain are woken up once it falls to the low water mark.
+ */
+public final class OutboundBuffer {
+
+  private final long highWaterMark;
+  private final long lowWaterMark;
+  private final OverflowPolicy policy;
+
+  private long queuedBytes = 0;
+
+  /**
+   * Constructs an outbound buffer.
+   *
+   * @param highWaterMark the number of queued bytes at which the policy is applied; 0 makes the buffer unbounded
+   * @param lowWaterMark  the number of queued bytes at which waiting writers resume; 0 means half the high mark
+   * @param policy        the policy applied to messages written above the high water mark
+   */
+  public OutboundBuffer(final long highWaterMark, final long lowWaterMark, final OverflowPolicy policy) {
+    if (highWaterMark < 0 || lowWaterMark < 0 || lowWaterMark > highWaterMark) {
+      throw new IllegalArgumentException("Invalid water marks: low " + lowWaterMark + ", high " + highWaterMark);
+    }
+    if (highWaterMark > 0 && policy == null) {
+      throw new IllegalArgumentException("A bounded buffer needs an overflow policy");
+    }
+    this.highWaterMark = highWaterMark;
+    this.lowWaterMark = lowWaterMark > 0 ? lowWaterMark : highWaterMark / 2;
+    this.policy = policy;
+  }
+
+  /**
+   * Reserves room for a message, applying the overflow policy if the buffer is full.
+   *
+   * @param size the size of the message in bytes
+   * @return true if the message may be written, false if it has to be dropped
+   */
+  public boolean acquire(final int size) {
+    if (this.highWaterMark > 0 && this.getQueuedBytes() >= this.highWaterMark &&
+        !this.policy.onOverflow(this, size)) {
+      return false;
+    }
+    this.forceAcquire(size);
+    return true;
+  }
+
+  /**
+   * Reserves room for a message regardless of the high water mark.
+   * Used by writers that must not block, such as I/O threads.
+   *
+   * @param size the size of the message in bytes
+   */
+  public synchronized void forceAcquire(final int size) {
+    this.queuedBytes += size;
+  }
+
+  /**
+   * Gives back the room of a message that has been sent or has failed.
+   *
+   * @param size the size of the message in bytes
+   */
+  public synchronized void release(final int size) {
+    this.queuedBytes -= size;
+    if (this.queuedBytes <= this.lowWaterMark) {
+      this.notifyAll();
+    }
+  }
+
+  /**
+   * Waits until the queued bytes fall to the low water mark.
+   *
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public synchronized void awaitLowWaterMark() throws InterruptedException {
+    while (this.queuedBytes > this.lowWaterMark) {
+      this.wait();
+    }
+  }
+
+  /**
+   * @return the number of bytes written but not sent yet
+   */
+  public synchronized long getQueuedBytes() {
+    return this.queuedBytes;
+  }
+
+  /**
+   * @return the number of queued bytes at which the overflow policy is applied; 0 if unbounded
+   */
+  public long getHighWaterMark() {
+    return this.highWaterMark;
+  }
+
+  /**
+   * @return the number of queued bytes at which waiting writers resume
+   */
+  public long getLowWaterMark() {
+    return this.lowWaterMark;
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport;
+
+/**
+ * Decides what happens to a message written to a link whose outbound buffer has reached its high water mark.
+ */
+public interface OverflowPolicy {
+
+  /**
+   * Called before a message is queued on a full outbound buffer.
+   * The policy may wait for the buffer to drain, or throw to fail the write.
+   *
+   * @param buffer the outbound buffer of the link
+   * @param size   the size of the message in bytes
+   * @return true to queue the message, false to drop it
+   */
+  boolean onOverflow(OutboundBuffer buffer, int size);
+}
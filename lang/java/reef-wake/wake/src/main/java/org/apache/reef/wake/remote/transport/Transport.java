@@ -24,6 +24,7 @@ import org.apache.reef.wake.remote.Encoder;
 
 import java.io.IOException;
 import java.net.SocketAddress;
+import java.util.Map;
 
 /**
  * Transport for sending and receiving data.
@@ -75,4 +76,12 @@ public interface Transport extends Stage {
    * @param handler the exception handler
    */
   void registerErrorHandler(EventHandler<Exception> handler);
+
+  /**
+   * Returns the number of bytes written to each remote address that have not been sent yet.
+   * Remote addresses with no open link are not included.
+   *
+   * @return the queued bytes per remote address
+   */
+  Map<SocketAddress, Long> getQueuedBytes();
 }
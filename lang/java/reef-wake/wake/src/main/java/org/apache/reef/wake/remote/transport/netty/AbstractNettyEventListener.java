@@ -18,6 +18,7 @@
  */
 package org.apache.reef.wake.remote.transport.netty;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.reef.wake.EStage;
@@ -56,6 +57,12 @@ abstract class AbstractNettyEventListener implements NettyEventListener {
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
     final Channel channel = ctx.channel();
+
+    if (msg instanceof ByteBuf) {
+      channelReadBuffer(channel, (ByteBuf) msg);
+      return;
+    }
+
     final byte[] message = (byte[]) msg;
 
     if (LOG.isLoggable(Level.FINEST)) {
@@ -69,6 +76,31 @@ abstract class AbstractNettyEventListener implements NettyEventListener {
     }
   }
 
+  /**
+   * Hands a pooled frame over to the dispatch stage. The event takes its own reference
+   * to the buffer since the channel handler releases the one it passed in.
+   */
+  private void channelReadBuffer(final Channel channel, final ByteBuf message) {
+    if (LOG.isLoggable(Level.FINEST)) {
+      LOG.log(Level.FINEST, "MessageEvent: local: {0} remote: {1} :: {2}", new Object[]{
+          channel.localAddress(), channel.remoteAddress(), message});
+    }
+
+    if (message.isReadable()) {
+      final TransportEvent event = this.getTransportEvent(message.retain(), channel);
+      boolean dispatched = false;
+      try {
+        // send to the dispatch stage
+        this.stage.onNext(event);
+        dispatched = true;
+      } finally {
+        if (!dispatched) {
+          event.release();
+        }
+      }
+    }
+  }
+
   @Override
   public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
     final Channel channel = ctx.channel();
@@ -87,6 +119,8 @@ abstract class AbstractNettyEventListener implements NettyEventListener {
 
   protected abstract TransportEvent getTransportEvent(final byte[] message, final Channel channel);
 
+  protected abstract TransportEvent getTransportEvent(final ByteBuf message, final Channel channel);
+
   protected abstract void exceptionCleanup(final ChannelHandlerContext ctx, Throwable cause);
 
   protected void closeChannel(final Channel channel) {
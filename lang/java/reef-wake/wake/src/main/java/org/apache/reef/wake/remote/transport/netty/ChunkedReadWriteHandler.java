@@ -20,6 +20,7 @@ package org.apache.reef.wake.remote.transport.netty;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
@@ -58,6 +59,7 @@ public class ChunkedReadWriteHandler extends ChunkedWriteHandler {
 
   private ByteBuf readBuffer;
   private byte[] retArr;
+  private CompositeByteBuf readComposite;
 
   /**
    * @see org.jboss.netty.handler.stream.ChunkedWriteHandler#handleUpstream(
@@ -101,11 +103,60 @@ public class ChunkedReadWriteHandler extends ChunkedWriteHandler {
         //LOG.log(Level.FINEST, "{0} Sending dechunked message upstream", curThrName);
         super.channelRead(ctx, temp);
       }
+    } else if (msg instanceof ByteBuf) {
+      channelReadBuffer(ctx, (ByteBuf) msg);
     } else {
       super.channelRead(ctx, msg);
     }
   }
 
+  /**
+   * Aggregates the chunks of pooled frames without copying them.
+   * A message that fits in a single frame is passed up as the frame itself;
+   * a larger one is passed up as a composite of its frames.
+   */
+  private void channelReadBuffer(final ChannelHandlerContext ctx, final ByteBuf frame) throws Exception {
+    if (start) {
+      if (frame.readableBytes() < INT_SIZE) {
+        frame.release();
+        return;
+      }
+      expectedSize = Integer.reverseBytes(frame.readInt());
+      if (frame.readableBytes() == expectedSize) {
+        expectedSize = 0;
+        super.channelRead(ctx, frame);
+        return;
+      }
+      readComposite = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+      start = false;
+    }
+
+    readComposite.addComponent(frame);
+    readComposite.writerIndex(readComposite.writerIndex() + frame.readableBytes());
+
+    if (readComposite.readableBytes() == expectedSize) {
+      final ByteBuf message = readComposite;
+      start = true;
+      expectedSize = 0;
+      readComposite = null;
+      super.channelRead(ctx, message);
+    }
+  }
+
+  /**
+   * Releases a partially aggregated message when the channel goes away.
+   */
+  @Override
+  public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+    if (readComposite != null) {
+      readComposite.release();
+      readComposite = null;
+      start = true;
+      expectedSize = 0;
+    }
+    super.channelInactive(ctx);
+  }
+
   /**
    * Thread-safe since there is no shared instance state.
    * Just prepend size to the message and stream it through
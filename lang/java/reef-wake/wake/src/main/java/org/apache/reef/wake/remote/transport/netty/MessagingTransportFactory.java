@@ -20,6 +20,7 @@ package org.apache.reef.wake.remote.transport.netty;
 
 import org.apache.reef.tang.Injector;
 import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.tang.exceptions.InjectionException;
 import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.EventHandler;
@@ -28,6 +29,8 @@ import org.apache.reef.wake.remote.RemoteConfiguration;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
 import org.apache.reef.wake.remote.impl.TransportEvent;
 import org.apache.reef.wake.remote.ports.TcpPortProvider;
+import org.apache.reef.wake.remote.transport.BlockingOverflowPolicy;
+import org.apache.reef.wake.remote.transport.OverflowPolicy;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.TransportFactory;
 
@@ -39,15 +42,41 @@ import javax.inject.Inject;
 public class MessagingTransportFactory implements TransportFactory {
 
   private final String localAddress;
+  private final boolean pooledBuffers;
+  private final NettyEventLoops eventLoops;
+  private final NettySocketOptions socketOptions;
+  private final long outboundHighWaterMark;
+  private final long outboundLowWaterMark;
+  private final OverflowPolicy overflowPolicy;
 
   /**
    * @deprecated Have an instance injected instead.
    */
   @Deprecated
-  @Inject
-  // TODO[JIRA REEF-703]: change constructor to private
+  // TODO[JIRA REEF-703]: remove constructor
   public MessagingTransportFactory(final LocalAddressProvider localAddressProvider) {
+    this(localAddressProvider, false, null, null, 0, 0, new BlockingOverflowPolicy());
+  }
+
+  /**
+   * All transports created by this factory share its event loops and socket options.
+   */
+  @Inject
+  private MessagingTransportFactory(
+      final LocalAddressProvider localAddressProvider,
+      @Parameter(RemoteConfiguration.PooledBuffers.class) final boolean pooledBuffers,
+      final NettyEventLoops eventLoops,
+      final NettySocketOptions socketOptions,
+      @Parameter(RemoteConfiguration.OutboundHighWaterMark.class) final long outboundHighWaterMark,
+      @Parameter(RemoteConfiguration.OutboundLowWaterMark.class) final long outboundLowWaterMark,
+      @Parameter(RemoteConfiguration.OutboundOverflowPolicy.class) final OverflowPolicy overflowPolicy) {
     this.localAddress = localAddressProvider.getLocalAddress();
+    this.pooledBuffers = pooledBuffers;
+    this.eventLoops = eventLoops;
+    this.socketOptions = socketOptions;
+    this.outboundHighWaterMark = outboundHighWaterMark;
+    this.outboundLowWaterMark = outboundLowWaterMark;
+    this.overflowPolicy = overflowPolicy;
   }
 
   /**
@@ -69,6 +98,7 @@ public class MessagingTransportFactory implements TransportFactory {
     injector.bindVolatileParameter(RemoteConfiguration.Port.class, port);
     injector.bindVolatileParameter(RemoteConfiguration.RemoteClientStage.class, new SyncStage<>(clientHandler));
     injector.bindVolatileParameter(RemoteConfiguration.RemoteServerStage.class, new SyncStage<>(serverHandler));
+    this.bindTransportSettings(injector);
 
     final Transport transport;
     try {
@@ -134,10 +164,24 @@ public class MessagingTransportFactory implements TransportFactory {
     injector.bindVolatileParameter(RemoteConfiguration.NumberOfTries.class, numberOfTries);
     injector.bindVolatileParameter(RemoteConfiguration.RetryTimeout.class, retryTimeout);
     injector.bindVolatileInstance(TcpPortProvider.class, tcpPortProvider);
+    this.bindTransportSettings(injector);
     try {
       return injector.getInstance(NettyMessagingTransport.class);
     } catch (final InjectionException e) {
       throw new RuntimeException(e);
     }
   }
+
+  private void bindTransportSettings(final Injector injector) {
+    injector.bindVolatileParameter(RemoteConfiguration.PooledBuffers.class, this.pooledBuffers);
+    injector.bindVolatileParameter(RemoteConfiguration.OutboundHighWaterMark.class, this.outboundHighWaterMark);
+    injector.bindVolatileParameter(RemoteConfiguration.OutboundLowWaterMark.class, this.outboundLowWaterMark);
+    injector.bindVolatileParameter(RemoteConfiguration.OutboundOverflowPolicy.class, this.overflowPolicy);
+    if (this.eventLoops != null) {
+      injector.bindVolatileInstance(NettyEventLoops.class, this.eventLoops);
+    }
+    if (this.socketOptions != null) {
+      injector.bindVolatileInstance(NettySocketOptions.class, this.socketOptions);
+    }
+  }
 }
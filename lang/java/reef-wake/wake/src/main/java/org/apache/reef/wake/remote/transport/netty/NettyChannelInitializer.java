@@ -19,11 +19,14 @@
 package org.apache.reef.wake.remote.transport.netty;
 
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
 import io.netty.handler.codec.bytes.ByteArrayDecoder;
 import io.netty.handler.codec.bytes.ByteArrayEncoder;
+import org.apache.reef.wake.remote.transport.OutboundBuffer;
+import org.apache.reef.wake.remote.transport.OverflowPolicy;
 
 /**
  * Netty channel initializer for Transport.
@@ -34,16 +37,40 @@ class NettyChannelInitializer extends ChannelInitializer<SocketChannel> {
    */
   public static final int MAXFRAMELENGTH = 10 * 1024 * 1024;
   private final NettyChannelHandlerFactory handlerFactory;
+  private final boolean pooledBuffers;
+  private final long outboundHighWaterMark;
+  private final long outboundLowWaterMark;
+  private final OverflowPolicy overflowPolicy;
 
-  NettyChannelInitializer(final NettyChannelHandlerFactory handlerFactory) {
+  /**
+   * @param handlerFactory        the factory of the handler at the end of the pipeline
+   * @param pooledBuffers         whether received frames are passed up as buffers instead of being copied
+   *                              into byte arrays
+   * @param outboundHighWaterMark the high water mark of the outbound buffer of each channel; 0 if unbounded
+   * @param outboundLowWaterMark  the low water mark of the outbound buffer of each channel
+   * @param overflowPolicy        the policy for writes to a full outbound buffer
+   */
+  NettyChannelInitializer(final NettyChannelHandlerFactory handlerFactory, final boolean pooledBuffers,
+                          final long outboundHighWaterMark, final long outboundLowWaterMark,
+                          final OverflowPolicy overflowPolicy) {
     this.handlerFactory = handlerFactory;
+    this.pooledBuffers = pooledBuffers;
+    this.outboundHighWaterMark = outboundHighWaterMark;
+    this.outboundLowWaterMark = outboundLowWaterMark;
+    this.overflowPolicy = overflowPolicy;
   }
 
   @Override
   protected void initChannel(final SocketChannel ch) throws Exception {
-    ch.pipeline()
-        .addLast("frameDecoder", new LengthFieldBasedFrameDecoder(MAXFRAMELENGTH, 0, 4, 0, 4))
-        .addLast("bytesDecoder", new ByteArrayDecoder())
+    ch.attr(NettyLink.OUTBOUND_BUFFER).set(
+        new OutboundBuffer(this.outboundHighWaterMark, this.outboundLowWaterMark, this.overflowPolicy));
+
+    final ChannelPipeline pipeline = ch.pipeline();
+    pipeline.addLast("frameDecoder", new LengthFieldBasedFrameDecoder(MAXFRAMELENGTH, 0, 4, 0, 4));
+    if (!this.pooledBuffers) {
+      pipeline.addLast("bytesDecoder", new ByteArrayDecoder());
+    }
+    pipeline
         .addLast("frameEncoder", new LengthFieldPrepender(4))
         .addLast("bytesEncoder", new ByteArrayEncoder())
         .addLast("chunker", new ChunkedReadWriteHandler())
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport.netty;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.impl.DefaultThreadFactory;
+import org.apache.reef.wake.remote.RemoteConfiguration;
+
+import javax.inject.Inject;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Event loop groups and channel types of the Netty messaging transport.
+ * <p>
+ * Transports injected with the same instance share its event loops. The groups are created
+ * when the first transport retains them and shut down when the last one releases them.
+ * To share the event loops across injectors, bind one instance into each of them.
+ */
+public final class NettyEventLoops {
+
+  private static final String CLASS_NAME = NettyMessagingTransport.class.getName();
+  private static final Logger LOG = Logger.getLogger(NettyEventLoops.class.getName());
+
+  private final int serverBossThreads;
+  private final int serverWorkerThreads;
+  private final int clientWorkerThreads;
+  private final boolean nativeTransport;
+
+  private int refCount = 0;
+  private boolean epoll;
+  private EventLoopGroup serverBossGroup;
+  private EventLoopGroup serverWorkerGroup;
+  private EventLoopGroup clientWorkerGroup;
+
+  /**
+   * @param serverBossThreads   the number of threads accepting connections
+   * @param serverWorkerThreads the number of threads serving accepted connections
+   * @param clientWorkerThreads the number of threads serving outgoing connections
+   * @param nativeTransport     whether to use the native epoll transport if it is available
+   */
+  @Inject
+  private NettyEventLoops(
+      @Parameter(RemoteConfiguration.ServerBossThreads.class) final int serverBossThreads,
+      @Parameter(RemoteConfiguration.ServerWorkerThreads.class) final int serverWorkerThreads,
+      @Parameter(RemoteConfiguration.ClientWorkerThreads.class) final int clientWorkerThreads,
+      @Parameter(RemoteConfiguration.NativeTransport.class) final boolean nativeTransport) {
+    if (serverBossThreads < 0 || serverWorkerThreads < 0 || clientWorkerThreads < 0) {
+      throw new IllegalArgumentException("The number of event loop threads must not be negative");
+    }
+    this.serverBossThreads = serverBossThreads;
+    this.serverWorkerThreads = serverWorkerThreads;
+    this.clientWorkerThreads = clientWorkerThreads;
+    this.nativeTransport = nativeTransport;
+  }
+
+  /**
+   * Acquires the event loops for a transport, creating them if no other transport holds them.
+   */
+  synchronized void retain() {
+    if (this.refCount++ == 0) {
+      this.createGroups();
+    }
+  }
+
+  /**
+   * Releases the event loops of a transport, shutting them down if no other transport holds them.
+   */
+  synchronized void release() {
+    if (this.refCount == 0) {
+      throw new IllegalStateException("The event loops have not been retained");
+    }
+    if (--this.refCount == 0) {
+      this.shutdownGroups();
+    }
+  }
+
+  /**
+   * @return true if the event loops use the native epoll transport
+   */
+  public synchronized boolean isNative() {
+    return this.epoll;
+  }
+
+  synchronized EventLoopGroup getServerBossGroup() {
+    return this.serverBossGroup;
+  }
+
+  synchronized EventLoopGroup getServerWorkerGroup() {
+    return this.serverWorkerGroup;
+  }
+
+  synchronized EventLoopGroup getClientWorkerGroup() {
+    return this.clientWorkerGroup;
+  }
+
+  synchronized Class<? extends Channel> getSocketChannelClass() {
+    return this.epoll ? EpollSocketChannel.class : NioSocketChannel.class;
+  }
+
+  synchronized Class<? extends ServerChannel> getServerSocketChannelClass() {
+    return this.epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+  }
+
+  private void createGroups() {
+    if (this.nativeTransport) {
+      try {
+        this.serverBossGroup = new EpollEventLoopGroup(this.serverBossThreads,
+            new DefaultThreadFactory(CLASS_NAME + "ServerBoss"));
+        this.serverWorkerGroup = new EpollEventLoopGroup(this.serverWorkerThreads,
+            new DefaultThreadFactory(CLASS_NAME + "ServerWorker"));
+        this.clientWorkerGroup = new EpollEventLoopGroup(this.clientWorkerThreads,
+            new DefaultThreadFactory(CLASS_NAME + "ClientWorker"));
+        this.epoll = true;
+        LOG.log(Level.FINE, "Using the native epoll transport");
+        return;
+      } catch (final LinkageError e) {
+        LOG.log(Level.WARNING, "The native epoll transport is not available. Falling back to NIO.", e);
+        this.shutdownGroups();
+      }
+    }
+
+    this.serverBossGroup = new NioEventLoopGroup(this.serverBossThreads,
+        new DefaultThreadFactory(CLASS_NAME + "ServerBoss"));
+    this.serverWorkerGroup = new NioEventLoopGroup(this.serverWorkerThreads,
+        new DefaultThreadFactory(CLASS_NAME + "ServerWorker"));
+    this.clientWorkerGroup = new NioEventLoopGroup(this.clientWorkerThreads,
+        new DefaultThreadFactory(CLASS_NAME + "ClientWorker"));
+    this.epoll = false;
+  }
+
+  private void shutdownGroups() {
+    if (this.clientWorkerGroup != null) {
+      this.clientWorkerGroup.shutdownGracefully();
+      this.clientWorkerGroup = null;
+    }
+    if (this.serverBossGroup != null) {
+      this.serverBossGroup.shutdownGracefully();
+      this.serverBossGroup = null;
+    }
+    if (this.serverWorkerGroup != null) {
+      this.serverWorkerGroup.shutdownGracefully();
+      this.serverWorkerGroup = null;
+    }
+  }
+}
@@ -22,9 +22,12 @@ import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.util.AttributeKey;
 import org.apache.reef.wake.remote.Encoder;
 import org.apache.reef.wake.remote.transport.Link;
 import org.apache.reef.wake.remote.transport.LinkListener;
+import org.apache.reef.wake.remote.transport.OutboundBuffer;
+import org.apache.reef.wake.remote.transport.exception.TransportRuntimeException;
 
 import java.net.SocketAddress;
 import java.util.logging.Level;
@@ -39,6 +42,12 @@ import java.util.logging.Logger;
 public class NettyLink<T> implements Link<T> {
 
   public static final int INT_SIZE = Integer.SIZE / Byte.SIZE;
+
+  /**
+   * The outbound buffer of a channel, shared by all the links over it.
+   */
+  static final AttributeKey<OutboundBuffer> OUTBOUND_BUFFER = AttributeKey.valueOf("outboundBuffer");
+
   private static final Logger LOG = Logger.getLogger(NettyLink.class.getName());
   private final Channel channel;
   private final Encoder<? super T> encoder;
@@ -71,6 +80,8 @@ public class NettyLink<T> implements Link<T> {
 
   /**
    * Writes the message to this link.
+   * If the outbound buffer of the channel is full, its overflow policy decides whether the message
+   * is written, dropped or fails. I/O threads never block and always write.
    *
    * @param message the message
    */
@@ -78,12 +89,28 @@ public class NettyLink<T> implements Link<T> {
   public void write(final T message) {
     LOG.log(Level.FINEST, "write {0} {1}", new Object[]{channel, message});
     final byte[] allData = encoder.encode(message);
+
+    final OutboundBuffer buffer = channel.attr(OUTBOUND_BUFFER).get();
+    if (buffer != null) {
+      if (channel.eventLoop().inEventLoop()) {
+        buffer.forceAcquire(allData.length);
+      } else if (!buffer.acquire(allData.length)) {
+        LOG.log(Level.FINE, "Outbound buffer full, message dropped: {0}", channel);
+        if (listener != null) {
+          listener.onException(new TransportRuntimeException("Outbound buffer full, message dropped"),
+              channel.remoteAddress(), message);
+        }
+        return;
+      }
+    }
+
     // byte[] -> ByteBuf
-    if (listener !=  null) {
-      channel.writeAndFlush(Unpooled.wrappedBuffer(allData))
-          .addListener(new NettyChannelFutureListener<>(message, listener));
-    } else {
-      channel.writeAndFlush(Unpooled.wrappedBuffer(allData));
+    final ChannelFuture future = channel.writeAndFlush(Unpooled.wrappedBuffer(allData));
+    if (buffer != null) {
+      future.addListener(new OutboundBufferReleaser(buffer, allData.length));
+    }
+    if (listener != null) {
+      future.addListener(new NettyChannelFutureListener<>(message, listener));
     }
   }
 
@@ -113,6 +140,25 @@ public class NettyLink<T> implements Link<T> {
   }
 }
 
+/**
+ * Gives back the room of a message to the outbound buffer once the write completes, successfully or not.
+ */
+class OutboundBufferReleaser implements ChannelFutureListener {
+
+  private final OutboundBuffer buffer;
+  private final int size;
+
+  OutboundBufferReleaser(final OutboundBuffer buffer, final int size) {
+    this.buffer = buffer;
+    this.size = size;
+  }
+
+  @Override
+  public void operationComplete(final ChannelFuture channelFuture) throws Exception {
+    buffer.release(size);
+  }
+}
+
 class NettyChannelFutureListener<T> implements ChannelFutureListener {
 
   private final T message;
@@ -20,20 +20,16 @@ package org.apache.reef.wake.remote.transport.netty;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.EventHandler;
-import org.apache.reef.wake.impl.DefaultThreadFactory;
 import org.apache.reef.wake.remote.Encoder;
 import org.apache.reef.wake.remote.RemoteConfiguration;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
@@ -42,6 +38,8 @@ import org.apache.reef.wake.remote.impl.TransportEvent;
 import org.apache.reef.wake.remote.ports.TcpPortProvider;
 import org.apache.reef.wake.remote.transport.Link;
 import org.apache.reef.wake.remote.transport.LinkListener;
+import org.apache.reef.wake.remote.transport.OutboundBuffer;
+import org.apache.reef.wake.remote.transport.OverflowPolicy;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.exception.TransportRuntimeException;
 
@@ -51,9 +49,12 @@ import java.net.BindException;
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -66,15 +67,10 @@ public class NettyMessagingTransport implements Transport {
   private static final String CLASS_NAME = NettyMessagingTransport.class.getName();
   private static final Logger LOG = Logger.getLogger(CLASS_NAME);
 
-  private static final int SERVER_BOSS_NUM_THREADS = 3;
-  private static final int SERVER_WORKER_NUM_THREADS = 20;
-  private static final int CLIENT_WORKER_NUM_THREADS = 10;
-
   private final ConcurrentMap<SocketAddress, LinkReference> addrToLinkRefMap = new ConcurrentHashMap<>();
 
-  private final EventLoopGroup clientWorkerGroup;
-  private final EventLoopGroup serverBossGroup;
-  private final EventLoopGroup serverWorkerGroup;
+  private final NettyEventLoops eventLoops;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
 
   private final Bootstrap clientBootstrap;
   private final ServerBootstrap serverBootstrap;
@@ -106,6 +102,12 @@ public class NettyMessagingTransport implements Transport {
    * @param numberOfTries the number of tries of connection
    * @param retryTimeout  the timeout of reconnection
    * @param tcpPortProvider  gives an iterator that produces random tcp ports in a range
+   * @param pooledBuffers whether received frames are read into pooled buffers instead of byte arrays
+   * @param eventLoops    the event loops, possibly shared with other transports
+   * @param socketOptions the options of the connections
+   * @param outboundHighWaterMark the high water mark of the outbound buffer of each connection; 0 if unbounded
+   * @param outboundLowWaterMark  the low water mark of the outbound buffer of each connection
+   * @param overflowPolicy        the policy for writes to a full outbound buffer
    */
   @Inject
   NettyMessagingTransport(
@@ -116,7 +118,13 @@ public class NettyMessagingTransport implements Transport {
       @Parameter(RemoteConfiguration.NumberOfTries.class) final int numberOfTries,
       @Parameter(RemoteConfiguration.RetryTimeout.class) final int retryTimeout,
       final TcpPortProvider tcpPortProvider,
-      final LocalAddressProvider localAddressProvider) {
+      final LocalAddressProvider localAddressProvider,
+      @Parameter(RemoteConfiguration.PooledBuffers.class) final boolean pooledBuffers,
+      final NettyEventLoops eventLoops,
+      final NettySocketOptions socketOptions,
+      @Parameter(RemoteConfiguration.OutboundHighWaterMark.class) final long outboundHighWaterMark,
+      @Parameter(RemoteConfiguration.OutboundLowWaterMark.class) final long outboundLowWaterMark,
+      @Parameter(RemoteConfiguration.OutboundOverflowPolicy.class) final OverflowPolicy overflowPolicy) {
 
     int p = port;
     if (p < 0) {
@@ -130,30 +138,36 @@ public class NettyMessagingTransport implements Transport {
     this.clientEventListener = new NettyClientEventListener(this.addrToLinkRefMap, clientStage);
     this.serverEventListener = new NettyServerEventListener(this.addrToLinkRefMap, serverStage);
 
-    this.serverBossGroup = new NioEventLoopGroup(SERVER_BOSS_NUM_THREADS,
-        new DefaultThreadFactory(CLASS_NAME + "ServerBoss"));
-    this.serverWorkerGroup = new NioEventLoopGroup(SERVER_WORKER_NUM_THREADS,
-        new DefaultThreadFactory(CLASS_NAME + "ServerWorker"));
-    this.clientWorkerGroup = new NioEventLoopGroup(CLIENT_WORKER_NUM_THREADS,
-        new DefaultThreadFactory(CLASS_NAME + "ClientWorker"));
+    this.eventLoops = eventLoops;
+    this.eventLoops.retain();
 
     this.clientBootstrap = new Bootstrap();
-    this.clientBootstrap.group(this.clientWorkerGroup)
-        .channel(NioSocketChannel.class)
+    this.clientBootstrap.group(this.eventLoops.getClientWorkerGroup())
+        .channel(this.eventLoops.getSocketChannelClass())
         .handler(new NettyChannelInitializer(new NettyDefaultChannelHandlerFactory("client",
-            this.clientChannelGroup, this.clientEventListener)))
+            this.clientChannelGroup, this.clientEventListener), pooledBuffers,
+            outboundHighWaterMark, outboundLowWaterMark, overflowPolicy))
         .option(ChannelOption.SO_REUSEADDR, true)
         .option(ChannelOption.SO_KEEPALIVE, true);
 
     this.serverBootstrap = new ServerBootstrap();
-    this.serverBootstrap.group(this.serverBossGroup, this.serverWorkerGroup)
-        .channel(NioServerSocketChannel.class)
+    this.serverBootstrap.group(this.eventLoops.getServerBossGroup(), this.eventLoops.getServerWorkerGroup())
+        .channel(this.eventLoops.getServerSocketChannelClass())
         .childHandler(new NettyChannelInitializer(new NettyDefaultChannelHandlerFactory("server",
-            this.serverChannelGroup, this.serverEventListener)))
+            this.serverChannelGroup, this.serverEventListener), pooledBuffers,
+            outboundHighWaterMark, outboundLowWaterMark, overflowPolicy))
         .option(ChannelOption.SO_BACKLOG, 128)
         .option(ChannelOption.SO_REUSEADDR, true)
         .childOption(ChannelOption.SO_KEEPALIVE, true);
 
+    socketOptions.applyTo(this.clientBootstrap);
+    socketOptions.applyTo(this.serverBootstrap);
+
+    if (pooledBuffers) {
+      this.clientBootstrap.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+      this.serverBootstrap.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+    }
+
     LOG.log(Level.FINE, "Binding to {0}", p);
 
     Channel acceptorFound = null;
@@ -184,9 +198,7 @@ public class NettyMessagingTransport implements Transport {
                 new TransportRuntimeException("tcpPortProvider failed to return free ports.", ex);
       LOG.log(Level.SEVERE, "Cannot find a free port with " + tcpPortProvider, transportException);
 
-      this.clientWorkerGroup.shutdownGracefully();
-      this.serverBossGroup.shutdownGracefully();
-      this.serverWorkerGroup.shutdownGracefully();
+      this.eventLoops.release();
       throw transportException;
 
     } catch (final Exception ex) {
@@ -194,9 +206,7 @@ public class NettyMessagingTransport implements Transport {
           new TransportRuntimeException("Cannot bind to port " + p, ex);
       LOG.log(Level.SEVERE, "Cannot bind to port " + p, ex);
 
-      this.clientWorkerGroup.shutdownGracefully();
-      this.serverBossGroup.shutdownGracefully();
-      this.serverWorkerGroup.shutdownGracefully();
+      this.eventLoops.release();
       throw transportException;
     }
 
@@ -209,18 +219,22 @@ public class NettyMessagingTransport implements Transport {
 
   /**
    * Closes all channels and releases all resources.
+   * Closing an already closed transport has no effect.
    */
   @Override
   public void close() throws Exception {
 
+    if (!this.closed.compareAndSet(false, true)) {
+      LOG.log(Level.FINE, "Netty transport socket address: {0} is already closed", this.localAddress);
+      return;
+    }
+
     LOG.log(Level.FINE, "Closing netty transport socket address: {0}", this.localAddress);
 
     this.clientChannelGroup.close().awaitUninterruptibly();
     this.serverChannelGroup.close().awaitUninterruptibly();
     this.acceptor.close().sync();
-    this.clientWorkerGroup.shutdownGracefully();
-    this.serverBossGroup.shutdownGracefully();
-    this.serverWorkerGroup.shutdownGracefully();
+    this.eventLoops.release();
 
     LOG.log(Level.FINE, "Closing netty transport socket address: {0} done", this.localAddress);
   }
@@ -335,6 +349,30 @@ public class NettyMessagingTransport implements Transport {
     return linkRef != null ? (Link<T>) linkRef.getLink() : null;
   }
 
+  /**
+   * Returns the number of bytes written to each remote address that have not been sent yet.
+   *
+   * @return the queued bytes per remote address
+   */
+  @Override
+  public Map<SocketAddress, Long> getQueuedBytes() {
+    final Map<SocketAddress, Long> queuedBytes = new HashMap<>();
+    addQueuedBytes(this.clientChannelGroup, queuedBytes);
+    addQueuedBytes(this.serverChannelGroup, queuedBytes);
+    return queuedBytes;
+  }
+
+  private static void addQueuedBytes(final ChannelGroup channelGroup, final Map<SocketAddress, Long> queuedBytes) {
+    for (final Channel channel : channelGroup) {
+      final OutboundBuffer buffer = channel.attr(NettyLink.OUTBOUND_BUFFER).get();
+      final SocketAddress remoteAddress = channel.remoteAddress();
+      if (buffer != null && remoteAddress != null) {
+        final Long prior = queuedBytes.get(remoteAddress);
+        queuedBytes.put(remoteAddress, (prior == null ? 0 : prior) + buffer.getQueuedBytes());
+      }
+    }
+  }
+
   /**
    * Gets a server local socket address of this transport.
    *
@@ -18,6 +18,7 @@
  */
 package org.apache.reef.wake.remote.transport.netty;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.reef.wake.EStage;
@@ -61,6 +62,11 @@ final class NettyServerEventListener extends AbstractNettyEventListener {
     return new TransportEvent(message, new NettyLink<>(channel, new ByteEncoder()));
   }
 
+  @Override
+  protected TransportEvent getTransportEvent(final ByteBuf message, final Channel channel) {
+    return new TransportEvent(message, new NettyLink<>(channel, new ByteEncoder()));
+  }
+
   @Override
   protected void exceptionCleanup(final ChannelHandlerContext ctx, final Throwable cause) {
     // noop
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.remote.transport.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.remote.RemoteConfiguration;
+
+import javax.inject.Inject;
+
+/**
+ * Socket options of the connections opened and accepted by the Netty messaging transport.
+ */
+final class NettySocketOptions {
+
+  /**
+   * Netty's default high water mark, against which the order of setting the marks is decided.
+   */
+  private static final int DEFAULT_HIGH_WATER_MARK = 64 * 1024;
+
+  private final boolean tcpNoDelay;
+  private final int sendBufferSize;
+  private final int receiveBufferSize;
+  private final int writeBufferHighWaterMark;
+  private final int writeBufferLowWaterMark;
+
+  @Inject
+  private NettySocketOptions(
+      @Parameter(RemoteConfiguration.TcpNoDelay.class) final boolean tcpNoDelay,
+      @Parameter(RemoteConfiguration.SendBufferSize.class) final int sendBufferSize,
+      @Parameter(RemoteConfiguration.ReceiveBufferSize.class) final int receiveBufferSize,
+      @Parameter(RemoteConfiguration.WriteBufferHighWaterMark.class) final int writeBufferHighWaterMark,
+      @Parameter(RemoteConfiguration.WriteBufferLowWaterMark.class) final int writeBufferLowWaterMark) {
+    if (writeBufferLowWaterMark < 0 || writeBufferLowWaterMark > writeBufferHighWaterMark) {
+      throw new IllegalArgumentException("Invalid write buffer water marks: low " + writeBufferLowWaterMark +
+          ", high " + writeBufferHighWaterMark);
+    }
+    this.tcpNoDelay = tcpNoDelay;
+    this.sendBufferSize = sendBufferSize;
+    this.receiveBufferSize = receiveBufferSize;
+    this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+    this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+  }
+
+  /**
+   * Sets the options of the connections opened by the bootstrap.
+   *
+   * @param bootstrap the client bootstrap
+   */
+  void applyTo(final Bootstrap bootstrap) {
+    bootstrap.option(ChannelOption.TCP_NODELAY, this.tcpNoDelay);
+    if (this.sendBufferSize > 0) {
+      bootstrap.option(ChannelOption.SO_SNDBUF, this.sendBufferSize);
+    }
+    if (this.receiveBufferSize > 0) {
+      bootstrap.option(ChannelOption.SO_RCVBUF, this.receiveBufferSize);
+    }
+    // Options are applied in order and each mark is checked against the current value of the other one
+    if (this.writeBufferHighWaterMark >= DEFAULT_HIGH_WATER_MARK) {
+      bootstrap.option(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, this.writeBufferHighWaterMark);
+      bootstrap.option(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, this.writeBufferLowWaterMark);
+    } else {
+      bootstrap.option(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, this.writeBufferLowWaterMark);
+      bootstrap.option(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, this.writeBufferHighWaterMark);
+    }
+  }
+
+  /**
+   * Sets the options of the connections accepted by the bootstrap.
+   *
+   * @param bootstrap the server bootstrap
+   */
+  void applyTo(final ServerBootstrap bootstrap) {
+    bootstrap.childOption(ChannelOption.TCP_NODELAY, this.tcpNoDelay);
+    if (this.sendBufferSize > 0) {
+      bootstrap.childOption(ChannelOption.SO_SNDBUF, this.sendBufferSize);
+    }
+    if (this.receiveBufferSize > 0) {
+      bootstrap.childOption(ChannelOption.SO_RCVBUF, this.receiveBufferSize);
+    }
+    if (this.writeBufferHighWaterMark >= DEFAULT_HIGH_WATER_MARK) {
+      bootstrap.childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, this.writeBufferHighWaterMark);
+      bootstrap.childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, this.writeBufferLowWaterMark);
+    } else {
+      bootstrap.childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, this.writeBufferLowWaterMark);
+      bootstrap.childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, this.writeBufferHighWaterMark);
+    }
+  }
+}
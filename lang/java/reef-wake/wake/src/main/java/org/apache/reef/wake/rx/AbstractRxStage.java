@@ -18,6 +18,8 @@
  */
 package org.apache.reef.wake.rx;
 
+import org.apache.reef.wake.AbstractEStage;
+import org.apache.reef.wake.metrics.LatencySampler;
 import org.apache.reef.wake.metrics.Meter;
 
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -33,6 +35,7 @@ public abstract class AbstractRxStage<T> implements RxStage<T> {
   protected final String name;
   protected final Meter inMeter;
   protected final Meter outMeter;
+  protected final LatencySampler latencySampler;
 
   /**
    * Constructs an abstact rxstage.
@@ -44,6 +47,7 @@ public abstract class AbstractRxStage<T> implements RxStage<T> {
     this.name = stageName;
     this.inMeter = new Meter(stageName + "_in");
     this.outMeter = new Meter(stageName + "_out");
+    this.latencySampler = new LatencySampler(AbstractEStage.DEFAULT_SAMPLING_PERIOD);
   }
 
   /**
@@ -83,4 +87,13 @@ public abstract class AbstractRxStage<T> implements RxStage<T> {
   public Meter getOutMeter() {
     return outMeter;
   }
+
+  /**
+   * Gets the sampler of the queue wait and handler time of this stage.
+   *
+   * @return the latency sampler
+   */
+  public LatencySampler getLatencySampler() {
+    return latencySampler;
+  }
 }
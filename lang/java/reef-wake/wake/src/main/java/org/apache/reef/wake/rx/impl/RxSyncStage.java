@@ -68,7 +68,9 @@ public final class RxSyncStage<T> extends AbstractRxStage<T> {
   @Override
   public void onNext(final T value) {
     beforeOnNext();
+    final long startTime = latencySampler.start();
     observer.onNext(value);
+    latencySampler.recordHandlerTime(startTime);
     afterOnNext();
   }
 
@@ -100,11 +100,14 @@ public final class RxThreadPoolStage<T> extends AbstractRxStage<T> {
   @Override
   public void onNext(final T value) {
     beforeOnNext();
+    final long enqueueTime = latencySampler.start();
     executor.submit(new Runnable() {
 
       @Override
       public void run() {
+        final long startTime = latencySampler.recordQueueWait(enqueueTime);
         observer.onNext(value);
+        latencySampler.recordHandlerTime(startTime);
         afterOnNext();
       }
     });
@@ -0,0 +1,578 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.time.runtime;
+
+import org.apache.reef.tang.InjectionFuture;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.PubSubEventHandler;
+import org.apache.reef.wake.impl.ThreadPoolStage;
+import org.apache.reef.wake.time.Clock;
+import org.apache.reef.wake.time.Time;
+import org.apache.reef.wake.time.event.Alarm;
+import org.apache.reef.wake.time.event.StartTime;
+import org.apache.reef.wake.time.event.StopTime;
+import org.apache.reef.wake.time.runtime.event.*;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Clock that keeps its alarms in a hierarchical timing wheel.
+ * <p>
+ * The wheel has four levels of 256 slots with a resolution of one timer unit (a millisecond for {@link RealTimer}).
+ * An alarm goes into the level whose slots are as wide as needed to hold its distance from now,
+ * and is moved down a level whenever the wheel enters the range of its slot,
+ * so scheduling an alarm takes constant time however many alarms are pending.
+ * The count of pending client alarms is kept on the side, so {@link #isIdle()} does not look at the alarms either.
+ * An {@link IdleClock} event is sent once each time the last pending client alarm has been handled.
+ * <p>
+ * The events are the same as with {@link RuntimeClock}, and alarms fire in the order of their time stamps.
+ * With {@link AlarmDispatchThreads} set, alarm handlers run on a thread pool stage instead of the clock thread,
+ * so a slow handler does not delay the other alarms; such handlers may run concurrently and out of order.
+ */
+public final class TimingWheelClock implements Clock {
+
+  private static final Logger LOG = Logger.getLogger(TimingWheelClock.class.getName());
+
+  private static final int SLOT_BITS = 8;
+  private static final int NUM_SLOTS = 1 << SLOT_BITS;
+  private static final int SLOT_MASK = NUM_SLOTS - 1;
+  private static final int NUM_LEVELS = 4;
+
+  private static final Comparator<Alarm> TIMESTAMP_ORDER = new Comparator<Alarm>() {
+    @Override
+    public int compare(final Alarm a1, final Alarm a2) {
+      return a1.getTimeStamp() < a2.getTimeStamp() ? -1 : a1.getTimeStamp() > a2.getTimeStamp() ? 1 : 0;
+    }
+  };
+
+  private final Timer timer;
+
+  private final PubSubEventHandler<Time> handlers;
+
+  private final InjectionFuture<Set<EventHandler<StartTime>>> startHandler;
+  private final InjectionFuture<Set<EventHandler<StopTime>>> stopHandler;
+  private final InjectionFuture<Set<EventHandler<RuntimeStart>>> runtimeStartHandler;
+  private final InjectionFuture<Set<EventHandler<RuntimeStop>>> runtimeStopHandler;
+  private final InjectionFuture<Set<EventHandler<IdleClock>>> idleHandler;
+
+  /**
+   * The stage running the alarm handlers, or null to run them on the clock thread.
+   */
+  private final ThreadPoolStage<Alarm> dispatchStage;
+
+  /**
+   * Guards the wheel and the fields below.
+   */
+  private final Object lock = new Object();
+
+  private final Entry[][] slots = new Entry[NUM_LEVELS][NUM_SLOTS];
+  private final int[] levelCounts = new int[NUM_LEVELS];
+
+  /**
+   * Alarms too far in the future for the wheel, looked at whenever the top level wraps around.
+   */
+  private final Entry overflow = new Entry(null);
+
+  /**
+   * Alarms whose time has already come when they were scheduled.
+   */
+  private final Entry due = new Entry(null);
+
+  /**
+   * All alarms up to this time have been taken from the wheel.
+   */
+  private long currentTick;
+
+  /**
+   * The time the clock thread waits for, so scheduling a later alarm does not need to wake it up.
+   */
+  private long waitingUntil = Long.MAX_VALUE;
+
+  private StopTime stopTime;
+  private Throwable stoppedOnException;
+  private boolean closed = false;
+
+  /**
+   * Client alarms scheduled and not handled yet.
+   */
+  private final AtomicInteger pendingClientAlarms = new AtomicInteger();
+
+  /**
+   * Whether an IdleClock event was sent since the last client alarm was scheduled.
+   */
+  private boolean idleReported = false;
+
+  @Inject
+  TimingWheelClock(final Timer timer,
+                   @Parameter(Clock.StartHandler.class)
+                   final InjectionFuture<Set<EventHandler<StartTime>>> startHandler,
+                   @Parameter(StopHandler.class) final InjectionFuture<Set<EventHandler<StopTime>>> stopHandler,
+                   @Parameter(Clock.RuntimeStartHandler.class)
+                   final InjectionFuture<Set<EventHandler<RuntimeStart>>> runtimeStartHandler,
+                   @Parameter(Clock.RuntimeStopHandler.class)
+                   final InjectionFuture<Set<EventHandler<RuntimeStop>>> runtimeStopHandler,
+                   @Parameter(IdleHandler.class) final InjectionFuture<Set<EventHandler<IdleClock>>> idleHandler,
+                   @Parameter(AlarmDispatchThreads.class) final int alarmDispatchThreads) {
+    this.timer = timer;
+    this.handlers = new PubSubEventHandler<>();
+
+    this.startHandler = startHandler;
+    this.stopHandler = stopHandler;
+    this.runtimeStartHandler = runtimeStartHandler;
+    this.runtimeStopHandler = runtimeStopHandler;
+    this.idleHandler = idleHandler;
+
+    for (int level = 0; level < NUM_LEVELS; ++level) {
+      for (int slot = 0; slot < NUM_SLOTS; ++slot) {
+        this.slots[level][slot] = new Entry(null);
+      }
+    }
+    this.currentTick = timer.getCurrent();
+
+    this.dispatchStage = alarmDispatchThreads > 0 ?
+        new ThreadPoolStage<>(TimingWheelClock.class.getName(), new EventHandler<Alarm>() {
+          @Override
+          public void onNext(final Alarm alarm) {
+            handleAlarm(alarm);
+          }
+        }, alarmDispatchThreads) :
+        null;
+
+    LOG.log(Level.FINE, "TimingWheelClock instantiated.");
+  }
+
+  @Override
+  public void scheduleAlarm(final int offset, final EventHandler<Alarm> handler) {
+    synchronized (this.lock) {
+      if (this.closed) {
+        throw new IllegalStateException("Scheduling alarm on a closed clock");
+      }
+      this.pendingClientAlarms.incrementAndGet();
+      this.idleReported = false;
+      this.schedule(new ClientAlarm(this.timer.getCurrent() + offset, handler));
+    }
+  }
+
+  public void registerEventHandler(final Class<? extends Time> clazz, final EventHandler<Time> handler) {
+    this.handlers.subscribe(clazz, handler);
+  }
+
+  public void scheduleRuntimeAlarm(final int offset, final EventHandler<Alarm> handler) {
+    synchronized (this.lock) {
+      this.schedule(new RuntimeAlarm(this.timer.getCurrent() + offset, handler));
+    }
+  }
+
+  @Override
+  public void stop() {
+    this.stop(null);
+  }
+
+  @Override
+  public void stop(final Throwable stopOnException) {
+    LOG.entering(TimingWheelClock.class.getCanonicalName(), "stop");
+    synchronized (this.lock) {
+      this.clear();
+      this.stopTime = new StopTime(this.timer.getCurrent());
+      this.closed = true;
+      if (this.stoppedOnException == null) {
+        this.stoppedOnException = stopOnException;
+      }
+      this.lock.notifyAll();
+    }
+    LOG.exiting(TimingWheelClock.class.getCanonicalName(), "stop");
+  }
+
+  @Override
+  public void close() {
+    LOG.entering(TimingWheelClock.class.getCanonicalName(), "close");
+    synchronized (this.lock) {
+      if (this.closed) {
+        LOG.log(Level.INFO, "Clock is already closed");
+        return;
+      }
+      this.clear();
+      this.stopTime = new StopTime(this.timer.getCurrent() + 1);
+      this.closed = true;
+      this.lock.notifyAll();
+      LOG.log(Level.INFO, "Clock.close()");
+    }
+    LOG.exiting(TimingWheelClock.class.getCanonicalName(), "close");
+  }
+
+  @Override
+  public boolean isIdle() {
+    return this.pendingClientAlarms.get() == 0;
+  }
+
+  @SuppressWarnings("checkstyle:hiddenfield")
+  private <T extends Time> void subscribe(final Class<T> eventClass, final Set<EventHandler<T>> handlers) {
+    for (final EventHandler<T> handler : handlers) {
+      this.handlers.subscribe(eventClass, handler);
+    }
+  }
+
+  @Override
+  public void run() {
+    LOG.entering(TimingWheelClock.class.getCanonicalName(), "run");
+
+    try {
+      LOG.log(Level.FINE, "Subscribe event handlers");
+      subscribe(StartTime.class, this.startHandler.get());
+      subscribe(StopTime.class, this.stopHandler.get());
+      subscribe(RuntimeStart.class, this.runtimeStartHandler.get());
+      subscribe(RuntimeStop.class, this.runtimeStopHandler.get());
+      subscribe(IdleClock.class, this.idleHandler.get());
+
+      LOG.log(Level.FINE, "Initiate runtime start");
+      this.handlers.onNext(new RuntimeStart(this.timer.getCurrent()));
+
+      LOG.log(Level.FINE, "Initiate start time");
+      this.handlers.onNext(new StartTime(this.timer.getCurrent()));
+
+      final List<Alarm> expired = new ArrayList<>();
+      while (true) {
+        LOG.log(Level.FINEST, "Entering clock main loop iteration.");
+        try {
+          if (this.takeIdleTransition()) {
+            // Handle an idle clock event, without holding the lock
+            this.handlers.onNext(new IdleClock(this.timer.getCurrent()));
+          }
+
+          final StopTime stop = this.awaitExpiredAlarms(expired);
+          if (stop != null) {
+            this.handlers.onNext(stop);
+            break; // we're done.
+          }
+
+          // A batch covers several ticks only when the clock thread fell behind
+          Collections.sort(expired, TIMESTAMP_ORDER);
+          for (final Alarm alarm : expired) {
+            if (this.dispatchStage != null) {
+              this.dispatchStage.onNext(alarm);
+            } else {
+              this.handleAlarm(alarm);
+            }
+          }
+        } catch (final InterruptedException expected) {
+          // waiting interrupted - return to loop
+        } finally {
+          expired.clear();
+        }
+      }
+      if (this.dispatchStage != null) {
+        this.dispatchStage.close();
+      }
+      if (this.stoppedOnException == null) {
+        this.handlers.onNext(new RuntimeStop(this.timer.getCurrent()));
+      } else {
+        this.handlers.onNext(new RuntimeStop(this.timer.getCurrent(), this.stoppedOnException));
+      }
+    } catch (final Exception e) {
+      LOG.log(Level.SEVERE, "Exception in the clock main loop", e);
+      this.handlers.onNext(new RuntimeStop(this.timer.getCurrent(), e));
+    } finally {
+      LOG.log(Level.FINE, "Runtime clock exit");
+    }
+    LOG.exiting(TimingWheelClock.class.getCanonicalName(), "run");
+  }
+
+  /**
+   * Waits until an alarm or the stop time is due.
+   *
+   * @param expired receives the alarms that are due
+   * @return the stop time if it is due, null otherwise
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private StopTime awaitExpiredAlarms(final List<Alarm> expired) throws InterruptedException {
+    synchronized (this.lock) {
+      try {
+        while (true) {
+          if (!this.idleReported && this.isIdle()) {
+            break; // the last client alarm was handled on a dispatch thread
+          }
+          // note: while waiting, another alarm could be scheduled with a shorter duration,
+          // so the deadline is revised every time around the loop
+          final long deadline = this.nextDeadline();
+          this.waitingUntil = deadline;
+          if (deadline == Long.MAX_VALUE) {
+            this.lock.wait();
+          } else {
+            final long duration = this.timer.getDuration(deadline);
+            if (duration <= 0) {
+              break;
+            }
+            this.lock.wait(duration);
+          }
+        }
+      } finally {
+        this.waitingUntil = Long.MAX_VALUE;
+      }
+
+      final long now = this.timer.getCurrent();
+      if (this.stopTime != null && this.stopTime.getTimeStamp() <= now) {
+        return this.stopTime;
+      }
+      this.takeDue(expired);
+      this.advanceTo(now, expired);
+      return null;
+    }
+  }
+
+  /**
+   * Notes that the clock became idle once the last pending client alarm has been handled.
+   *
+   * @return true if an IdleClock event is to be sent
+   */
+  private boolean takeIdleTransition() {
+    synchronized (this.lock) {
+      if (this.idleReported || !this.isIdle()) {
+        return false;
+      }
+      this.idleReported = true;
+      return true;
+    }
+  }
+
+  private void handleAlarm(final Alarm alarm) {
+    try {
+      alarm.handle();
+    } finally {
+      if (alarm instanceof ClientAlarm && this.pendingClientAlarms.decrementAndGet() == 0) {
+        // Wakes up the clock thread to send the IdleClock event
+        synchronized (this.lock) {
+          this.lock.notifyAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the alarm to the wheel and wakes up the clock thread if it waits for a later time.
+   * Must hold the lock.
+   */
+  private void schedule(final Alarm alarm) {
+    this.insert(new Entry(alarm));
+    if (alarm.getTimeStamp() < this.waitingUntil) {
+      this.lock.notifyAll();
+    }
+  }
+
+  /**
+   * Puts the entry into the slot covering its time stamp. Must hold the lock.
+   */
+  private void insert(final Entry entry) {
+    final long deadline = entry.alarm.getTimeStamp();
+    final long delta = deadline - this.currentTick;
+    if (delta <= 0) {
+      entry.linkBefore(this.due);
+      return;
+    }
+    for (int level = 0; level < NUM_LEVELS; ++level) {
+      final int shift = level * SLOT_BITS;
+      if (delta < 1L << (shift + SLOT_BITS)) {
+        entry.linkBefore(this.slots[level][(int) (deadline >>> shift) & SLOT_MASK]);
+        ++this.levelCounts[level];
+        return;
+      }
+    }
+    entry.linkBefore(this.overflow);
+  }
+
+  /**
+   * Moves the wheel forward to the given time, taking the alarms that expire on the way. Must hold the lock.
+   */
+  private void advanceTo(final long target, final List<Alarm> expired) {
+    while (this.currentTick < target) {
+      // Ticks below the first non-empty level neither expire nor cascade anything, so they are skipped
+      int emptyLevels = 0;
+      while (emptyLevels < NUM_LEVELS && this.levelCounts[emptyLevels] == 0) {
+        ++emptyLevels;
+      }
+      if (emptyLevels == NUM_LEVELS && this.overflow.next == this.overflow) {
+        this.currentTick = target;
+        return;
+      }
+      final int shift = emptyLevels * SLOT_BITS;
+      final long tick = emptyLevels == 0 ? this.currentTick + 1 :
+          Math.min(target, ((this.currentTick >>> shift) + 1) << shift);
+      this.currentTick = tick;
+
+      // Moves the alarms of the slots whose range the wheel enters one level down, top level first
+      if ((tick & SLOT_MASK) == 0) {
+        int top = 1;
+        while (top < NUM_LEVELS && (tick >>> (top * SLOT_BITS) & SLOT_MASK) == 0) {
+          ++top;
+        }
+        if (top == NUM_LEVELS) {
+          this.cascade(this.overflow, -1);
+        }
+        for (int level = Math.min(top, NUM_LEVELS - 1); level >= 1; --level) {
+          this.cascade(this.slots[level][(int) (tick >>> (level * SLOT_BITS)) & SLOT_MASK], level);
+        }
+      }
+
+      final Entry slot = this.slots[0][(int) tick & SLOT_MASK];
+      while (slot.next != slot) {
+        final Entry entry = slot.next;
+        entry.unlink();
+        --this.levelCounts[0];
+        expired.add(entry.alarm);
+      }
+      this.takeDue(expired);
+    }
+  }
+
+  /**
+   * Inserts the entries of the slot again, relative to the current tick. Must hold the lock.
+   */
+  private void cascade(final Entry slot, final int level) {
+    final Entry last = slot.prev;
+    while (slot.next != slot) {
+      final Entry entry = slot.next;
+      entry.unlink();
+      if (level >= 0) {
+        --this.levelCounts[level];
+      }
+      this.insert(entry);
+      if (entry == last) {
+        break;
+      }
+    }
+  }
+
+  private void takeDue(final List<Alarm> expired) {
+    while (this.due.next != this.due) {
+      final Entry entry = this.due.next;
+      entry.unlink();
+      expired.add(entry.alarm);
+    }
+  }
+
+  /**
+   * Finds a time no later than the next alarm or the stop time. Must hold the lock.
+   *
+   * @return the time, or Long.MAX_VALUE if there is nothing to wait for
+   */
+  private long nextDeadline() {
+    if (this.due.next != this.due) {
+      return this.currentTick;
+    }
+    long deadline = this.stopTime == null ? Long.MAX_VALUE : this.stopTime.getTimeStamp();
+    for (int level = 0; level < NUM_LEVELS; ++level) {
+      if (this.levelCounts[level] > 0) {
+        // The first non-empty slot after the current one; a level-0 slot holds exactly one time stamp,
+        // a higher slot is cascaded when its range starts
+        final int shift = level * SLOT_BITS;
+        final long position = this.currentTick >>> shift;
+        for (int k = 1; k <= NUM_SLOTS; ++k) {
+          final Entry slot = this.slots[level][(int) (position + k) & SLOT_MASK];
+          if (slot.next != slot) {
+            deadline = Math.min(deadline, (position + k) << shift);
+            break;
+          }
+        }
+      }
+    }
+    if (this.overflow.next != this.overflow) {
+      final int shift = NUM_LEVELS * SLOT_BITS;
+      deadline = Math.min(deadline, ((this.currentTick >>> shift) + 1) << shift);
+    }
+    return deadline;
+  }
+
+  /**
+   * Drops all scheduled alarms. Must hold the lock.
+   */
+  private void clear() {
+    int dropped = 0;
+    for (int level = 0; level < NUM_LEVELS; ++level) {
+      for (final Entry slot : this.slots[level]) {
+        dropped += slot.clear();
+      }
+      this.levelCounts[level] = 0;
+    }
+    dropped += this.overflow.clear() + this.due.clear();
+    this.pendingClientAlarms.addAndGet(-dropped);
+  }
+
+  /**
+   * An alarm in a doubly linked slot list; slots are sentinel entries without an alarm.
+   */
+  private static final class Entry {
+
+    private final Alarm alarm;
+    private Entry prev = this;
+    private Entry next = this;
+
+    Entry(final Alarm alarm) {
+      this.alarm = alarm;
+    }
+
+    void linkBefore(final Entry successor) {
+      this.next = successor;
+      this.prev = successor.prev;
+      successor.prev.next = this;
+      successor.prev = this;
+    }
+
+    void unlink() {
+      this.prev.next = this.next;
+      this.next.prev = this.prev;
+      this.prev = this;
+      this.next = this;
+    }
+
+    /**
+     * Empties the slot.
+     *
+     * @return the number of client alarms dropped
+     */
+    int clear() {
+      int clientAlarms = 0;
+      for (Entry entry = this.next; entry != this; entry = entry.next) {
+        if (entry.alarm instanceof ClientAlarm) {
+          ++clientAlarms;
+        }
+      }
+      this.prev = this;
+      this.next = this;
+      return clientAlarms;
+    }
+  }
+
+  /**
+   * The number of threads running alarm handlers, or 0 to run them on the clock thread.
+   */
+  @NamedParameter(doc = "The number of threads running alarm handlers, or 0 to run them on the clock thread.",
+      default_value = "0")
+  public static final class AlarmDispatchThreads implements Name<Integer> {
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test;
+
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.KeyedOrderedStage;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for KeyedOrderedStage.
+ */
+public class KeyedOrderedStageTest {
+
+  private static final String LOG_PREFIX = "TEST ";
+  private static final int NUM_KEYS = 8;
+  private static final int EVENTS_PER_KEY = 20000;
+  private static final int NUM_PRODUCERS = 4;
+
+  private static final KeyedOrderedStage.KeySelector<Integer, long[]> KEY_SELECTOR =
+      new KeyedOrderedStage.KeySelector<Integer, long[]>() {
+        @Override
+        public Integer getKey(final long[] event) {
+          return (int) event[0];
+        }
+      };
+
+  @Rule
+  public TestName name = new TestName();
+
+  /**
+   * One producer per key, and two producers for the even keys so their queues keep going idle and being dropped.
+   * The events of each key must be handled exactly once, in order and never by two threads at once.
+   */
+  @Test
+  public void testOrderPerKey() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final OrderCheckingHandler handler = new OrderCheckingHandler(NUM_KEYS * EVENTS_PER_KEY);
+    final KeyedOrderedStage<Integer, long[]> stage =
+        new KeyedOrderedStage<>("keyedOrderedTest", KEY_SELECTOR, handler, 4, 16, null, 1000);
+
+    final List<Thread> producers = new ArrayList<>();
+    for (int k = 0; k < NUM_KEYS; ++k) {
+      final int key = k;
+      producers.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (long i = 0; i < EVENTS_PER_KEY; ++i) {
+            stage.onNext(new long[]{key, i});
+            if (key % 2 == 0 && i % 100 == 0) {
+              Thread.yield();
+            }
+          }
+        }
+      }));
+    }
+    for (final Thread producer : producers) {
+      producer.start();
+    }
+    for (final Thread producer : producers) {
+      producer.join();
+    }
+
+    Assert.assertTrue("Not all events were handled", handler.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(Collections.<String>emptyList(), handler.getErrors());
+    stage.close();
+    Assert.assertEquals(0, stage.getNumberOfKeys());
+  }
+
+  /**
+   * Several producers per key that pause often, so the queues keep going idle while other producers add events.
+   * The events of each producer must be handled in order and never by two threads at once.
+   */
+  @Test
+  public void testManyProducersPerKey() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final int numKeys = 2;
+    final OrderCheckingHandler handler = new OrderCheckingHandler(numKeys * NUM_PRODUCERS * EVENTS_PER_KEY);
+    final KeyedOrderedStage<Integer, long[]> stage =
+        new KeyedOrderedStage<>("keyedOrderedTest", KEY_SELECTOR, handler, 4, 4, null, 1000);
+
+    final List<Thread> producers = new ArrayList<>();
+    for (int k = 0; k < numKeys; ++k) {
+      for (int p = 0; p < NUM_PRODUCERS; ++p) {
+        final int key = k;
+        final int producer = p;
+        producers.add(new Thread(new Runnable() {
+          @Override
+          public void run() {
+            for (long i = 0; i < EVENTS_PER_KEY; ++i) {
+              stage.onNext(new long[]{key, i, producer});
+              if (i % (producer + 2) == 0) {
+                Thread.yield();
+              }
+            }
+          }
+        }));
+      }
+    }
+    for (final Thread producer : producers) {
+      producer.start();
+    }
+    for (final Thread producer : producers) {
+      producer.join();
+    }
+
+    Assert.assertTrue("Not all events were handled", handler.await(30, TimeUnit.SECONDS));
+    Assert.assertEquals(Collections.<String>emptyList(), handler.getErrors());
+    stage.close();
+    Assert.assertEquals(0, stage.getNumberOfKeys());
+  }
+
+  @Test
+  public void testHandlerExceptionKeepsOrder() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final AtomicInteger errors = new AtomicInteger();
+    final OrderCheckingHandler checker = new OrderCheckingHandler(10);
+    final KeyedOrderedStage<Integer, long[]> stage = new KeyedOrderedStage<>("keyedOrderedTest", KEY_SELECTOR,
+        new EventHandler<long[]>() {
+          @Override
+          public void onNext(final long[] value) {
+            checker.onNext(value);
+            if (value[1] % 3 == 0) {
+              throw new IllegalArgumentException("Failing on " + value[1]);
+            }
+          }
+        }, 2, 4, new EventHandler<Throwable>() {
+          @Override
+          public void onNext(final Throwable value) {
+            errors.incrementAndGet();
+          }
+        }, 1000);
+
+    for (long i = 0; i < 10; ++i) {
+      stage.onNext(new long[]{0, i});
+    }
+
+    Assert.assertTrue("Not all events were handled", checker.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(Collections.<String>emptyList(), checker.getErrors());
+    stage.close();
+    Assert.assertEquals(4, errors.get());
+  }
+
+  @Test
+  public void testErrorHandlerExceptionKeepsOrder() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final OrderCheckingHandler checker = new OrderCheckingHandler(10);
+    final KeyedOrderedStage<Integer, long[]> stage = new KeyedOrderedStage<>("keyedOrderedTest", KEY_SELECTOR,
+        new EventHandler<long[]>() {
+          @Override
+          public void onNext(final long[] value) {
+            checker.onNext(value);
+            if (value[1] % 3 == 0) {
+              throw new IllegalArgumentException("Failing on " + value[1]);
+            }
+          }
+        }, 2, 4, new EventHandler<Throwable>() {
+          @Override
+          public void onNext(final Throwable value) {
+            throw new IllegalStateException("Error handler failing", value);
+          }
+        }, 1000);
+
+    for (long i = 0; i < 10; ++i) {
+      stage.onNext(new long[]{0, i});
+    }
+
+    Assert.assertTrue("Not all events were handled", checker.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(Collections.<String>emptyList(), checker.getErrors());
+    stage.close();
+    Assert.assertEquals(0, stage.getNumberOfKeys());
+  }
+
+  @Test
+  public void testOnNextAfterClose() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final OrderCheckingHandler checker = new OrderCheckingHandler(1);
+    final KeyedOrderedStage<Integer, long[]> stage =
+        new KeyedOrderedStage<>("keyedOrderedTest", KEY_SELECTOR, checker, 2, 4, null, 1000);
+    stage.onNext(new long[]{0, 0});
+    Assert.assertTrue("Event was not handled", checker.await(10, TimeUnit.SECONDS));
+    stage.close();
+
+    for (int i = 0; i < 2; ++i) {
+      try {
+        stage.onNext(new long[]{1, i});
+        Assert.fail("onNext after close must be rejected");
+      } catch (final RejectedExecutionException expected) {
+        // Expected: the stage is closed
+      }
+    }
+    Assert.assertEquals(0, stage.getNumberOfKeys());
+  }
+
+  /**
+   * Records events of {key, sequence number[, producer]} that arrive out of order
+   * or while another thread handles the key.
+   */
+  private static final class OrderCheckingHandler implements EventHandler<long[]> {
+
+    private final long[] next = new long[NUM_KEYS * NUM_PRODUCERS];
+    private final AtomicInteger[] active = new AtomicInteger[NUM_KEYS];
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<String>());
+    private final CountDownLatch remaining;
+
+    OrderCheckingHandler(final int expected) {
+      this.remaining = new CountDownLatch(expected);
+      for (int i = 0; i < NUM_KEYS; ++i) {
+        this.active[i] = new AtomicInteger();
+      }
+    }
+
+    @Override
+    public void onNext(final long[] value) {
+      final int key = (int) value[0];
+      if (this.active[key].incrementAndGet() != 1) {
+        this.errors.add("Key " + key + " handled by two threads at once");
+      }
+      final int sequence = key * NUM_PRODUCERS + (value.length > 2 ? (int) value[2] : 0);
+      if (value[1] != this.next[sequence]) {
+        this.errors.add("Key " + key + " expected " + this.next[sequence] + " got " + value[1]);
+      }
+      this.next[sequence] = value[1] + 1;
+      this.active[key].decrementAndGet();
+      this.remaining.countDown();
+    }
+
+    boolean await(final long timeout, final TimeUnit unit) throws InterruptedException {
+      return this.remaining.await(timeout, unit);
+    }
+
+    List<String> getErrors() {
+      return this.errors;
+    }
+  }
+}
@@ -19,12 +19,20 @@
 package org.apache.reef.wake.test;
 
 
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.impl.SyncStage;
 import org.apache.reef.wake.metrics.Histogram;
+import org.apache.reef.wake.metrics.LatencySampler;
+import org.apache.reef.wake.metrics.LogHistogram;
+import org.apache.reef.wake.metrics.Meter;
 import org.apache.reef.wake.metrics.UniformHistogram;
+import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -52,4 +60,80 @@ public class MetricsTest {
       histogram.getValue(i);
     }
   }
+
+  @Test
+  public void testLogHistogram() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final LogHistogram histogram = new LogHistogram();
+    Assert.assertEquals(0, histogram.getPercentile(99));
+    for (long value = 1; value <= 1000; ++value) {
+      histogram.update(value);
+    }
+    histogram.update(-1);
+    histogram.update(Long.MAX_VALUE);
+    Assert.assertEquals(1002, histogram.getCount());
+
+    for (int i = 0; i + 1 < histogram.getNumBins(); ++i) {
+      Assert.assertEquals(histogram.getUpperBound(i) + 1, histogram.getLowerBound(i + 1));
+    }
+    Assert.assertEquals(Long.MAX_VALUE, histogram.getUpperBound(histogram.getNumBins() - 1));
+    Assert.assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+
+    final long p50 = histogram.getPercentile(50);
+    Assert.assertTrue("p50 " + p50, p50 >= 500 && p50 <= 500 * 9 / 8);
+    final long p99 = histogram.getPercentile(99);
+    Assert.assertTrue("p99 " + p99, p99 >= 990 && p99 <= 990 * 9 / 8);
+  }
+
+  @Test
+  public void testMeterFromManyThreads() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final Meter meter = new Meter("testMeter");
+    final List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; ++t) {
+      threads.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < 100000; ++i) {
+            meter.mark(1);
+          }
+        }
+      }));
+    }
+    for (final Thread thread : threads) {
+      thread.start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertEquals(800000, meter.getCount());
+    Assert.assertTrue(meter.getMeanThp() > 0);
+  }
+
+  @Test
+  public void testStageLatencySampling() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final SyncStage<Integer> stage = new SyncStage<>(new EventHandler<Integer>() {
+      @Override
+      public void onNext(final Integer value) {
+        // Nothing to do
+      }
+    });
+    final LatencySampler sampler = stage.getLatencySampler();
+
+    sampler.setSamplingPeriod(0);
+    stage.onNext(0);
+    Assert.assertEquals(0, sampler.getHandlerTimeHistogram().getCount());
+
+    sampler.setSamplingPeriod(1);
+    for (int i = 0; i < 10; ++i) {
+      stage.onNext(i);
+    }
+    Assert.assertEquals(10, sampler.getHandlerTimeHistogram().getCount());
+    Assert.assertEquals(0, sampler.getQueueWaitHistogram().getCount());
+    stage.close();
+  }
 }
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test;
+
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.StageConfiguration;
+import org.apache.reef.wake.impl.BlockingWaitStrategy;
+import org.apache.reef.wake.impl.ParkingWaitStrategy;
+import org.apache.reef.wake.impl.RingBufferStage;
+import org.apache.reef.wake.impl.SpinningWaitStrategy;
+import org.apache.reef.wake.impl.WaitStrategy;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for RingBufferStage.
+ */
+public class RingBufferStageTest {
+
+  private static final String LOG_PREFIX = "TEST ";
+  private static final int NUM_PRODUCERS = 4;
+  private static final int EVENTS_PER_PRODUCER = 100000;
+  private static final int WAKEUP_ROUNDS = 20000;
+
+  @Rule
+  public TestName name = new TestName();
+
+  @Test
+  public void testParking() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    runProducers(new ParkingWaitStrategy());
+  }
+
+  @Test
+  public void testSpinning() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    runProducers(new SpinningWaitStrategy());
+  }
+
+  @Test
+  public void testBlocking() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    runProducers(new BlockingWaitStrategy());
+  }
+
+  /**
+   * Several producers fill a small buffer, so they keep waiting for free slots.
+   * The events of each producer must be handled exactly once and in order.
+   */
+  private void runProducers(final WaitStrategy waitStrategy) throws Exception {
+    final OrderCheckingHandler handler = new OrderCheckingHandler(NUM_PRODUCERS * EVENTS_PER_PRODUCER);
+    final RingBufferStage<long[]> stage = new RingBufferStage<>("ringBufferTest", handler, 16, 8, waitStrategy);
+
+    final List<Thread> producers = new ArrayList<>();
+    for (int p = 0; p < NUM_PRODUCERS; ++p) {
+      final int producer = p;
+      producers.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (long i = 0; i < EVENTS_PER_PRODUCER; ++i) {
+            stage.onNext(new long[]{producer, i});
+          }
+        }
+      }));
+    }
+    for (final Thread producer : producers) {
+      producer.start();
+    }
+    for (final Thread producer : producers) {
+      producer.join();
+    }
+
+    Assert.assertTrue("Not all events were handled", handler.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(Collections.<String>emptyList(), handler.getErrors());
+    stage.close();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testInjection() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final OrderCheckingHandler handler = new OrderCheckingHandler(3);
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(StageConfiguration.StageName.class, "ringBufferTest")
+        .bindNamedParameter(StageConfiguration.Capacity.class, "4")
+        .bindNamedParameter(StageConfiguration.StageWaitStrategy.class, BlockingWaitStrategy.class)
+        .build());
+    injector.bindVolatileParameter(StageConfiguration.StageHandler.class, handler);
+    final RingBufferStage<long[]> stage = injector.getInstance(RingBufferStage.class);
+
+    for (long i = 0; i < 3; ++i) {
+      stage.onNext(new long[]{0, i});
+    }
+    Assert.assertTrue("Not all events were handled", handler.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(Collections.<String>emptyList(), handler.getErrors());
+    stage.close();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCloseReleasesProducers() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final CountDownLatch release = new CountDownLatch(1);
+    final RingBufferStage<long[]> stage = new RingBufferStage<>(new EventHandler<long[]>() {
+      @Override
+      public void onNext(final long[] value) {
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    }, 2);
+
+    final Thread closer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(100);
+          stage.close();
+        } catch (final Exception e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+    closer.start();
+
+    try {
+      // The first event blocks the handler and the next two fill the buffer
+      for (long i = 0; i < 4; ++i) {
+        stage.onNext(new long[]{0, i});
+      }
+    } finally {
+      release.countDown();
+      closer.join();
+    }
+  }
+
+  /**
+   * The producer sends one event at a time and waits until it is handled, so the stage thread
+   * goes idle before every event. A lost wakeup leaves the event in the buffer and times out.
+   */
+  @Test
+  public void testNoLostWakeupOfIdleStage() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final Semaphore handled = new Semaphore(0);
+    final RingBufferStage<long[]> stage = new RingBufferStage<>(new EventHandler<long[]>() {
+      @Override
+      public void onNext(final long[] value) {
+        handled.release();
+      }
+    }, 16);
+
+    for (long i = 0; i < WAKEUP_ROUNDS; ++i) {
+      // Vary the time the stage thread has to go idle, so the event arrives at different points of it
+      spin(i % 256);
+      stage.onNext(new long[]{0, i});
+      Assert.assertTrue("Event " + i + " was not handled", handled.tryAcquire(10, TimeUnit.SECONDS));
+    }
+    stage.close();
+  }
+
+  /**
+   * The producer keeps a buffer of two events full, so it waits for a free slot before most events
+   * while the stage thread goes idle whenever it empties the buffer. A lost wakeup of either side stalls both.
+   */
+  @Test
+  public void testNoLostWakeupOfFullBuffer() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+
+    final OrderCheckingHandler handler = new OrderCheckingHandler(WAKEUP_ROUNDS);
+    final RingBufferStage<long[]> stage = new RingBufferStage<>(new EventHandler<long[]>() {
+      @Override
+      public void onNext(final long[] value) {
+        spin(value[1] % 64);
+        handler.onNext(value);
+      }
+    }, 2);
+
+    final Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        for (long i = 0; i < WAKEUP_ROUNDS; ++i) {
+          stage.onNext(new long[]{0, i});
+        }
+      }
+    });
+    producer.start();
+    producer.join(TimeUnit.SECONDS.toMillis(30));
+
+    Assert.assertFalse("The producer did not get to send all events", producer.isAlive());
+    Assert.assertTrue("Not all events were handled", handler.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(Collections.<String>emptyList(), handler.getErrors());
+    stage.close();
+  }
+
+  private static void spin(final long iterations) {
+    for (long i = 0; i < iterations; ++i) {
+      Thread.yield();
+    }
+  }
+
+  /**
+   * Records events of {producer, sequence number} that arrive out of order.
+   */
+  private static final class OrderCheckingHandler implements EventHandler<long[]> {
+
+    private final long[] next = new long[NUM_PRODUCERS];
+    private final List<String> errors = new ArrayList<>();
+    private final CountDownLatch remaining;
+
+    OrderCheckingHandler(final int expected) {
+      this.remaining = new CountDownLatch(expected);
+    }
+
+    @Override
+    public void onNext(final long[] value) {
+      final int producer = (int) value[0];
+      if (value[1] != this.next[producer]) {
+        this.errors.add("Producer " + producer + " expected " + this.next[producer] + " got " + value[1]);
+      }
+      this.next[producer] = value[1] + 1;
+      this.remaining.countDown();
+    }
+
+    boolean await(final long timeout, final TimeUnit unit) throws InterruptedException {
+      return this.remaining.await(timeout, unit);
+    }
+
+    List<String> getErrors() {
+      return this.errors;
+    }
+  }
+}
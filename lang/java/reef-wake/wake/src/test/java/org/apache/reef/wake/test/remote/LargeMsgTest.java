@@ -27,6 +27,7 @@ import org.apache.reef.wake.impl.LoggingEventHandler;
 import org.apache.reef.wake.impl.LoggingUtils;
 import org.apache.reef.wake.impl.ThreadPoolStage;
 import org.apache.reef.wake.impl.TimerStage;
+import org.apache.reef.wake.remote.RemoteConfiguration;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
 import org.apache.reef.wake.remote.impl.TransportEvent;
 import org.apache.reef.wake.remote.transport.Link;
@@ -78,6 +79,18 @@ public class LargeMsgTest {
 
   @Test
   public void testLargeWrite() throws Exception {
+    runLargeWrite(this.tpFactory);
+  }
+
+  @Test
+  public void testLargeWritePooled() throws Exception {
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(RemoteConfiguration.PooledBuffers.class, "true")
+        .build());
+    runLargeWrite(injector.getInstance(TransportFactory.class));
+  }
+
+  private void runLargeWrite(final TransportFactory factory) throws Exception {
     LoggingUtils.setLoggingLevel(Level.FINE);
     final Monitor monitor = new Monitor();
     final TimerStage timer = new TimerStage(new TimeoutHandler(monitor), 20000, 20000);
@@ -91,7 +104,7 @@ public class LargeMsgTest {
 
     final String hostAddress = this.localAddressProvider.getLocalAddress();
     final int port = 7001;
-    final Transport transport = tpFactory.newInstance(hostAddress, port, clientStage, serverStage, 1, 10000);
+    final Transport transport = factory.newInstance(hostAddress, port, clientStage, serverStage, 1, 10000);
     final Link<byte[]> link = transport.open(new InetSocketAddress(hostAddress, port), new PassThroughEncoder(), null);
     final EStage<byte[]> writeSubmitter = new ThreadPoolStage<>("Submitter", new EventHandler<byte[]>() {
 
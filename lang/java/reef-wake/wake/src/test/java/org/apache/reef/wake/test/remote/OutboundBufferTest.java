@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test.remote;
+
+import org.apache.reef.wake.remote.transport.BlockingOverflowPolicy;
+import org.apache.reef.wake.remote.transport.DroppingOverflowPolicy;
+import org.apache.reef.wake.remote.transport.FailingOverflowPolicy;
+import org.apache.reef.wake.remote.transport.OutboundBuffer;
+import org.apache.reef.wake.remote.transport.exception.TransportRuntimeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests for OutboundBuffer and the overflow policies.
+ */
+public final class OutboundBufferTest {
+
+  @Test
+  public void testUnbounded() {
+    final OutboundBuffer buffer = new OutboundBuffer(0, 0, null);
+    for (int i = 0; i < 100; i++) {
+      Assert.assertTrue(buffer.acquire(1000));
+    }
+    Assert.assertEquals(100000, buffer.getQueuedBytes());
+    buffer.release(1000);
+    Assert.assertEquals(99000, buffer.getQueuedBytes());
+  }
+
+  @Test
+  public void testDrop() {
+    final OutboundBuffer buffer = new OutboundBuffer(100, 50, new DroppingOverflowPolicy());
+    Assert.assertTrue(buffer.acquire(60));
+    Assert.assertTrue("Below the high water mark", buffer.acquire(60));
+    Assert.assertFalse("At or above the high water mark", buffer.acquire(10));
+    Assert.assertEquals(120, buffer.getQueuedBytes());
+
+    buffer.release(60);
+    Assert.assertTrue(buffer.acquire(10));
+    Assert.assertEquals(70, buffer.getQueuedBytes());
+  }
+
+  @Test(expected = TransportRuntimeException.class)
+  public void testFail() {
+    final OutboundBuffer buffer = new OutboundBuffer(100, 0, new FailingOverflowPolicy());
+    Assert.assertEquals(50, buffer.getLowWaterMark());
+    buffer.acquire(100);
+    buffer.acquire(1);
+  }
+
+  @Test
+  public void testBlock() throws InterruptedException {
+    final OutboundBuffer buffer = new OutboundBuffer(100, 40, new BlockingOverflowPolicy());
+    buffer.acquire(100);
+
+    final AtomicBoolean acquired = new AtomicBoolean(false);
+    final CountDownLatch done = new CountDownLatch(1);
+    final Thread writer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        acquired.set(buffer.acquire(10));
+        done.countDown();
+      }
+    });
+    writer.start();
+    while (writer.getState() != Thread.State.WAITING) {
+      Thread.sleep(1);
+    }
+
+    buffer.release(50);
+    Assert.assertFalse("Still above the low water mark", done.await(100, TimeUnit.MILLISECONDS));
+
+    buffer.release(10);
+    Assert.assertTrue("Resumed at the low water mark", done.await(10, TimeUnit.SECONDS));
+    Assert.assertTrue(acquired.get());
+    Assert.assertEquals(50, buffer.getQueuedBytes());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidWaterMarks() {
+    new OutboundBuffer(100, 200, new DroppingOverflowPolicy());
+  }
+}
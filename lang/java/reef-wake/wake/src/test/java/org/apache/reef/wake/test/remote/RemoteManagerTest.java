@@ -40,7 +40,9 @@ import org.junit.rules.TestName;
 
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -220,6 +222,61 @@ public class RemoteManagerTest {
     timer.close();
   }
 
+  @Test
+  public void testRemoteManagerBatchingTest() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    LoggingUtils.setLoggingLevel(Level.INFO);
+
+    final Monitor monitor = new Monitor();
+    final TimerStage timer = new TimerStage(new TimeoutHandler(monitor), 2000, 2000);
+
+    final Map<Class<?>, Codec<?>> clazzToCodecMap = new HashMap<>();
+    clazzToCodecMap.put(TestEvent.class, new ObjectSerializableCodec<TestEvent>());
+    final Codec<?> codec = new MultiCodec<Object>(clazzToCodecMap);
+
+    final String hostAddress = localAddressProvider.getLocalAddress();
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(RemoteConfiguration.ManagerName.class, "name")
+        .bindNamedParameter(RemoteConfiguration.HostAddress.class, hostAddress)
+        .bindNamedParameter(RemoteConfiguration.Port.class, Integer.toString(PORT))
+        .bindNamedParameter(RemoteConfiguration.BatchingWindow.class, "50")
+        .bindNamedParameter(RemoteConfiguration.BatchingMaxBytes.class, "1024")
+        .build());
+    injector.bindVolatileParameter(RemoteConfiguration.MessageCodec.class, codec);
+    final RemoteManager rm = injector.getInstance(RemoteManager.class);
+
+    final RemoteIdentifierFactory factory = new DefaultRemoteIdentifierFactoryImplementation();
+    final RemoteIdentifier remoteId = factory.getNewInstance("socket://" + hostAddress + ":" + PORT);
+
+    final int numEvents = 100;
+    final List<Double> received = Collections.synchronizedList(new ArrayList<Double>());
+    rm.registerHandler(TestEvent.class, new EventHandler<RemoteMessage<TestEvent>>() {
+      @Override
+      public void onNext(final RemoteMessage<TestEvent> value) {
+        received.add(value.getMessage().getLoad());
+        if (received.size() == numEvents) {
+          monitor.mnotify();
+        }
+      }
+    });
+
+    // Events are coalesced both by the time window and by the byte limit
+    final EventHandler<TestEvent> proxyHandler = rm.getHandler(remoteId, TestEvent.class);
+    for (int i = 0; i < numEvents; i++) {
+      proxyHandler.onNext(new TestEvent("hello", i));
+    }
+
+    monitor.mwait();
+
+    Assert.assertEquals(numEvents, received.size());
+    for (int i = 0; i < numEvents; i++) {
+      Assert.assertEquals("Events must be delivered in order", i, received.get(i), 0.0);
+    }
+
+    rm.close();
+    timer.close();
+  }
+
   @Test
   public void testRemoteManagerPBufTest() throws Exception {
     System.out.println(LOG_PREFIX + name.getMethodName());
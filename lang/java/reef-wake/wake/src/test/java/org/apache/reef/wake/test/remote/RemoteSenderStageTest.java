@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test.remote;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.remote.Encoder;
+import org.apache.reef.wake.remote.impl.RemoteEvent;
+import org.apache.reef.wake.remote.impl.RemoteSenderStage;
+import org.apache.reef.wake.remote.impl.StringCodec;
+import org.apache.reef.wake.remote.proto.WakeRemoteProtos.WakeMessagePBuf;
+import org.apache.reef.wake.remote.transport.Link;
+import org.apache.reef.wake.remote.transport.LinkListener;
+import org.apache.reef.wake.remote.transport.Transport;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests for RemoteSenderStage.
+ */
+public class RemoteSenderStageTest {
+
+  private static final SocketAddress LOCAL_ADDRESS = new InetSocketAddress("localhost", 9000);
+  private static final SocketAddress REMOTE_ADDRESS = new InetSocketAddress("localhost", 9001);
+  private static final SocketAddress SLOW_ADDRESS = new InetSocketAddress("localhost", 9002);
+
+  /**
+   * Events sent while the link is still being established must all be written when the stage
+   * is closed right away, with and without batching.
+   */
+  @Test
+  public void testCloseDeliversQueuedEvents() throws Exception {
+    testCloseDeliversQueuedEvents(0);
+    testCloseDeliversQueuedEvents(50);
+  }
+
+  private void testCloseDeliversQueuedEvents(final int batchingWindow) throws Exception {
+    final SlowTransport transport = new SlowTransport(500);
+    final RemoteSenderStage stage = new RemoteSenderStage(new StringCodec(), transport, 1,
+        batchingWindow, Integer.MAX_VALUE);
+    final EventHandler<RemoteEvent<String>> handler = stage.getHandler();
+
+    final int numEvents = 100;
+    for (int i = 0; i < numEvents; i++) {
+      handler.onNext(new RemoteEvent<>(LOCAL_ADDRESS, REMOTE_ADDRESS, i, Integer.toString(i)));
+    }
+    stage.close();
+
+    assertDelivered(transport.getLink(REMOTE_ADDRESS), numEvents);
+  }
+
+  /**
+   * A peer whose writes block must neither delay the batches of other peers
+   * nor block the events added to its own batch meanwhile.
+   */
+  @Test(timeout = 10000)
+  public void testSlowPeerDoesNotDelayOthers() throws Exception {
+    final SlowTransport transport = new SlowTransport(0);
+    final CountDownLatch release = new CountDownLatch(1);
+    final RecordingLink slowLink = transport.getLink(SLOW_ADDRESS);
+    slowLink.blockWrites(release);
+    final RemoteSenderStage stage = new RemoteSenderStage(new StringCodec(), transport, 2, 10, Integer.MAX_VALUE);
+    final EventHandler<RemoteEvent<String>> slowHandler = stage.getHandler();
+    final EventHandler<RemoteEvent<String>> handler = stage.getHandler();
+
+    slowHandler.onNext(new RemoteEvent<>(LOCAL_ADDRESS, SLOW_ADDRESS, 0, "0"));
+    slowLink.awaitBlockedWrite();
+    slowHandler.onNext(new RemoteEvent<>(LOCAL_ADDRESS, SLOW_ADDRESS, 1, "1"));
+
+    final int numEvents = 10;
+    for (int i = 0; i < numEvents; i++) {
+      handler.onNext(new RemoteEvent<>(LOCAL_ADDRESS, REMOTE_ADDRESS, i, Integer.toString(i)));
+    }
+    final RecordingLink link = transport.getLink(REMOTE_ADDRESS);
+    while (link.getSequenceNumbers().size() < numEvents) {
+      Thread.sleep(10);
+    }
+
+    release.countDown();
+    stage.close();
+    assertDelivered(link, numEvents);
+    assertDelivered(slowLink, 2);
+  }
+
+  /**
+   * Events sent after the stage is closed are written right away instead of being batched.
+   */
+  @Test
+  public void testWriteAfterClose() throws Exception {
+    final SlowTransport transport = new SlowTransport(0);
+    final RemoteSenderStage stage = new RemoteSenderStage(new StringCodec(), transport, 1, 50, Integer.MAX_VALUE);
+    final EventHandler<RemoteEvent<String>> handler = stage.getHandler();
+
+    handler.onNext(new RemoteEvent<>(LOCAL_ADDRESS, REMOTE_ADDRESS, 0, "0"));
+    stage.close();
+    handler.onNext(new RemoteEvent<>(LOCAL_ADDRESS, REMOTE_ADDRESS, 1, "1"));
+
+    assertDelivered(transport.getLink(REMOTE_ADDRESS), 2);
+  }
+
+  private static void assertDelivered(final RecordingLink link, final int numEvents) {
+    final List<Long> sequenceNumbers = link.getSequenceNumbers();
+    Assert.assertEquals("Events accepted before close must be delivered", numEvents, sequenceNumbers.size());
+    for (int i = 0; i < numEvents; i++) {
+      Assert.assertEquals("Events must be delivered in order", i, (long) sequenceNumbers.get(i));
+    }
+  }
+
+  /**
+   * A transport that takes a while to open its first link.
+   */
+  private static final class SlowTransport implements Transport {
+
+    private final long openDelay;
+    private final ConcurrentMap<SocketAddress, RecordingLink> links = new ConcurrentHashMap<>();
+    private final AtomicBoolean opened = new AtomicBoolean(false);
+
+    SlowTransport(final long openDelay) {
+      this.openDelay = openDelay;
+    }
+
+    RecordingLink getLink(final SocketAddress remoteAddr) {
+      final RecordingLink newLink = new RecordingLink(remoteAddr);
+      final RecordingLink link = links.putIfAbsent(remoteAddr, newLink);
+      return link == null ? newLink : link;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Link<T> open(final SocketAddress remoteAddr, final Encoder<? super T> encoder,
+                            final LinkListener<? super T> listener) {
+      if (opened.compareAndSet(false, true)) {
+        try {
+          Thread.sleep(openDelay);
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      return (Link<T>) getLink(remoteAddr);
+    }
+
+    @Override
+    public <T> Link<T> get(final SocketAddress remoteAddr) {
+      return null;
+    }
+
+    @Override
+    public int getListeningPort() {
+      return 0;
+    }
+
+    @Override
+    public SocketAddress getLocalAddress() {
+      return LOCAL_ADDRESS;
+    }
+
+    @Override
+    public void registerErrorHandler(final EventHandler<Exception> handler) {
+    }
+
+    @Override
+    public Map<SocketAddress, Long> getQueuedBytes() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * A link that records the sequence numbers of the events written to it, batched or not.
+   * Its writes can be made to block, as they do while the peer does not keep up.
+   */
+  private static final class RecordingLink implements Link<byte[]> {
+
+    private final SocketAddress remoteAddress;
+    private final List<Long> sequenceNumbers = Collections.synchronizedList(new ArrayList<Long>());
+    private final CountDownLatch blockedWrite = new CountDownLatch(1);
+    private volatile CountDownLatch release;
+
+    RecordingLink(final SocketAddress remoteAddress) {
+      this.remoteAddress = remoteAddress;
+    }
+
+    List<Long> getSequenceNumbers() {
+      return sequenceNumbers;
+    }
+
+    /**
+     * Makes writes block until the latch is released.
+     */
+    void blockWrites(final CountDownLatch latch) {
+      this.release = latch;
+    }
+
+    void awaitBlockedWrite() throws InterruptedException {
+      blockedWrite.await();
+    }
+
+    @Override
+    public SocketAddress getLocalAddress() {
+      return LOCAL_ADDRESS;
+    }
+
+    @Override
+    public SocketAddress getRemoteAddress() {
+      return remoteAddress;
+    }
+
+    @Override
+    public void write(final byte[] value) {
+      if (release != null) {
+        blockedWrite.countDown();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      try {
+        final WakeMessagePBuf frame = WakeMessagePBuf.parseFrom(value);
+        if (frame.getBatchCount() == 0) {
+          sequenceNumbers.add(frame.getSeq());
+        } else {
+          for (final WakeMessagePBuf message : frame.getBatchList()) {
+            sequenceNumbers.add(message.getSeq());
+          }
+        }
+      } catch (final InvalidProtocolBufferException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
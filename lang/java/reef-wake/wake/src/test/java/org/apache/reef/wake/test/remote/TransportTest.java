@@ -25,6 +25,7 @@ import org.apache.reef.wake.EStage;
 import org.apache.reef.wake.impl.LoggingUtils;
 import org.apache.reef.wake.impl.TimerStage;
 import org.apache.reef.wake.remote.Codec;
+import org.apache.reef.wake.remote.RemoteConfiguration;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
 import org.apache.reef.wake.remote.impl.ObjectSerializableCodec;
 import org.apache.reef.wake.remote.impl.TransportEvent;
@@ -125,6 +126,49 @@ public class TransportTest {
     Assert.assertEquals(expected, stage.getCount());
   }
 
+  @Test
+  public void testTransportSharedEventLoops() throws Exception {
+    System.out.println(LOG_PREFIX + name.getMethodName());
+    LoggingUtils.setLoggingLevel(Level.INFO);
+
+    final Monitor monitor = new Monitor();
+    final TimerStage timer = new TimerStage(new TimeoutHandler(monitor), 2000, 2000);
+
+    final Injector injector = Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(RemoteConfiguration.ServerWorkerThreads.class, "2")
+        .bindNamedParameter(RemoteConfiguration.ClientWorkerThreads.class, "2")
+        .bindNamedParameter(RemoteConfiguration.SendBufferSize.class, "131072")
+        .build());
+    final TransportFactory sharingFactory = injector.getInstance(TransportFactory.class);
+
+    final int expected = 2;
+    final String hostAddress = this.localAddressProvider.getLocalAddress();
+    final int port = 9101;
+
+    final ReceiverStage<String> stage =
+        new ReceiverStage<>(new ObjectSerializableCodec<String>(), monitor, expected);
+    final Transport transport1 = sharingFactory.newInstance(hostAddress, port + 1, stage, stage, 1, 10000);
+    final Transport transport2 = sharingFactory.newInstance(hostAddress, port, stage, stage, 1, 10000);
+
+    // Closing one transport, even twice, must leave the event loops of the other one running
+    transport1.close();
+    transport1.close();
+
+    final Link<String> link = transport2.open(
+        new InetSocketAddress(hostAddress, port),
+        new ObjectSerializableCodec<String>(),
+        new LoggingLinkListener<String>());
+    link.write("hello1");
+    link.write("hello2");
+
+    monitor.mwait();
+    transport2.close();
+    transport2.close();
+    timer.close();
+
+    Assert.assertEquals(expected, stage.getCount());
+  }
+
   class ReceiverStage<T> implements EStage<TransportEvent> {
 
     private final Codec<T> codec;
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.wake.test.time;
+
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.JavaConfigurationBuilder;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.time.Time;
+import org.apache.reef.wake.time.event.Alarm;
+import org.apache.reef.wake.time.runtime.LogicalTimer;
+import org.apache.reef.wake.time.runtime.Timer;
+import org.apache.reef.wake.time.runtime.TimingWheelClock;
+import org.apache.reef.wake.time.runtime.event.IdleClock;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for TimingWheelClock.
+ */
+public class TimingWheelClockTest {
+
+  private static TimingWheelClock buildClock(final boolean logical, final int dispatchThreads) throws Exception {
+    final JavaConfigurationBuilder builder = Tang.Factory.getTang().newConfigurationBuilder();
+    if (logical) {
+      builder.bind(Timer.class, LogicalTimer.class);
+    }
+    builder.bindNamedParameter(TimingWheelClock.AlarmDispatchThreads.class, Integer.toString(dispatchThreads));
+    final Injector injector = Tang.Factory.getTang().newInjector(builder.build());
+    return injector.getInstance(TimingWheelClock.class);
+  }
+
+  /**
+   * Alarms at distances that land in every level of the wheel and beyond must fire in time stamp order.
+   */
+  @Test
+  public void testAlarmOrderAcrossLevels() throws Exception {
+    final int[] offsets = {Integer.MAX_VALUE, 70000, 1, 300, 20000000, 0, 255, 256, 65536, 65535, 1 << 24, 300};
+    final CountDownLatch latch = new CountDownLatch(offsets.length);
+    final TimestampRecorder recorder = new TimestampRecorder(latch);
+
+    final TimingWheelClock clock = buildClock(true, 0);
+    try {
+      for (final int offset : offsets) {
+        clock.scheduleAlarm(offset, recorder);
+      }
+      Assert.assertFalse(clock.isIdle());
+      new Thread(clock).start();
+
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      final List<Long> expected = new ArrayList<>();
+      for (final int offset : offsets) {
+        expected.add((long) offset);
+      }
+      Collections.sort(expected);
+      Assert.assertEquals(expected, recorder.getTimestamps());
+    } finally {
+      clock.close();
+    }
+  }
+
+  @Test
+  public void testEarlierAlarmWhileWaiting() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(2);
+    final TimestampRecorder earlier = new TimestampRecorder(latch);
+    final TimestampRecorder later = new TimestampRecorder(latch);
+
+    final TimingWheelClock clock = buildClock(false, 0);
+    new Thread(clock).start();
+    try {
+      clock.scheduleAlarm(1500, later);
+      Thread.sleep(200);
+      // By now, the clock waits for the later alarm
+      clock.scheduleAlarm(300, earlier);
+      Thread.sleep(700);
+
+      Assert.assertEquals(1, earlier.getTimestamps().size());
+      Assert.assertEquals(0, later.getTimestamps().size());
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } finally {
+      clock.close();
+    }
+  }
+
+  @Test
+  public void testDispatchThreads() throws Exception {
+    final int numAlarms = 100;
+    final CountDownLatch latch = new CountDownLatch(numAlarms);
+    final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+
+    final TimingWheelClock clock = buildClock(false, 4);
+    final Thread clockThread = new Thread(clock);
+    clockThread.start();
+    try {
+      for (int i = 0; i < numAlarms; ++i) {
+        clock.scheduleAlarm(i % 10, new EventHandler<Alarm>() {
+          @Override
+          public void onNext(final Alarm value) {
+            threads.add(Thread.currentThread().getName());
+            latch.countDown();
+          }
+        });
+      }
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      Assert.assertFalse(threads.contains(clockThread.getName()));
+    } finally {
+      clock.close();
+    }
+  }
+
+  /**
+   * The clock must report that it is idle when the last client alarm was handled on a dispatch thread,
+   * and must not report it again when it only wakes up for runtime alarms.
+   */
+  @Test
+  public void testIdleWithDispatchThreads() throws Exception {
+    final BlockingQueue<Time> idleEvents = new LinkedBlockingQueue<>();
+    final TimingWheelClock clock = buildClock(false, 2);
+    clock.registerEventHandler(IdleClock.class, new EventHandler<Time>() {
+      @Override
+      public void onNext(final Time value) {
+        idleEvents.add(value);
+      }
+    });
+    new Thread(clock).start();
+    try {
+      Assert.assertNotNull("Idle at start", idleEvents.poll(10, TimeUnit.SECONDS));
+
+      // Cascades from the second level of the wheel on the way
+      final CountDownLatch runtimeLatch = new CountDownLatch(1);
+      clock.scheduleRuntimeAlarm(600, new TimestampRecorder(runtimeLatch));
+      Assert.assertTrue(runtimeLatch.await(10, TimeUnit.SECONDS));
+      Assert.assertNull("Still idle", idleEvents.poll(200, TimeUnit.MILLISECONDS));
+
+      // The handler finishes long after the clock thread went back to waiting
+      clock.scheduleAlarm(100, new EventHandler<Alarm>() {
+        @Override
+        public void onNext(final Alarm value) {
+          try {
+            Thread.sleep(300);
+          } catch (final InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+        }
+      });
+      Assert.assertNotNull("Idle after the client alarm", idleEvents.poll(10, TimeUnit.SECONDS));
+      Assert.assertTrue(clock.isIdle());
+      Assert.assertNull("Idle only once", idleEvents.poll(200, TimeUnit.MILLISECONDS));
+    } finally {
+      clock.close();
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testScheduleAfterClose() throws Exception {
+    final TimingWheelClock clock = buildClock(false, 0);
+    new Thread(clock).start();
+    clock.scheduleAlarm(100000, new TimestampRecorder(null));
+    clock.close();
+    Assert.assertTrue(clock.isIdle());
+    clock.scheduleAlarm(0, new TimestampRecorder(null));
+  }
+
+  /**
+   * An EventHandler that records the time stamps of the alarms that it sees.
+   */
+  private static final class TimestampRecorder implements EventHandler<Alarm> {
+
+    private final List<Long> timestamps = Collections.synchronizedList(new ArrayList<Long>());
+    private final CountDownLatch latch;
+
+    TimestampRecorder(final CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    List<Long> getTimestamps() {
+      return Arrays.asList(timestamps.toArray(new Long[0]));
+    }
+
+    @Override
+    public void onNext(final Alarm value) {
+      timestamps.add(value.getTimeStamp());
+      if (latch != null) {
+        latch.countDown();
+      }
+    }
+  }
+}